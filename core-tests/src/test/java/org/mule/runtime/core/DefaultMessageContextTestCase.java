@@ -6,8 +6,11 @@
  */
 package org.mule.runtime.core;
 
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
 import static java.util.Optional.empty;
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.when;
 import static org.mule.runtime.api.message.Message.of;
@@ -23,12 +26,14 @@ import org.mule.runtime.core.api.message.GroupCorrelation;
 import org.mule.runtime.core.internal.message.InternalEvent;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 
+import org.apache.commons.lang3.SerializationUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.io.Serializable;
 import java.util.Optional;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -48,7 +53,7 @@ public class DefaultMessageContextTestCase extends AbstractMuleTestCase {
   @Before
   public void before() {
     when(flow.getMuleContext()).thenReturn(muleContext);
-    when(flow.getUniqueIdString()).thenReturn(GENERATED_CORRELATION_ID);
+    when(flow.getUniqueEventId()).thenReturn(GENERATED_CORRELATION_ID);
     when(flow.getServerId()).thenReturn(SERVER_ID);
 
     executionContext = create(flow, TEST_CONNECTOR_LOCATION);
@@ -90,4 +95,17 @@ public class DefaultMessageContextTestCase extends AbstractMuleTestCase {
     assertThat(event.getCorrelationId(), is(CUSTOM_CORRELATION_ID));
   }
 
+  @Test
+  public void generatedIdSerializedAsString() {
+    when(flow.getUniqueEventId()).thenReturn(new StringBuilder(GENERATED_CORRELATION_ID));
+    EventContext context = create(flow, TEST_CONNECTOR_LOCATION);
+
+    byte[] serialized = SerializationUtils.serialize((Serializable) context);
+    EventContext deserialized = SerializationUtils.deserialize(serialized);
+
+    assertThat(new String(serialized, ISO_8859_1), not(containsString(StringBuilder.class.getName())));
+    assertThat(deserialized.getId(), is(GENERATED_CORRELATION_ID));
+    assertThat(deserialized.getCorrelationId(), is(GENERATED_CORRELATION_ID));
+  }
+
 }
@@ -6,7 +6,9 @@
  */
 package org.mule.runtime.core.api.event;
 
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
 import static java.util.Collections.singletonMap;
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertArrayEquals;
@@ -25,6 +27,7 @@ import org.mule.runtime.core.api.security.DefaultMuleCredentials;
 import org.mule.runtime.core.api.transformer.AbstractTransformer;
 import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.runtime.core.api.transformer.TransformerException;
+import org.mule.runtime.core.api.util.CaseInsensitiveHashMap;
 import org.mule.runtime.core.internal.context.MuleContextWithRegistry;
 import org.mule.runtime.core.internal.security.DefaultSecurityContextFactory;
 import org.mule.runtime.core.privileged.event.PrivilegedEvent;
@@ -181,6 +184,21 @@ public class MuleEventTestCase extends AbstractMuleContextTestCase {
     assertEquals("bar2", copy.getVariables().get("foo").getValue());
   }
 
+  @Test
+  public void variablesSerialization() throws Exception {
+    CoreEvent event = CoreEvent.builder(testEvent()).addVariable("Foo", "bar").build();
+
+    byte[] serialized = (byte[]) createSerializableToByteArrayTransformer().transform(event);
+    ByteArrayToObject trans = new ByteArrayToObject();
+    trans.setMuleContext(muleContext);
+    CoreEvent deserialized = (CoreEvent) trans.transform(serialized);
+
+    // Variables keep the serialized form of previous versions
+    assertThat(new String(serialized, ISO_8859_1), containsString(CaseInsensitiveHashMap.class.getName()));
+    assertThat(deserialized.getVariables().get("FOO").getValue(), is("bar"));
+    assertThat(CoreEvent.builder(deserialized).removeVariable("foo").build().getVariables().containsKey("Foo"), is(false));
+  }
+
   @Test
   public void securityContextCopy() throws Exception {
     SecurityContext securityContext = mock(SecurityContext.class);
@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.api.transaction;
 
+import static java.util.Optional.empty;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsNull.nullValue;
 import static org.junit.Assert.assertEquals;
@@ -18,10 +19,20 @@ import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.internal.verification.VerificationModeFactory.times;
+import static org.mule.runtime.core.api.event.EventContextFactory.create;
+import static org.mule.runtime.core.api.transaction.TransactionCoordination.EVENT_BOUND_TRANSACTIONS_PROPERTY;
+import static org.mule.runtime.core.api.transaction.TransactionCoordination.isThreadBoundTransactionActive;
+import static org.mule.runtime.core.internal.event.DefaultEventContext.child;
+import static org.mule.runtime.core.internal.event.DefaultEventContext.transactionIsolatedChild;
+import static org.mule.runtime.core.privileged.event.PrivilegedEvent.setCurrentEvent;
+import static org.mule.runtime.dsl.api.component.config.DefaultComponentLocation.fromSingleComponent;
 import static org.mule.tck.util.MuleContextUtils.mockContextWithServices;
 
 import org.mule.runtime.api.tx.TransactionException;
 import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.exception.NullExceptionHandler;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
+import org.mule.runtime.core.privileged.event.PrivilegedEvent;
 import org.mule.runtime.core.privileged.transaction.xa.IllegalTransactionStateException;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 import org.mule.tck.size.SmallTest;
@@ -249,4 +260,145 @@ public class TransactionCoordinationTestCase extends AbstractMuleTestCase {
     verify(tx, times(1)).commit();
   }
 
+  @Test
+  public void transactionBoundToEventContext() throws Exception {
+    System.setProperty(EVENT_BOUND_TRANSACTIONS_PROPERTY, "true");
+    try {
+      TestTransaction tx = new TestTransaction(muleContext);
+      tc.bindTransaction(tx);
+      BaseEventContext context = (BaseEventContext) create("id", "server", fromSingleComponent("test"),
+                                                           NullExceptionHandler.getInstance());
+      PrivilegedEvent event = mock(PrivilegedEvent.class);
+      when(event.getContext()).thenReturn(context);
+
+      assertThat(tc.bindTransactionToEventContext(event), is(true));
+      assertThat(isThreadBoundTransactionActive(), is(false));
+      assertThat(context.getBoundTransaction().get(), is(tx));
+      assertThat(tc.getTransaction(), nullValue());
+
+      setCurrentEvent(event);
+      try {
+        assertThat(tc.getTransaction(), is(tx));
+
+        tc.unbindTransaction(tx);
+        assertThat(context.getBoundTransaction().isPresent(), is(false));
+        assertThat(tc.getTransaction(), nullValue());
+      } finally {
+        setCurrentEvent(null);
+      }
+    } finally {
+      System.clearProperty(EVENT_BOUND_TRANSACTIONS_PROPERTY);
+    }
+  }
+
+  @Test
+  public void threadAffineTransactionNotBoundToEventContext() throws Exception {
+    System.setProperty(EVENT_BOUND_TRANSACTIONS_PROPERTY, "true");
+    try {
+      Transaction tx = mock(Transaction.class);
+      when(tx.requiresThreadAffinity()).thenReturn(true);
+      tc.bindTransaction(tx);
+      PrivilegedEvent event = mock(PrivilegedEvent.class);
+
+      assertThat(tc.bindTransactionToEventContext(event), is(false));
+      assertThat(tc.getTransaction(), is(tx));
+      assertThat(isThreadBoundTransactionActive(), is(true));
+    } finally {
+      System.clearProperty(EVENT_BOUND_TRANSACTIONS_PROPERTY);
+    }
+  }
+
+  @Test
+  public void transactionNotBoundToEventContextByDefault() throws Exception {
+    TestTransaction tx = new TestTransaction(muleContext);
+    tc.bindTransaction(tx);
+    PrivilegedEvent event = mock(PrivilegedEvent.class);
+
+    assertThat(tc.bindTransactionToEventContext(event), is(false));
+    assertThat(tc.getTransaction(), is(tx));
+  }
+
+  @Test
+  public void isolateTransactionUnbindsItFromEventContext() throws Exception {
+    System.setProperty(EVENT_BOUND_TRANSACTIONS_PROPERTY, "true");
+    try {
+      TestTransaction tx = new TestTransaction(muleContext);
+      tc.bindTransaction(tx);
+      BaseEventContext context = newEventContext();
+      PrivilegedEvent event = mockEvent(context);
+      tc.bindTransactionToEventContext(event);
+
+      setCurrentEvent(event);
+      try {
+        tc.isolateTransaction();
+        assertThat(context.getBoundTransaction().isPresent(), is(false));
+        assertThat(tc.getTransaction(), nullValue());
+
+        tc.restoreIsolatedTransaction();
+        assertThat(context.getBoundTransaction().get(), is(tx));
+        assertThat(tc.getTransaction(), is(tx));
+        assertThat(isThreadBoundTransactionActive(), is(false));
+      } finally {
+        setCurrentEvent(null);
+        tc.unbindTransaction(tx);
+      }
+    } finally {
+      System.clearProperty(EVENT_BOUND_TRANSACTIONS_PROPERTY);
+    }
+  }
+
+  @Test
+  public void transactionIsolatedChildDoesNotInheritBoundTransaction() throws Exception {
+    System.setProperty(EVENT_BOUND_TRANSACTIONS_PROPERTY, "true");
+    try {
+      TestTransaction tx = new TestTransaction(muleContext);
+      tc.bindTransaction(tx);
+      BaseEventContext context = newEventContext();
+      tc.bindTransactionToEventContext(mockEvent(context));
+
+      BaseEventContext child = child(context, empty());
+      BaseEventContext isolatedChild = transactionIsolatedChild(context, empty(), NullExceptionHandler.getInstance());
+      assertThat(child.getBoundTransaction().get(), is(tx));
+      assertThat(isolatedChild.getBoundTransaction().isPresent(), is(false));
+      assertThat(child(isolatedChild, empty()).getBoundTransaction().isPresent(), is(false));
+
+      setCurrentEvent(mockEvent(isolatedChild));
+      try {
+        assertThat(tc.getTransaction(), nullValue());
+      } finally {
+        setCurrentEvent(null);
+        tc.unbindTransaction(tx);
+      }
+    } finally {
+      System.clearProperty(EVENT_BOUND_TRANSACTIONS_PROPERTY);
+    }
+  }
+
+  @Test
+  public void transactionNotBoundToTransactionIsolatedChild() throws Exception {
+    System.setProperty(EVENT_BOUND_TRANSACTIONS_PROPERTY, "true");
+    try {
+      TestTransaction tx = new TestTransaction(muleContext);
+      tc.bindTransaction(tx);
+      BaseEventContext context = newEventContext();
+      BaseEventContext isolatedChild = transactionIsolatedChild(context, empty(), NullExceptionHandler.getInstance());
+
+      assertThat(tc.bindTransactionToEventContext(mockEvent(isolatedChild)), is(false));
+      assertThat(isThreadBoundTransactionActive(), is(true));
+      assertThat(context.getBoundTransaction().isPresent(), is(false));
+    } finally {
+      System.clearProperty(EVENT_BOUND_TRANSACTIONS_PROPERTY);
+    }
+  }
+
+  private BaseEventContext newEventContext() {
+    return (BaseEventContext) create("id", "server", fromSingleComponent("test"), NullExceptionHandler.getInstance());
+  }
+
+  private PrivilegedEvent mockEvent(BaseEventContext context) {
+    PrivilegedEvent event = mock(PrivilegedEvent.class);
+    when(event.getContext()).thenReturn(context);
+    return event;
+  }
+
 }
@@ -8,6 +8,7 @@ package org.mule.runtime.core.api.util;
 
 import static java.util.Collections.emptyMap;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
@@ -118,6 +119,14 @@ public class MessagingExceptionResolverTestCase extends AbstractMuleTestCase {
     assertExceptionMessage(resolved.getMessage(), ERROR_MESSAGE);
   }
 
+  @Test
+  public void resolvedExceptionDoesNotCaptureStackTrace() {
+    MessagingException me = newMessagingException(new Exception(), event, processor);
+    MessagingException resolved = resolver.resolve(me, context);
+    assertThat(resolved.getStackTrace().length, is(0));
+    assertThat(resolved.getCause().getStackTrace().length, greaterThan(0));
+  }
+
   @Test
   public void resolveCriticalError() {
     MessagingException me = newMessagingException(ERROR, event, processor);
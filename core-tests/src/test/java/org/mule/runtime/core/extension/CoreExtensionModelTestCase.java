@@ -132,7 +132,7 @@ public class CoreExtensionModelTestCase extends AbstractMuleContextTestCase {
     assertThat(coreExtensionModel.getImportedTypes(), empty());
     assertThat(coreExtensionModel.getConfigurationModels(), empty());
     assertThat(coreExtensionModel.getOperationModels(), hasSize(8));
-    assertThat(coreExtensionModel.getConstructModels(), hasSize(15));
+    assertThat(coreExtensionModel.getConstructModels(), hasSize(16));
     assertThat(coreExtensionModel.getConnectionProviders(), empty());
     assertThat(coreExtensionModel.getSourceModels(), hasSize(1));
 
@@ -483,7 +483,7 @@ public class CoreExtensionModelTestCase extends AbstractMuleContextTestCase {
     final ConstructModel tryModel = coreExtensionModel.getConstructModel("untilSuccessful").get();
 
     List<ParameterModel> allParameterModels = tryModel.getAllParameterModels();
-    assertThat(allParameterModels, hasSize(2));
+    assertThat(allParameterModels, hasSize(6));
 
     ParameterModel action = allParameterModels.get(0);
     assertThat(action.getName(), is("maxRetries"));
@@ -498,6 +498,66 @@ public class CoreExtensionModelTestCase extends AbstractMuleContextTestCase {
     assertThat(type.getExpressionSupport(), is(NOT_SUPPORTED));
     assertThat(type.getDefaultValue(), is(60000));
     assertThat(type.isRequired(), is(false));
+
+    ParameterModel backoffMultiplier = allParameterModels.get(2);
+    assertThat(backoffMultiplier.getName(), is("backoffMultiplier"));
+    assertThat(backoffMultiplier.getType(), is(instanceOf(DefaultNumberType.class)));
+    assertThat(backoffMultiplier.getExpressionSupport(), is(NOT_SUPPORTED));
+    assertThat(backoffMultiplier.getDefaultValue(), is(1));
+    assertThat(backoffMultiplier.isRequired(), is(false));
+
+    ParameterModel maxMillisBetweenRetries = allParameterModels.get(3);
+    assertThat(maxMillisBetweenRetries.getName(), is("maxMillisBetweenRetries"));
+    assertThat(maxMillisBetweenRetries.getType(), is(instanceOf(DefaultNumberType.class)));
+    assertThat(maxMillisBetweenRetries.getExpressionSupport(), is(NOT_SUPPORTED));
+    assertThat(maxMillisBetweenRetries.isRequired(), is(false));
+
+    ParameterModel jitter = allParameterModels.get(4);
+    assertThat(jitter.getName(), is("jitter"));
+    assertThat(jitter.getType(), is(instanceOf(DefaultNumberType.class)));
+    assertThat(jitter.getExpressionSupport(), is(NOT_SUPPORTED));
+    assertThat(jitter.getDefaultValue(), is(0));
+    assertThat(jitter.isRequired(), is(false));
+
+    ParameterModel circuitBreaker = allParameterModels.get(5);
+    assertThat(circuitBreaker.getName(), is("circuitBreaker"));
+    assertThat(circuitBreaker.getType(), is(instanceOf(DefaultStringType.class)));
+    assertThat(circuitBreaker.getExpressionSupport(), is(NOT_SUPPORTED));
+    assertThat(circuitBreaker.isRequired(), is(false));
+  }
+
+  @Test
+  public void batchAggregator() {
+    final ConstructModel batchAggregatorModel = coreExtensionModel.getConstructModel("batchAggregator").get();
+
+    List<ParameterModel> allParameterModels = batchAggregatorModel.getAllParameterModels();
+    assertThat(allParameterModels, hasSize(5));
+
+    ParameterModel groupBy = allParameterModels.get(0);
+    assertThat(groupBy.getName(), is("groupBy"));
+    assertThat(groupBy.getType(), is(instanceOf(DefaultStringType.class)));
+    assertThat(groupBy.getExpressionSupport(), is(REQUIRED));
+    assertThat(groupBy.isRequired(), is(false));
+
+    ParameterModel maxSize = allParameterModels.get(1);
+    assertThat(maxSize.getName(), is("maxSize"));
+    assertThat(maxSize.getType(), is(instanceOf(DefaultNumberType.class)));
+    assertThat(maxSize.getDefaultValue(), is(100));
+
+    ParameterModel maxWait = allParameterModels.get(2);
+    assertThat(maxWait.getName(), is("maxWait"));
+    assertThat(maxWait.getType(), is(instanceOf(DefaultNumberType.class)));
+    assertThat(maxWait.getDefaultValue(), is(1000));
+
+    ParameterModel maxBytes = allParameterModels.get(3);
+    assertThat(maxBytes.getName(), is("maxBytes"));
+    assertThat(maxBytes.getType(), is(instanceOf(DefaultNumberType.class)));
+    assertThat(maxBytes.getDefaultValue(), is(0));
+
+    ParameterModel persistent = allParameterModels.get(4);
+    assertThat(persistent.getName(), is("persistent"));
+    assertThat(persistent.getType(), is(instanceOf(DefaultBooleanType.class)));
+    assertThat(persistent.getDefaultValue(), is(false));
   }
 
   @Test
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.construct;
+
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mule.runtime.core.api.source.MessageSource.BackPressureStrategy.FAIL;
+import static org.mule.runtime.core.api.source.MessageSource.BackPressureStrategy.WAIT;
+import static org.mule.runtime.core.internal.construct.AbstractPipeline.ADAPTIVE_CONCURRENCY_INITIAL_LIMIT_PROPERTY;
+import static org.mule.runtime.core.internal.construct.AbstractPipeline.ADAPTIVE_CONCURRENCY_MAX_LIMIT_PROPERTY;
+import static org.mule.runtime.core.internal.construct.AbstractPipeline.ADAPTIVE_CONCURRENCY_MIN_LIMIT_PROPERTY;
+import static org.mule.runtime.core.internal.construct.AbstractPipeline.ADAPTIVE_CONCURRENCY_PROPERTY;
+
+import org.mule.runtime.api.component.AbstractComponent;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.core.api.construct.Flow;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.api.source.MessageSource;
+import org.mule.runtime.core.internal.construct.DefaultFlowBuilder.DefaultFlow;
+import org.mule.runtime.core.internal.processor.strategy.DirectProcessingStrategyFactory;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class AdaptiveConcurrencyFlowTestCase extends AbstractMuleContextTestCase {
+
+  private static final String FLOW_NAME = "test-flow";
+
+  @Rule
+  public SystemProperty adaptiveConcurrency = new SystemProperty(ADAPTIVE_CONCURRENCY_PROPERTY, "true");
+
+  @Rule
+  public SystemProperty initialLimit = new SystemProperty(ADAPTIVE_CONCURRENCY_INITIAL_LIMIT_PROPERTY, "1");
+
+  @Rule
+  public SystemProperty minLimit = new SystemProperty(ADAPTIVE_CONCURRENCY_MIN_LIMIT_PROPERTY, "1");
+
+  @Rule
+  public SystemProperty maxLimit = new SystemProperty(ADAPTIVE_CONCURRENCY_MAX_LIMIT_PROPERTY, "1");
+
+  private final CountDownLatch processingLatch = new CountDownLatch(1);
+  private final ExecutorService executor = newCachedThreadPool();
+  private final BackPressureMessageSource source = new BackPressureMessageSource();
+  private DefaultFlow flow;
+
+  @Override
+  protected void doSetUp() throws Exception {
+    super.doSetUp();
+
+    Processor blockingProcessor = event -> {
+      try {
+        if (!processingLatch.await(RECEIVE_TIMEOUT, MILLISECONDS)) {
+          throw new MuleRuntimeException(new TimeoutException("The test did not let the event complete"));
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new MuleRuntimeException(e);
+      }
+      return event;
+    };
+
+    flow = (DefaultFlow) Flow.builder(FLOW_NAME, muleContext)
+        .source(source)
+        .processors(singletonList(blockingProcessor))
+        .processingStrategyFactory(new DirectProcessingStrategyFactory())
+        .build();
+    flow.getStatistics().setEnabled(true);
+  }
+
+  @After
+  public void after() throws MuleException {
+    processingLatch.countDown();
+    executor.shutdownNow();
+
+    if (flow.isStarted()) {
+      flow.stop();
+    }
+    if (flow.getLifecycleState().isInitialised()) {
+      flow.dispose();
+    }
+  }
+
+  @Test
+  public void limitReportedInStatistics() throws Exception {
+    assertThat(flow.getStatistics().getConcurrencyLimit(), is(1));
+  }
+
+  @Test
+  public void failRejectsEventsOverTheLimit() throws Exception {
+    source.backPressureStrategy = FAIL;
+    flow.initialise();
+    flow.start();
+
+    Future<CoreEvent> first = executor.submit(() -> dispatch());
+    awaitInFlight(1);
+
+    try {
+      dispatch();
+      fail("The event over the limit was expected to be rejected");
+    } catch (MuleException e) {
+      assertThat(e.getCause(), instanceOf(FlowBackPressureException.class));
+    }
+    assertThat(flow.getStatistics().getConcurrencyLimitRejections(), is(1L));
+
+    processingLatch.countDown();
+    assertThat(first.get(RECEIVE_TIMEOUT, MILLISECONDS), is(notNullValue()));
+    awaitInFlight(0);
+  }
+
+  @Test
+  public void waitHoldsEventsOverTheLimitUntilThereIsRoom() throws Exception {
+    source.backPressureStrategy = WAIT;
+    flow.initialise();
+    flow.start();
+
+    Future<CoreEvent> first = executor.submit(() -> dispatch());
+    awaitInFlight(1);
+
+    Future<CoreEvent> second = executor.submit(() -> dispatch());
+    new PollingProber(RECEIVE_TIMEOUT, 50).check(new JUnitLambdaProbe(() -> {
+      assertThat(flow.getStatistics().getConcurrencyLimitRejections(), is(1L));
+      return true;
+    }));
+    assertThat(second.isDone(), is(false));
+
+    processingLatch.countDown();
+    assertThat(first.get(RECEIVE_TIMEOUT, MILLISECONDS), is(notNullValue()));
+    assertThat(second.get(RECEIVE_TIMEOUT, MILLISECONDS), is(notNullValue()));
+    awaitInFlight(0);
+  }
+
+  private CoreEvent dispatch() throws MuleException {
+    return source.listener.process(newEvent());
+  }
+
+  private void awaitInFlight(int inFlight) {
+    AdaptiveConcurrencyLimiter limiter = flow.getConcurrencyLimiter().get();
+    new PollingProber(RECEIVE_TIMEOUT, 50).check(new JUnitLambdaProbe(() -> {
+      assertThat(limiter.getInFlight(), is(inFlight));
+      return true;
+    }));
+  }
+
+  private static class BackPressureMessageSource extends AbstractComponent implements MessageSource {
+
+    private volatile BackPressureStrategy backPressureStrategy = FAIL;
+    private Processor listener;
+
+    @Override
+    public void setListener(Processor listener) {
+      this.listener = listener;
+    }
+
+    @Override
+    public BackPressureStrategy getBackPressureStrategy() {
+      return backPressureStrategy;
+    }
+  }
+}
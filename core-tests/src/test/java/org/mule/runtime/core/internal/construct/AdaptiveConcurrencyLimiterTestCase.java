@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.construct;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+@SmallTest
+public class AdaptiveConcurrencyLimiterTestCase extends AbstractMuleTestCase {
+
+  private static final int INITIAL_LIMIT = 20;
+  private static final long WINDOW_MILLIS = 100;
+
+  private final AtomicLong nanos = new AtomicLong(0);
+  private final AtomicInteger reportedLimit = new AtomicInteger();
+  private final AdaptiveConcurrencyLimiter limiter =
+      new AdaptiveConcurrencyLimiter(INITIAL_LIMIT, 1, 100, WINDOW_MILLIS, nanos::get, reportedLimit::set);
+
+  @Test
+  public void rejectsPastLimit() {
+    for (int i = 0; i < INITIAL_LIMIT; ++i) {
+      assertThat(limiter.tryAcquire(), is(true));
+    }
+    assertThat(limiter.tryAcquire(), is(false));
+
+    limiter.release(0, false);
+    assertThat(limiter.tryAcquire(), is(true));
+    assertThat(reportedLimit.get(), is(INITIAL_LIMIT));
+  }
+
+  @Test
+  public void growsWhileLatencyIsStable() {
+    runWindows(5, INITIAL_LIMIT, 10);
+
+    assertThat(limiter.getLimit(), greaterThan(INITIAL_LIMIT));
+    assertThat(reportedLimit.get(), is(limiter.getLimit()));
+  }
+
+  @Test
+  public void shrinksWhenLatencyGoesUp() {
+    runWindows(5, INITIAL_LIMIT, 10);
+    int stableLimit = limiter.getLimit();
+
+    runWindows(5, stableLimit, 100);
+
+    assertThat(limiter.getLimit(), lessThan(stableLimit));
+  }
+
+  @Test
+  public void doesNotGrowWhenUnderused() {
+    runWindows(5, 2, 10);
+
+    assertThat(limiter.getLimit(), is(INITIAL_LIMIT));
+  }
+
+  @Test
+  public void unsampledReleasesDoNotAdapt() {
+    for (int window = 0; window < 5; ++window) {
+      for (int i = 0; i < INITIAL_LIMIT; ++i) {
+        limiter.tryAcquire();
+      }
+      nanos.addAndGet(MILLISECONDS.toNanos(WINDOW_MILLIS));
+      for (int i = 0; i < INITIAL_LIMIT; ++i) {
+        limiter.release(0, false);
+      }
+    }
+
+    assertThat(limiter.getLimit(), is(INITIAL_LIMIT));
+  }
+
+  /*
+   * Keeps 'concurrency' events in flight for each window, all of them taking 'latencyMillis' to complete.
+   */
+  private void runWindows(int windows, int concurrency, long latencyMillis) {
+    for (int window = 0; window < windows; ++window) {
+      int acquired = 0;
+      while (acquired < concurrency && limiter.tryAcquire()) {
+        ++acquired;
+      }
+      long start = nanos.get();
+      nanos.addAndGet(MILLISECONDS.toNanos(latencyMillis));
+      for (int i = 0; i < acquired - 1; ++i) {
+        limiter.release(start, true);
+      }
+      // The window is over by the time the last one completes
+      nanos.set(start + MILLISECONDS.toNanos(WINDOW_MILLIS + latencyMillis));
+      limiter.release(nanos.get() - MILLISECONDS.toNanos(latencyMillis), true);
+    }
+  }
+}
@@ -11,6 +11,8 @@ import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 import static org.mule.runtime.core.api.config.bootstrap.ArtifactType.APP;
+import static org.mule.runtime.core.internal.serialization.CompactObjectSerializer.COMPACT_SERIALIZATION_PROPERTY;
+import static org.mule.tck.MuleTestUtils.testWithSystemProperty;
 
 import org.mule.runtime.api.notification.AsyncMessageNotification;
 import org.mule.runtime.api.notification.AsyncMessageNotificationListener;
@@ -40,6 +42,8 @@ import org.mule.runtime.core.api.context.notification.MuleContextNotification;
 import org.mule.runtime.core.api.context.notification.MuleContextNotificationListener;
 import org.mule.runtime.core.api.context.notification.ServerNotificationManager;
 import org.mule.runtime.core.internal.lifecycle.MuleContextLifecycleManager;
+import org.mule.runtime.core.internal.serialization.CompactObjectSerializer;
+import org.mule.runtime.core.internal.serialization.JavaObjectSerializer;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 
 import java.util.Map;
@@ -62,6 +66,22 @@ public class DefaultMuleContextBuilderTestCase extends AbstractMuleTestCase {
     assertThat(muleContext.getNotificationManager(), instanceOf(ServerNotificationManager.class));
   }
 
+  @Test
+  public void javaObjectSerializerByDefault() {
+    MuleContext muleContext = new DefaultMuleContextBuilder(APP).buildMuleContext();
+
+    assertThat(muleContext.getObjectSerializer(), instanceOf(JavaObjectSerializer.class));
+  }
+
+  @Test
+  public void compactObjectSerializerWhenEnabled() throws Exception {
+    testWithSystemProperty(COMPACT_SERIALIZATION_PROPERTY, "true", () -> {
+      MuleContext muleContext = new DefaultMuleContextBuilder(APP).buildMuleContext();
+
+      assertThat(muleContext.getObjectSerializer(), instanceOf(CompactObjectSerializer.class));
+    });
+  }
+
   @Test
   public void testBuildMuleContextCustom() {
     // Build
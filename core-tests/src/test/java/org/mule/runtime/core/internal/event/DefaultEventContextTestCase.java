@@ -318,6 +318,28 @@ public class DefaultEventContextTestCase extends AbstractMuleContextTestCase {
     assertParent(is(event), is(nullValue()), true, true);
   }
 
+  @Test
+  @Description("Parent EventContext only completes once all its response callbacks are done, even when its last child context " +
+      "completes from one of them.")
+  public void childSuccessFromParentResponseCallback() throws Exception {
+    child = addChild(parent);
+
+    CoreEvent event = testEvent();
+    AtomicReference<CoreEvent> lastResponseValue = new AtomicReference<>();
+    List<String> signals = new ArrayList<>();
+    parent.onResponse((response, throwable) -> child.success(response));
+    parent.onResponse((response, throwable) -> {
+      lastResponseValue.set(response);
+      signals.add("response");
+    });
+    parent.onComplete((response, throwable) -> signals.add("complete"));
+    parent.success(event);
+
+    assertThat(lastResponseValue.get(), is(event));
+    assertThat(signals, contains("response", "complete"));
+    assertParent(is(event), is(nullValue()), true, true);
+  }
+
   @Test
   @Description("Parent EventContext only completes once response publisher completes with no value and all child contexts are complete.")
   public void childSuccessWithNoResult() throws Exception {
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.event;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Test;
+
+@SmallTest
+public class TimeOrderedEventIdGeneratorTestCase extends AbstractMuleTestCase {
+
+  private static final int THREADS = 4;
+  private static final int IDS_PER_THREAD = 100000;
+
+  private final TimeOrderedEventIdGenerator generator = new TimeOrderedEventIdGenerator();
+
+  @Test
+  public void clusterNodePrefix() {
+    assertThat(generator.generateId(3).toString(), startsWith("3-"));
+    assertThat(generator.generateId(12).toString(), startsWith("12-"));
+  }
+
+  @Test
+  public void stringIsCached() {
+    CharSequence id = generator.generateId(1);
+    assertThat(id.toString() == id.toString(), is(true));
+    assertThat(id.length(), is(id.toString().length()));
+  }
+
+  @Test
+  public void orderedWithinThread() {
+    String previous = generator.generateId(1).toString();
+    for (int i = 0; i < IDS_PER_THREAD; ++i) {
+      String current = generator.generateId(1).toString();
+      assertThat(current.compareTo(previous), greaterThan(0));
+      previous = current;
+    }
+  }
+
+  @Test
+  public void uniqueAcrossThreads() throws Exception {
+    Set<String> ids = ConcurrentHashMap.newKeySet();
+    ExecutorService executor = newFixedThreadPool(THREADS);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < THREADS; ++i) {
+        futures.add(executor.submit(() -> {
+          for (int j = 0; j < IDS_PER_THREAD; ++j) {
+            ids.add(generator.generateId(1).toString());
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get(10, SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(ids.size(), is(THREADS * IDS_PER_THREAD));
+  }
+
+  @Test
+  public void serializable() {
+    CharSequence id = generator.generateId(1);
+    CharSequence deserialized = SerializationUtils.clone((TimeOrderedEventIdGenerator.TimeOrderedEventId) id);
+
+    assertThat(deserialized, is(id));
+    assertThat(deserialized.toString(), is(id.toString()));
+  }
+
+}
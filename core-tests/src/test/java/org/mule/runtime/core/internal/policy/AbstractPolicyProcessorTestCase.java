@@ -153,7 +153,7 @@ public abstract class AbstractPolicyProcessorTestCase extends AbstractMuleTestCa
   }
 
   private CoreEvent createTestEvent() {
-    when(mockFlowConstruct.getUniqueIdString()).thenReturn(executionId);
+    when(mockFlowConstruct.getUniqueEventId()).thenReturn(executionId);
     return CoreEvent.builder(create(mockFlowConstruct, fromSingleComponent("http")))
         .message(Message.builder().nullValue().build())
         .build();
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.policy;
+
+import static java.util.Collections.singletonList;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.component.Component;
+import org.mule.runtime.core.api.policy.Policy;
+import org.mule.runtime.core.api.policy.PolicyProvider;
+import org.mule.runtime.policy.api.PolicyPointcutParameters;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+@SmallTest
+public class PolicyCacheTestCase extends AbstractMuleTestCase {
+
+  private final PolicyProvider policyProvider = mock(PolicyProvider.class);
+  private final Function<PolicyPointcutParameters, List<Policy>> resolver = mock(Function.class);
+  private final List<Policy> policies = singletonList(mock(Policy.class));
+
+  private Component component;
+  private Runnable policiesChangedCallback;
+  private PolicyCache policyCache;
+
+  @Before
+  public void setUp() {
+    component = mock(Component.class, RETURNS_DEEP_STUBS);
+    when(component.getLocation().getLocation()).thenReturn("flow/source");
+    when(resolver.apply(any())).thenReturn(policies);
+
+    ArgumentCaptor<Runnable> callbackCaptor = ArgumentCaptor.forClass(Runnable.class);
+    when(policyProvider.onPoliciesChanged(callbackCaptor.capture())).thenReturn(true);
+    policyCache = new PolicyCache(policyProvider);
+    policiesChangedCallback = callbackCaptor.getValue();
+  }
+
+  @Test
+  public void plainParametersCachedByLocation() {
+    assertThat(policyCache.getSourcePolicies(new PolicyPointcutParameters(component), resolver), sameInstance(policies));
+    assertThat(policyCache.getSourcePolicies(new PolicyPointcutParameters(component), resolver), sameInstance(policies));
+
+    verify(resolver).apply(any());
+  }
+
+  @Test
+  public void parametersWithEqualityCachedByValue() {
+    policyCache.getSourcePolicies(new ComparableParameters(component, "GET"), resolver);
+    policyCache.getSourcePolicies(new ComparableParameters(component, "GET"), resolver);
+    verify(resolver).apply(any());
+
+    policyCache.getSourcePolicies(new ComparableParameters(component, "POST"), resolver);
+    verify(resolver, times(2)).apply(any());
+  }
+
+  @Test
+  public void parametersWithoutEqualityNotCached() {
+    policyCache.getSourcePolicies(new NonComparableParameters(component), resolver);
+    policyCache.getSourcePolicies(new NonComparableParameters(component), resolver);
+
+    verify(resolver, times(2)).apply(any());
+  }
+
+  @Test
+  public void operationWithNonComparableSourceParametersNotCached() {
+    PolicyPointcutParameters sourceParameters = new NonComparableParameters(component);
+    policyCache.getOperationPolicies(new PolicyPointcutParameters(component, sourceParameters), resolver);
+    policyCache.getOperationPolicies(new PolicyPointcutParameters(component, sourceParameters), resolver);
+
+    verify(resolver, times(2)).apply(any());
+  }
+
+  @Test
+  public void invalidatedWhenPoliciesChange() {
+    policyCache.getOperationPolicies(new PolicyPointcutParameters(component), resolver);
+    policiesChangedCallback.run();
+    policyCache.getOperationPolicies(new PolicyPointcutParameters(component), resolver);
+
+    verify(resolver, times(2)).apply(any());
+  }
+
+  @Test
+  public void notCachedWhenProviderDoesNotNotifyChanges() {
+    PolicyProvider notNotifyingProvider = mock(PolicyProvider.class);
+    when(notNotifyingProvider.onPoliciesChanged(any())).thenReturn(false);
+    policyCache = new PolicyCache(notNotifyingProvider);
+
+    policyCache.getSourcePolicies(new PolicyPointcutParameters(component), resolver);
+    policyCache.getSourcePolicies(new PolicyPointcutParameters(component), resolver);
+
+    verify(resolver, times(2)).apply(any());
+  }
+
+  private static class ComparableParameters extends PolicyPointcutParameters {
+
+    private final String method;
+
+    ComparableParameters(Component component, String method) {
+      super(component);
+      this.method = method;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof ComparableParameters && getComponent().equals(((ComparableParameters) obj).getComponent())
+          && method.equals(((ComparableParameters) obj).method);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(getComponent(), method);
+    }
+  }
+
+  private static class NonComparableParameters extends PolicyPointcutParameters {
+
+    NonComparableParameters(Component component) {
+      super(component);
+    }
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.lang.Thread.currentThread;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.Sink;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class ShardedSinkTestCase extends AbstractMuleTestCase {
+
+  private static final int SHARDS = 2;
+
+  private final CoreEvent event = mock(CoreEvent.class);
+  private Sink[] shards;
+  private ShardedSink sink;
+  private int home;
+
+  @Before
+  public void before() {
+    shards = new Sink[SHARDS];
+    for (int i = 0; i < SHARDS; ++i) {
+      shards[i] = mock(Sink.class, withSettings().extraInterfaces(Disposable.class));
+    }
+    sink = new ShardedSink(asList(shards));
+    home = (int) (currentThread().getId() % SHARDS);
+  }
+
+  @Test
+  public void acceptUsesHomeShard() {
+    sink.accept(event);
+    sink.accept(event);
+
+    verify(shards[home], times(2)).accept(event);
+    verify(shards[other()], never()).accept(any(CoreEvent.class));
+  }
+
+  @Test
+  public void emitUsesHomeShard() {
+    when(shards[home].emit(event)).thenReturn(true);
+
+    assertThat(sink.emit(event), is(true));
+    verify(shards[other()], never()).emit(any(CoreEvent.class));
+    assertThat(sink.getBackPressureCount(home), is(0L));
+  }
+
+  @Test
+  public void emitFallsBackToOtherShardWhenHomeIsFull() {
+    when(shards[home].emit(event)).thenReturn(false);
+    when(shards[other()].emit(event)).thenReturn(true);
+
+    assertThat(sink.emit(event), is(true));
+    assertThat(sink.getBackPressureCount(home), is(1L));
+    assertThat(sink.getBackPressureCount(other()), is(0L));
+  }
+
+  @Test
+  public void emitFailsWhenAllShardsAreFull() {
+    assertThat(sink.emit(event), is(false));
+    assertThat(sink.getBackPressureCount(home), is(1L));
+    assertThat(sink.getBackPressureCount(other()), is(1L));
+  }
+
+  @Test
+  public void disposeDisposesAllShards() {
+    sink.dispose();
+
+    for (Sink shard : shards) {
+      verify((Disposable) shard).dispose();
+    }
+  }
+
+  @Test
+  public void disposesShardsConcurrently() {
+    // Each shard only completes its disposal once every one of them started it, as when they share their scheduler
+    CountDownLatch disposing = new CountDownLatch(SHARDS);
+    for (Sink shard : shards) {
+      doAnswer(invocation -> {
+        disposing.countDown();
+        assertThat(disposing.await(5, SECONDS), is(true));
+        return null;
+      }).when((Disposable) shard).dispose();
+    }
+
+    sink.dispose();
+
+    assertThat(disposing.getCount(), is(0L));
+  }
+
+  private int other() {
+    return (home + 1) % SHARDS;
+  }
+}
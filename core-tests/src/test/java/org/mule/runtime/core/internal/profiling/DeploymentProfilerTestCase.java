@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.CLASS_LOADING;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.COMPONENT;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.EXTENSION;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.getTimeline;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.isActive;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.removeTimeline;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.setEnabled;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.startDeployment;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.startSpan;
+
+import org.mule.runtime.core.internal.profiling.DeploymentProfiler.Span;
+import org.mule.runtime.core.internal.profiling.DeploymentTimeline.TimelineSpan;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class DeploymentProfilerTestCase extends AbstractMuleTestCase {
+
+  private static final String APP_NAME = "app";
+
+  private boolean wasEnabled;
+
+  @Before
+  public void before() {
+    wasEnabled = DeploymentProfiler.isEnabled();
+    setEnabled(true);
+  }
+
+  @After
+  public void after() {
+    setEnabled(wasEnabled);
+    removeTimeline(APP_NAME);
+  }
+
+  @Test
+  public void recordsHierarchicalTimeline() {
+    try (Span deployment = startDeployment(APP_NAME)) {
+      try (Span classLoading = startSpan(CLASS_LOADING, "plugin")) {
+        assertThat(isActive(), is(true));
+      }
+      try (Span extension = startSpan(EXTENSION, "plugin")) {
+        try (Span component = startSpan(COMPONENT, "initialise flow")) {
+          // Nested in the extension span
+        }
+      }
+    }
+
+    List<TimelineSpan> spans = getTimeline(APP_NAME).get().getSpans();
+    assertThat(spans, hasSize(4));
+    assertThat(spans.get(0).getParentId(), is(-1));
+    assertThat(spans.get(1).getParentId(), is(spans.get(0).getId()));
+    assertThat(spans.get(2).getParentId(), is(spans.get(0).getId()));
+    assertThat(spans.get(3).getParentId(), is(spans.get(2).getId()));
+    for (TimelineSpan span : spans) {
+      assertThat(span.isFinished(), is(true));
+    }
+    assertThat(spans.get(0).getDurationNanos(), greaterThanOrEqualTo(spans.get(2).getDurationNanos()));
+    assertThat(isActive(), is(false));
+  }
+
+  @Test
+  public void nestedDeploymentOfSameArtifactContinuesTimeline() {
+    try (Span deployment = startDeployment(APP_NAME)) {
+      try (Span nested = startDeployment(APP_NAME)) {
+        startSpan(COMPONENT, "initialise flow").close();
+      }
+    }
+
+    List<TimelineSpan> spans = getTimeline(APP_NAME).get().getSpans();
+    assertThat(spans, hasSize(2));
+    assertThat(spans.get(1).getParentId(), is(spans.get(0).getId()));
+  }
+
+  @Test
+  public void spansOutsideDeploymentAreNotRecorded() {
+    startSpan(COMPONENT, "initialise flow").close();
+
+    assertThat(isActive(), is(false));
+    assertThat(getTimeline(APP_NAME).isPresent(), is(false));
+  }
+
+  @Test
+  public void nothingRecordedWhenDisabled() {
+    setEnabled(false);
+    try (Span deployment = startDeployment(APP_NAME)) {
+      startSpan(COMPONENT, "initialise flow").close();
+    }
+
+    assertThat(getTimeline(APP_NAME).isPresent(), is(false));
+  }
+
+  @Test
+  public void exportsJsonAndChromeTrace() {
+    try (Span deployment = startDeployment(APP_NAME)) {
+      startSpan(EXTENSION, "\"quoted\" plugin").close();
+    }
+    DeploymentTimeline timeline = getTimeline(APP_NAME).get();
+
+    String json = timeline.toJson();
+    assertThat(json, containsString("\"artifact\":\"app\""));
+    assertThat(json, containsString("\"children\":[{\"category\":\"extension\",\"name\":\"\\\"quoted\\\" plugin\""));
+
+    String trace = timeline.toChromeTrace();
+    assertThat(trace, containsString("\"traceEvents\":[{\"name\":\"app\",\"cat\":\"deployment\",\"ph\":\"X\""));
+    assertThat(trace, containsString("\"name\":\"thread_name\",\"ph\":\"M\""));
+  }
+}
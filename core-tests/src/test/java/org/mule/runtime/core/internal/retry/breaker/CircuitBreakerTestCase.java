@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.retry.breaker;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.core.internal.retry.breaker.CircuitBreaker.State.CLOSED;
+import static org.mule.runtime.core.internal.retry.breaker.CircuitBreaker.State.HALF_OPEN;
+import static org.mule.runtime.core.internal.retry.breaker.CircuitBreaker.State.OPEN;
+
+import org.mule.runtime.core.internal.retry.breaker.CircuitBreaker.State;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class CircuitBreakerTestCase extends AbstractMuleTestCase {
+
+  private static final int FAILURE_THRESHOLD = 3;
+  private static final long OPEN_MILLIS = 1000;
+  private static final long MAX_OPEN_MILLIS = 3000;
+
+  private final AtomicLong now = new AtomicLong(0);
+  private final List<State> transitions = new ArrayList<>();
+  private CircuitBreaker circuitBreaker;
+
+  @Before
+  public void before() {
+    circuitBreaker = new CircuitBreaker("target", FAILURE_THRESHOLD, OPEN_MILLIS, MAX_OPEN_MILLIS, 1, now::get);
+    circuitBreaker.addStateListener((breaker, from, to) -> transitions.add(to));
+  }
+
+  @Test
+  public void opensAfterConsecutiveFailures() {
+    for (int i = 0; i < FAILURE_THRESHOLD - 1; ++i) {
+      assertThat(circuitBreaker.tryAcquirePermission(), is(true));
+      circuitBreaker.onFailure();
+    }
+    assertThat(circuitBreaker.getState(), is(CLOSED));
+
+    circuitBreaker.onFailure();
+    assertThat(circuitBreaker.getState(), is(OPEN));
+    assertThat(circuitBreaker.tryAcquirePermission(), is(false));
+    assertThat(circuitBreaker.getRemainingOpenMillis(), is(OPEN_MILLIS));
+    assertThat(transitions, contains(OPEN));
+  }
+
+  @Test
+  public void successResetsFailureCount() {
+    for (int i = 0; i < FAILURE_THRESHOLD - 1; ++i) {
+      circuitBreaker.onFailure();
+    }
+    circuitBreaker.onSuccess();
+    circuitBreaker.onFailure();
+
+    assertThat(circuitBreaker.getState(), is(CLOSED));
+    assertThat(transitions.isEmpty(), is(true));
+  }
+
+  @Test
+  public void halfOpenProbeClosesOnSuccess() {
+    open();
+    now.addAndGet(OPEN_MILLIS);
+
+    assertThat(circuitBreaker.tryAcquirePermission(), is(true));
+    assertThat(circuitBreaker.getState(), is(HALF_OPEN));
+    assertThat("Only one probe allowed while half open", circuitBreaker.tryAcquirePermission(), is(false));
+
+    circuitBreaker.onSuccess();
+    assertThat(circuitBreaker.getState(), is(CLOSED));
+    assertThat(circuitBreaker.tryAcquirePermission(), is(true));
+    assertThat(transitions, contains(OPEN, HALF_OPEN, CLOSED));
+  }
+
+  @Test
+  public void failedProbeBacksOffExponentially() {
+    open();
+
+    now.addAndGet(OPEN_MILLIS);
+    assertThat(circuitBreaker.tryAcquirePermission(), is(true));
+    circuitBreaker.onFailure();
+    assertThat(circuitBreaker.getState(), is(OPEN));
+    assertThat(circuitBreaker.getRemainingOpenMillis(), is(OPEN_MILLIS * 2));
+
+    now.addAndGet(OPEN_MILLIS * 2);
+    assertThat(circuitBreaker.tryAcquirePermission(), is(true));
+    circuitBreaker.onFailure();
+    assertThat(circuitBreaker.getRemainingOpenMillis(), is(MAX_OPEN_MILLIS));
+  }
+
+  @Test
+  public void releasedProbeAllowsAnotherOne() {
+    open();
+    now.addAndGet(OPEN_MILLIS);
+
+    assertThat(circuitBreaker.tryAcquirePermission(), is(true));
+    circuitBreaker.releasePermission();
+    assertThat(circuitBreaker.tryAcquirePermission(), is(true));
+    assertThat(circuitBreaker.getState(), is(HALF_OPEN));
+  }
+
+  private void open() {
+    for (int i = 0; i < FAILURE_THRESHOLD; ++i) {
+      circuitBreaker.onFailure();
+    }
+    assertThat(circuitBreaker.getState(), is(OPEN));
+  }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.api.component.location.ConfigurationComponentLocator.REGISTRY_KEY;
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.api.metadata.DataType.BYTE_ARRAY;
+import static org.mule.runtime.core.api.util.IOUtils.toByteArray;
+import static org.mule.tck.MuleTestUtils.APPLE_FLOW;
+import static org.mule.tck.MuleTestUtils.createAndRegisterFlow;
+import static org.mule.tck.util.MuleContextUtils.eventBuilder;
+
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.internal.message.InternalMessage;
+import org.mule.runtime.core.internal.streaming.bytes.ByteArrayCursorStreamProvider;
+import org.mule.runtime.core.privileged.processor.InternalProcessor;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class BatchAggregatorTestCase extends AbstractMuleContextTestCase {
+
+  private final BlockingQueue<List<Message>> batches = new LinkedBlockingQueue<>();
+  private BatchAggregator batchAggregator;
+
+  @Override
+  protected Map<String, Object> getStartUpRegistryObjects() {
+    return singletonMap(REGISTRY_KEY, componentLocator);
+  }
+
+  @Override
+  protected void doSetUp() throws Exception {
+    super.doSetUp();
+    createAndRegisterFlow(muleContext, APPLE_FLOW, componentLocator);
+
+    batchAggregator = new BatchAggregator();
+    batchAggregator.setAnnotations(getAppleFlowComponentLocationAnnotations());
+    batchAggregator.setMessageProcessors(singletonList(new BatchCollector()));
+    muleContext.getInjector().inject(batchAggregator);
+  }
+
+  @After
+  public void after() throws Exception {
+    batchAggregator.stop();
+    batchAggregator.dispose();
+  }
+
+  @Test
+  public void eventContinuesUnchanged() throws Exception {
+    start(10, 0);
+
+    CoreEvent event = testEvent();
+    assertThat(batchAggregator.process(event), sameInstance(event));
+  }
+
+  @Test
+  public void routesFullBatches() throws Exception {
+    start(3, 0);
+
+    for (int i = 0; i < 7; ++i) {
+      batchAggregator.process(eventBuilder(muleContext).message(of(i)).build());
+    }
+
+    List<Message> batch = batches.poll(RECEIVE_TIMEOUT, MILLISECONDS);
+    assertThat(batch, hasSize(3));
+    assertThat(batches.poll(RECEIVE_TIMEOUT, MILLISECONDS), hasSize(3));
+    assertThat(batches.isEmpty(), is(true));
+  }
+
+  @Test
+  public void routesPendingBatchAfterMaxWait() throws Exception {
+    start(10, 100);
+
+    batchAggregator.process(eventBuilder(muleContext).message(of("a")).build());
+    batchAggregator.process(eventBuilder(muleContext).message(of("b")).build());
+
+    new PollingProber(RECEIVE_TIMEOUT, 50).check(new JUnitLambdaProbe(() -> !batches.isEmpty()));
+    List<Message> batch = batches.poll();
+    assertThat(batch, hasSize(2));
+    assertThat(batch.get(0).getPayload().getValue(), is("a"));
+    assertThat(batch.get(1).getPayload().getValue(), is("b"));
+  }
+
+  @Test
+  public void routesPendingBatchOnStop() throws Exception {
+    start(10, 0);
+
+    batchAggregator.process(eventBuilder(muleContext).message(of("a")).build());
+    batchAggregator.stop();
+
+    assertThat(batches.poll(), hasSize(1));
+  }
+
+  @Test
+  public void routesMessageArrivingAfterStop() throws Exception {
+    start(10, 100);
+    batchAggregator.stop();
+
+    batchAggregator.process(eventBuilder(muleContext).message(of("a")).build());
+
+    List<Message> batch = batches.poll();
+    assertThat(batch, hasSize(1));
+    assertThat(batch.get(0).getPayload().getValue(), is("a"));
+  }
+
+  @Test
+  public void streamedPayloadOutlivesItsCursorProvider() throws Exception {
+    start(2, 0);
+
+    ClosableCursorStreamProvider streamed = new ClosableCursorStreamProvider("streamed".getBytes());
+    batchAggregator.process(eventBuilder(muleContext).message(of(streamed)).build());
+    // What the streaming manager does once the context of the event terminates
+    streamed.close();
+    batchAggregator.process(eventBuilder(muleContext).message(of("b")).build());
+
+    List<Message> batch = batches.poll(RECEIVE_TIMEOUT, MILLISECONDS);
+    assertThat(batch, hasSize(2));
+    assertThat(new String(toByteArray((CursorStreamProvider) batch.get(0).getPayload().getValue())), is("streamed"));
+  }
+
+  @Test
+  public void routesBatchesByGroup() throws Exception {
+    batchAggregator.setGroupBy("#[payload]");
+    start(2, 0);
+
+    for (String payload : asList("a", "b", "a", "b")) {
+      batchAggregator.process(eventBuilder(muleContext).message(of(payload)).build());
+    }
+
+    for (int i = 0; i < 2; ++i) {
+      List<Message> batch = batches.poll(RECEIVE_TIMEOUT, MILLISECONDS);
+      assertThat(batch, hasSize(2));
+      assertThat(batch.get(0).getPayload().getValue(), is(batch.get(1).getPayload().getValue()));
+    }
+    assertThat(batches.isEmpty(), is(true));
+  }
+
+  @Test
+  public void routesBatchOnMaxBytes() throws Exception {
+    batchAggregator.setMaxBytes(10);
+    start(10, 0);
+
+    batchAggregator.process(eventBuilder(muleContext).message(bytesMessage(6)).build());
+    batchAggregator.process(eventBuilder(muleContext).message(bytesMessage(6)).build());
+    batchAggregator.process(eventBuilder(muleContext).message(bytesMessage(6)).build());
+
+    assertThat(batches.poll(RECEIVE_TIMEOUT, MILLISECONDS), hasSize(2));
+    assertThat(batches.isEmpty(), is(true));
+  }
+
+  @Test
+  public void persistentPendingBatchRoutedOnNextStart() throws Exception {
+    batchAggregator.setPersistent(true);
+    start(10, 0);
+
+    batchAggregator.process(eventBuilder(muleContext).message(of("a")).build());
+    batchAggregator.stop();
+
+    assertThat(batches.isEmpty(), is(true));
+
+    batchAggregator.start();
+
+    List<Message> batch = batches.poll(RECEIVE_TIMEOUT, MILLISECONDS);
+    assertThat(batch, hasSize(1));
+    assertThat(batch.get(0).getPayload().getValue(), is("a"));
+  }
+
+  private Message bytesMessage(int length) {
+    return InternalMessage.builder().payload(new TypedValue<>(new byte[length], BYTE_ARRAY, OptionalLong.of(length))).build();
+  }
+
+  private void start(int maxSize, long maxWait) throws Exception {
+    batchAggregator.setMaxSize(maxSize);
+    batchAggregator.setMaxWait(maxWait);
+    batchAggregator.initialise();
+    batchAggregator.start();
+  }
+
+  private static class ClosableCursorStreamProvider implements CursorStreamProvider {
+
+    private final ByteArrayCursorStreamProvider delegate;
+    private boolean closed;
+
+    private ClosableCursorStreamProvider(byte[] content) {
+      delegate = new ByteArrayCursorStreamProvider(content);
+    }
+
+    @Override
+    public CursorStream openCursor() {
+      if (closed) {
+        throw new IllegalStateException("Cursor provider is closed");
+      }
+      return delegate.openCursor();
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+
+    @Override
+    public void releaseResources() {}
+
+    @Override
+    public boolean isClosed() {
+      return closed;
+    }
+  }
+
+  private class BatchCollector implements Processor, InternalProcessor {
+
+    @Override
+    public CoreEvent process(CoreEvent event) {
+      batches.add((List<Message>) event.getMessage().getPayload().getValue());
+      return event;
+    }
+  }
+}
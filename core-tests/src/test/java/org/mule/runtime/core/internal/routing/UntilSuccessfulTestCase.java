@@ -21,7 +21,9 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mule.runtime.api.component.location.ConfigurationComponentLocator.REGISTRY_KEY;
 import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_CIRCUIT_BREAKER_MANAGER;
 import static org.mule.runtime.core.api.transaction.TransactionCoordination.getInstance;
+import static org.mule.runtime.core.internal.retry.breaker.CircuitBreaker.State.OPEN;
 import static org.mule.tck.MuleTestUtils.APPLE_FLOW;
 import static org.mule.tck.MuleTestUtils.createAndRegisterFlow;
 import static org.mule.tck.util.MuleContextUtils.eventBuilder;
@@ -34,7 +36,10 @@ import org.mule.runtime.core.api.processor.ReactiveProcessor;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
 import org.mule.runtime.core.api.retry.policy.RetryPolicyExhaustedException;
 import org.mule.runtime.core.api.transaction.Transaction;
+import org.mule.runtime.core.internal.context.MuleContextWithRegistry;
 import org.mule.runtime.core.internal.exception.MessagingException;
+import org.mule.runtime.core.internal.retry.breaker.CircuitBreaker;
+import org.mule.runtime.core.internal.retry.breaker.CircuitBreakerManager;
 import org.mule.runtime.core.privileged.processor.InternalProcessor;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
 
@@ -208,6 +213,29 @@ public class UntilSuccessfulTestCase extends AbstractMuleContextTestCase {
     assertEquals(60 * 1000, untilSuccessful.getMillisBetweenRetries());
   }
 
+  @Test
+  public void testOpenCircuitBreakerFailsFast() throws Exception {
+    targetMessageProcessor.setNumberOfFailuresToSimulate(Integer.MAX_VALUE);
+    untilSuccessful.setCircuitBreaker("target");
+    untilSuccessful.initialise();
+    untilSuccessful.start();
+
+    CircuitBreaker circuitBreaker = ((MuleContextWithRegistry) muleContext).getRegistry()
+        .<CircuitBreakerManager>lookupObject(OBJECT_CIRCUIT_BREAKER_MANAGER).getCircuitBreaker("target");
+    while (circuitBreaker.getState() != OPEN) {
+      circuitBreaker.onFailure();
+    }
+
+    final CoreEvent testEvent = eventBuilder(muleContext).message(of("ERROR")).build();
+    expected.expect(MessagingException.class);
+    expected.expectCause(instanceOf(RetryPolicyExhaustedException.class));
+    try {
+      untilSuccessful.process(testEvent);
+    } finally {
+      assertEquals(0, targetMessageProcessor.getEventCount());
+    }
+  }
+
   private void assertTargetEventReceived(CoreEvent request) throws MuleException {
     assertThat(targetMessageProcessor.getEventReceived(), not(nullValue()));
     assertLogicallyEqualEvents(request, targetMessageProcessor.getEventReceived());
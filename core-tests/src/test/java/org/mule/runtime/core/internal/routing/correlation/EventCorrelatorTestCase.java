@@ -6,6 +6,10 @@
  */
 package org.mule.runtime.core.internal.routing.correlation;
 
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -117,6 +121,16 @@ public class EventCorrelatorTestCase extends AbstractMuleTestCase {
     verify(mockEventGroup, times(1)).initAfterDeserialisation(mockMuleContext);
   }
 
+  @Test
+  public void removedGroupIsNotCachedAgain() throws Exception {
+    EventCorrelator eventCorrelator = createEventCorrelator();
+    assertThat(eventCorrelator.getEventGroup(TEST_GROUP_ID), is(sameInstance(mockEventGroup)));
+
+    eventCorrelator.removeEventGroup(mockEventGroup);
+
+    assertThat(eventCorrelator.getEventGroup(TEST_GROUP_ID), is(nullValue()));
+  }
+
   @Test
   @Ignore("MULE-7311")
   @Issue("MULE-7311")
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.api.metadata.MediaType.APPLICATION_JSON;
+import static org.mule.tck.util.MuleContextUtils.eventBuilder;
+
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.serialization.SerializationException;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.message.InternalEvent;
+import org.mule.runtime.core.internal.streaming.bytes.ByteArrayCursorStreamProvider;
+import org.mule.runtime.core.internal.util.CaseInsensitivePersistentMap;
+import org.mule.tck.core.internal.serialization.AbstractSerializerProtocolContractTestCase;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+public class CompactSerializationProtocolTestCase extends AbstractSerializerProtocolContractTestCase {
+
+  // Values of the format, hardcoded so that changing them breaks these tests
+  private static final int MAGIC = 0xC5;
+  private static final int STRING = 1;
+  private static final int LONG = 3;
+  private static final int DATA_TYPE = 8;
+  private static final int TYPED_VALUE = 9;
+  private static final int EVENT = 14;
+
+  @Override
+  protected void doSetUp() throws Exception {
+    CompactObjectSerializer serializer = new CompactObjectSerializer();
+    serializer.setMuleContext(muleContext);
+    serializationProtocol = serializer.getInternalProtocol();
+  }
+
+  @Test(expected = SerializationException.class)
+  public void notSerializable() throws Exception {
+    serializationProtocol.serialize(new Object());
+  }
+
+  @Test
+  public void message() throws Exception {
+    Message message = Message.builder().value("{\"hello\": \"world\"}").mediaType(APPLICATION_JSON)
+        .attributesValue(new HashMap<>()).build();
+
+    Message deserialized = serializationProtocol.deserialize(serializationProtocol.serialize(message));
+
+    assertThat(deserialized.getPayload().getValue(), equalTo(message.getPayload().getValue()));
+    assertThat(deserialized.getPayload().getDataType(), equalTo(message.getPayload().getDataType()));
+    assertThat(deserialized.getAttributes().getValue(), equalTo(message.getAttributes().getValue()));
+  }
+
+  @Test
+  public void messageIsSmallerThanWithJavaSerialization() throws Exception {
+    Message message = Message.builder().value("hello").mediaType(APPLICATION_JSON).build();
+
+    byte[] compact = serializationProtocol.serialize(message);
+    byte[] java = muleContext.getObjectSerializer().getInternalProtocol().serialize(message);
+
+    assertThat(compact.length, lessThan(java.length));
+  }
+
+  @Test
+  public void typedValue() throws Exception {
+    TypedValue<String> typedValue = new TypedValue<>("hello", DataType.builder().type(String.class).charset(UTF_8).build());
+
+    TypedValue<String> deserialized = serializationProtocol.deserialize(serializationProtocol.serialize(typedValue));
+
+    assertThat(deserialized, equalTo(typedValue));
+  }
+
+  @Test
+  public void variables() throws Exception {
+    List<Object> list = new ArrayList<>();
+    list.add(1);
+    list.add(2L);
+    list.add(true);
+    CaseInsensitivePersistentMap<Object> variables = CaseInsensitivePersistentMap.empty()
+        .plus("Number", new TypedValue<>(1.5, DataType.NUMBER))
+        .plus("list", new TypedValue<>(list, DataType.fromObject(list)));
+
+    Map<String, Object> deserialized = serializationProtocol.deserialize(serializationProtocol.serialize(variables));
+
+    assertThat(deserialized, instanceOf(CaseInsensitivePersistentMap.class));
+    assertThat(((TypedValue) deserialized.get("number")).getValue(), is(1.5));
+    assertThat(((TypedValue) deserialized.get("LIST")).getValue(), equalTo(list));
+  }
+
+  @Test
+  public void event() throws Exception {
+    CoreEvent event = InternalEvent.builder(eventBuilder(muleContext).message(Message.of("hello")).build())
+        .addVariable("number", 1.5)
+        .correlationId("legacy")
+        .build();
+
+    byte[] bytes = serializationProtocol.serialize(event);
+    InternalEvent deserialized = serializationProtocol.deserialize(bytes);
+
+    assertThat((int) bytes[2], is(EVENT));
+    assertThat(deserialized.getContext().getId(), equalTo(event.getContext().getId()));
+    assertThat(deserialized.getContext().getCorrelationId(), equalTo(event.getContext().getCorrelationId()));
+    assertThat(deserialized.getContext().getOriginatingLocation().getLocation(),
+               equalTo(event.getContext().getOriginatingLocation().getLocation()));
+    assertThat(deserialized.getMessage().getPayload().getValue(), equalTo("hello"));
+    assertThat(deserialized.getVariables().get("NUMBER").getValue(), is(1.5));
+    assertThat(deserialized.getLegacyCorrelationId(), is("legacy"));
+    assertThat(deserialized.getError().isPresent(), is(false));
+  }
+
+  @Test
+  public void eventIsSmallerThanWithJavaSerialization() throws Exception {
+    CoreEvent event = eventBuilder(muleContext).message(Message.of("hello")).addVariable("number", 1.5).build();
+
+    byte[] compact = serializationProtocol.serialize(event);
+    byte[] java = muleContext.getObjectSerializer().getInternalProtocol().serialize(event);
+
+    assertThat(compact.length, lessThan(java.length));
+  }
+
+  @Test
+  public void cursorStreamIsStreamed() throws Exception {
+    byte[] content = new byte[100 * 1024];
+    for (int i = 0; i < content.length; i++) {
+      content[i] = (byte) i;
+    }
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    serializationProtocol.serialize(new ByteArrayCursorStreamProvider(content), out);
+
+    byte[] deserialized = serializationProtocol.deserialize(out.toByteArray());
+    assertThat(deserialized, equalTo(content));
+  }
+
+  @Test
+  public void serializeClosesStream() throws Exception {
+    AtomicBoolean closed = new AtomicBoolean();
+    ByteArrayOutputStream out = new ByteArrayOutputStream() {
+
+      @Override
+      public void close() {
+        closed.set(true);
+      }
+    };
+
+    serializationProtocol.serialize("hello", out);
+
+    assertThat(closed.get(), is(true));
+    assertThat(serializationProtocol.deserialize(out.toByteArray()), equalTo("hello"));
+  }
+
+  @Test
+  public void skipsFieldsAppendedByNewerVersions() throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    writeHeader(out, 1);
+    // A typed value with one more field than the current ones
+    out.writeByte(TYPED_VALUE);
+    out.writeByte(4);
+    writeString("hello", out);
+    // A data type with one more field than the current ones
+    out.writeByte(DATA_TYPE);
+    out.writeByte(3);
+    writeString(String.class.getName(), out);
+    writeString("text/plain", out);
+    writeString("appended", out);
+    out.writeByte(LONG);
+    out.writeLong(5);
+    writeString("appended", out);
+
+    TypedValue<String> deserialized = serializationProtocol.deserialize(bytes.toByteArray());
+
+    assertThat(deserialized.getValue(), is("hello"));
+    assertThat(deserialized.getDataType().getType(), equalTo(String.class));
+    assertThat(deserialized.getDataType().getMediaType().toRfcString(), is("text/plain"));
+    assertThat(deserialized.getByteLength().getAsLong(), is(5L));
+  }
+
+  @Test
+  public void defaultsFieldsMissingInOlderVersions() throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    writeHeader(out, 1);
+    // A typed value without its length
+    out.writeByte(TYPED_VALUE);
+    out.writeByte(2);
+    writeString("hello", out);
+    out.writeByte(DATA_TYPE);
+    out.writeByte(1);
+    writeString(String.class.getName(), out);
+
+    TypedValue<String> deserialized = serializationProtocol.deserialize(bytes.toByteArray());
+
+    assertThat(deserialized.getValue(), is("hello"));
+    assertThat(deserialized.getDataType().getType(), equalTo(String.class));
+    assertThat(deserialized.getByteLength().isPresent(), is(false));
+  }
+
+  @Test(expected = SerializationException.class)
+  public void rejectsNewerVersions() throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    writeHeader(out, 3);
+    writeString("hello", out);
+
+    serializationProtocol.deserialize(bytes.toByteArray());
+  }
+
+  @Test
+  public void readsJavaSerializedContent() throws Exception {
+    byte[] bytes = muleContext.getObjectSerializer().getInternalProtocol().serialize("hello");
+
+    assertThat(serializationProtocol.deserialize(bytes), equalTo("hello"));
+  }
+
+  private void writeHeader(DataOutputStream out, int version) throws IOException {
+    out.writeByte(MAGIC);
+    out.writeByte(version);
+  }
+
+  private void writeString(String value, DataOutputStream out) throws IOException {
+    byte[] bytes = value.getBytes(UTF_8);
+    out.writeByte(STRING);
+    out.writeByte(bytes.length);
+    out.write(bytes);
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.source.scheduler;
+
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mule.runtime.core.internal.source.scheduler.SourceSchedulingEngine.isSupported;
+import static org.mule.runtime.core.internal.source.scheduler.SourceSchedulingEngine.schedule;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerConfig;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.core.api.source.scheduler.CronScheduler;
+import org.mule.runtime.core.api.source.scheduler.FixedFrequencyScheduler;
+import org.mule.runtime.core.internal.source.scheduler.SourceSchedulingEngine.ScheduledJob;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SourceSchedulingEngineTestCase extends AbstractMuleContextTestCase {
+
+  private static final int SOURCES = 20;
+  private static final String CRON_EXPRESSION = "0 0/5 * * * ?";
+
+  private final ExecutorService executor = newCachedThreadPool();
+  private final List<ScheduledJob> jobs = new ArrayList<>();
+  private final AtomicReference<Scheduler> timer = new AtomicReference<>();
+  private final AtomicInteger createdTimers = new AtomicInteger();
+
+  @Before
+  public void before() {
+    SchedulerService schedulerService = muleContext.getSchedulerService();
+    doAnswer(invocation -> {
+      Scheduler scheduler = (Scheduler) invocation.callRealMethod();
+      timer.set(scheduler);
+      createdTimers.incrementAndGet();
+      return scheduler;
+    }).when(schedulerService).customScheduler(any(SchedulerConfig.class));
+  }
+
+  @After
+  public void after() {
+    jobs.forEach(ScheduledJob::cancel);
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void fixedFrequencySourcesShareTimer() throws Exception {
+    List<AtomicInteger> executions = new ArrayList<>();
+    for (int i = 0; i < SOURCES; ++i) {
+      AtomicInteger sourceExecutions = new AtomicInteger();
+      executions.add(sourceExecutions);
+      jobs.add(schedule(muleContext, fixedFrequency(50), executor, sourceExecutions::incrementAndGet,
+                        new SchedulingStatistics()));
+    }
+
+    new PollingProber(RECEIVE_TIMEOUT, 50).check(new JUnitLambdaProbe(() -> {
+      for (AtomicInteger sourceExecutions : executions) {
+        assertThat(sourceExecutions.get(), greaterThanOrEqualTo(3));
+      }
+      return true;
+    }));
+    assertThat(createdTimers.get(), is(1));
+
+    jobs.forEach(ScheduledJob::cancel);
+    jobs.clear();
+    verify(timer.get()).stop();
+  }
+
+  @Test
+  public void overlappingExecutionsAreSkipped() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger executions = new AtomicInteger();
+    SchedulingStatistics statistics = new SchedulingStatistics();
+    jobs.add(schedule(muleContext, fixedFrequency(20), executor, () -> {
+      executions.incrementAndGet();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }, statistics));
+
+    new PollingProber(RECEIVE_TIMEOUT, 50).check(new JUnitLambdaProbe(() -> statistics.getSkippedExecutions() >= 3));
+    assertThat(executions.get(), is(1));
+
+    release.countDown();
+    new PollingProber(RECEIVE_TIMEOUT, 50).check(new JUnitLambdaProbe(() -> executions.get() > 1));
+  }
+
+  @Test
+  public void cronSourcesWithSameExpressionAreCoalesced() {
+    for (int i = 0; i < SOURCES; ++i) {
+      jobs.add(schedule(muleContext, cron(CRON_EXPRESSION), executor, () -> {
+      }, new SchedulingStatistics()));
+    }
+    jobs.add(schedule(muleContext, cron("0 0 * * * ?"), executor, () -> {
+    }, new SchedulingStatistics()));
+
+    verify(timer.get(), times(1)).scheduleWithCronExpression(any(), eq(CRON_EXPRESSION), any(TimeZone.class));
+    verify(timer.get(), times(2)).scheduleWithCronExpression(any(), any(), any(TimeZone.class));
+  }
+
+  @Test
+  public void timerOnlyWakesUpWhenJobsAreDue() throws Exception {
+    AtomicInteger executions = new AtomicInteger();
+    jobs.add(schedule(muleContext, fixedFrequency(200), executor, executions::incrementAndGet, new SchedulingStatistics()));
+
+    new PollingProber(RECEIVE_TIMEOUT, 50).check(new JUnitLambdaProbe(() -> executions.get() >= 3));
+
+    verify(timer.get(), never()).scheduleWithFixedDelay(any(Runnable.class), anyLong(), anyLong(), any(TimeUnit.class));
+    // Ticking every TICK_MILLIS would have taken tens of wake-ups by now
+    verify(timer.get(), atMost(2 * executions.get() + 2)).schedule(any(Runnable.class), anyLong(), eq(MILLISECONDS));
+  }
+
+  @Test
+  public void timerIsIdleWithOnlyCronJobs() {
+    jobs.add(schedule(muleContext, cron(CRON_EXPRESSION), executor, () -> {
+    }, new SchedulingStatistics()));
+
+    verify(timer.get(), never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    verify(timer.get(), never()).scheduleWithFixedDelay(any(Runnable.class), anyLong(), anyLong(), any(TimeUnit.class));
+  }
+
+  @Test
+  public void frequencyFinerThanTimerIsNotSupported() {
+    assertThat(isSupported(fixedFrequency(SourceSchedulingEngine.TICK_MILLIS)), is(true));
+    assertThat(isSupported(fixedFrequency(1)), is(false));
+    assertThat(isSupported(cron(CRON_EXPRESSION)), is(true));
+  }
+
+  private static FixedFrequencyScheduler fixedFrequency(long frequencyMillis) {
+    FixedFrequencyScheduler scheduler = new FixedFrequencyScheduler();
+    scheduler.setTimeUnit(MILLISECONDS);
+    scheduler.setFrequency(frequencyMillis);
+    scheduler.setStartDelay(0);
+    return scheduler;
+  }
+
+  private static CronScheduler cron(String expression) {
+    CronScheduler scheduler = new CronScheduler();
+    scheduler.setExpression(expression);
+    return scheduler;
+  }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.api.event.EventContextFactory.create;
+import static org.mule.runtime.core.api.exception.NullExceptionHandler.getInstance;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+
+import io.qameta.allure.Feature;
+
+@SmallTest
+@Feature(STREAMING)
+public class CursorManagerTestCase extends AbstractMuleTestCase {
+
+  private static final int THREADS = 8;
+  private static final int PROVIDERS_PER_THREAD = 100;
+  private static final long TIMEOUT_SECONDS = 5;
+
+  private MutableStreamingStatistics statistics;
+  private CursorManager cursorManager;
+
+  @Before
+  public void before() {
+    Scheduler disposalScheduler = mock(Scheduler.class);
+    doAnswer(invocation -> {
+      ((Runnable) invocation.getArguments()[0]).run();
+      return null;
+    }).when(disposalScheduler).execute(any(Runnable.class));
+
+    statistics = new MutableStreamingStatistics();
+    cursorManager = new CursorManager(statistics, disposalScheduler);
+  }
+
+  @Test
+  public void releaseOnEventCompletion() {
+    BaseEventContext context = newContext();
+    CursorStreamProvider provider = mockProvider();
+    CursorStreamProvider managedProvider = (CursorStreamProvider) cursorManager.manage(provider, context);
+    managedProvider.openCursor();
+    CursorStream cursor = provider.openCursor();
+
+    assertThat(statistics.getOpenCursorProvidersCount(), is(1));
+    assertThat(statistics.getOpenCursorsCount(), is(1));
+
+    context.success();
+
+    verify(provider).close();
+    verify(provider).releaseResources();
+    verify(cursor).release();
+    assertThat(statistics.getOpenCursorProvidersCount(), is(0));
+    assertThat(statistics.getOpenCursorsCount(), is(0));
+  }
+
+  @Test
+  public void closedCursorNotReleasedOnEventCompletion() throws Exception {
+    BaseEventContext context = newContext();
+    CursorStreamProvider provider = mockProvider();
+    CursorStreamProvider managedProvider = (CursorStreamProvider) cursorManager.manage(provider, context);
+    managedProvider.openCursor().close();
+    CursorStream cursor = provider.openCursor();
+
+    assertThat(statistics.getOpenCursorsCount(), is(0));
+
+    context.success();
+
+    verify(provider).close();
+    verify(cursor, never()).release();
+    assertThat(statistics.getOpenCursorProvidersCount(), is(0));
+  }
+
+  @Test
+  public void closingLastCursorOfClosedProviderReleasesIt() throws Exception {
+    BaseEventContext context = newContext();
+    CursorStreamProvider provider = mockProvider();
+    CursorStreamProvider managedProvider = (CursorStreamProvider) cursorManager.manage(provider, context);
+    CursorStream managedCursor = managedProvider.openCursor();
+
+    when(provider.isClosed()).thenReturn(true);
+    managedCursor.close();
+
+    verify(provider).releaseResources();
+
+    // The context is still tracked through a new state
+    CursorStreamProvider otherProvider = mockProvider();
+    cursorManager.manage(otherProvider, context);
+    context.success();
+
+    verify(otherProvider).close();
+    verify(otherProvider).releaseResources();
+  }
+
+  @Test
+  public void manageAfterEventCompletion() {
+    BaseEventContext context = newContext();
+    context.success();
+
+    CursorStreamProvider provider = mockProvider();
+    cursorManager.manage(provider, context);
+
+    verify(provider).close();
+    verify(provider).releaseResources();
+    assertThat(statistics.getOpenCursorProvidersCount(), is(0));
+  }
+
+  @Test
+  public void concurrentProviderRegistration() throws Exception {
+    BaseEventContext context = newContext();
+    Collection<CursorStreamProvider> providers = new ConcurrentLinkedQueue<>();
+    CountDownLatch start = new CountDownLatch(1);
+
+    ExecutorService executor = newFixedThreadPool(THREADS);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < THREADS; ++i) {
+        futures.add(executor.submit(() -> {
+          start.await();
+          for (int j = 0; j < PROVIDERS_PER_THREAD; ++j) {
+            CursorStreamProvider provider = mockProvider();
+            providers.add(provider);
+            ((CursorStreamProvider) cursorManager.manage(provider, context)).openCursor();
+          }
+          return null;
+        }));
+      }
+
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get(TIMEOUT_SECONDS, SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(statistics.getOpenCursorProvidersCount(), is(THREADS * PROVIDERS_PER_THREAD));
+    assertThat(statistics.getOpenCursorsCount(), is(THREADS * PROVIDERS_PER_THREAD));
+
+    context.success();
+
+    for (CursorStreamProvider provider : providers) {
+      verify(provider).close();
+      verify(provider).releaseResources();
+    }
+    assertThat(statistics.getOpenCursorProvidersCount(), is(0));
+    assertThat(statistics.getOpenCursorsCount(), is(0));
+  }
+
+  @Test
+  public void releaseOnDetachedContextTermination() {
+    BaseEventContext context = mock(BaseEventContext.class);
+    CursorStreamProvider provider = mockProvider();
+    ((CursorStreamProvider) cursorManager.manage(provider, context)).openCursor();
+    CursorStream cursor = provider.openCursor();
+
+    ArgumentCaptor<BiConsumer> terminatedCallback = ArgumentCaptor.forClass(BiConsumer.class);
+    verify(context).onTerminated(terminatedCallback.capture());
+    terminatedCallback.getValue().accept(mock(CoreEvent.class), null);
+
+    verify(provider).close();
+    verify(provider).releaseResources();
+    verify(cursor).release();
+    assertThat(statistics.getOpenCursorProvidersCount(), is(0));
+    assertThat(statistics.getOpenCursorsCount(), is(0));
+  }
+
+  private BaseEventContext newContext() {
+    return (BaseEventContext) create("id", "serverId", TEST_CONNECTOR_LOCATION, getInstance());
+  }
+
+  private CursorStreamProvider mockProvider() {
+    CursorStreamProvider provider = mock(CursorStreamProvider.class);
+    CursorStream cursor = mock(CursorStream.class);
+    when(provider.openCursor()).thenReturn(cursor);
+    return provider;
+  }
+}
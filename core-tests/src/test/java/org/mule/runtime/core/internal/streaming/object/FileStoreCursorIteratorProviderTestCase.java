@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.object;
+
+import static java.lang.Math.toIntExact;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.StreamingStory.OBJECT_STREAMING;
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.streaming.object.CursorIterator;
+import org.mule.runtime.api.streaming.object.CursorIteratorProvider;
+import org.mule.runtime.core.api.streaming.object.FileStoreCursorIteratorConfig;
+import org.mule.runtime.core.api.util.func.CheckedConsumer;
+import org.mule.tck.size.SmallTest;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@SmallTest
+@Feature(STREAMING)
+@Story(OBJECT_STREAMING)
+public class FileStoreCursorIteratorProviderTestCase extends AbstractObjectStreamingTestCase {
+
+  private static final int DATA_SIZE = 1000;
+  private static final int BUCKET_SIZE = 50;
+  private static final int MAX_IN_MEMORY_BUCKETS = 3;
+
+  private final FileStoreCursorIteratorConfig config = new FileStoreCursorIteratorConfig(BUCKET_SIZE, MAX_IN_MEMORY_BUCKETS);
+  private CursorIteratorProvider streamProvider;
+
+  public FileStoreCursorIteratorProviderTestCase() {
+    super(DATA_SIZE);
+  }
+
+  @Before
+  public void before() {
+    streamProvider = createStreamProvider(data);
+  }
+
+  @After
+  public void after() {
+    streamProvider.close();
+    streamProvider.releaseResources();
+  }
+
+  private CursorIteratorProvider createStreamProvider(List<Object> data) {
+    return new FileStoreCursorIteratorProvider(toStreamingIterator(data), config, muleContext.getObjectSerializer());
+  }
+
+  @Test
+  @Description("Fully consume a stream which doesn't fit in the in memory window")
+  public void readFully() throws Exception {
+    withCursor(cursor -> checkEquals(data, cursor));
+  }
+
+  @Test
+  @Description("Consume the stream and go back to positions which were spilled into the buffer file")
+  public void seekIntoSpilledBuckets() throws Exception {
+    withCursor(cursor -> {
+      checkEquals(data, cursor);
+
+      seekAndAssert(cursor, 0, 10);
+      seekAndAssert(cursor, BUCKET_SIZE + 5, BUCKET_SIZE * 2);
+      seekAndAssert(cursor, DATA_SIZE / 2, DATA_SIZE / 2);
+    });
+  }
+
+  @Test
+  @Description("Direct access to the last two items of the stream without traversing the whole cursor")
+  public void getLastTwoItems() throws Exception {
+    withCursor(cursor -> {
+      cursor.seek(DATA_SIZE - 2);
+
+      assertThat(cursor.next(), is(data.get(DATA_SIZE - 2)));
+      assertThat(cursor.next(), is(data.get(DATA_SIZE - 1)));
+      assertThat(cursor.hasNext(), is(false));
+
+      seekAndAssert(cursor, 0, DATA_SIZE);
+    });
+  }
+
+  @Test
+  @Description("Two open cursors consume the same stream concurrently, each on its own thread")
+  public void twoOpenCursorsConsumingTheStreamConcurrently() throws Exception {
+    ExecutorService executorService = newFixedThreadPool(2);
+    try {
+      withCursor(cursor1 -> withCursor(cursor2 -> {
+        Future<?> future1 = executorService.submit(() -> checkEquals(data, cursor1));
+        Future<?> future2 = executorService.submit(() -> checkEquals(data, cursor2));
+        future1.get(5, SECONDS);
+        future2.get(5, SECONDS);
+      }));
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  @Test(expected = MuleRuntimeException.class)
+  @Description("Items which are not serializable cannot be buffered into the file")
+  public void notSerializableItems() throws Exception {
+    for (int i = 0; i < data.size(); i++) {
+      data.set(i, new Object());
+    }
+    streamProvider.close();
+    streamProvider = createStreamProvider(data);
+
+    withCursor(cursor -> read(cursor, data.size()));
+  }
+
+  private void seekAndAssert(CursorIterator<Object> cursor, long position, int size) throws Exception {
+    cursor.seek(position);
+    List<Object> read = read(cursor, size);
+    checkEquals(read, data.subList(toIntExact(position), toIntExact(position + size)));
+  }
+
+  private void withCursor(CheckedConsumer<CursorIterator> consumer) throws IOException {
+    try (CursorIterator cursor = streamProvider.openCursor()) {
+      consumer.accept(cursor);
+    }
+  }
+}
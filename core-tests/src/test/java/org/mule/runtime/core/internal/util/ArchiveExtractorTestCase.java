@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util;
+
+import static org.apache.commons.io.FileUtils.readFileToByteArray;
+import static org.apache.commons.io.FileUtils.writeStringToFile;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.core.internal.util.ArchiveExtractor.extract;
+
+import org.mule.runtime.core.api.util.compression.InvalidZipFileException;
+import org.mule.runtime.core.internal.util.ArchiveExtractor.ExtractionResult;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class ArchiveExtractorTestCase extends AbstractMuleTestCase {
+
+  private static final int BIG_ENTRIES = 8;
+  private static final int BIG_ENTRY_SIZE = 512 * 1024;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final Map<String, byte[]> entries = new LinkedHashMap<>();
+  private File archive;
+  private File directory;
+
+  @Before
+  public void before() throws IOException {
+    Random random = new Random(42);
+    for (int i = 0; i < BIG_ENTRIES; ++i) {
+      byte[] content = new byte[BIG_ENTRY_SIZE + i];
+      random.nextBytes(content);
+      entries.put("lib/dependency-" + i + ".jar", content);
+    }
+    entries.put("mule-artifact.json", "{}".getBytes());
+    entries.put("classes/config.xml", "<mule/>".getBytes());
+
+    archive = new File(temporaryFolder.getRoot(), "app.jar");
+    writeArchive(archive, entries);
+    directory = new File(temporaryFolder.getRoot(), "app");
+  }
+
+  @Test
+  public void extractsAllEntries() throws Exception {
+    ExtractionResult result = extract(archive, directory, true);
+
+    assertThat(result.getWrittenFiles(), is(entries.size()));
+    assertExtracted();
+  }
+
+  @Test
+  public void overwritesExistingFiles() throws Exception {
+    extract(archive, directory, true);
+    writeStringToFile(new File(directory, "classes/config.xml"), "<modified/>");
+
+    ExtractionResult result = extract(archive, directory, true);
+
+    assertThat(result.getWrittenFiles(), is(entries.size()));
+    assertExtracted();
+  }
+
+  @Test
+  public void reusesUnchangedFilesOfPreviousExtraction() throws Exception {
+    File previousDirectory = new File(temporaryFolder.getRoot(), "previous");
+    extract(archive, previousDirectory, true);
+    writeStringToFile(new File(previousDirectory, "classes/config.xml"), "<modified/>");
+
+    ExtractionResult result = extract(archive, directory, true, previousDirectory);
+
+    assertThat(result.getWrittenFiles(), is(1));
+    assertThat(result.getReusedFiles(), is(entries.size() - 1));
+    assertExtracted();
+  }
+
+  @Test(expected = InvalidZipFileException.class)
+  public void verifiesEntries() throws Exception {
+    Map<String, byte[]> invalidEntries = new LinkedHashMap<>(entries);
+    invalidEntries.put("../external.txt", "external".getBytes());
+    writeArchive(archive, invalidEntries);
+
+    extract(archive, directory, true);
+  }
+
+  private void assertExtracted() throws IOException {
+    for (Entry<String, byte[]> entry : entries.entrySet()) {
+      assertThat(entry.getKey(), Arrays.equals(readFileToByteArray(new File(directory, entry.getKey())), entry.getValue()),
+                 is(true));
+    }
+  }
+
+  private static void writeArchive(File archive, Map<String, byte[]> entries) throws IOException {
+    try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(archive))) {
+      for (Entry<String, byte[]> entry : entries.entrySet()) {
+        out.putNextEntry(new ZipEntry(entry.getKey()));
+        out.write(entry.getValue());
+        out.closeEntry();
+      }
+    }
+  }
+}
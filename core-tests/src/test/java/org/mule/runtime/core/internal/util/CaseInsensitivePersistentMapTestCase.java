@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Test;
+
+@SmallTest
+public class CaseInsensitivePersistentMapTestCase extends AbstractMuleTestCase {
+
+  private CaseInsensitivePersistentMap<Object> map = CaseInsensitivePersistentMap.empty();
+
+  @Test
+  public void caseInsensitive() {
+    map = map.plus("FOO", "bar");
+
+    assertThat(map.get("foo"), is("bar"));
+    assertThat(map.get("FoO"), is("bar"));
+    assertThat(map.containsKey("fOo"), is(true));
+    assertThat(map.keySet(), contains("FOO"));
+  }
+
+  @Test
+  public void replaceKeepsOriginalKeyCase() {
+    map = map.plus("FOO", "bar").plus("foo", "baz");
+
+    assertThat(map.size(), is(1));
+    assertThat(map.get("FOO"), is("baz"));
+    assertThat(map.keySet(), contains("FOO"));
+  }
+
+  @Test
+  public void copiesAreNotModified() {
+    CaseInsensitivePersistentMap<Object> original = map.plus("a", 1).plus("b", 2);
+    CaseInsensitivePersistentMap<Object> added = original.plus("c", 3);
+    CaseInsensitivePersistentMap<Object> removed = original.minus("A");
+
+    assertThat(original.size(), is(2));
+    assertThat(original.get("c"), is(nullValue()));
+    assertThat(original.get("a"), is(1));
+    assertThat(added.size(), is(3));
+    assertThat(added.get("c"), is(3));
+    assertThat(removed.size(), is(1));
+    assertThat(removed.get("a"), is(nullValue()));
+  }
+
+  @Test
+  public void unchangedReturnsSameInstance() {
+    Object value = new Object();
+    map = map.plus("key", value);
+
+    assertThat(map.plus("KEY", value), sameInstance(map));
+    assertThat(map.minus("other"), sameInstance(map));
+  }
+
+  @Test
+  public void manyEntries() {
+    Map<String, Object> expected = new HashMap<>();
+    for (int i = 0; i < 5000; ++i) {
+      map = map.plus("Key" + i, i);
+      expected.put("Key" + i, i);
+    }
+
+    assertThat(map.size(), is(5000));
+    assertThat(map, is(expected));
+    for (int i = 0; i < 5000; ++i) {
+      assertThat(map.get("KEY" + i), is(i));
+    }
+
+    for (int i = 0; i < 5000; i += 2) {
+      map = map.minus("kEy" + i);
+      expected.remove("Key" + i);
+    }
+
+    assertThat(map.size(), is(2500));
+    assertThat(map, is(expected));
+
+    for (int i = 1; i < 5000; i += 2) {
+      map = map.minus("key" + i);
+    }
+    assertThat(map.isEmpty(), is(true));
+    assertThat(map.entrySet().iterator().hasNext(), is(false));
+  }
+
+  @Test
+  public void hashCollisions() {
+    // "a~" and "b_" have the same hash
+    map = map.plus("a~", 1).plus("b_", 2).plus("A~", 3);
+
+    assertThat(map.size(), is(2));
+    assertThat(map.get("a~"), is(3));
+    assertThat(map.get("B_"), is(2));
+    assertThat(map.minus("a~").get("b_"), is(2));
+    assertThat(map.minus("a~").size(), is(1));
+  }
+
+  @Test
+  public void copyOf() {
+    Map<String, Object> source = new HashMap<>();
+    source.put("a", 1);
+    source.put("B", 2);
+
+    CaseInsensitivePersistentMap<Object> copy = CaseInsensitivePersistentMap.copyOf(source);
+    assertThat(copy.get("A"), is(1));
+    assertThat(copy.get("b"), is(2));
+    assertThat(CaseInsensitivePersistentMap.copyOf(copy), sameInstance(copy));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void immutable() {
+    map.plus("a", 1).put("b", 2);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void immutableKeySet() {
+    map.plus("a", 1).keySet().remove("a");
+  }
+
+  @Test
+  public void serializable() {
+    map = map.plus("FOO", "bar").plus("doo", "baz");
+
+    Map<String, Object> deserialized = SerializationUtils.clone(map);
+    assertThat(deserialized, is(map));
+    assertThat(deserialized.get("foo"), is("bar"));
+  }
+
+}
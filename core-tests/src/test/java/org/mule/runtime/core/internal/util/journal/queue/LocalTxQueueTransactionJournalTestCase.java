@@ -7,6 +7,8 @@
 package org.mule.runtime.core.internal.util.journal.queue;
 
 import static java.lang.Math.abs;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.core.Is.is;
@@ -24,8 +26,12 @@ import org.mule.tck.junit4.AbstractMuleContextTestCase;
 import com.google.common.collect.Multimap;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.junit.Before;
 import org.junit.Rule;
@@ -40,6 +46,8 @@ public class LocalTxQueueTransactionJournalTestCase extends AbstractMuleContextT
   private static final String QUEUE_NAME = "queueName";
   private static final int ONE_KB = 1024;
   private static final long MAXIMUM_FILE_SIZE_EXPECTED = (512l + 100) * 1024l;
+  private static final int CONCURRENT_TRANSACTIONS = 8;
+  private static final int OPERATIONS_PER_TRANSACTION = 500;
 
   @Rule
   public ExpectedException expectedException = ExpectedException.none();
@@ -187,6 +195,41 @@ public class LocalTxQueueTransactionJournalTestCase extends AbstractMuleContextT
     assertThat(logEntriesForTx.size(), is(2));
   }
 
+  @Test
+  public void concurrentTransactions() throws Exception {
+    LocalTxQueueTransactionJournal transactionJournal =
+        new LocalTxQueueTransactionJournal(temporaryFolder.getRoot().getAbsolutePath(), muleContext);
+    ExecutorService executor = newFixedThreadPool(CONCURRENT_TRANSACTIONS);
+    try {
+      List<Future<?>> transactions = new ArrayList<>();
+      for (int i = 0; i < CONCURRENT_TRANSACTIONS; i++) {
+        final int txId = i;
+        transactions.add(executor.submit(() -> {
+          for (int j = 0; j < OPERATIONS_PER_TRANSACTION; j++) {
+            transactionJournal.logAdd(txId, mockQueueInfo, "data" + j);
+          }
+          // Only even transactions complete
+          if (txId % 2 == 0) {
+            transactionJournal.logCommit(txId);
+          }
+        }));
+      }
+      for (Future<?> transaction : transactions) {
+        transaction.get(30, SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    transactionJournal.close();
+
+    transactionJournal = new LocalTxQueueTransactionJournal(temporaryFolder.getRoot().getAbsolutePath(), muleContext);
+    Multimap<Integer, LocalQueueTxJournalEntry> allEntries = transactionJournal.getAllLogEntries();
+    assertThat(allEntries.keySet().size(), is(CONCURRENT_TRANSACTIONS / 2));
+    for (int i = 1; i < CONCURRENT_TRANSACTIONS; i += 2) {
+      assertThat(allEntries.get(i).size(), is(OPERATIONS_PER_TRANSACTION));
+    }
+  }
+
   @Test
   public void maximumFileSizeGreaterThanZero() throws Exception {
     expectedException.expect(IllegalArgumentException.class);
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.queue;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Test;
+
+@SmallTest
+public class ArrayQueueStoreDelegateTestCase extends AbstractMuleTestCase {
+
+  private static final int THREADS = 4;
+  private static final int ITEMS_PER_THREAD = 10000;
+
+  private final ExecutorService executor = newFixedThreadPool(THREADS * 2);
+
+  @After
+  public void after() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void putNowBeyondCapacityKeepsOrder() throws Exception {
+    ArrayQueueStoreDelegate queue = new ArrayQueueStoreDelegate(2);
+    for (int i = 0; i < 10; ++i) {
+      queue.putNow(i);
+    }
+
+    assertThat(queue.getSize(), is(10));
+    assertThat(queue.offer(10, 0, 0), is(false));
+    for (int i = 0; i < 10; ++i) {
+      assertThat(queue.poll(0), is(i));
+    }
+    assertThat(queue.poll(0), nullValue());
+  }
+
+  @Test
+  public void untakeIsPolledFirst() throws Exception {
+    ArrayQueueStoreDelegate queue = new ArrayQueueStoreDelegate(0);
+    queue.putNow("first");
+    queue.untake("untaken");
+
+    assertThat(queue.peek(), is("untaken"));
+    assertThat(queue.poll(0), is("untaken"));
+    assertThat(queue.poll(0), is("first"));
+  }
+
+  @Test
+  public void drainTo() throws Exception {
+    ArrayQueueStoreDelegate queue = new ArrayQueueStoreDelegate(0);
+    queue.addAll(asList(1, 2, 3, 4, 5));
+
+    List<Serializable> items = new ArrayList<>();
+    assertThat(queue.drainTo(items, 3, 0), is(3));
+    assertThat(items, is(asList(1, 2, 3)));
+    assertThat(queue.drainTo(items, 10, 0), is(2));
+    assertThat(items, is(asList(1, 2, 3, 4, 5)));
+    assertThat(queue.drainTo(items, 10, 0), is(0));
+  }
+
+  @Test
+  public void drainToWaitsForFirstItem() throws Exception {
+    ArrayQueueStoreDelegate queue = new ArrayQueueStoreDelegate(0);
+    List<Serializable> items = new ArrayList<>();
+    Future<Integer> drained = executor.submit(() -> queue.drainTo(items, 10, SECONDS.toMillis(10)));
+
+    queue.putNow("item");
+
+    assertThat(drained.get(10, SECONDS), is(1));
+    assertThat(items, is(asList("item")));
+  }
+
+  @Test
+  public void blockedOfferProceedsWhenPolled() throws Exception {
+    ArrayQueueStoreDelegate queue = new ArrayQueueStoreDelegate(1);
+    queue.offer("first", 0, 0);
+
+    CountDownLatch offering = new CountDownLatch(1);
+    Future<Boolean> offered = executor.submit(() -> {
+      offering.countDown();
+      return queue.offer("second", 0, -1);
+    });
+    offering.await();
+
+    assertThat(queue.poll(0), is("first"));
+    assertThat(offered.get(10, SECONDS), is(true));
+    assertThat(queue.poll(0), is("second"));
+  }
+
+  @Test
+  public void statistics() throws Exception {
+    ArrayQueueStoreDelegate queue = new ArrayQueueStoreDelegate(2);
+    queue.offer("first", 0, 0);
+    queue.offer("second", 0, 0);
+    queue.offer("third", 0, 0);
+    queue.poll(0);
+
+    QueueStoreStatistics statistics = queue.getStatistics();
+    assertThat(statistics.getDepth(), is(1));
+    assertThat(statistics.getPeakDepth(), is(2));
+    assertThat(statistics.getEnqueued(), is(2L));
+    assertThat(statistics.getDequeued(), is(1L));
+    assertThat(statistics.getRejectedOffers(), is(1L));
+  }
+
+  @Test
+  public void concurrentProducersAndConsumers() throws Exception {
+    ArrayQueueStoreDelegate queue = new ArrayQueueStoreDelegate(16);
+    Set<Serializable> consumed = ConcurrentHashMap.newKeySet();
+
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < THREADS; ++i) {
+      final int producer = i;
+      futures.add(executor.submit(() -> {
+        for (int j = 0; j < ITEMS_PER_THREAD; ++j) {
+          queue.offer(producer * ITEMS_PER_THREAD + j, 0, -1);
+        }
+        return null;
+      }));
+      futures.add(executor.submit(() -> {
+        for (int j = 0; j < ITEMS_PER_THREAD; ++j) {
+          consumed.add(queue.poll(SECONDS.toMillis(10)));
+        }
+        return null;
+      }));
+    }
+    for (Future<?> future : futures) {
+      future.get(30, SECONDS);
+    }
+
+    assertThat(consumed.size(), is(THREADS * ITEMS_PER_THREAD));
+    assertThat(queue.getSize(), is(0));
+  }
+}
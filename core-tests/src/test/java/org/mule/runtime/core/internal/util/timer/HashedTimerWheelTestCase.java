@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.timer;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.mule.runtime.core.internal.util.timer.HashedTimerWheel.Timeout;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+@SmallTest
+public class HashedTimerWheelTestCase extends AbstractMuleTestCase {
+
+  private final HashedTimerWheel<String> wheel = new HashedTimerWheel<>(10, 8);
+  private final List<String> expired = new ArrayList<>();
+
+  @Test
+  public void expiresOnlyDueItems() {
+    wheel.schedule("early", 25);
+    wheel.schedule("late", 55);
+
+    wheel.expire(20, expired::add);
+    assertThat(expired, is(empty()));
+
+    wheel.expire(30, expired::add);
+    assertThat(expired, contains("early"));
+
+    wheel.expire(60, expired::add);
+    assertThat(expired, contains("early", "late"));
+    assertThat(wheel.size(), is(0));
+  }
+
+  @Test
+  public void itemsBeyondARevolutionWaitForTheirDeadline() {
+    wheel.expire(0, expired::add);
+    // 8 buckets of 10ms, so this shares the bucket of deadline 10
+    wheel.schedule("far", 90);
+
+    wheel.expire(15, expired::add);
+    assertThat(expired, is(empty()));
+
+    wheel.expire(95, expired::add);
+    assertThat(expired, contains("far"));
+  }
+
+  @Test
+  public void pastDeadlinesExpireOnNextCall() {
+    wheel.expire(100, expired::add);
+    wheel.schedule("past", 50);
+
+    wheel.expire(101, expired::add);
+    assertThat(expired, contains("past"));
+  }
+
+  @Test
+  public void longPauseExpiresEverything() {
+    wheel.expire(0, expired::add);
+    for (int i = 0; i < 20; ++i) {
+      wheel.schedule("item" + i, i * 10);
+    }
+
+    wheel.expire(10000, expired::add);
+    assertThat(expired.size(), is(20));
+  }
+
+  @Test
+  public void cancelledItemsAreNotExpired() {
+    wheel.schedule("kept", 10);
+    wheel.schedule("cancelled", 10).cancel();
+
+    wheel.expire(20, expired::add);
+    assertThat(expired, containsInAnyOrder("kept"));
+    assertThat(wheel.size(), is(0));
+  }
+
+  @Test
+  public void clearedItemsAreNotExpired() {
+    wheel.schedule("pending", 10);
+    wheel.expire(0, expired::add);
+    wheel.schedule("scheduled", 20);
+    wheel.expire(5, expired::add);
+
+    wheel.clear();
+
+    wheel.expire(100, expired::add);
+    assertThat(expired, is(empty()));
+    assertThat(wheel.size(), is(0));
+  }
+
+  @Test
+  public void nextDeadlineIsTheEarliestOne() {
+    wheel.expire(0, expired::add);
+    wheel.schedule("late", 35);
+    wheel.schedule("early", 25);
+
+    assertThat(wheel.nextDeadline(), is(25L));
+
+    wheel.expire(25, expired::add);
+    assertThat(wheel.nextDeadline(), is(35L));
+  }
+
+  @Test
+  public void nextDeadlineBeforeFirstExpiration() {
+    wheel.schedule("late", 350);
+    wheel.schedule("early", 250);
+
+    assertThat(wheel.nextDeadline(), is(250L));
+  }
+
+  @Test
+  public void nextDeadlineLooksOneRevolutionAhead() {
+    wheel.expire(0, expired::add);
+    // 8 buckets of 10ms, so this shares the bucket of deadline 10
+    wheel.schedule("far", 90);
+
+    assertThat(wheel.nextDeadline(), is(80L));
+
+    wheel.expire(80, expired::add);
+    assertThat(wheel.nextDeadline(), is(90L));
+  }
+
+  @Test
+  public void noNextDeadlineWithoutItems() {
+    assertThat(wheel.nextDeadline(), is(-1L));
+
+    wheel.schedule("cancelled before expiring", 10).cancel();
+    wheel.expire(0, expired::add);
+    assertThat(wheel.nextDeadline(), is(-1L));
+
+    Timeout<String> timeout = wheel.schedule("cancelled after expiring", 20);
+    wheel.expire(5, expired::add);
+    timeout.cancel();
+    assertThat(wheel.nextDeadline(), is(-1L));
+  }
+}
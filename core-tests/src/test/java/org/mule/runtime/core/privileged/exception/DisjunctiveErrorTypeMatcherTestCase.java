@@ -19,6 +19,7 @@ import org.mule.runtime.core.api.exception.AbstractErrorTypeMatcherTestCase;
 import org.mule.runtime.core.api.exception.DisjunctiveErrorTypeMatcher;
 import org.mule.runtime.core.api.exception.ErrorTypeMatcher;
 import org.mule.runtime.core.api.exception.SingleErrorTypeMatcher;
+import org.mule.runtime.core.internal.message.ErrorTypeBuilder;
 
 import io.qameta.allure.Feature;
 import io.qameta.allure.Story;
@@ -66,6 +67,19 @@ public class DisjunctiveErrorTypeMatcherTestCase extends AbstractErrorTypeMatche
     assertThat(matcherWithTwoTransformation.match(mockErrorType), is(false));
   }
 
+  @Test
+  public void matchDescendant() {
+    ErrorType childErrorType = ErrorTypeBuilder.builder().namespace("TEST").identifier("CHILD")
+        .parentErrorType(transformationErrorType).build();
+    ErrorType grandChildErrorType = ErrorTypeBuilder.builder().namespace("TEST").identifier("GRAND_CHILD")
+        .parentErrorType(childErrorType).build();
+    ErrorTypeMatcher matcher = createMatcher(expressionErrorType, transformationErrorType);
+
+    assertThat(matcher.match(childErrorType), is(true));
+    assertThat(matcher.match(grandChildErrorType), is(true));
+    assertThat(createMatcher(expressionErrorType, childErrorType).match(transformationErrorType), is(false));
+  }
+
   private ErrorTypeMatcher createMatcher(ErrorType... errorTypes) {
     return new DisjunctiveErrorTypeMatcher(stream(errorTypes).map(SingleErrorTypeMatcher::new).collect(toList()));
   }
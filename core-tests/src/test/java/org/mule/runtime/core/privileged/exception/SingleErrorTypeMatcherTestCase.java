@@ -19,6 +19,7 @@ import org.mule.runtime.api.message.ErrorType;
 import org.mule.runtime.core.api.exception.AbstractErrorTypeMatcherTestCase;
 import org.mule.runtime.core.api.exception.ErrorTypeMatcher;
 import org.mule.runtime.core.api.exception.SingleErrorTypeMatcher;
+import org.mule.runtime.core.internal.message.ErrorTypeBuilder;
 
 import io.qameta.allure.Feature;
 import io.qameta.allure.Story;
@@ -58,6 +59,16 @@ public class SingleErrorTypeMatcherTestCase extends AbstractErrorTypeMatcherTest
     assertThat(transformationMatcher.match(customTransformerErrorType), is(true));
   }
 
+  @Test
+  public void matchEqualFromOtherRepository() {
+    ErrorType otherTransformationErrorType = ErrorTypeBuilder.builder().namespace(transformationErrorType.getNamespace())
+        .identifier(transformationErrorType.getIdentifier()).parentErrorType(anyErrorType).build();
+    ErrorTypeMatcher transformationMatcher = new SingleErrorTypeMatcher(otherTransformationErrorType);
+
+    assertThat(transformationMatcher.match(transformationErrorType), is(true));
+    assertThat(transformationMatcher.match(expressionErrorType), is(false));
+  }
+
   @Test
   public void doesNotMatchParent() {
     ErrorTypeMatcher transformationMatcher = new SingleErrorTypeMatcher(transformationErrorType);
@@ -172,6 +172,7 @@ public class MuleProperties {
   public static final String OBJECT_TRANSACTION_FACTORY_LOCATOR = "_muleTransactionFactoryLocator";
   public static final String OBJECT_STATISTICS = "_muleStatistics";
   public static final String OBJECT_RESOURCE_LOCATOR = "_muleResourceLocator";
+  public static final String OBJECT_CIRCUIT_BREAKER_MANAGER = "_muleCircuitBreakerManager";
   public static final String COMPATIBILITY_PLUGIN_INSTALLED = "_compatibilityPluginInstalled";
 
 
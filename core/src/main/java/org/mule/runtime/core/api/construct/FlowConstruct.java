@@ -44,6 +44,17 @@ public interface FlowConstruct extends NamedObject, LifecycleStateEnabled, Compo
    */
   String getUniqueIdString();
 
+  /**
+   * Generates a unique ID for the event contexts of this flow, which may defer building its {@link String} representation until
+   * it is actually read. Unlike {@link #getUniqueIdString()}, its format depends on the configured event id generator.
+   *
+   * @return a new unique event id
+   * @since 4.2
+   */
+  default CharSequence getUniqueEventId() {
+    return getUniqueIdString();
+  }
+
   /**
    * @return the id of the running mule server
    */
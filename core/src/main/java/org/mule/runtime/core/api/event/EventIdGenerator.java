@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.event;
+
+/**
+ * Generates the unique ids of the event contexts created by the runtime.
+ * <p>
+ * Implementations are discovered through the {@link java.util.ServiceLoader} mechanism. If none is found, a default
+ * implementation that generates time-ordered ids is used.
+ * <p>
+ * Implementations must be thread-safe.
+ *
+ * @since 4.2
+ */
+public interface EventIdGenerator {
+
+  /**
+   * Generates a new unique id. Ids generated for different cluster nodes must be unique across the cluster.
+   * <p>
+   * The generated id may defer building its {@link String} representation until {@link CharSequence#toString()} is called, so
+   * that ids that are never read don't pay for it.
+   *
+   * @param clusterNodeId the id of the cluster node the id is generated in
+   * @return a new unique id
+   */
+  CharSequence generateId(int clusterNodeId);
+
+}
@@ -6,20 +6,48 @@
  */
 package org.mule.runtime.core.api.exception;
 
+import static org.mule.runtime.core.internal.message.ErrorTypeIndex.lineageOf;
+
 import org.mule.runtime.api.message.ErrorType;
 
+import java.util.BitSet;
 import java.util.List;
 
 public final class DisjunctiveErrorTypeMatcher implements ErrorTypeMatcher {
 
   List<ErrorTypeMatcher> errorTypeMatchers;
 
+  // The indexes of the matched error types, or null if any of them is not known
+  private final BitSet errorTypeIndexes;
+
   public DisjunctiveErrorTypeMatcher(List<ErrorTypeMatcher> errorTypeMatchers) {
     this.errorTypeMatchers = errorTypeMatchers;
+    this.errorTypeIndexes = indexesOf(errorTypeMatchers);
+  }
+
+  private static BitSet indexesOf(List<ErrorTypeMatcher> errorTypeMatchers) {
+    BitSet indexes = new BitSet();
+    for (ErrorTypeMatcher errorTypeMatcher : errorTypeMatchers) {
+      if (!(errorTypeMatcher instanceof SingleErrorTypeMatcher)
+          || ((SingleErrorTypeMatcher) errorTypeMatcher).getErrorTypeIndex() < 0) {
+        return null;
+      }
+      indexes.set(((SingleErrorTypeMatcher) errorTypeMatcher).getErrorTypeIndex());
+    }
+    return indexes;
   }
 
   @Override
   public boolean match(ErrorType errorType) {
+    int[] lineage = lineageOf(errorType);
+    if (errorTypeIndexes != null && lineage != null) {
+      for (int index : lineage) {
+        if (errorTypeIndexes.get(index)) {
+          return true;
+        }
+      }
+      return false;
+    }
     return errorTypeMatchers.stream().anyMatch(errorTypeMatcher -> errorTypeMatcher.match(errorType));
   }
 }
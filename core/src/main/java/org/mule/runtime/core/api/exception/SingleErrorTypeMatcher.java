@@ -6,18 +6,32 @@
  */
 package org.mule.runtime.core.api.exception;
 
+import static org.mule.runtime.core.internal.message.ErrorTypeIndex.indexOf;
+import static org.mule.runtime.core.internal.message.ErrorTypeIndex.lineageOf;
+
 import org.mule.runtime.api.message.ErrorType;
 
 public final class SingleErrorTypeMatcher implements ErrorTypeMatcher {
 
   private final ErrorType errorType;
+  private final int errorTypeIndex;
 
   public SingleErrorTypeMatcher(ErrorType errorType) {
     this.errorType = errorType;
+    this.errorTypeIndex = indexOf(errorType);
   }
 
   @Override
   public boolean match(ErrorType errorType) {
+    int[] lineage = lineageOf(errorType);
+    if (errorTypeIndex >= 0 && lineage != null) {
+      for (int index : lineage) {
+        if (index == errorTypeIndex) {
+          return true;
+        }
+      }
+      return false;
+    }
     return this.errorType.equals(errorType) || isChild(errorType);
   }
 
@@ -25,4 +39,11 @@ public final class SingleErrorTypeMatcher implements ErrorTypeMatcher {
     ErrorType parentErrorType = errorType.getParentErrorType();
     return parentErrorType != null && this.match(parentErrorType);
   }
+
+  /**
+   * @return the index of the matched error type, or {@code -1} if it is not known
+   */
+  int getErrorTypeIndex() {
+    return errorTypeIndex;
+  }
 }
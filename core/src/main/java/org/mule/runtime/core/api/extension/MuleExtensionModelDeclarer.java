@@ -145,6 +145,7 @@ class MuleExtensionModelDeclarer {
     declareAsync(extensionDeclarer, typeLoader);
     declareForEach(extensionDeclarer, typeLoader);
     declareUntilSuccessful(extensionDeclarer, typeLoader);
+    declareBatchAggregator(extensionDeclarer, typeLoader);
 
     // operations
     declareFlowRef(extensionDeclarer, typeLoader);
@@ -493,6 +494,79 @@ class MuleExtensionModelDeclarer {
         .describedAs("Specifies the minimum time interval between two process retries in milliseconds.\n" +
             " The actual time interval depends on the previous execution but should not exceed twice this number.\n" +
             " Default value is 60000 (one minute)");
+
+    untilSuccessful.onDefaultParameterGroup()
+        .withOptionalParameter("backoffMultiplier")
+        .ofType(typeLoader.load(Double.class))
+        .defaultingTo(1)
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("The factor applied to the time interval between retries after each retry.\n" +
+            " Default value is 1, which keeps the interval fixed at millisBetweenRetries.");
+
+    untilSuccessful.onDefaultParameterGroup()
+        .withOptionalParameter("maxMillisBetweenRetries")
+        .ofType(typeLoader.load(Long.class))
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("The upper bound, in milliseconds, for the time interval between retries when a backoffMultiplier is used.");
+
+    untilSuccessful.onDefaultParameterGroup()
+        .withOptionalParameter("jitter")
+        .ofType(typeLoader.load(Double.class))
+        .defaultingTo(0)
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("The fraction, between 0 and 1, of each time interval between retries that is randomly shaved off,\n" +
+            " so that messages that failed at the same time are not retried at the same time. Default value is 0.");
+
+    untilSuccessful.onDefaultParameterGroup()
+        .withOptionalParameter("circuitBreaker")
+        .ofType(typeLoader.load(String.class))
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("The key of a circuit breaker shared with every other until-successful that retries against the same " +
+            "target. While it is open, retries fail fast.");
+  }
+
+  private void declareBatchAggregator(ExtensionDeclarer extensionDeclarer, ClassTypeLoader typeLoader) {
+    ConstructDeclarer batchAggregator = extensionDeclarer.withConstruct("batchAggregator")
+        .describedAs("Collects the messages of the events that go through it into batches, and routes each batch as a single " +
+            "message, whose payload is the list of collected messages, to the message processors it contains.");
+
+    batchAggregator.withChain();
+
+    batchAggregator.onDefaultParameterGroup()
+        .withOptionalParameter("groupBy")
+        .ofType(typeLoader.load(String.class))
+        .withExpressionSupport(REQUIRED)
+        .describedAs("Expression whose value for each event determines the batch its message is added to. " +
+            "When not set, all messages go to the same batch.");
+
+    batchAggregator.onDefaultParameterGroup()
+        .withOptionalParameter("maxSize")
+        .ofType(typeLoader.load(Integer.class))
+        .defaultingTo(100)
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("The number of messages that trigger the routing of a batch.");
+
+    batchAggregator.onDefaultParameterGroup()
+        .withOptionalParameter("maxWait")
+        .ofType(typeLoader.load(Long.class))
+        .defaultingTo(1000)
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("The milliseconds after which a batch is routed even if it is not full, " +
+            "or 0 to route batches only when they are full.");
+
+    batchAggregator.onDefaultParameterGroup()
+        .withOptionalParameter("maxBytes")
+        .ofType(typeLoader.load(Long.class))
+        .defaultingTo(0)
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("The accumulated payload size, in bytes, that triggers the routing of a batch, or 0 to not consider it.");
+
+    batchAggregator.onDefaultParameterGroup()
+        .withOptionalParameter("persistent")
+        .ofType(typeLoader.load(boolean.class))
+        .defaultingTo(false)
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("Whether batches pending when the application stops are stored to be routed when it starts again.");
   }
 
   private void declareChoice(ExtensionDeclarer extensionDeclarer, ClassTypeLoader typeLoader) {
@@ -79,6 +79,42 @@ public interface FlowConstructStatistics extends Statistics {
    */
   long getTotalEventsReceived();
 
+  /**
+   * Indicates that an event was rejected, or had to wait, because the concurrency limit of the flow was reached
+   *
+   * @since 4.2
+   */
+  default void incConcurrencyLimitRejections() {
+    // Nothing to do by default
+  }
+
+  /**
+   * @return the number of events rejected, or made to wait, because the concurrency limit of the flow was reached
+   *
+   * @since 4.2
+   */
+  default long getConcurrencyLimitRejections() {
+    return 0;
+  }
+
+  /**
+   * Indicates the current concurrency limit of the flow, when it is adapted at runtime
+   *
+   * @since 4.2
+   */
+  default void setConcurrencyLimit(int concurrencyLimit) {
+    // Nothing to do by default
+  }
+
+  /**
+   * @return the current concurrency limit of the flow, or {@code -1} if it is not adapted at runtime
+   *
+   * @since 4.2
+   */
+  default int getConcurrencyLimit() {
+    return -1;
+  }
+
   /**
    * @return  indicates if the statistic is enabled or not.
    */
@@ -39,4 +39,28 @@ public interface PolicyProvider {
    */
   List<Policy> findOperationParameterizedPolicies(PolicyPointcutParameters policyPointcutParameters);
 
+  /**
+   * Allows to know beforehand that there are no policies to find, so there is no need to build the
+   * {@link PolicyPointcutParameters} to match against them.
+   *
+   * @return {@code false} if this provider has no policies, {@code true} otherwise.
+   * @since 4.2
+   */
+  default boolean isPoliciesAvailable() {
+    return true;
+  }
+
+  /**
+   * Registers a callback to be invoked each time a policy is added or removed, so the policies found through this provider can
+   * be cached until then.
+   *
+   * @param policiesChangedCallback the callback to invoke when the policies change.
+   * @return {@code true} if this provider will invoke the callback, {@code false} if it doesn't notify changes, in which case
+   *         the found policies must not be cached.
+   * @since 4.2
+   */
+  default boolean onPoliciesChanged(Runnable policiesChangedCallback) {
+    return false;
+  }
+
 }
@@ -50,6 +50,7 @@ public abstract class AbstractPolicyTemplate extends AbstractComponent implement
       do {
         try {
           callback.doWork(context);
+          policy.onSuccess();
           if (notifier != null) {
             notifier.onSuccess(context);
           }
@@ -35,6 +35,14 @@ public interface RetryPolicy {
    */
   PolicyStatus applyPolicy(Throwable cause);
 
+  /**
+   * Notifies this policy that the blocking action it was retrying succeeded.
+   *
+   * @since 4.2
+   */
+  default void onSuccess() {
+    // Nothing to do by default
+  }
 
   /**
    * Applies the retry policy in a non blocking manner by transforming the given {@code publisher} into one configured to apply
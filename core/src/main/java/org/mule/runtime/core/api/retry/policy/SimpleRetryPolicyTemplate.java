@@ -27,6 +27,9 @@ public final class SimpleRetryPolicyTemplate extends AbstractPolicyTemplate {
 
   protected volatile int count = DEFAULT_RETRY_COUNT;
   protected volatile long frequency = DEFAULT_FREQUENCY;
+  protected volatile double backoffMultiplier = 1;
+  protected volatile long maxFrequency = Long.MAX_VALUE;
+  protected volatile double jitter = 0;
 
   public SimpleRetryPolicyTemplate() {
     super();
@@ -53,8 +56,46 @@ public final class SimpleRetryPolicyTemplate extends AbstractPolicyTemplate {
     this.count = count;
   }
 
+  /**
+   * @param backoffMultiplier the factor applied to the wait between retries after each retry. Default value is 1, which keeps
+   *        the wait fixed at {@link #getFrequency()}.
+   * @since 4.2
+   */
+  public void setBackoffMultiplier(double backoffMultiplier) {
+    this.backoffMultiplier = backoffMultiplier;
+  }
+
+  public double getBackoffMultiplier() {
+    return backoffMultiplier;
+  }
+
+  /**
+   * @param maxFrequency the upper bound, in milliseconds, for the wait between retries when a backoff multiplier is used.
+   * @since 4.2
+   */
+  public void setMaxFrequency(long maxFrequency) {
+    this.maxFrequency = maxFrequency;
+  }
+
+  public long getMaxFrequency() {
+    return maxFrequency;
+  }
+
+  /**
+   * @param jitter the fraction, between 0 and 1, of each wait between retries that is randomly shaved off, so that callers
+   *        that failed at the same time do not retry at the same time. Default value is 0.
+   * @since 4.2
+   */
+  public void setJitter(double jitter) {
+    this.jitter = jitter;
+  }
+
+  public double getJitter() {
+    return jitter;
+  }
+
   public RetryPolicy createRetryInstance() {
-    return new SimpleRetryPolicy(frequency, count);
+    return new SimpleRetryPolicy(frequency, count, backoffMultiplier, maxFrequency, jitter, null);
   }
 
   @Override
@@ -63,6 +104,13 @@ public final class SimpleRetryPolicyTemplate extends AbstractPolicyTemplate {
     sb.append("SimpleRetryPolicy");
     sb.append("{frequency=").append(frequency);
     sb.append(", retryCount=").append(count);
+    if (backoffMultiplier != 1) {
+      sb.append(", backoffMultiplier=").append(backoffMultiplier);
+      sb.append(", maxFrequency=").append(maxFrequency);
+    }
+    if (jitter != 0) {
+      sb.append(", jitter=").append(jitter);
+    }
     sb.append('}');
 
     return sb.toString();
@@ -87,7 +87,7 @@ public class DefaultStreamingManager implements StreamingManager, Initialisable,
   }
 
   protected ObjectStreamingManager createObjectStreamingManager() {
-    return new DefaultObjectStreamingManager(this);
+    return new DefaultObjectStreamingManager(this, muleContext.getObjectSerializer());
   }
 
   /**
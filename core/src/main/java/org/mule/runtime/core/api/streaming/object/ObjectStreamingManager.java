@@ -26,6 +26,16 @@ public interface ObjectStreamingManager {
    */
   CursorIteratorProviderFactory getInMemoryCursorProviderFactory(InMemoryCursorIteratorConfig config);
 
+  /**
+   * Creates a {@link CursorIteratorProviderFactory} which keeps a window of the items in memory and buffers the rest into a
+   * local file
+   *
+   * @param config the configuration for the produced {@link CursorIteratorProvider} instances
+   * @return a new {@link CursorIteratorProviderFactory}
+   * @since 4.2
+   */
+  CursorIteratorProviderFactory getFileStoreCursorProviderFactory(FileStoreCursorIteratorConfig config);
+
   /**
    * Creates a null object implementation of {@link CursorIteratorProviderFactory}
    *
@@ -79,6 +79,19 @@ public interface Transaction {
 
   boolean isXA();
 
+  /**
+   * Indicates whether the resources of this transaction may only be used from the thread the transaction was started on.
+   * <p>
+   * Transactions that do not require thread affinity may be bound to the event context instead, so that the processing of a
+   * transactional flow can hop among threads as long as the transaction is not used concurrently.
+   *
+   * @return {@code true} if this transaction must stay bound to the thread that started it.
+   * @since 4.2
+   */
+  default boolean requiresThreadAffinity() {
+    return true;
+  }
+
   /**
    * Resume the XA transaction
    *
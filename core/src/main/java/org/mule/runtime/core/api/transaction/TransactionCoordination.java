@@ -6,7 +6,13 @@
  */
 package org.mule.runtime.core.api.transaction;
 
+import static java.lang.Boolean.getBoolean;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.privileged.event.PrivilegedEvent.getCurrentEvent;
+
 import org.mule.runtime.api.tx.TransactionException;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
 import org.mule.runtime.core.privileged.transaction.xa.IllegalTransactionStateException;
 import org.mule.runtime.core.api.config.i18n.CoreMessages;
 import org.mule.runtime.core.internal.processor.DelegateTransaction;
@@ -15,8 +21,19 @@ import org.apache.commons.collections.ArrayStack;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 public final class TransactionCoordination {
 
+  /**
+   * When set, transactions that do not {@link Transaction#requiresThreadAffinity() require thread affinity} are bound to the
+   * event context when dispatched to a transaction aware processing strategy, instead of processing the flow synchronously.
+   *
+   * @since 4.2
+   */
+  public static final String EVENT_BOUND_TRANSACTIONS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "transaction.eventBound";
+
   protected static final Logger logger = LoggerFactory.getLogger(TransactionCoordination.class);
 
   private static final TransactionCoordination instance = new TransactionCoordination();
@@ -30,6 +47,9 @@ public final class TransactionCoordination {
   private final ThreadLocal<Transaction> suspendedTransaction = new ThreadLocal<>();
   private final ThreadLocal<ArrayStack> isolatedTransactions = new ThreadLocal<>();
 
+  /** Transactions bound to the root context of an event rather than to a thread. */
+  private final ConcurrentMap<Transaction, BaseEventContext> eventBoundTransactions = new ConcurrentHashMap<>();
+
   /** Lock variable that is used to access {@link #txCounter}. */
   private final Object txCounterLock = new Object();
 
@@ -45,13 +65,88 @@ public final class TransactionCoordination {
     return instance;
   }
 
+  /**
+   * @return the transaction bound to the current thread or, if there is none, the one bound to the context of the event being
+   *         processed by the current thread.
+   */
   public Transaction getTransaction() {
-    return transactions.get();
+    Transaction transaction = transactions.get();
+    if (transaction == null && !eventBoundTransactions.isEmpty() && !isIsolated()) {
+      transaction = getEventBoundTransaction();
+    }
+    return transaction;
+  }
+
+  private Transaction getEventBoundTransaction() {
+    CoreEvent currentEvent = getCurrentEvent();
+    if (currentEvent == null) {
+      return null;
+    }
+    return ((BaseEventContext) currentEvent.getContext()).getBoundTransaction().orElse(null);
+  }
+
+  private boolean isIsolated() {
+    ArrayStack isolated = isolatedTransactions.get();
+    return isolated != null && !isolated.isEmpty();
+  }
+
+  /**
+   * Moves the transaction bound to the current thread to the root context of {@code event}, so the processing of the event may
+   * continue on other threads. The transaction remains bound to the event context until it is resolved.
+   * <p>
+   * This is only done if {@link #EVENT_BOUND_TRANSACTIONS_PROPERTY} is set and the transaction does not
+   * {@link Transaction#requiresThreadAffinity() require thread affinity}.
+   *
+   * @param event the event that is about to be dispatched
+   * @return {@code true} if the active transaction is bound to an event context, {@code false} if it is bound to the current
+   *         thread or there is no active transaction.
+   * @since 4.2
+   */
+  public boolean bindTransactionToEventContext(CoreEvent event) {
+    final Transaction transaction = transactions.get();
+    if (transaction == null) {
+      return getTransaction() != null;
+    }
+    if (!getBoolean(EVENT_BOUND_TRANSACTIONS_PROPERTY) || transaction.requiresThreadAffinity()) {
+      return false;
+    }
+
+    final BaseEventContext eventContext = (BaseEventContext) event.getContext();
+    eventContext.setBoundTransaction(transaction);
+    if (eventContext.getBoundTransaction().orElse(null) != transaction) {
+      // The context cannot hold the transaction, so it stays on the current thread
+      return false;
+    }
+    final BaseEventContext rootContext = eventContext.getRootContext();
+    eventBoundTransactions.put(transaction, rootContext);
+    // Do not keep the transaction if it was not resolved by the time the event is done
+    rootContext.onTerminated((response, throwable) -> {
+      if (eventBoundTransactions.remove(transaction, rootContext)) {
+        rootContext.setBoundTransaction(null);
+        logger.warn("Transaction {} was not resolved by the time its event context was terminated", transaction);
+      }
+    });
+    transactions.set(null);
+
+    if (logger.isDebugEnabled()) {
+      logger.debug("Moved transaction " + transaction + " from thread " + Thread.currentThread().getName()
+          + " to event context " + rootContext.getId());
+    }
+    return true;
   }
 
   public void unbindTransaction(final Transaction transaction) throws TransactionException {
     Transaction oldTx = transactions.get();
 
+    if (oldTx != transaction && transaction != null) {
+      BaseEventContext eventContext = eventBoundTransactions.remove(transaction);
+      if (eventContext != null) {
+        eventContext.setBoundTransaction(null);
+        logTransactionUnbound(transaction);
+        return;
+      }
+    }
+
     try {
       if (oldTx != null && !oldTx.equals(transaction)) {
         throw new IllegalTransactionStateException(CoreMessages.transactionCannotUnbind());
@@ -194,19 +289,32 @@ public final class TransactionCoordination {
   }
 
   public void isolateTransaction() {
-    Transaction currentTransaction = transactions.get();
+    Transaction currentTransaction = getTransaction();
     if (currentTransaction != null) {
       if (isolatedTransactions.get() == null) {
         isolatedTransactions.set(new ArrayStack());
       }
-      isolatedTransactions.get().push(transactions.get());
+      isolatedTransactions.get().push(currentTransaction);
       transactions.set(null);
+      // Also hide an event bound transaction from the other threads processing the event while it is isolated
+      BaseEventContext eventContext = eventBoundTransactions.get(currentTransaction);
+      if (eventContext != null) {
+        eventContext.setBoundTransaction(null);
+      }
     }
   }
 
   public void restoreIsolatedTransaction() {
     if (isolatedTransactions.get() != null && !isolatedTransactions.get().isEmpty()) {
-      transactions.set((Transaction) isolatedTransactions.get().pop());
+      Transaction isolated = (Transaction) isolatedTransactions.get().pop();
+      // Event bound transactions are visible again through the event context once no longer isolated
+      BaseEventContext eventContext = eventBoundTransactions.get(isolated);
+      if (eventContext != null) {
+        eventContext.setBoundTransaction(isolated);
+        transactions.set(null);
+      } else {
+        transactions.set(isolated);
+      }
     }
   }
 
@@ -218,4 +326,15 @@ public final class TransactionCoordination {
   public static boolean isTransactionActive() {
     return getInstance().getTransaction() != null;
   }
+
+  /**
+   * Determine is there is an active transaction bound to the current thread, as opposed to one bound to the context of the event
+   * being processed.
+   *
+   * @return true if there is an active transaction bound to the current thread, false otherwise.
+   * @since 4.2
+   */
+  public static boolean isThreadBoundTransactionActive() {
+    return getInstance().transactions.get() != null;
+  }
 }
@@ -13,6 +13,7 @@ import static org.apache.commons.io.IOUtils.copy;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.core.api.util.compression.InvalidZipFileException;
+import org.mule.runtime.core.internal.util.ArchiveExtractor;
 
 import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
@@ -70,7 +71,7 @@ public class FileUtils {
     }
   }
 
-  public static synchronized void copyStreamToFile(InputStream input, File destination) throws IOException {
+  public static void copyStreamToFile(InputStream input, File destination) throws IOException {
     if (destination.exists() && !destination.canWrite()) {
       throw new IOException("Destination file does not exist or is not writeable");
     }
@@ -278,50 +279,7 @@ public class FileUtils {
    * @param verify whether to verify all entries before extractions
    */
   public static void unzip(File archive, File directory, boolean verify) throws IOException {
-    ZipFile zip = null;
-
-    if (directory.exists()) {
-      if (!directory.isDirectory()) {
-        throw new IOException("Directory is not a directory: " + directory);
-      }
-    } else {
-      if (!directory.mkdirs()) {
-        throw new IOException("Could not create directory: " + directory);
-      }
-    }
-
-    try {
-      zip = new ZipFile(archive);
-
-      if (verify) {
-        verifyZipFilePaths(zip);
-      }
-
-      for (Enumeration entries = zip.entries(); entries.hasMoreElements();) {
-        ZipEntry entry = (ZipEntry) entries.nextElement();
-        File f = FileUtils.newFile(directory, entry.getName());
-        if (entry.isDirectory()) {
-          if (!f.exists() && !f.mkdirs()) {
-            throw new IOException("Could not create directory: " + f);
-          }
-        } else {
-          File file = new File(directory, entry.getName());
-          if (!file.getParentFile().exists() && !file.getParentFile().mkdirs()) {
-            throw new IOException("Unable to create folders for zip entry: " + entry.getName());
-          }
-
-          InputStream is = zip.getInputStream(entry);
-          OutputStream os = new BufferedOutputStream(new FileOutputStream(f));
-          copy(is, os);
-          IOUtils.closeQuietly(is);
-          IOUtils.closeQuietly(os);
-        }
-      }
-    } finally {
-      if (zip != null) {
-        zip.close();
-      }
-    }
+    ArchiveExtractor.extract(archive, directory, verify);
   }
 
   public static void verifyZipFilePaths(ZipFile zip) throws InvalidZipFileException {
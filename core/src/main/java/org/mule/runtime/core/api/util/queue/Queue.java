@@ -12,6 +12,7 @@ import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.meta.NamedObject;
 
 import java.io.Serializable;
+import java.util.Collection;
 
 /**
  * Interface for mule queues used for VM.
@@ -44,6 +45,34 @@ public interface Queue extends NamedObject {
 
   boolean offer(Serializable object, long timeout) throws InterruptedException;
 
+  /**
+   * Retrieves up to {@code maxItems} objects from this queue in one go, waiting at most {@code timeout} milliseconds for the
+   * first one to be available. The rest are only taken if they are already in the queue.
+   * <p>
+   * When polling from a {@link QueueSession} with an active transaction, every retrieved object is part of it.
+   * <p>
+   * The default implementation {@link #poll(long) polls} the objects one by one.
+   *
+   * @param target the collection to add the retrieved objects to
+   * @param maxItems the maximum amount of objects to retrieve
+   * @param timeout the maximum time to wait for the first object, in milliseconds
+   * @return the amount of objects added to {@code target}
+   * @throws InterruptedException
+   * @since 4.2
+   */
+  default int drainTo(Collection<? super Serializable> target, int maxItems, long timeout) throws InterruptedException {
+    int drained = 0;
+    Serializable item = maxItems > 0 ? poll(timeout) : null;
+    while (item != null) {
+      target.add(item);
+      if (++drained == maxItems) {
+        break;
+      }
+      item = poll(0);
+    }
+    return drained;
+  }
+
   /**
    * Discards all the elements in the queue
    * 
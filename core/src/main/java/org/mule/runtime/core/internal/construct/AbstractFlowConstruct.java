@@ -15,6 +15,7 @@ import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNee
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
 import static org.mule.runtime.core.api.util.ClassUtils.getSimpleName;
+import static org.mule.runtime.core.internal.event.EventIdGenerators.getEventIdGenerator;
 import static org.mule.runtime.core.internal.util.FunctionalUtils.safely;
 
 import org.mule.runtime.api.exception.MuleException;
@@ -244,6 +245,11 @@ public abstract class AbstractFlowConstruct extends AbstractExecutableComponent
     return muleContext.getUniqueIdString();
   }
 
+  @Override
+  public CharSequence getUniqueEventId() {
+    return getEventIdGenerator().generateId(muleContext.getClusterNodeId());
+  }
+
   @Override
   public String getServerId() {
     return muleContext.getId();
@@ -7,16 +7,24 @@
 package org.mule.runtime.core.internal.construct;
 
 import static com.google.common.base.Functions.identity;
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Integer.getInteger;
+import static java.lang.Long.getLong;
+import static java.lang.Math.min;
 import static java.lang.String.format;
 import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
 import static java.util.Collections.unmodifiableList;
 import static org.mule.runtime.api.notification.EnrichedNotificationInfo.createInfo;
 import static org.mule.runtime.api.notification.PipelineMessageNotification.PROCESS_COMPLETE;
 import static org.mule.runtime.api.notification.PipelineMessageNotification.PROCESS_END;
 import static org.mule.runtime.api.notification.PipelineMessageNotification.PROCESS_START;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.processor.strategy.AsyncProcessingStrategyFactory.DEFAULT_MAX_CONCURRENCY;
 import static org.mule.runtime.core.api.source.MessageSource.BackPressureStrategy.WAIT;
+import static org.mule.runtime.core.api.util.ExceptionUtils.containsType;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.processToApply;
 import static reactor.core.Exceptions.propagate;
 import static reactor.core.publisher.Flux.from;
@@ -73,6 +81,12 @@ import reactor.core.publisher.Mono;
  */
 public abstract class AbstractPipeline extends AbstractFlowConstruct implements Pipeline {
 
+  public static final String ADAPTIVE_CONCURRENCY_PROPERTY = SYSTEM_PROPERTY_PREFIX + "flow.adaptiveConcurrency";
+  public static final String ADAPTIVE_CONCURRENCY_INITIAL_LIMIT_PROPERTY = ADAPTIVE_CONCURRENCY_PROPERTY + ".initialLimit";
+  public static final String ADAPTIVE_CONCURRENCY_MIN_LIMIT_PROPERTY = ADAPTIVE_CONCURRENCY_PROPERTY + ".minLimit";
+  public static final String ADAPTIVE_CONCURRENCY_MAX_LIMIT_PROPERTY = ADAPTIVE_CONCURRENCY_PROPERTY + ".maxLimit";
+  public static final String ADAPTIVE_CONCURRENCY_WINDOW_MILLIS_PROPERTY = ADAPTIVE_CONCURRENCY_PROPERTY + ".windowMillis";
+
   private final NotificationDispatcher notificationFirer;
 
   private final MessageSource source;
@@ -85,6 +99,7 @@ public abstract class AbstractPipeline extends AbstractFlowConstruct implements
   private volatile boolean canProcessMessage = false;
   private Sink sink;
   private final int maxConcurrency;
+  private final AdaptiveConcurrencyLimiter concurrencyLimiter;
   private final ComponentInitialStateManager componentInitialStateManager;
 
   public AbstractPipeline(String name, MuleContext muleContext, MessageSource source, List<Processor> processors,
@@ -114,6 +129,24 @@ public abstract class AbstractPipeline extends AbstractFlowConstruct implements
     }
 
     processingStrategy = this.processingStrategyFactory.create(muleContext, getName());
+    concurrencyLimiter = getBoolean(ADAPTIVE_CONCURRENCY_PROPERTY) ? createConcurrencyLimiter() : null;
+  }
+
+  private AdaptiveConcurrencyLimiter createConcurrencyLimiter() {
+    // A configured maxConcurrency is kept as the ceiling of the adaptive limit
+    int maxLimit = min(maxConcurrency, getInteger(ADAPTIVE_CONCURRENCY_MAX_LIMIT_PROPERTY, 1000));
+    int minLimit = min(maxLimit, getInteger(ADAPTIVE_CONCURRENCY_MIN_LIMIT_PROPERTY, 1));
+    return new AdaptiveConcurrencyLimiter(getInteger(ADAPTIVE_CONCURRENCY_INITIAL_LIMIT_PROPERTY, 20), minLimit, maxLimit,
+                                          getLong(ADAPTIVE_CONCURRENCY_WINDOW_MILLIS_PROPERTY, 1000L), () -> nanoTime(),
+                                          this::onConcurrencyLimitUpdate);
+  }
+
+  private void onConcurrencyLimitUpdate(int limit) {
+    // An event still in-flight may update the limit after the flow is disposed and its statistics are discarded
+    FlowConstructStatistics statistics = getStatistics();
+    if (statistics != null) {
+      statistics.setConcurrencyLimit(limit);
+    }
   }
 
   /**
@@ -210,11 +243,60 @@ public abstract class AbstractPipeline extends AbstractFlowConstruct implements
    * and how overload is handled depends on the Source back-pressure strategy.
    */
   private ReactiveProcessor dispatchToFlow() {
+    final boolean wait = source.getBackPressureStrategy() == WAIT;
+    Function<? super CoreEvent, Mono<? extends CoreEvent>> dispatcher = wait
+        ? flowWaitMapper(identity(), (result, event) -> result)
+        : flowFailDropMapper(identity(), (result, event) -> result);
+    if (concurrencyLimiter != null) {
+      dispatcher = limitConcurrency(dispatcher, wait);
+    }
+
     return publisher -> Mono.from(publisher)
         .doOnNext(assertStarted())
-        .flatMap(source.getBackPressureStrategy() == WAIT
-            ? flowWaitMapper(identity(), (result, event) -> result)
-            : flowFailDropMapper(identity(), (result, event) -> result));
+        .flatMap(dispatcher);
+  }
+
+  /*
+   * Only lets events into the flow while the adaptive concurrency limit is not reached. Past that limit the source waits or the
+   * event is rejected, same as when the processing strategy is full, depending on the back-pressure strategy of the source.
+   */
+  private Function<? super CoreEvent, Mono<? extends CoreEvent>> limitConcurrency(
+      Function<? super CoreEvent, Mono<? extends CoreEvent>> dispatcher, boolean wait) {
+    return event -> {
+      if (!concurrencyLimiter.tryAcquire()) {
+        FlowConstructStatistics statistics = getStatistics();
+        if (statistics != null && statistics.isEnabled()) {
+          statistics.incConcurrencyLimitRejections();
+        }
+        if (!wait) {
+          return Mono.error(resolveBackPressureError(event, new FlowBackPressureException(getName())));
+        }
+        try {
+          concurrencyLimiter.acquire();
+        } catch (InterruptedException e) {
+          currentThread().interrupt();
+          return Mono.error(resolveBackPressureError(event, new FlowBackPressureException(getName(), e)));
+        }
+      }
+
+      final long startNanos = nanoTime();
+      return dispatcher.apply(event)
+          // Events rejected by the processing strategy were not processed, so their latency is not meaningful
+          .doOnSuccessOrError((result, throwable) -> concurrencyLimiter
+              .release(startNanos, throwable == null || !containsType(throwable, FlowBackPressureException.class)))
+          .doOnCancel(() -> concurrencyLimiter.release(startNanos, false));
+    };
+  }
+
+  /**
+   * Builds the error to signal when an event is rejected by this flow due to back-pressure.
+   *
+   * @param event the rejected event
+   * @param backPressureException the reason for the rejection
+   * @return the error to propagate to the source
+   */
+  protected Throwable resolveBackPressureError(CoreEvent event, FlowBackPressureException backPressureException) {
+    return new MessagingException(event, backPressureException, this);
   }
 
   /**
@@ -407,6 +489,13 @@ public abstract class AbstractPipeline extends AbstractFlowConstruct implements
     return maxConcurrency;
   }
 
+  /**
+   * @return the adaptive concurrency limiter of this flow, if enabled through {@link #ADAPTIVE_CONCURRENCY_PROPERTY}
+   */
+  protected Optional<AdaptiveConcurrencyLimiter> getConcurrencyLimiter() {
+    return Optional.ofNullable(concurrencyLimiter);
+  }
+
   @Override
   public ProcessingStrategyFactory getProcessingStrategyFactory() {
     return processingStrategyFactory;
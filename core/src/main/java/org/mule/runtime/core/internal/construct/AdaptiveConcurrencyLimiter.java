@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.construct;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.sqrt;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits the number of events concurrently in-flight in a flow, adapting the limit to the latency observed for the events that
+ * complete.
+ * <p>
+ * The limit follows a gradient algorithm: the average latency of the last window of samples is compared against a long term
+ * average. While they are similar the limit grows by roughly its square root each window, and as the recent latency goes up
+ * (because of a slow backend, for instance) the limit is reduced proportionally. This way the flow starts rejecting events
+ * (or making the source wait) before they queue up to the point of timing out.
+ * <p>
+ * The limit is not increased while less than half of it is in use, so that it does not grow unbounded under light load.
+ *
+ * @since 4.2
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+  private static final double SMOOTHING = 0.2;
+  private static final double RTT_TOLERANCE = 1.5;
+  private static final double LONG_RTT_WINDOWS = 60;
+  private static final int MIN_WINDOW_SAMPLES = 10;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final long windowNanos;
+  private final LongSupplier nanoClock;
+  private final IntConsumer limitListener;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger waiting = new AtomicInteger();
+  private final Object waitMonitor = new Object();
+
+  private final LongAdder windowRttNanos = new LongAdder();
+  private final LongAdder windowSamples = new LongAdder();
+  private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+  private final AtomicBoolean updating = new AtomicBoolean();
+  private volatile long windowEnd;
+
+  private volatile int limit;
+  // Only accessed while holding 'updating'
+  private double estimatedLimit;
+  private double longRttNanos;
+
+  /**
+   * Creates a new limiter.
+   *
+   * @param initialLimit the limit to use until enough latency samples are gathered
+   * @param minLimit the lowest value the limit may be reduced to
+   * @param maxLimit the highest value the limit may be increased to
+   * @param windowMillis the minimum time between updates of the limit
+   * @param nanoClock provides the current time in nanoseconds
+   * @param limitListener notified with the new limit every time it is updated
+   */
+  public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long windowMillis, LongSupplier nanoClock,
+                                    IntConsumer limitListener) {
+    if (minLimit < 1 || maxLimit < minLimit) {
+      throw new IllegalArgumentException("Invalid limits: min " + minLimit + ", max " + maxLimit);
+    }
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.windowNanos = MILLISECONDS.toNanos(windowMillis);
+    this.nanoClock = nanoClock;
+    this.limitListener = limitListener;
+
+    this.estimatedLimit = min(maxLimit, max(minLimit, initialLimit));
+    this.limit = (int) estimatedLimit;
+    this.windowEnd = nanoClock.getAsLong() + windowNanos;
+    limitListener.accept(limit);
+  }
+
+  /**
+   * Takes a permit if the limit has not been reached.
+   *
+   * @return {@code true} if a permit was taken and has to be {@link #release(long, boolean) released}, {@code false} otherwise.
+   */
+  public boolean tryAcquire() {
+    int current;
+    do {
+      current = inFlight.get();
+      if (current >= limit) {
+        return false;
+      }
+    } while (!inFlight.compareAndSet(current, current + 1));
+    return true;
+  }
+
+  /**
+   * Takes a permit, waiting until one is available if the limit has been reached.
+   * <p>
+   * The waiting thread is not woken up periodically, it is notified when a permit is released or the limit is increased.
+   *
+   * @throws InterruptedException if the current thread is interrupted while waiting.
+   */
+  public void acquire() throws InterruptedException {
+    if (tryAcquire()) {
+      return;
+    }
+
+    waiting.incrementAndGet();
+    try {
+      synchronized (waitMonitor) {
+        while (!tryAcquire()) {
+          // Woken up by release when a permit is returned, or by updateLimit when the limit grows
+          waitMonitor.wait();
+        }
+      }
+    } finally {
+      waiting.decrementAndGet();
+    }
+  }
+
+  /**
+   * Returns a permit taken with {@link #tryAcquire()} or {@link #acquire()}.
+   *
+   * @param startNanos the time, as provided by the {@code nanoClock}, at which the permit was taken
+   * @param sample whether the latency of the event is to be used to adapt the limit. It must be {@code false} when the event
+   *        was not actually processed.
+   */
+  public void release(long startNanos, boolean sample) {
+    int releasedInFlight = inFlight.getAndDecrement();
+    if (waiting.get() > 0) {
+      synchronized (waitMonitor) {
+        waitMonitor.notify();
+      }
+    }
+
+    if (sample) {
+      long now = nanoClock.getAsLong();
+      windowRttNanos.add(now - startNanos);
+      windowSamples.increment();
+      int windowMax;
+      while (releasedInFlight > (windowMax = windowMaxInFlight.get())
+          && !windowMaxInFlight.compareAndSet(windowMax, releasedInFlight)) {
+        // retry
+      }
+
+      if (now >= windowEnd && updating.compareAndSet(false, true)) {
+        try {
+          updateLimit(now);
+        } finally {
+          updating.set(false);
+        }
+      }
+    }
+  }
+
+  private void updateLimit(long now) {
+    long samples = windowSamples.sum();
+    if (samples < MIN_WINDOW_SAMPLES) {
+      return;
+    }
+    double shortRttNanos = (double) windowRttNanos.sumThenReset() / samples;
+    windowSamples.add(-samples);
+    int maxInFlight = windowMaxInFlight.getAndSet(0);
+    windowEnd = now + windowNanos;
+
+    if (longRttNanos == 0) {
+      longRttNanos = shortRttNanos;
+    } else {
+      longRttNanos += (shortRttNanos - longRttNanos) / LONG_RTT_WINDOWS;
+      // Once the latency has gone down after an increase, do not wait for the long term average to catch up
+      if (longRttNanos / shortRttNanos > 2) {
+        longRttNanos *= 0.95;
+      }
+    }
+
+    double gradient = max(0.5, min(1.0, RTT_TOLERANCE * longRttNanos / shortRttNanos));
+    double newLimit = estimatedLimit * gradient + sqrt(estimatedLimit);
+    newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+
+    // Do not grow the limit when the flow is not using it, it would not reflect the real capacity
+    if (newLimit > estimatedLimit && maxInFlight < estimatedLimit / 2) {
+      return;
+    }
+    estimatedLimit = max(minLimit, min(maxLimit, newLimit));
+
+    int previous = limit;
+    limit = (int) estimatedLimit;
+    if (limit > previous && waiting.get() > 0) {
+      // There may be room for several of the waiting events now
+      synchronized (waitMonitor) {
+        waitMonitor.notifyAll();
+      }
+    }
+    if (limit != previous) {
+      limitListener.accept(limit);
+    }
+  }
+
+  /**
+   * @return the current limit of concurrent events
+   */
+  public int getLimit() {
+    return limit;
+  }
+
+  /**
+   * @return the number of permits currently taken
+   */
+  public int getInFlight() {
+    return inFlight.get();
+  }
+}
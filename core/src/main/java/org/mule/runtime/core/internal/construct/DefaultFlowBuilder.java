@@ -313,14 +313,18 @@ public class DefaultFlowBuilder implements Builder {
         } else {
           // If Event is not accepted and the back-pressure strategy is FAIL then respond to Source with a FLOW_BACK_PRESSURE
           // error.
-          FlowBackPressureException rejectedExecutionException = new FlowBackPressureException(getName());
-          return Mono.error(exceptionResolver.resolve(new MessagingException(request, rejectedExecutionException, this),
-                                                      ((PrivilegedMuleContext) getMuleContext()).getErrorTypeLocator(),
-                                                      getMuleContext().getExceptionContextProviders()));
+          return Mono.error(resolveBackPressureError(request, new FlowBackPressureException(getName())));
         }
       };
     }
 
+    @Override
+    protected Throwable resolveBackPressureError(CoreEvent event, FlowBackPressureException backPressureException) {
+      return exceptionResolver.resolve(new MessagingException(event, backPressureException, this),
+                                       ((PrivilegedMuleContext) getMuleContext()).getErrorTypeLocator(),
+                                       getMuleContext().getExceptionContextProviders());
+    }
+
     private Mono<? extends CoreEvent> flowResponse(CoreEvent event, Publisher<CoreEvent> responsePublisher,
                                                    BiFunction<CoreEvent, CoreEvent, CoreEvent> returnEventFromFlowMapper) {
       return Mono.from(responsePublisher)
@@ -6,10 +6,12 @@
  */
 package org.mule.runtime.core.internal.context;
 
+import static java.lang.Boolean.getBoolean;
 import static java.util.Optional.empty;
 import static org.mule.runtime.core.api.context.notification.ServerNotificationManager.createDefaultNotificationManager;
 import static org.mule.runtime.core.internal.exception.ErrorTypeLocatorFactory.createDefaultErrorTypeLocator;
 import static org.mule.runtime.core.internal.exception.ErrorTypeRepositoryFactory.createDefaultErrorTypeRepository;
+import static org.mule.runtime.core.internal.serialization.CompactObjectSerializer.COMPACT_SERIALIZATION_PROPERTY;
 import org.mule.runtime.api.exception.ErrorTypeRepository;
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.i18n.I18nMessage;
@@ -31,6 +33,7 @@ import org.mule.runtime.core.api.util.ClassUtils;
 import org.mule.runtime.core.internal.exception.DefaultSystemExceptionStrategy;
 import org.mule.runtime.core.internal.lifecycle.MuleContextLifecycleManager;
 import org.mule.runtime.core.internal.registry.SimpleRegistry;
+import org.mule.runtime.core.internal.serialization.CompactObjectSerializer;
 import org.mule.runtime.core.internal.serialization.JavaObjectSerializer;
 
 import java.util.ArrayList;
@@ -120,7 +123,8 @@ public class DefaultMuleContextBuilder implements MuleContextBuilder {
 
   private void getObjectSerializer(DefaultMuleContext muleContext) {
     if (objectSerializer == null) {
-      objectSerializer = new JavaObjectSerializer();
+      objectSerializer =
+          getBoolean(COMPACT_SERIALIZATION_PROPERTY) ? new CompactObjectSerializer() : new JavaObjectSerializer();
     }
 
     if (objectSerializer instanceof MuleContextAware) {
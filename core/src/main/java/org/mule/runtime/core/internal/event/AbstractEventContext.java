@@ -10,32 +10,36 @@ import static java.lang.Integer.getInteger;
 import static java.lang.String.format;
 import static java.lang.System.lineSeparator;
 import static java.util.Objects.requireNonNull;
+import static java.util.Optional.ofNullable;
+import static java.util.concurrent.ConcurrentHashMap.newKeySet;
+import static java.util.concurrent.atomic.AtomicIntegerFieldUpdater.newUpdater;
 import static org.mule.runtime.core.api.functional.Either.left;
 import static org.mule.runtime.core.api.functional.Either.right;
 import static reactor.core.publisher.Mono.empty;
 import static reactor.core.publisher.Mono.just;
 
+import org.mule.runtime.core.api.config.DefaultMuleConfiguration;
 import org.mule.runtime.core.api.context.notification.FlowCallStack;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.exception.FlowExceptionHandler;
 import org.mule.runtime.core.api.exception.NullExceptionHandler;
 import org.mule.runtime.core.api.functional.Either;
+import org.mule.runtime.core.api.transaction.Transaction;
 import org.mule.runtime.core.internal.context.notification.DefaultFlowCallStack;
 import org.mule.runtime.core.internal.exception.MessagingException;
+import org.mule.runtime.core.internal.streaming.EventStreamingState;
+import org.mule.runtime.core.internal.streaming.StreamingStateHolder;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -44,37 +48,70 @@ import reactor.core.publisher.MonoSink;
 
 /**
  * Base class for implementations of {@link BaseEventContext}
+ * <p>
+ * State transitions are done atomically, without taking any monitor, and callbacks are kept in lazily allocated lock-free
+ * stacks. Instead of keeping a list of its children to check if they are all complete, each context keeps a count of its
+ * children that are not complete yet, updated by the children themselves when they complete. References to the children are only
+ * kept when flow trace is enabled, in order to be able to provide the flow stacks of the active contexts.
+ * <p>
+ * Contexts also hold the {@link EventStreamingState} of the streaming resources they own, which is only allocated for events
+ * that actually stream.
  *
  * @since 4.0
  */
-abstract class AbstractEventContext implements BaseEventContext {
+abstract class AbstractEventContext implements BaseEventContext, StreamingStateHolder {
+
+  private static final int STATE_READY = 0;
+  private static final int STATE_RESPONDING = 1;
+  private static final int STATE_RESPONSE = 2;
+  private static final int STATE_COMPLETE = 3;
+  private static final int STATE_TERMINATED = 4;
+
+  private static final AtomicIntegerFieldUpdater<AbstractEventContext> STATE_UPDATER =
+      newUpdater(AbstractEventContext.class, "state");
+  private static final AtomicIntegerFieldUpdater<AbstractEventContext> PENDING_CHILDREN_UPDATER =
+      newUpdater(AbstractEventContext.class, "pendingChildren");
+  private static final AtomicReferenceFieldUpdater<AbstractEventContext, Set> CHILD_CONTEXTS_UPDATER =
+      AtomicReferenceFieldUpdater.newUpdater(AbstractEventContext.class, Set.class, "childContexts");
+  private static final AtomicReferenceFieldUpdater<AbstractEventContext, CallbackNode> ON_RESPONSE_UPDATER =
+      callbacksUpdater("onResponseCallbacks");
+  private static final AtomicReferenceFieldUpdater<AbstractEventContext, CallbackNode> ON_COMPLETE_UPDATER =
+      callbacksUpdater("onCompleteCallbacks");
+  private static final AtomicReferenceFieldUpdater<AbstractEventContext, CallbackNode> ON_TERMINATED_UPDATER =
+      callbacksUpdater("onTerminatedCallbacks");
+  private static final AtomicReferenceFieldUpdater<AbstractEventContext, EventStreamingState> STREAMING_STATE_UPDATER =
+      AtomicReferenceFieldUpdater.newUpdater(AbstractEventContext.class, EventStreamingState.class, "streamingState");
 
-  private static final byte STATE_READY = 0;
-  private static final byte STATE_RESPONSE = 1;
-  private static final byte STATE_COMPLETE = 2;
-  private static final byte STATE_TERMINATED = 3;
+  /**
+   * Marks a callback stack whose callbacks have already been signaled. Callbacks added after that are signaled right away.
+   */
+  private static final CallbackNode SIGNALED = new CallbackNode(null, null);
 
   private static final Logger LOGGER = LoggerFactory.getLogger(AbstractEventContext.class);
   private static final FlowExceptionHandler NULL_EXCEPTION_HANDLER = NullExceptionHandler.getInstance();
 
   private static final int MAX_DEPTH = getInteger(BaseEventContext.class.getName() + ".maxDepth", 25);
 
-  private transient final List<BaseEventContext> childContexts = new ArrayList<>();
+  private static AtomicReferenceFieldUpdater<AbstractEventContext, CallbackNode> callbacksUpdater(String fieldName) {
+    return AtomicReferenceFieldUpdater.newUpdater(AbstractEventContext.class, CallbackNode.class, fieldName);
+  }
+
   private transient final FlowExceptionHandler exceptionHandler;
   private transient final CompletableFuture<Void> externalCompletion;
-  private transient final List<BiConsumer<CoreEvent, Throwable>> onResponseConsumerList = new ArrayList<>();
-  private transient final List<BiConsumer<CoreEvent, Throwable>> onCompletionConsumerList = new ArrayList<>();
-  private transient final List<BiConsumer<CoreEvent, Throwable>> onTerminatedConsumerList = new ArrayList<>();
 
-  private ReadWriteLock childContextsReadWriteLock = new ReentrantReadWriteLock();
+  private transient volatile Set<BaseEventContext> childContexts;
+  private transient volatile CallbackNode onResponseCallbacks;
+  private transient volatile CallbackNode onCompleteCallbacks;
+  private transient volatile CallbackNode onTerminatedCallbacks;
+  private transient volatile EventStreamingState streamingState;
+  private transient volatile Transaction boundTransaction;
 
   private final int depthLevel;
 
-  private volatile byte state = STATE_READY;
+  private volatile int state = STATE_READY;
+  private volatile int pendingChildren = 0;
   private volatile Either<Throwable, CoreEvent> result;
 
-  private final Set<ResponsePublisher> responsePublishers = new HashSet<>();
-
   protected FlowCallStack flowCallStack = new DefaultFlowCallStack();
 
   public AbstractEventContext() {
@@ -99,6 +136,16 @@ abstract class AbstractEventContext implements BaseEventContext {
     this.exceptionHandler = exceptionHandler;
   }
 
+  @Override
+  public EventStreamingState getStreamingState() {
+    return streamingState;
+  }
+
+  @Override
+  public boolean compareAndSetStreamingState(EventStreamingState expected, EventStreamingState update) {
+    return STREAMING_STATE_UPDATER.compareAndSet(this, expected, update);
+  }
+
   void addChildContext(BaseEventContext childContext) {
     if (getDepthLevel() >= MAX_DEPTH) {
       StringBuilder messageBuilder = new StringBuilder();
@@ -117,11 +164,33 @@ abstract class AbstractEventContext implements BaseEventContext {
       throw new EventContextDeepNestingException(messageBuilder.toString());
     }
 
-    childContextsReadWriteLock.writeLock().lock();
-    try {
-      childContexts.add(childContext);
-    } finally {
-      childContextsReadWriteLock.writeLock().unlock();
+    PENDING_CHILDREN_UPDATER.incrementAndGet(this);
+
+    if (DefaultMuleConfiguration.isFlowTrace()) {
+      Set<BaseEventContext> children = childContexts;
+      if (children == null) {
+        CHILD_CONTEXTS_UPDATER.compareAndSet(this, null, newKeySet());
+        children = childContexts;
+      }
+      children.add(childContext);
+    }
+  }
+
+  /**
+   * Called by a child context of this one once it is complete.
+   */
+  private void childComplete() {
+    PENDING_CHILDREN_UPDATER.decrementAndGet(this);
+    tryComplete();
+  }
+
+  /**
+   * Called by a child context of this one once it is terminated.
+   */
+  private void childTerminated(BaseEventContext childContext) {
+    Set<BaseEventContext> children = childContexts;
+    if (children != null) {
+      children.remove(childContext);
     }
   }
 
@@ -194,72 +263,105 @@ abstract class AbstractEventContext implements BaseEventContext {
     }
   }
 
-  private synchronized void responseDone(Either<Throwable, CoreEvent> result) {
+  private void responseDone(Either<Throwable, CoreEvent> result) {
+    if (!STATE_UPDATER.compareAndSet(this, STATE_READY, STATE_RESPONDING)) {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug(this + " response was already completed concurrently, ignoring.");
+      }
+      return;
+    }
+
     this.result = result;
-    responsePublishers.forEach(rp -> rp.result = result);
+    // The response callbacks must be done before the context can complete, since completing it may lead to its termination,
+    // which signals the completion and termination callbacks and discards the result.
+    signalCallbacks(ON_RESPONSE_UPDATER);
     state = STATE_RESPONSE;
-    onResponseConsumerList.stream().forEach(consumer -> signalConsumerSilently(consumer));
-    onResponseConsumerList.clear();
     tryComplete();
   }
 
   protected void tryComplete() {
-    boolean allChildrenComplete;
-
-    childContextsReadWriteLock.readLock().lock();
-    try {
-      allChildrenComplete = childContexts.stream().allMatch(context -> context.isComplete());
-    } finally {
-      childContextsReadWriteLock.readLock().unlock();
-    }
-
-    synchronized (this) {
-      if (state == STATE_RESPONSE && allChildrenComplete) {
-        if (LOGGER.isDebugEnabled()) {
-          LOGGER.debug(this + " completed.");
-        }
-        this.state = STATE_COMPLETE;
-        onCompletionConsumerList.forEach(consumer -> signalConsumerSilently(consumer));
-        onCompletionConsumerList.clear();
-        getParentContext().ifPresent(context -> {
-          if (context instanceof AbstractEventContext) {
-            ((AbstractEventContext) context).tryComplete();
-          }
-        });
-        tryTerminate();
+    if (state == STATE_RESPONSE && pendingChildren == 0
+        && STATE_UPDATER.compareAndSet(this, STATE_RESPONSE, STATE_COMPLETE)) {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug(this + " completed.");
       }
+      signalCallbacks(ON_COMPLETE_UPDATER);
+      getParentContext().ifPresent(context -> {
+        if (context instanceof AbstractEventContext) {
+          ((AbstractEventContext) context).childComplete();
+        }
+      });
+      tryTerminate();
     }
   }
 
-  protected synchronized void tryTerminate() {
-    if (this.state == STATE_COMPLETE && (externalCompletion == null || externalCompletion.isDone())) {
+  protected void tryTerminate() {
+    if (state == STATE_COMPLETE && (externalCompletion == null || externalCompletion.isDone())
+        && STATE_UPDATER.compareAndSet(this, STATE_COMPLETE, STATE_TERMINATED)) {
       if (LOGGER.isDebugEnabled()) {
         LOGGER.debug(this + " terminated.");
       }
-      this.state = STATE_TERMINATED;
-
-      onTerminatedConsumerList.forEach(consumer -> signalConsumerSilently(consumer));
-      onTerminatedConsumerList.clear();
 
-      childContextsReadWriteLock.writeLock().lock();
-      try {
-        this.childContexts.clear();
-      } finally {
-        childContextsReadWriteLock.writeLock().unlock();
-      }
+      signalCallbacks(ON_TERMINATED_UPDATER);
 
+      childContexts = null;
       getParentContext().ifPresent(context -> {
-        AbstractEventContext parent = (AbstractEventContext) context;
-        parent.childContextsReadWriteLock.writeLock().lock();
-        try {
-          parent.childContexts.remove(this);
-        } finally {
-          parent.childContextsReadWriteLock.writeLock().unlock();
+        if (context instanceof AbstractEventContext) {
+          ((AbstractEventContext) context).childTerminated(this);
         }
       });
 
       result = null;
-      responsePublishers.clear();
+    }
+  }
+
+  /**
+   * Adds the {@code consumer} to the callbacks stack handled by the given {@code updater}, or signals it right away if the
+   * callbacks of that stack were already signaled.
+   */
+  private void addCallback(AtomicReferenceFieldUpdater<AbstractEventContext, CallbackNode> updater,
+                           BiConsumer<CoreEvent, Throwable> consumer) {
+    requireNonNull(consumer);
+    CallbackNode node = null;
+    for (;;) {
+      CallbackNode head = updater.get(this);
+      if (head == SIGNALED) {
+        signalConsumerSilently(consumer);
+        return;
+      }
+
+      if (node == null) {
+        node = new CallbackNode(consumer, head);
+      } else {
+        node.next = head;
+      }
+      if (updater.compareAndSet(this, head, node)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Signals the callbacks of the stack handled by the given {@code updater}, in the order in which they were added. Any callback
+   * added after this is signaled right away.
+   */
+  private void signalCallbacks(AtomicReferenceFieldUpdater<AbstractEventContext, CallbackNode> updater) {
+    CallbackNode node = updater.getAndSet(this, SIGNALED);
+    if (node == SIGNALED) {
+      return;
+    }
+
+    CallbackNode reversed = null;
+    while (node != null) {
+      CallbackNode next = node.next;
+      node.next = reversed;
+      reversed = node;
+      node = next;
+    }
+
+    while (reversed != null) {
+      signalConsumerSilently(reversed.consumer);
+      reversed = reversed.next;
     }
   }
 
@@ -280,12 +382,29 @@ abstract class AbstractEventContext implements BaseEventContext {
         .orElse(this);
   }
 
+  @Override
+  public Optional<Transaction> getBoundTransaction() {
+    // Resolved through the parents rather than the root, so a child in between may keep its descendants from seeing it
+    Optional<BaseEventContext> parent = getParentContext();
+    return parent.isPresent() ? parent.get().getBoundTransaction() : ofNullable(boundTransaction);
+  }
+
+  @Override
+  public void setBoundTransaction(Transaction transaction) {
+    Optional<BaseEventContext> parent = getParentContext();
+    if (parent.isPresent()) {
+      parent.get().setBoundTransaction(transaction);
+    } else {
+      boundTransaction = transaction;
+    }
+  }
+
   protected FlowExceptionHandler getExceptionHandler() {
     return exceptionHandler;
   }
 
   private boolean isResponseDone() {
-    return state >= STATE_RESPONSE;
+    return state >= STATE_RESPONDING;
   }
 
   @Override
@@ -299,95 +418,97 @@ abstract class AbstractEventContext implements BaseEventContext {
   }
 
   @Override
-  public synchronized void onTerminated(BiConsumer<CoreEvent, Throwable> consumer) {
-    if (state >= STATE_TERMINATED) {
-      signalConsumerSilently(consumer);
-    } else {
-      onTerminatedConsumerList.add(requireNonNull(consumer));
-    }
+  public void onTerminated(BiConsumer<CoreEvent, Throwable> consumer) {
+    addCallback(ON_TERMINATED_UPDATER, consumer);
   }
 
   @Override
-  public synchronized void onComplete(BiConsumer<CoreEvent, Throwable> consumer) {
-    if (state >= STATE_COMPLETE) {
-      signalConsumerSilently(consumer);
-    } else {
-      onCompletionConsumerList.add(requireNonNull(consumer));
-    }
+  public void onComplete(BiConsumer<CoreEvent, Throwable> consumer) {
+    addCallback(ON_COMPLETE_UPDATER, consumer);
   }
 
   @Override
-  public synchronized void onResponse(BiConsumer<CoreEvent, Throwable> consumer) {
-    if (state >= STATE_RESPONSE) {
-      signalConsumerSilently(consumer);
-    } else {
-      onResponseConsumerList.add(requireNonNull(consumer));
-    }
+  public void onResponse(BiConsumer<CoreEvent, Throwable> consumer) {
+    addCallback(ON_RESPONSE_UPDATER, consumer);
   }
 
   @Override
-  public synchronized Publisher<CoreEvent> getResponsePublisher() {
+  public Publisher<CoreEvent> getResponsePublisher() {
     if (isTerminated()) {
       throw new IllegalStateException("getResponsePublisher() cannot be called after eventContext termination.");
     }
 
     final ResponsePublisher responsePublisher = new ResponsePublisher();
-    responsePublishers.add(responsePublisher);
+    onResponse(responsePublisher);
     return Mono.create(responsePublisher);
   }
 
   public void forEachChild(Consumer<BaseEventContext> childConsumer) {
-    childContextsReadWriteLock.readLock().lock();
-    try {
-      childContexts.stream().filter(context -> !context.isTerminated()).forEach(context -> {
-        childConsumer.accept(context);
-        if (context instanceof AbstractEventContext) {
-          ((AbstractEventContext) context).forEachChild(childConsumer);
-        }
-      });
-    } finally {
-      childContextsReadWriteLock.readLock().unlock();
+    Set<BaseEventContext> children = childContexts;
+    if (children == null) {
+      return;
     }
+
+    children.stream().filter(context -> !context.isTerminated()).forEach(context -> {
+      childConsumer.accept(context);
+      if (context instanceof AbstractEventContext) {
+        ((AbstractEventContext) context).forEachChild(childConsumer);
+      }
+    });
   }
 
   /**
    * Allows the result of the parent object to be available for the {@link Publisher} of this context's response even after the
    * context has been terminated.
    */
-  private final class ResponsePublisher implements Consumer<MonoSink<CoreEvent>> {
+  private final class ResponsePublisher implements Consumer<MonoSink<CoreEvent>>, BiConsumer<CoreEvent, Throwable> {
 
     private volatile Either<Throwable, CoreEvent> result;
 
+    @Override
+    public void accept(CoreEvent event, Throwable throwable) {
+      result = throwable != null ? left(throwable) : right(event);
+    }
+
     @Override
     public void accept(MonoSink<CoreEvent> sink) {
-      if (isResponseDone()) {
-        signalPublisherSink(sink);
+      Either<Throwable, CoreEvent> response = result;
+      if (response != null) {
+        signalPublisherSink(sink, response);
       } else {
-        synchronized (AbstractEventContext.this) {
-          if (isResponseDone()) {
-            signalPublisherSink(sink);
+        onResponse((event, throwable) -> {
+          if (throwable != null) {
+            sink.error(throwable);
           } else {
-            onResponse((event, throwable) -> {
-              if (throwable != null) {
-                sink.error(throwable);
-              } else {
-                sink.success(event);
-              }
-            });
+            sink.success(event);
           }
-        }
+        });
       }
     }
 
-    private void signalPublisherSink(MonoSink<CoreEvent> sink) {
-      if (result.isLeft()) {
-        sink.error(result.getLeft());
+    private void signalPublisherSink(MonoSink<CoreEvent> sink, Either<Throwable, CoreEvent> response) {
+      if (response.isLeft()) {
+        sink.error(response.getLeft());
       } else {
-        sink.success(result.getRight());
+        sink.success(response.getRight());
       }
     }
   }
 
+  /**
+   * Node of a lock-free stack of callbacks.
+   */
+  private static final class CallbackNode {
+
+    private final BiConsumer<CoreEvent, Throwable> consumer;
+    private CallbackNode next;
+
+    private CallbackNode(BiConsumer<CoreEvent, Throwable> consumer, CallbackNode next) {
+      this.consumer = consumer;
+      this.next = next;
+    }
+  }
+
   @Override
   public int getDepthLevel() {
     return depthLevel;
@@ -44,6 +44,7 @@ import org.mule.runtime.core.internal.message.DefaultMessageBuilder;
 import org.mule.runtime.core.internal.message.InternalEvent;
 import org.mule.runtime.core.internal.message.InternalEvent.Builder;
 import org.mule.runtime.core.internal.message.InternalMessage;
+import org.mule.runtime.core.internal.util.CaseInsensitivePersistentMap;
 import org.mule.runtime.core.privileged.connector.DefaultReplyToHandler;
 import org.mule.runtime.core.privileged.connector.ReplyToHandler;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
@@ -55,7 +56,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.nio.charset.Charset;
 import java.util.HashMap;
@@ -69,7 +72,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
   private BaseEventContext context;
   private Function<EventContext, Message> messageFactory;
-  private Map<String, TypedValue<?>> flowVariables = new HashMap<>();
+  private CaseInsensitivePersistentMap<TypedValue<?>> flowVariables = CaseInsensitivePersistentMap.empty();
   private Map<String, Object> internalParameters = new HashMap<>(4);
   private Error error;
   private Optional<ItemSequenceInfo> itemSequenceInfo = empty();
@@ -100,7 +103,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
     this.error = event.getError().orElse(null);
     this.notificationsEnabled = event.isNotificationsEnabled();
 
-    this.flowVariables.putAll(event.getVariables());
+    this.flowVariables = CaseInsensitivePersistentMap.copyOf(event.getVariables());
     this.internalParameters.putAll(event.getInternalParameters());
   }
 
@@ -128,13 +131,21 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
   @Override
   public DefaultEventBuilder variables(Map<String, ?> flowVariables) {
-    copyFromTo(flowVariables, this.flowVariables);
+    CaseInsensitivePersistentMap<TypedValue<?>> variables = CaseInsensitivePersistentMap.empty();
+    for (Map.Entry<String, ?> entry : flowVariables.entrySet()) {
+      Object value = entry.getValue();
+      variables = variables.plus(entry.getKey(),
+                                 value instanceof TypedValue ? (TypedValue<?>) value
+                                     : new TypedValue<>(value, DataType.fromObject(value)));
+    }
+    this.flowVariables = variables;
+    this.modified = true;
     return this;
   }
 
   @Override
   public DefaultEventBuilder addVariable(String key, Object value) {
-    flowVariables.put(key, new TypedValue<>(value, DataType.fromObject(value)));
+    flowVariables = flowVariables.plus(key, new TypedValue<>(value, DataType.fromObject(value)));
     this.modified = true;
     return this;
 
@@ -142,14 +153,16 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
   @Override
   public DefaultEventBuilder addVariable(String key, Object value, DataType dataType) {
-    flowVariables.put(key, new TypedValue<>(value, dataType));
+    flowVariables = flowVariables.plus(key, new TypedValue<>(value, dataType));
     this.modified = true;
     return this;
   }
 
   @Override
   public DefaultEventBuilder removeVariable(String key) {
-    this.modified = flowVariables.remove(key) != null || modified;
+    CaseInsensitivePersistentMap<TypedValue<?>> variables = flowVariables.minus(key);
+    this.modified = variables != flowVariables || modified;
+    this.flowVariables = variables;
     return this;
   }
 
@@ -253,13 +266,6 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
     }
   }
 
-  private void copyFromTo(Map<String, ?> source, Map<String, TypedValue<?>> target) {
-    target.clear();
-    source.forEach((s, o) -> target
-        .put(s, o instanceof TypedValue ? (TypedValue<Object>) o : new TypedValue<>(o, DataType.fromObject(o))));
-    this.modified = true;
-  }
-
   /**
    * <code>EventImplementation</code> represents any data event occurring in the Mule environment. All data sent or received
    * within the Mule environment will be passed between components as an MuleEvent.
@@ -274,24 +280,45 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
     /** Immutable MuleEvent state **/
 
+    /**
+     * The serialized form of previous versions, where the variables were kept in a {@link CaseInsensitiveHashMap}. It is kept so
+     * events serialized by those versions can still be deserialized, and the other way around.
+     */
+    private static final ObjectStreamField[] serialPersistentFields = {
+        new ObjectStreamField("context", BaseEventContext.class),
+        new ObjectStreamField("message", Message.class),
+        new ObjectStreamField("session", MuleSession.class),
+        new ObjectStreamField("securityContext", SecurityContext.class),
+        new ObjectStreamField("replyToHandler", ReplyToHandler.class),
+        new ObjectStreamField("replyToDestination", Object.class),
+        new ObjectStreamField("notificationsEnabled", boolean.class),
+        new ObjectStreamField("variables", CaseInsensitiveHashMap.class),
+        new ObjectStreamField("internalParameters", Map.class),
+        new ObjectStreamField("legacyCorrelationId", String.class),
+        new ObjectStreamField("error", Error.class),
+        new ObjectStreamField("itemSequenceInfo", ItemSequenceInfo.class)
+    };
+
+    // Fields are not final since they are set on deserialization
+
     private BaseEventContext context;
     // TODO MULE-10013 make this final
     private Message message;
-    private final MuleSession session;
+    private MuleSession session;
     private SecurityContext securityContext;
 
-    private final ReplyToHandler replyToHandler;
+    private ReplyToHandler replyToHandler;
 
     /** Mutable MuleEvent state **/
-    private final Object replyToDestination;
+    private Object replyToDestination;
 
-    private final boolean notificationsEnabled;
+    private boolean notificationsEnabled;
 
-    private final CaseInsensitiveHashMap<String, TypedValue<?>> variables;
-    private final Map<String, ?> internalParameters;
+    private transient CaseInsensitivePersistentMap<TypedValue<?>> variables;
+    private Map<String, ?> internalParameters;
 
-    private final String legacyCorrelationId;
-    private final Error error;
+    private String legacyCorrelationId;
+    private Error error;
 
     private ItemSequenceInfo itemSequenceInfo;
 
@@ -299,7 +326,8 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
         new LazyValue<>(() -> addEventBindings(this, NULL_BINDING_CONTEXT));
 
     // Use this constructor from the builder
-    private InternalEventImplementation(BaseEventContext context, Message message, Map<String, TypedValue<?>> variables,
+    private InternalEventImplementation(BaseEventContext context, Message message,
+                                        CaseInsensitivePersistentMap<TypedValue<?>> variables,
                                         Map<String, ?> internalParameters, MuleSession session, SecurityContext securityContext,
                                         Object replyToDestination, ReplyToHandler replyToHandler,
                                         Optional<ItemSequenceInfo> itemSequenceInfo,
@@ -309,7 +337,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
       this.session = session;
       this.securityContext = securityContext;
       this.message = message;
-      this.variables = new CaseInsensitiveHashMap<>(variables);
+      this.variables = variables;
       this.internalParameters = internalParameters;
 
       this.replyToHandler = replyToHandler;
@@ -456,7 +484,6 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
     private void writeObject(ObjectOutputStream out) throws IOException {
       // TODO MULE-10013 remove this logic from here
-      out.defaultWriteObject();
       for (Map.Entry<String, TypedValue<?>> entry : variables.entrySet()) {
         Object value = entry.getValue();
         if (value != null && !(value instanceof Serializable)) {
@@ -465,6 +492,39 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
           throw new IOException(message);
         }
       }
+
+      ObjectOutputStream.PutField fields = out.putFields();
+      fields.put("context", context);
+      fields.put("message", message);
+      fields.put("session", session);
+      fields.put("securityContext", securityContext);
+      fields.put("replyToHandler", replyToHandler);
+      fields.put("replyToDestination", replyToDestination);
+      fields.put("notificationsEnabled", notificationsEnabled);
+      fields.put("variables", new CaseInsensitiveHashMap<>(variables));
+      fields.put("internalParameters", internalParameters);
+      fields.put("legacyCorrelationId", legacyCorrelationId);
+      fields.put("error", error);
+      fields.put("itemSequenceInfo", itemSequenceInfo);
+      out.writeFields();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+      ObjectInputStream.GetField fields = in.readFields();
+      context = (BaseEventContext) fields.get("context", null);
+      message = (Message) fields.get("message", null);
+      session = (MuleSession) fields.get("session", null);
+      securityContext = (SecurityContext) fields.get("securityContext", null);
+      replyToHandler = (ReplyToHandler) fields.get("replyToHandler", null);
+      replyToDestination = fields.get("replyToDestination", null);
+      notificationsEnabled = fields.get("notificationsEnabled", false);
+      Map<String, TypedValue<?>> serializedVariables = (Map<String, TypedValue<?>>) fields.get("variables", null);
+      variables = serializedVariables == null ? CaseInsensitivePersistentMap.empty()
+          : CaseInsensitivePersistentMap.copyOf(serializedVariables);
+      internalParameters = (Map<String, ?>) fields.get("internalParameters", null);
+      legacyCorrelationId = (String) fields.get("legacyCorrelationId", null);
+      error = (Error) fields.get("error", null);
+      itemSequenceInfo = (ItemSequenceInfo) fields.get("itemSequenceInfo", null);
     }
 
     private void setMessage(Message message) {
@@ -473,7 +533,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
     @Override
     public Map<String, TypedValue<?>> getVariables() {
-      return unmodifiableMap(variables);
+      return variables;
     }
 
     @Override
@@ -24,10 +24,13 @@ import org.mule.runtime.core.api.exception.FlowExceptionHandler;
 import org.mule.runtime.core.api.exception.NullExceptionHandler;
 import org.mule.runtime.core.api.management.stats.ProcessingTime;
 import org.mule.runtime.core.api.source.MessageSource;
+import org.mule.runtime.core.api.transaction.Transaction;
 import org.mule.runtime.core.internal.context.notification.DefaultProcessorsTrace;
 import org.mule.runtime.core.internal.exception.MessagingException;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.time.Instant;
 import java.util.Optional;
@@ -69,8 +72,31 @@ public final class DefaultEventContext extends AbstractEventContext implements S
    */
   public static BaseEventContext child(BaseEventContext parent, Optional<ComponentLocation> componentLocation,
                                        FlowExceptionHandler exceptionHandler) {
+    return child(parent, componentLocation, exceptionHandler, false);
+  }
+
+  /**
+   * Builds a new child execution context from a parent context, just like
+   * {@link #child(BaseEventContext, Optional, FlowExceptionHandler)}, except that neither it nor its descendants see the
+   * transaction bound to the parent, and no transaction can be bound to them. This is used when the child is processed
+   * concurrently with its parent, as in {@code async}, which must not take part in the transaction of the parent.
+   *
+   * @param parent the parent context
+   * @param componentLocation the location of the component that creates the child context and operates on result if available.
+   * @param exceptionHandler used to handle {@link MessagingException}'s.
+   * @return a new child context
+   * @since 4.2
+   */
+  public static BaseEventContext transactionIsolatedChild(BaseEventContext parent, Optional<ComponentLocation> componentLocation,
+                                                          FlowExceptionHandler exceptionHandler) {
+    return child(parent, componentLocation, exceptionHandler, true);
+  }
+
+  private static BaseEventContext child(BaseEventContext parent, Optional<ComponentLocation> componentLocation,
+                                        FlowExceptionHandler exceptionHandler, boolean transactionIsolated) {
     BaseEventContext child =
-        new ChildEventContext(parent, componentLocation.orElse(null), exceptionHandler, parent.getDepthLevel() + 1);
+        new ChildEventContext(parent, componentLocation.orElse(null), exceptionHandler, parent.getDepthLevel() + 1,
+                              transactionIsolated);
     if (parent instanceof AbstractEventContext) {
       ((AbstractEventContext) parent).addChildContext(child);
     }
@@ -78,7 +104,9 @@ public final class DefaultEventContext extends AbstractEventContext implements S
     return child;
   }
 
-  private final String id;
+  // Only the String form of the id is serialized, and it is built from the generated id when first read
+  private transient CharSequence generatedId;
+  private volatile String id;
   private final String correlationId;
   private final Instant receivedDate = now();
 
@@ -90,7 +118,12 @@ public final class DefaultEventContext extends AbstractEventContext implements S
 
   @Override
   public String getId() {
-    return id;
+    String result = id;
+    if (result == null && generatedId != null) {
+      result = generatedId.toString();
+      id = result;
+    }
+    return result;
   }
 
   @Override
@@ -100,7 +133,7 @@ public final class DefaultEventContext extends AbstractEventContext implements S
 
   @Override
   public String getCorrelationId() {
-    return correlationId != null ? correlationId : id;
+    return correlationId != null ? correlationId : getId();
   }
 
   @Override
@@ -173,7 +206,7 @@ public final class DefaultEventContext extends AbstractEventContext implements S
   public DefaultEventContext(FlowConstruct flow, FlowExceptionHandler exceptionHandler, ComponentLocation location,
                              String correlationId, Optional<CompletableFuture<Void>> externalCompletion) {
     super(exceptionHandler, 0, externalCompletion);
-    this.id = flow.getUniqueIdString();
+    this.generatedId = flow.getUniqueEventId();
     this.serverId = flow.getServerId();
     this.location = location;
     this.processingTime = ProcessingTime.newInstance(flow);
@@ -207,6 +240,11 @@ public final class DefaultEventContext extends AbstractEventContext implements S
     this.correlationId = correlationId;
   }
 
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    getId();
+    out.defaultWriteObject();
+  }
+
   private void eventContextMaintain(EventContextService eventContextService) {
     if (eventContextService != null && eventContextService instanceof DefaultEventContextService) {
       ((DefaultEventContextService) eventContextService).addContext(this);
@@ -218,7 +256,7 @@ public final class DefaultEventContext extends AbstractEventContext implements S
 
   @Override
   public String toString() {
-    return getClass().getSimpleName() + " { id: " + id + "; correlationId: " + correlationId + "; flowName: "
+    return getClass().getSimpleName() + " { id: " + getId() + "; correlationId: " + correlationId + "; flowName: "
         + getOriginatingLocation().getRootContainerName() + "; serverId: " + serverId + " }";
   }
 
@@ -229,23 +267,31 @@ public final class DefaultEventContext extends AbstractEventContext implements S
     private final BaseEventContext root;
     private final BaseEventContext parent;
     private final ComponentLocation componentLocation;
-    private final String id;
+    private final boolean transactionIsolated;
+    private volatile String id;
 
     private ChildEventContext(BaseEventContext parent, ComponentLocation componentLocation,
-                              FlowExceptionHandler messagingExceptionHandler, int depthLevel) {
+                              FlowExceptionHandler messagingExceptionHandler, int depthLevel, boolean transactionIsolated) {
       super(messagingExceptionHandler, depthLevel, empty());
       this.flowCallStack = parent.getFlowCallStack().clone();
       this.root = parent.getRootContext();
       this.parent = parent;
       this.componentLocation = componentLocation;
-      this.id = parent.getId() != null
-          ? parent.getId().concat("_").concat(Integer.toString(identityHashCode(this)))
-          : Integer.toString(identityHashCode(this));
+      this.transactionIsolated = transactionIsolated;
     }
 
     @Override
     public String getId() {
-      return id;
+      // Built on demand, so that the id of the parent is not stringified for children whose id is never read
+      String result = id;
+      if (result == null) {
+        String parentId = parent.getId();
+        result = parentId != null
+            ? parentId.concat("_").concat(Integer.toString(identityHashCode(this)))
+            : Integer.toString(identityHashCode(this));
+        id = result;
+      }
+      return result;
     }
 
     @Override
@@ -288,6 +334,19 @@ public final class DefaultEventContext extends AbstractEventContext implements S
       return root;
     }
 
+    @Override
+    public Optional<Transaction> getBoundTransaction() {
+      return transactionIsolated ? empty() : super.getBoundTransaction();
+    }
+
+    @Override
+    public void setBoundTransaction(Transaction transaction) {
+      // Transactions of an isolated context remain bound to the thread that began them
+      if (!transactionIsolated) {
+        super.setBoundTransaction(transaction);
+      }
+    }
+
     @Override
     public String toString() {
       return getClass().getSimpleName() + " { id: " + getId() + "; correlationId: " + parent.getCorrelationId()
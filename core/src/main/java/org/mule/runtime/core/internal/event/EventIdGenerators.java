@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.event;
+
+import static java.util.ServiceLoader.load;
+
+import org.mule.runtime.core.api.event.EventIdGenerator;
+
+import java.util.Iterator;
+
+/**
+ * Provides the {@link EventIdGenerator} to use, discovered through SPI or the default {@link TimeOrderedEventIdGenerator}.
+ *
+ * @since 4.2
+ */
+public final class EventIdGenerators {
+
+  private EventIdGenerators() {
+    // Nothing to do
+  }
+
+  /**
+   * @return the {@link EventIdGenerator} to use for generating event ids.
+   */
+  public static EventIdGenerator getEventIdGenerator() {
+    return Holder.GENERATOR;
+  }
+
+  private static final class Holder {
+
+    private static final EventIdGenerator GENERATOR = discover();
+
+    private static EventIdGenerator discover() {
+      Iterator<EventIdGenerator> generators = load(EventIdGenerator.class, EventIdGenerators.class.getClassLoader()).iterator();
+      return generators.hasNext() ? generators.next() : new TimeOrderedEventIdGenerator();
+    }
+  }
+}
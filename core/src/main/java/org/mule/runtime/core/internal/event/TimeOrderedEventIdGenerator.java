@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.event;
+
+import static java.lang.System.currentTimeMillis;
+
+import org.mule.runtime.core.api.event.EventIdGenerator;
+
+import com.eaio.uuid.UUIDGen;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Default {@link EventIdGenerator}.
+ * <p>
+ * Generated ids are made of the cluster node id, the current time in milliseconds, a per thread sequence number, the index of the
+ * generating thread and the clock sequence and node of this JVM (as used for type 1 {@link java.util.UUID}s). No state is shared
+ * between threads, so generating an id needs neither locks nor CAS loops. Within a thread, ids are strictly increasing: if the
+ * sequence overflows within a millisecond, the time part is moved ahead.
+ * <p>
+ * All parts but the cluster node id are formatted as fixed width hex numbers, so the {@link String} representation of ids
+ * generated in the same cluster node sort by generation time. That representation is only built when the id is read.
+ *
+ * @since 4.2
+ */
+public final class TimeOrderedEventIdGenerator implements EventIdGenerator {
+
+  private static final long CLOCK_SEQ_AND_NODE = UUIDGen.getClockSeqAndNode();
+  private static final int MAX_SEQUENCE = 0xFFFF;
+
+  private static final AtomicInteger THREAD_INDEX = new AtomicInteger();
+
+  private static final ThreadLocal<Sequence> SEQUENCE = ThreadLocal.withInitial(Sequence::new);
+
+  @Override
+  public CharSequence generateId(int clusterNodeId) {
+    Sequence sequence = SEQUENCE.get();
+    long millis = currentTimeMillis();
+
+    if (millis > sequence.lastMillis) {
+      sequence.lastMillis = millis;
+      sequence.value = 0;
+    } else if (sequence.value < MAX_SEQUENCE) {
+      ++sequence.value;
+    } else {
+      ++sequence.lastMillis;
+      sequence.value = 0;
+    }
+
+    return new TimeOrderedEventId(clusterNodeId, sequence.lastMillis, sequence.value, sequence.threadIndex);
+  }
+
+  private static final class Sequence {
+
+    private final int threadIndex = THREAD_INDEX.getAndIncrement();
+    private long lastMillis;
+    private int value;
+  }
+
+  /**
+   * An id generated by {@link TimeOrderedEventIdGenerator}, which builds its {@link String} representation on demand.
+   */
+  static final class TimeOrderedEventId implements CharSequence, Serializable {
+
+    private static final long serialVersionUID = 5403539431474417402L;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final int clusterNodeId;
+    private final long millis;
+    private final int sequence;
+    private final int threadIndex;
+
+    private transient volatile String string;
+
+    private TimeOrderedEventId(int clusterNodeId, long millis, int sequence, int threadIndex) {
+      this.clusterNodeId = clusterNodeId;
+      this.millis = millis;
+      this.sequence = sequence;
+      this.threadIndex = threadIndex;
+    }
+
+    @Override
+    public String toString() {
+      String result = string;
+      if (result == null) {
+        result = format();
+        string = result;
+      }
+      return result;
+    }
+
+    private String format() {
+      String prefix = Integer.toString(clusterNodeId);
+      char[] chars = new char[prefix.length() + 1 + 12 + 1 + 4 + 1 + 8 + 1 + 16];
+      prefix.getChars(0, prefix.length(), chars, 0);
+      int offset = prefix.length();
+      chars[offset++] = '-';
+      offset = appendHex(chars, offset, millis, 12);
+      chars[offset++] = '-';
+      offset = appendHex(chars, offset, sequence, 4);
+      chars[offset++] = '-';
+      offset = appendHex(chars, offset, threadIndex & 0xFFFFFFFFL, 8);
+      chars[offset++] = '-';
+      appendHex(chars, offset, CLOCK_SEQ_AND_NODE, 16);
+      return new String(chars);
+    }
+
+    private static int appendHex(char[] chars, int offset, long value, int digits) {
+      for (int i = digits - 1; i >= 0; --i) {
+        chars[offset + i] = HEX_DIGITS[(int) (value & 0xF)];
+        value >>>= 4;
+      }
+      return offset + digits;
+    }
+
+    @Override
+    public int length() {
+      return toString().length();
+    }
+
+    @Override
+    public char charAt(int index) {
+      return toString().charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      return toString().subSequence(start, end);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof TimeOrderedEventId)) {
+        return false;
+      }
+      TimeOrderedEventId other = (TimeOrderedEventId) obj;
+      return clusterNodeId == other.clusterNodeId && millis == other.millis && sequence == other.sequence
+          && threadIndex == other.threadIndex;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = 31 * clusterNodeId + Long.hashCode(millis);
+      result = 31 * result + sequence;
+      return 31 * result + threadIndex;
+    }
+  }
+
+}
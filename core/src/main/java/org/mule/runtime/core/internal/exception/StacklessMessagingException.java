@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.exception;
+
+import static java.lang.Boolean.getBoolean;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+
+import org.mule.runtime.api.component.Component;
+import org.mule.runtime.api.i18n.I18nMessage;
+import org.mule.runtime.core.api.event.CoreEvent;
+
+/**
+ * A {@link MessagingException} created by the runtime just to carry an error that was already raised, for instance when an error
+ * is routed to an error handler.
+ * <p>
+ * The stack trace of such an exception only points to the runtime code that created it, while the cause keeps the stack trace of
+ * the actual failure. Since capturing it is the most expensive part of creating an exception, it is not captured unless the
+ * {@link #CAPTURE_STACK_TRACE_PROPERTY} system property is set.
+ *
+ * @since 4.2
+ */
+public class StacklessMessagingException extends MessagingException {
+
+  /**
+   * Enables capturing the stack trace of the {@link MessagingException}s created by the runtime to carry an already raised error.
+   */
+  public static final String CAPTURE_STACK_TRACE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "exception.messaging.captureStackTrace";
+
+  private static final long serialVersionUID = -2441366296862186349L;
+
+  private static final boolean CAPTURE_STACK_TRACE = getBoolean(CAPTURE_STACK_TRACE_PROPERTY);
+
+  public StacklessMessagingException(CoreEvent event, Throwable cause, Component failingComponent) {
+    super(event, cause, failingComponent);
+  }
+
+  public StacklessMessagingException(I18nMessage message, CoreEvent event, Throwable cause, Component failingComponent) {
+    super(message, event, cause, failingComponent);
+  }
+
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    // Invoked from the constructor of Throwable, so it may only rely on static state
+    return CAPTURE_STACK_TRACE ? super.fillInStackTrace() : this;
+  }
+}
@@ -10,7 +10,11 @@ import static java.lang.String.format;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static org.mule.runtime.api.exception.ExceptionHelper.unwrap;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.COMPONENT;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.isActive;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.startSpan;
 import static org.slf4j.LoggerFactory.getLogger;
+import org.mule.runtime.api.component.Component;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.lifecycle.Disposable;
@@ -20,6 +24,7 @@ import org.mule.runtime.core.api.lifecycle.LifecycleCallback;
 import org.mule.runtime.core.api.util.ExceptionUtils;
 import org.mule.runtime.core.api.util.func.CheckedRunnable;
 import org.mule.runtime.core.internal.lifecycle.phases.LifecyclePhase;
+import org.mule.runtime.core.internal.profiling.DeploymentProfiler.Span;
 import org.mule.runtime.core.internal.registry.Registry;
 
 import java.util.Collection;
@@ -91,7 +96,9 @@ public class RegistryLifecycleCallback<T> implements LifecycleCallback<T>, HasLi
   private void applyLifecycle(LifecyclePhase phase, Set<Object> duplicates, Object target) throws LifecycleException {
     try {
       if (interceptor.beforePhaseExecution(phase, target)) {
-        phase.applyLifecycle(target);
+        try (Span span = startComponentSpan(phase, target)) {
+          phase.applyLifecycle(target);
+        }
         duplicates.add(target);
         interceptor.afterPhaseExecution(phase, target, empty());
       } else {
@@ -118,6 +125,18 @@ public class RegistryLifecycleCallback<T> implements LifecycleCallback<T>, HasLi
     }
   }
 
+  private static Span startComponentSpan(LifecyclePhase phase, Object target) {
+    // The name is only built when the deployment is being profiled
+    return startSpan(COMPONENT, isActive() ? phase.getName() + " " + getComponentName(target) : null);
+  }
+
+  private static String getComponentName(Object target) {
+    if (target instanceof Component && ((Component) target).getLocation() != null) {
+      return ((Component) target).getLocation().getLocation();
+    }
+    return target.getClass().getName();
+  }
+
   @Override
   public void setLifecycleInterceptor(LifecycleInterceptor interceptor) {
     this.interceptor = interceptor;
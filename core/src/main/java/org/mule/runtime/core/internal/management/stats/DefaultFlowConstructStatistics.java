@@ -15,6 +15,8 @@ public class DefaultFlowConstructStatistics extends AbstractFlowConstructStatist
   private static final long serialVersionUID = 5337576392583767442L;
   private final AtomicLong executionError = new AtomicLong(0);
   private final AtomicLong fatalError = new AtomicLong(0);
+  private final AtomicLong concurrencyLimitRejections = new AtomicLong(0);
+  private volatile int concurrencyLimit = -1;
   protected final ComponentStatistics flowStatistics = new ComponentStatistics();
 
   public DefaultFlowConstructStatistics(String flowConstructType, String name) {
@@ -43,6 +45,16 @@ public class DefaultFlowConstructStatistics extends AbstractFlowConstructStatist
     fatalError.addAndGet(1);
   }
 
+  @Override
+  public void incConcurrencyLimitRejections() {
+    concurrencyLimitRejections.addAndGet(1);
+  }
+
+  @Override
+  public void setConcurrencyLimit(int concurrencyLimit) {
+    this.concurrencyLimit = concurrencyLimit;
+  }
+
   /**
    * Enable statistics logs (this is a dynamic parameter)
    */
@@ -58,6 +70,7 @@ public class DefaultFlowConstructStatistics extends AbstractFlowConstructStatist
 
     executionError.set(0);
     fatalError.set(0);
+    concurrencyLimitRejections.set(0);
     if (flowStatistics != null) {
       flowStatistics.clear();
     }
@@ -108,4 +121,14 @@ public class DefaultFlowConstructStatistics extends AbstractFlowConstructStatist
     return fatalError.get();
   }
 
+  @Override
+  public long getConcurrencyLimitRejections() {
+    return concurrencyLimitRejections.get();
+  }
+
+  @Override
+  public int getConcurrencyLimit() {
+    return concurrencyLimit;
+  }
+
 }
@@ -78,7 +78,8 @@ public final class ErrorTypeBuilder {
     if (!isOrphan()) {
       checkState(parentErrorType != null, "parent error type cannot be null");
     }
-    return new ErrorTypeImplementation(identifier, namespace, parentErrorType);
+    return new ErrorTypeImplementation(identifier, namespace, parentErrorType,
+                                       ErrorTypeIndex.lineage(namespace, identifier, parentErrorType));
   }
 
   private boolean isOrphan() {
@@ -88,16 +89,27 @@ public final class ErrorTypeBuilder {
   /**
    * Default and only implementation of {@link ErrorType}
    */
-  private final static class ErrorTypeImplementation implements ErrorType {
+  final static class ErrorTypeImplementation implements ErrorType {
 
     private String identifier;
     private String namespace;
     private ErrorType parentErrorType;
+    // Not serialized since indexes are only valid within this runtime
+    private transient int[] lineage;
 
-    private ErrorTypeImplementation(String identifier, String namespace, ErrorType parentErrorType) {
+    private ErrorTypeImplementation(String identifier, String namespace, ErrorType parentErrorType, int[] lineage) {
       this.identifier = identifier;
       this.namespace = namespace;
       this.parentErrorType = parentErrorType;
+      this.lineage = lineage;
+    }
+
+    /**
+     * @return the indexes of this error type and its ancestors, as assigned by {@link ErrorTypeIndex}, or {@code null} if they
+     *         are not known.
+     */
+    int[] getLineage() {
+      return lineage;
     }
 
     /**
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.message;
+
+import org.mule.runtime.api.message.ErrorType;
+import org.mule.runtime.core.internal.message.ErrorTypeBuilder.ErrorTypeImplementation;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Assigns a dense index to each distinct {@link ErrorType} built by {@link ErrorTypeBuilder}, so that the hierarchy of an error
+ * type can be checked against a {@link java.util.BitSet} of indexes instead of walking its parents.
+ * <p>
+ * Error types that are {@link Object#equals(Object) equal} get the same index, even if they were built by different
+ * repositories. Since the parent of an error type must exist before it is built, the lineage of each error type is computed only
+ * once, when it is built.
+ *
+ * @since 4.2
+ */
+public final class ErrorTypeIndex {
+
+  private static final Map<String, Integer> INDEXES = new ConcurrentHashMap<>();
+  private static final AtomicInteger NEXT_INDEX = new AtomicInteger();
+
+  private ErrorTypeIndex() {}
+
+  /**
+   * @param errorType an error type
+   * @return the index of the error type, or {@code -1} if it was not built by {@link ErrorTypeBuilder}
+   */
+  public static int indexOf(ErrorType errorType) {
+    int[] lineage = lineageOf(errorType);
+    return lineage == null ? -1 : lineage[0];
+  }
+
+  /**
+   * @param errorType an error type
+   * @return the indexes of the error type followed by the ones of its ancestors, from the closest to the farthest, or
+   *         {@code null} if they are not known because it was not built by {@link ErrorTypeBuilder}
+   */
+  public static int[] lineageOf(ErrorType errorType) {
+    return errorType instanceof ErrorTypeImplementation ? ((ErrorTypeImplementation) errorType).getLineage() : null;
+  }
+
+  static int[] lineage(String namespace, String identifier, ErrorType parentErrorType) {
+    int[] parentLineage;
+    if (parentErrorType == null) {
+      parentLineage = new int[0];
+    } else {
+      parentLineage = lineageOf(parentErrorType);
+      if (parentLineage == null) {
+        return null;
+      }
+    }
+
+    String key = parentLineage.length == 0 ? namespace + ":" + identifier
+        : parentLineage[0] + "/" + namespace + ":" + identifier;
+    int index = INDEXES.computeIfAbsent(key, k -> NEXT_INDEX.getAndIncrement());
+
+    int[] lineage = new int[parentLineage.length + 1];
+    lineage[0] = index;
+    System.arraycopy(parentLineage, 0, lineage, 1, parentLineage.length);
+    return lineage;
+  }
+}
@@ -38,6 +38,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.inject.Inject;
 
@@ -61,16 +62,25 @@ public class DefaultPolicyManager implements PolicyManager, Initialisable {
   private SourcePolicyProcessorFactory sourcePolicyProcessorFactory;
 
   private PolicyPointcutParametersManager policyPointcutParametersManager;
+  private PolicyCache policyCache;
+
+  private final Map<ComponentIdentifier, Optional<SourcePolicyParametersTransformer>> sourceParametersTransformers =
+      new ConcurrentHashMap<>();
+  private final Map<ComponentIdentifier, Optional<OperationPolicyParametersTransformer>> operationParametersTransformers =
+      new ConcurrentHashMap<>();
 
   @Override
   public SourcePolicy createSourcePolicyInstance(Component source, CoreEvent sourceEvent,
                                                  Processor flowExecutionProcessor,
                                                  MessageSourceResponseParametersProcessor messageSourceResponseParametersProcessor) {
 
-    PolicyPointcutParameters sourcePointcutParameters =
-        policyPointcutParametersManager.createSourcePointcutParameters(source, sourceEvent);
-
-    List<Policy> parameterizedPolicies = policyProvider.findSourceParameterizedPolicies(sourcePointcutParameters);
+    List<Policy> parameterizedPolicies = emptyList();
+    if (policyProvider.isPoliciesAvailable()) {
+      PolicyPointcutParameters sourcePointcutParameters =
+          policyPointcutParametersManager.createSourcePointcutParameters(source, sourceEvent);
+      parameterizedPolicies =
+          policyCache.getSourcePolicies(sourcePointcutParameters, policyProvider::findSourceParameterizedPolicies);
+    }
     if (parameterizedPolicies.isEmpty()) {
       return event -> from(process(event, flowExecutionProcessor))
           .switchIfEmpty(fromSupplier(() -> CoreEvent.builder(sourceEvent).message(of(null)).build()))
@@ -100,10 +110,13 @@ public class DefaultPolicyManager implements PolicyManager, Initialisable {
                                                Map<String, Object> operationParameters,
                                                OperationExecutionFunction operationExecutionFunction) {
 
-    PolicyPointcutParameters operationPointcutParameters =
-        policyPointcutParametersManager.createOperationPointcutParameters(operation, event, operationParameters);
-
-    List<Policy> parameterizedPolicies = policyProvider.findOperationParameterizedPolicies(operationPointcutParameters);
+    List<Policy> parameterizedPolicies = emptyList();
+    if (policyProvider.isPoliciesAvailable()) {
+      PolicyPointcutParameters operationPointcutParameters =
+          policyPointcutParametersManager.createOperationPointcutParameters(operation, event, operationParameters);
+      parameterizedPolicies =
+          policyCache.getOperationPolicies(operationPointcutParameters, policyProvider::findOperationParameterizedPolicies);
+    }
     if (parameterizedPolicies.isEmpty()) {
       return (operationEvent) -> operationExecutionFunction.execute(operationParameters, operationEvent);
     }
@@ -114,15 +127,17 @@ public class DefaultPolicyManager implements PolicyManager, Initialisable {
   }
 
   private Optional<OperationPolicyParametersTransformer> lookupOperationParametersTransformer(ComponentIdentifier componentIdentifier) {
-    return operationPolicyParametersTransformerCollection.stream()
-        .filter(policyOperationParametersTransformer -> policyOperationParametersTransformer.supports(componentIdentifier))
-        .findAny();
+    return operationParametersTransformers
+        .computeIfAbsent(componentIdentifier, identifier -> operationPolicyParametersTransformerCollection.stream()
+            .filter(policyOperationParametersTransformer -> policyOperationParametersTransformer.supports(identifier))
+            .findAny());
   }
 
   private Optional<SourcePolicyParametersTransformer> lookupSourceParametersTransformer(ComponentIdentifier componentIdentifier) {
-    return sourcePolicyParametersTransformerCollection.stream()
-        .filter(policyOperationParametersTransformer -> policyOperationParametersTransformer.supports(componentIdentifier))
-        .findAny();
+    return sourceParametersTransformers
+        .computeIfAbsent(componentIdentifier, identifier -> sourcePolicyParametersTransformerCollection.stream()
+            .filter(policyOperationParametersTransformer -> policyOperationParametersTransformer.supports(identifier))
+            .findAny());
   }
 
   @Override
@@ -131,6 +146,7 @@ public class DefaultPolicyManager implements PolicyManager, Initialisable {
     sourcePolicyProcessorFactory = new DefaultSourcePolicyProcessorFactory(policyStateHandler);
     MuleRegistry registry = ((MuleContextWithRegistry) muleContext).getRegistry();
     policyProvider = registry.lookupLocalObjects(PolicyProvider.class).stream().findFirst().orElse(new NullPolicyProvider());
+    policyCache = new PolicyCache(policyProvider);
     sourcePolicyParametersTransformerCollection = registry.lookupObjects(SourcePolicyParametersTransformer.class);
     operationPolicyParametersTransformerCollection = registry.lookupObjects(OperationPolicyParametersTransformer.class);
     policyPointcutParametersManager =
@@ -30,4 +30,15 @@ public class NullPolicyProvider implements PolicyProvider {
   public List<Policy> findOperationParameterizedPolicies(PolicyPointcutParameters policyPointcutParameters) {
     return emptyList();
   }
+
+  @Override
+  public boolean isPoliciesAvailable() {
+    return false;
+  }
+
+  @Override
+  public boolean onPoliciesChanged(Runnable policiesChangedCallback) {
+    // Policies never change
+    return true;
+  }
 }
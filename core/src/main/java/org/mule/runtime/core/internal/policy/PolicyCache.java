@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.policy;
+
+import org.mule.runtime.core.api.policy.Policy;
+import org.mule.runtime.core.api.policy.PolicyProvider;
+import org.mule.runtime.policy.api.PolicyPointcutParameters;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Caches the {@link Policy policies} found by a {@link PolicyProvider} for the {@link PolicyPointcutParameters} of each
+ * component, until the provider notifies that its policies changed.
+ * <p>
+ * Since pointcuts may match against any of the parameters, only parameters that can be compared are used as keys: those whose
+ * own class declares {@link Object#equals(Object)} and {@link Object#hashCode()}, or plain {@link PolicyPointcutParameters}
+ * (which only carry the component and, for operations, the parameters of the source). The policies for any other parameters
+ * are always looked up in the provider.
+ *
+ * @since 4.2
+ */
+final class PolicyCache {
+
+  /**
+   * Limits the amount of cached entries in case the parameters have values that are different for most events.
+   */
+  private static final int MAX_ENTRIES = 1024;
+
+  private static final ClassValue<Boolean> DEFINES_EQUALITY = new ClassValue<Boolean>() {
+
+    @Override
+    protected Boolean computeValue(Class<?> type) {
+      try {
+        // Inherited ones would not account for the fields added by the class
+        return type.getMethod("equals", Object.class).getDeclaringClass() == type
+            && type.getMethod("hashCode").getDeclaringClass() == type;
+      } catch (NoSuchMethodException e) {
+        return false;
+      }
+    }
+  };
+
+  private final boolean enabled;
+  private final Map<Object, CachedPolicies> sourcePolicies = new ConcurrentHashMap<>();
+  private final Map<Object, CachedPolicies> operationPolicies = new ConcurrentHashMap<>();
+  private volatile long generation;
+
+  /**
+   * @param policyProvider the provider of the policies to cache. If it doesn't notify changes in its policies, nothing is cached.
+   */
+  PolicyCache(PolicyProvider policyProvider) {
+    this.enabled = policyProvider.onPoliciesChanged(this::invalidate);
+  }
+
+  /**
+   * @return the source policies for the given parameters, resolving them with {@code provider} if not cached
+   */
+  List<Policy> getSourcePolicies(PolicyPointcutParameters parameters, Function<PolicyPointcutParameters, List<Policy>> provider) {
+    return get(sourcePolicies, parameters, provider);
+  }
+
+  /**
+   * @return the operation policies for the given parameters, resolving them with {@code provider} if not cached
+   */
+  List<Policy> getOperationPolicies(PolicyPointcutParameters parameters,
+                                    Function<PolicyPointcutParameters, List<Policy>> provider) {
+    return get(operationPolicies, parameters, provider);
+  }
+
+  /**
+   * Discards all the cached policies.
+   */
+  void invalidate() {
+    ++generation;
+    sourcePolicies.clear();
+    operationPolicies.clear();
+  }
+
+  private List<Policy> get(Map<Object, CachedPolicies> cache, PolicyPointcutParameters parameters,
+                           Function<PolicyPointcutParameters, List<Policy>> provider) {
+    Object key = enabled ? keyFor(parameters) : null;
+    if (key == null) {
+      return provider.apply(parameters);
+    }
+
+    // Read before resolving, so policies resolved concurrently with a change are not used afterwards
+    long currentGeneration = generation;
+    CachedPolicies cached = cache.get(key);
+    if (cached != null && cached.generation == currentGeneration) {
+      return cached.policies;
+    }
+
+    List<Policy> policies = provider.apply(parameters);
+    if (cache.size() < MAX_ENTRIES) {
+      cache.put(key, new CachedPolicies(policies, currentGeneration));
+    }
+    return policies;
+  }
+
+  private static Object keyFor(PolicyPointcutParameters parameters) {
+    if (DEFINES_EQUALITY.get(parameters.getClass())) {
+      return parameters;
+    }
+    if (parameters.getClass() != PolicyPointcutParameters.class) {
+      return null;
+    }
+
+    Object sourceKey = null;
+    Optional<PolicyPointcutParameters> sourceParameters = parameters.getSourceParameters();
+    if (sourceParameters.isPresent()) {
+      sourceKey = keyFor(sourceParameters.get());
+      if (sourceKey == null) {
+        return null;
+      }
+    }
+    return new ComponentKey(parameters.getComponent().getLocation().getLocation(), sourceKey);
+  }
+
+  private static final class ComponentKey {
+
+    private final String location;
+    private final Object sourceKey;
+
+    private ComponentKey(String location, Object sourceKey) {
+      this.location = location;
+      this.sourceKey = sourceKey;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof ComponentKey)) {
+        return false;
+      }
+      ComponentKey other = (ComponentKey) obj;
+      return location.equals(other.location) && Objects.equals(sourceKey, other.sourceKey);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * location.hashCode() + Objects.hashCode(sourceKey);
+    }
+  }
+
+  private static final class CachedPolicies {
+
+    private final List<Policy> policies;
+    private final long generation;
+
+    private CachedPolicies(List<Policy> policies, long generation) {
+      this.policies = policies;
+      this.generation = generation;
+    }
+  }
+}
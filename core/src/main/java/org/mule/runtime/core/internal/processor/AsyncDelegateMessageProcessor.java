@@ -18,7 +18,7 @@ import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNee
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
 import static org.mule.runtime.core.internal.component.ComponentUtils.getFromAnnotatedObject;
-import static org.mule.runtime.core.internal.event.DefaultEventContext.child;
+import static org.mule.runtime.core.internal.event.DefaultEventContext.transactionIsolatedChild;
 import static org.mule.runtime.core.internal.util.rx.Operators.requestUnbounded;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.processToApply;
 import static reactor.core.publisher.Flux.from;
@@ -231,9 +231,11 @@ public class AsyncDelegateMessageProcessor extends AbstractMessageProcessorOwner
   }
 
   private CoreEvent asyncEvent(PrivilegedEvent event) {
-    // Clone event, make it async and remove ReplyToHandler
+    // Clone event, make it async and remove ReplyToHandler.
+    // The async processing does not take part in the transaction of the event.
     return PrivilegedEvent
-        .builder(child((event.getContext()), ofNullable(getLocation()), LoggingExceptionHandler.getInstance()), event)
+        .builder(transactionIsolatedChild((event.getContext()), ofNullable(getLocation()), LoggingExceptionHandler.getInstance()),
+                 event)
         .replyToHandler(null)
         .session(new DefaultMuleSession(event.getSession())).build();
   }
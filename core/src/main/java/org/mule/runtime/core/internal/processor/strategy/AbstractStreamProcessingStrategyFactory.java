@@ -7,7 +7,9 @@
 package org.mule.runtime.core.internal.processor.strategy;
 
 import static java.lang.Integer.getInteger;
-import static java.lang.Long.max;
+import static java.lang.Integer.highestOneBit;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 import static java.lang.Runtime.getRuntime;
 import static java.lang.System.currentTimeMillis;
 import static java.lang.System.getProperty;
@@ -41,6 +43,8 @@ import org.mule.runtime.core.privileged.event.BaseEventContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.function.Supplier;
 
@@ -68,6 +72,8 @@ abstract class AbstractStreamProcessingStrategyFactory extends AbstractProcessin
   // required to achieve absolute minimum latency for the scenarios where this is important.
   protected static final int DEFAULT_SUBSCRIBER_COUNT =
       getInteger(SYSTEM_PROPERTY_PREFIX + "DEFAULT_SUBSCRIBER_COUNT", Integer.max(1, (CORES / 2)));
+  // Number of ring-buffers the sink of a flow is split into. By default a single ring-buffer is used.
+  protected static final int DEFAULT_SINK_SHARDS = getInteger(SYSTEM_PROPERTY_PREFIX + "DEFAULT_SINK_SHARDS", 1);
   protected static final String DEFAULT_WAIT_STRATEGY =
       getProperty(SYSTEM_PROPERTY_PREFIX + "DEFAULT_WAIT_STRATEGY", LITE_BLOCKING.name());
   protected static String RING_BUFFER_SCHEDULER_NAME_SUFFIX = ".ring-buffer";
@@ -149,6 +155,7 @@ abstract class AbstractStreamProcessingStrategyFactory extends AbstractProcessin
     final protected WaitStrategy waitStrategy;
     final protected int maxConcurrency;
     final private ClassLoader executionClassloader;
+    private int sinkShards = DEFAULT_SINK_SHARDS;
 
     protected AbstractStreamProcessingStrategy(Supplier<Scheduler> ringBufferSchedulerSupplier, int bufferSize, int subscribers,
                                                String waitStrategy, int maxConcurrency) {
@@ -160,13 +167,42 @@ abstract class AbstractStreamProcessingStrategyFactory extends AbstractProcessin
       this.executionClassloader = currentThread().getContextClassLoader();
     }
 
+    /**
+     * Configure the number of independent ring-buffers the sink of each flow is split into, so that concurrent source threads
+     * do not contend on a single emission point. The ring-buffer size and subscribers are divided among the shards.
+     *
+     * @param sinkShards number of shards. Values lower than 2 disable sharding.
+     */
+    void setSinkShards(int sinkShards) {
+      this.sinkShards = sinkShards;
+    }
+
     @Override
     public Sink createSink(FlowConstruct flowConstruct, ReactiveProcessor function) {
+      int subscriberCount = maxConcurrency < subscribers ? maxConcurrency : subscribers;
+      int shards = min(sinkShards, subscriberCount);
+      Scheduler ringBufferScheduler = ringBufferSchedulerSupplier.get();
+      if (shards <= 1) {
+        return createShard(flowConstruct, function, ringBufferScheduler, bufferSize, subscriberCount);
+      }
+
+      // Each shard has its own ring-buffer, so the buffer and subscribers are split among them to keep the totals. The
+      // scheduler is shared, since it is already sized for the subscribers of the whole flow.
+      int shardBufferSize = max(highestOneBit(bufferSize / shards), 1);
+      List<Sink> shardSinks = new ArrayList<>(shards);
+      for (int i = 0; i < shards; i++) {
+        int shardSubscriberCount = subscriberCount / shards + (i < subscriberCount % shards ? 1 : 0);
+        shardSinks.add(createShard(flowConstruct, function, ringBufferScheduler, shardBufferSize, shardSubscriberCount));
+      }
+      return new ShardedSink(shardSinks);
+    }
+
+    private Sink createShard(FlowConstruct flowConstruct, ReactiveProcessor function, Scheduler ringBufferScheduler,
+                             int shardBufferSize, int subscriberCount) {
       final long shutdownTimeout = flowConstruct.getMuleContext().getConfiguration().getShutdownTimeout();
       WorkQueueProcessor<EventWrapper> processor =
-          WorkQueueProcessor.<EventWrapper>builder().executor(ringBufferSchedulerSupplier.get()).bufferSize(bufferSize)
+          WorkQueueProcessor.<EventWrapper>builder().executor(ringBufferScheduler).bufferSize(shardBufferSize)
               .waitStrategy(waitStrategy.getReactorWaitStrategy()).build();
-      int subscriberCount = maxConcurrency < subscribers ? maxConcurrency : subscribers;
       CountDownLatch completionLatch = new CountDownLatch(subscriberCount);
       for (int i = 0; i < subscriberCount; i++) {
         processor
@@ -192,7 +228,7 @@ abstract class AbstractStreamProcessingStrategyFactory extends AbstractProcessin
           throw new MuleRuntimeException(e);
         }
 
-      }, createOnEventConsumer(), bufferSize) {
+      }, createOnEventConsumer(), shardBufferSize) {
 
         @Override
         protected EventWrapper intoSink(CoreEvent event) {
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.lang.Thread.currentThread;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
+import static org.slf4j.helpers.NOPLogger.NOP_LOGGER;
+
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.Sink;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link Sink} implementation that spreads the emission of events among a number of independent shards, so that concurrent
+ * source threads do not contend on a single emission point.
+ * <p>
+ * Each caller {@link Thread} is assigned a home shard, so that threads seldom share one. When the home shard is full the
+ * remaining shards are tried before reporting back-pressure. No ordering is guaranteed among the events emitted, not even
+ * for the ones from the same thread: they may end up in different shards, and each shard may have several subscribers.
+ * <p>
+ * Shards are disposed concurrently, so disposing this sink takes as long as the slowest shard rather than the sum of all of
+ * them. This is also required when the shards share their scheduler, since each one waits for the scheduler to terminate.
+ *
+ * @since 4.2
+ */
+class ShardedSink implements Sink, Disposable {
+
+  private final Sink[] shards;
+  private final LongAdder[] backPressured;
+
+  /**
+   * Create a {@link ShardedSink} that will emit events through the given {@code shards}.
+   *
+   * @param shards the {@link Sink}s to spread the events among.
+   */
+  public ShardedSink(List<Sink> shards) {
+    this.shards = shards.toArray(new Sink[shards.size()]);
+    this.backPressured = new LongAdder[this.shards.length];
+    for (int i = 0; i < backPressured.length; ++i) {
+      backPressured[i] = new LongAdder();
+    }
+  }
+
+  @Override
+  public void accept(CoreEvent event) {
+    shards[homeShard()].accept(event);
+  }
+
+  @Override
+  public boolean emit(CoreEvent event) {
+    final int home = homeShard();
+    for (int i = 0; i < shards.length; ++i) {
+      final int shard = (home + i) % shards.length;
+      if (shards[shard].emit(event)) {
+        return true;
+      }
+      backPressured[shard].increment();
+    }
+    return false;
+  }
+
+  private int homeShard() {
+    return (int) (currentThread().getId() % shards.length);
+  }
+
+  /**
+   * @return the number of shards events are spread among.
+   */
+  int getShardCount() {
+    return shards.length;
+  }
+
+  /**
+   * @param shard the index of the shard.
+   * @return how many times an emission was rejected by the given shard because it was full.
+   */
+  long getBackPressureCount(int shard) {
+    return backPressured[shard].sum();
+  }
+
+  @Override
+  public void dispose() {
+    List<Thread> disposers = new ArrayList<>(shards.length - 1);
+    for (int i = 1; i < shards.length; ++i) {
+      Sink shard = shards[i];
+      Thread disposer = new Thread(() -> disposeIfNeeded(shard, NOP_LOGGER), currentThread().getName() + ".shard-" + i);
+      disposer.start();
+      disposers.add(disposer);
+    }
+    disposeIfNeeded(shards[0], NOP_LOGGER);
+
+    boolean interrupted = false;
+    for (Thread disposer : disposers) {
+      while (true) {
+        try {
+          disposer.join();
+          break;
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+    }
+    if (interrupted) {
+      currentThread().interrupt();
+    }
+  }
+
+}
@@ -9,6 +9,7 @@ package org.mule.runtime.core.internal.processor.strategy;
 import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.BLOCKING;
 import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_INTENSIVE;
 import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE;
+import static org.mule.runtime.core.api.transaction.TransactionCoordination.isThreadBoundTransactionActive;
 import static org.mule.runtime.core.api.transaction.TransactionCoordination.isTransactionActive;
 import static org.mule.runtime.core.internal.processor.strategy.BlockingProcessingStrategyFactory.BLOCKING_PROCESSING_STRATEGY_INSTANCE;
 
@@ -107,7 +108,7 @@ public class TransactionAwareProactorStreamProcessingStrategyFactory extends Rea
 
     @Override
     protected ExecutorService decorateScheduler(Scheduler scheduler) {
-      return new ConditionalExecutorServiceDecorator(scheduler, currentScheduler -> isTransactionActive());
+      return new ConditionalExecutorServiceDecorator(scheduler, currentScheduler -> isThreadBoundTransactionActive());
     }
 
     @Override
@@ -7,6 +7,7 @@
 package org.mule.runtime.core.internal.processor.strategy;
 
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
+import static org.mule.runtime.core.api.transaction.TransactionCoordination.getInstance;
 import static org.mule.runtime.core.api.transaction.TransactionCoordination.isTransactionActive;
 
 import org.mule.runtime.api.lifecycle.Disposable;
@@ -18,6 +19,9 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Delegate {@link Sink} that uses one of two {@link Sink}'s depending on if a transaction is in context or not.
+ * <p>
+ * When accepting an event, transactions that can be bound to the event context are moved there, and the event is dispatched to
+ * the non-transactional {@link Sink} so its processing is not tied to the current thread.
  */
 final class TransactionalDelegateSink implements Sink, Disposable {
 
@@ -33,7 +37,7 @@ final class TransactionalDelegateSink implements Sink, Disposable {
 
   @Override
   public void accept(CoreEvent event) {
-    if (isTransactionActive()) {
+    if (mustProcessInCurrentThread(event)) {
       transactionalSink.accept(event);
     } else {
       sink.accept(event);
@@ -42,6 +46,7 @@ final class TransactionalDelegateSink implements Sink, Disposable {
 
   @Override
   public boolean emit(CoreEvent event) {
+    // The transaction is not moved, since it has to remain on the current thread if the event is rejected
     if (isTransactionActive()) {
       return transactionalSink.emit(event);
     } else {
@@ -49,6 +54,10 @@ final class TransactionalDelegateSink implements Sink, Disposable {
     }
   }
 
+  private boolean mustProcessInCurrentThread(CoreEvent event) {
+    return isTransactionActive() && !getInstance().bindTransactionToEventContext(event);
+  }
+
   @Override
   public void dispose() {
     disposeIfNeeded(transactionalSink, LOGGER);
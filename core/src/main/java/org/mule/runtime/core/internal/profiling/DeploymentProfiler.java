@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling;
+
+import static java.lang.Boolean.getBoolean;
+import static java.util.Optional.ofNullable;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records a {@link DeploymentTimeline} with the time spent on each phase of the deployment of an artifact.
+ * <p>
+ * The deployment of an artifact is started with {@link #startDeployment(String)}, and each phase executed by the same thread
+ * while the deployment is in progress is recorded with {@link #startSpan(String, String)}, nested within the phase that was in
+ * progress when it started. Phases started when there is no deployment in progress in the current thread are not recorded.
+ * <p>
+ * Profiling is disabled unless the {@link #DEPLOYMENT_PROFILING_PROPERTY} system property is set. While disabled, starting a
+ * span only reads a flag and returns a shared no-op instance.
+ *
+ * @since 4.2
+ */
+public final class DeploymentProfiler {
+
+  /**
+   * Enables recording the deployment timeline of the artifacts.
+   */
+  public static final String DEPLOYMENT_PROFILING_PROPERTY = SYSTEM_PROPERTY_PREFIX + "deployment.profiling";
+
+  public static final String DEPLOYMENT = "deployment";
+  public static final String CLASS_LOADING = "classloading";
+  public static final String EXTENSION = "extension";
+  public static final String CONTEXT = "context";
+  public static final String CONFIG = "config";
+  public static final String COMPONENT = "component";
+
+  private static final Span NO_OP_SPAN = () -> {
+  };
+
+  private static final ThreadLocal<Deque<ActiveSpan>> ACTIVE_SPANS = ThreadLocal.withInitial(ArrayDeque::new);
+  private static final Map<String, DeploymentTimeline> TIMELINES = new ConcurrentHashMap<>();
+
+  private static volatile boolean enabled = getBoolean(DEPLOYMENT_PROFILING_PROPERTY);
+
+  private DeploymentProfiler() {}
+
+  /**
+   * @return {@code true} if deployment timelines are being recorded, {@code false} otherwise.
+   */
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Enables or disables recording deployment timelines. Deployments already in progress are not affected.
+   *
+   * @param enabled whether the timelines must be recorded.
+   */
+  public static void setEnabled(boolean enabled) {
+    DeploymentProfiler.enabled = enabled;
+  }
+
+  /**
+   * Allows callers to avoid computing the name of a span that would not be recorded.
+   *
+   * @return {@code true} if a span started by the current thread would be recorded, {@code false} otherwise.
+   */
+  public static boolean isActive() {
+    return enabled && !ACTIVE_SPANS.get().isEmpty();
+  }
+
+  /**
+   * Starts recording the deployment of an artifact in the current thread, replacing the timeline of a previous deployment of an
+   * artifact with the same name.
+   * <p>
+   * If the current thread is already recording the deployment of the same artifact, that deployment continues being recorded
+   * and the returned span does nothing.
+   *
+   * @param artifactName name of the deployed artifact. Non null.
+   * @return the span of the deployment, to be closed once it finishes.
+   */
+  public static Span startDeployment(String artifactName) {
+    if (!enabled) {
+      return NO_OP_SPAN;
+    }
+
+    Deque<ActiveSpan> activeSpans = ACTIVE_SPANS.get();
+    for (ActiveSpan activeSpan : activeSpans) {
+      if (activeSpan.timeline.getArtifactName().equals(artifactName)) {
+        return NO_OP_SPAN;
+      }
+    }
+
+    DeploymentTimeline timeline = new DeploymentTimeline(artifactName);
+    TIMELINES.put(artifactName, timeline);
+    return start(activeSpans, timeline, -1, DEPLOYMENT, artifactName);
+  }
+
+  /**
+   * Starts recording a phase of the deployment in progress in the current thread.
+   *
+   * @param category kind of the phase, for instance {@link #CLASS_LOADING} or {@link #COMPONENT}.
+   * @param name name of the phase, for instance the name of the plugin or component it applies to.
+   * @return the span of the phase, to be closed once it finishes.
+   */
+  public static Span startSpan(String category, String name) {
+    if (!enabled) {
+      return NO_OP_SPAN;
+    }
+
+    Deque<ActiveSpan> activeSpans = ACTIVE_SPANS.get();
+    ActiveSpan current = activeSpans.peek();
+    if (current == null) {
+      return NO_OP_SPAN;
+    }
+    return start(activeSpans, current.timeline, current.id, category, name);
+  }
+
+  /**
+   * @param artifactName name of a deployed artifact.
+   * @return the timeline of the last deployment of the artifact, or {@link Optional#empty()} if it was not recorded.
+   */
+  public static Optional<DeploymentTimeline> getTimeline(String artifactName) {
+    return ofNullable(TIMELINES.get(artifactName));
+  }
+
+  /**
+   * Discards the timeline of an artifact.
+   *
+   * @param artifactName name of a deployed artifact.
+   */
+  public static void removeTimeline(String artifactName) {
+    TIMELINES.remove(artifactName);
+  }
+
+  private static Span start(Deque<ActiveSpan> activeSpans, DeploymentTimeline timeline, int parentId, String category,
+                            String name) {
+    ActiveSpan span = new ActiveSpan(activeSpans, timeline, timeline.start(parentId, category, name));
+    activeSpans.push(span);
+    return span;
+  }
+
+  /**
+   * A phase being recorded. It must be closed by the thread that started it.
+   */
+  @FunctionalInterface
+  public interface Span extends AutoCloseable {
+
+    /**
+     * Finishes the phase.
+     */
+    @Override
+    void close();
+  }
+
+  private static final class ActiveSpan implements Span {
+
+    private final Deque<ActiveSpan> activeSpans;
+    private final DeploymentTimeline timeline;
+    private final int id;
+
+    private ActiveSpan(Deque<ActiveSpan> activeSpans, DeploymentTimeline timeline, int id) {
+      this.activeSpans = activeSpans;
+      this.timeline = timeline;
+      this.id = id;
+    }
+
+    @Override
+    public void close() {
+      if (activeSpans.peek() == this) {
+        activeSpans.pop();
+      } else {
+        activeSpans.remove(this);
+      }
+      timeline.finish(id);
+    }
+  }
+}
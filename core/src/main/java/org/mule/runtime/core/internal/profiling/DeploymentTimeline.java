@@ -0,0 +1,324 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling;
+
+import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timeline of the phases of the deployment of an artifact, as recorded by {@link DeploymentProfiler}.
+ * <p>
+ * The timeline can be exported as a JSON tree of spans, or in the
+ * <a href="https://docs.google.com/document/d/1CvAClvFfyA5R-PhYUmn5OOQtYMH4h6I0nSsKchNAySU">Chrome trace event format</a> to
+ * be visualized with {@code chrome://tracing}.
+ *
+ * @since 4.2
+ */
+public final class DeploymentTimeline {
+
+  private final String artifactName;
+  private final long startTime;
+  private final long startNanos;
+  private final List<TimelineSpan> spans = new ArrayList<>();
+
+  DeploymentTimeline(String artifactName) {
+    this.artifactName = artifactName;
+    this.startTime = currentTimeMillis();
+    this.startNanos = nanoTime();
+  }
+
+  synchronized int start(int parentId, String category, String name) {
+    Thread thread = currentThread();
+    spans.add(new TimelineSpan(spans.size(), parentId, category, name, thread.getId(), thread.getName(),
+                               nanoTime() - startNanos));
+    return spans.size() - 1;
+  }
+
+  synchronized void finish(int id) {
+    TimelineSpan span = spans.get(id);
+    if (span.durationNanos < 0) {
+      span.durationNanos = nanoTime() - startNanos - span.startNanos;
+    }
+  }
+
+  /**
+   * @return the name of the deployed artifact.
+   */
+  public String getArtifactName() {
+    return artifactName;
+  }
+
+  /**
+   * @return the time when the deployment started, in milliseconds since the epoch.
+   */
+  public long getStartTime() {
+    return startTime;
+  }
+
+  /**
+   * @return a snapshot of the recorded spans, in the order they were started.
+   */
+  public synchronized List<TimelineSpan> getSpans() {
+    List<TimelineSpan> snapshot = new ArrayList<>(spans.size());
+    for (TimelineSpan span : spans) {
+      snapshot.add(span.copy());
+    }
+    return snapshot;
+  }
+
+  /**
+   * Exports the timeline as a JSON object containing the tree of spans. Times are in microseconds, relative to the start of the
+   * deployment. Spans that are still in progress have no duration.
+   *
+   * @return the JSON representation of the timeline.
+   */
+  public String toJson() {
+    List<TimelineSpan> spans = getSpans();
+    Map<Integer, List<TimelineSpan>> children = new LinkedHashMap<>();
+    for (TimelineSpan span : spans) {
+      children.computeIfAbsent(span.getParentId(), id -> new ArrayList<>()).add(span);
+    }
+
+    StringBuilder json = new StringBuilder(128 + spans.size() * 128);
+    json.append("{\"artifact\":");
+    appendString(json, artifactName);
+    json.append(",\"startTime\":").append(startTime).append(",\"spans\":");
+    appendSpans(json, children, -1);
+    return json.append('}').toString();
+  }
+
+  private void appendSpans(StringBuilder json, Map<Integer, List<TimelineSpan>> children, int parentId) {
+    json.append('[');
+    List<TimelineSpan> spans = children.get(parentId);
+    if (spans != null) {
+      for (int i = 0; i < spans.size(); ++i) {
+        TimelineSpan span = spans.get(i);
+        if (i > 0) {
+          json.append(',');
+        }
+        json.append("{\"category\":");
+        appendString(json, span.getCategory());
+        json.append(",\"name\":");
+        appendString(json, span.getName());
+        json.append(",\"thread\":");
+        appendString(json, span.getThreadName());
+        json.append(",\"start\":").append(NANOSECONDS.toMicros(span.getStartNanos()));
+        if (span.isFinished()) {
+          json.append(",\"duration\":").append(NANOSECONDS.toMicros(span.getDurationNanos()));
+        }
+        json.append(",\"children\":");
+        appendSpans(json, children, span.getId());
+        json.append('}');
+      }
+    }
+    json.append(']');
+  }
+
+  /**
+   * Exports the timeline in the Chrome trace event format, as complete events with absolute timestamps. Spans that are still in
+   * progress are not exported.
+   *
+   * @return the JSON representation of the timeline in the trace event format.
+   */
+  public String toChromeTrace() {
+    StringBuilder json = new StringBuilder("{\"traceEvents\":[");
+    appendTraceEvents(json, true);
+    return json.append("],\"displayTimeUnit\":\"ms\"}").toString();
+  }
+
+  /**
+   * Appends the events of this timeline to a trace event array, so timelines of different artifacts can be exported together.
+   *
+   * @param json the builder of the trace event array.
+   * @param first whether no event has been appended to the array yet.
+   * @return {@code true} if no event was appended and the array is still empty, {@code false} otherwise.
+   */
+  public boolean appendTraceEvents(StringBuilder json, boolean first) {
+    long startMicros = MILLISECONDS.toMicros(startTime);
+    Map<Long, String> threads = new LinkedHashMap<>();
+    for (TimelineSpan span : getSpans()) {
+      if (!span.isFinished()) {
+        continue;
+      }
+      threads.putIfAbsent(span.getThreadId(), span.getThreadName());
+      first = appendSeparator(json, first);
+      json.append("{\"name\":");
+      appendString(json, span.getName());
+      json.append(",\"cat\":");
+      appendString(json, span.getCategory());
+      json.append(",\"ph\":\"X\",\"ts\":").append(startMicros + NANOSECONDS.toMicros(span.getStartNanos()))
+          .append(",\"dur\":").append(NANOSECONDS.toMicros(span.getDurationNanos()))
+          .append(",\"pid\":1,\"tid\":").append(span.getThreadId())
+          .append(",\"args\":{\"artifact\":");
+      appendString(json, artifactName);
+      json.append("}}");
+    }
+    for (Map.Entry<Long, String> thread : threads.entrySet()) {
+      first = appendSeparator(json, first);
+      json.append("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":").append(thread.getKey())
+          .append(",\"args\":{\"name\":");
+      appendString(json, thread.getValue());
+      json.append("}}");
+    }
+    return first;
+  }
+
+  private static boolean appendSeparator(StringBuilder json, boolean first) {
+    if (!first) {
+      json.append(',');
+    }
+    return false;
+  }
+
+  private static void appendString(StringBuilder json, String value) {
+    if (value == null) {
+      json.append("null");
+      return;
+    }
+    json.append('"');
+    for (int i = 0; i < value.length(); ++i) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"':
+          json.append("\\\"");
+          break;
+        case '\\':
+          json.append("\\\\");
+          break;
+        case '\n':
+          json.append("\\n");
+          break;
+        case '\r':
+          json.append("\\r");
+          break;
+        case '\t':
+          json.append("\\t");
+          break;
+        default:
+          if (c < 0x20) {
+            json.append(String.format("\\u%04x", (int) c));
+          } else {
+            json.append(c);
+          }
+      }
+    }
+    json.append('"');
+  }
+
+  @Override
+  public String toString() {
+    return "DeploymentTimeline{artifact=" + artifactName + ", spans=" + getSpans().size() + "}";
+  }
+
+  /**
+   * A phase of the deployment of an artifact.
+   */
+  public static final class TimelineSpan {
+
+    private final int id;
+    private final int parentId;
+    private final String category;
+    private final String name;
+    private final long threadId;
+    private final String threadName;
+    private final long startNanos;
+    private long durationNanos = -1;
+
+    private TimelineSpan(int id, int parentId, String category, String name, long threadId, String threadName,
+                         long startNanos) {
+      this.id = id;
+      this.parentId = parentId;
+      this.category = category;
+      this.name = name;
+      this.threadId = threadId;
+      this.threadName = threadName;
+      this.startNanos = startNanos;
+    }
+
+    private TimelineSpan copy() {
+      TimelineSpan copy = new TimelineSpan(id, parentId, category, name, threadId, threadName, startNanos);
+      copy.durationNanos = durationNanos;
+      return copy;
+    }
+
+    /**
+     * @return the identifier of the span within its timeline.
+     */
+    public int getId() {
+      return id;
+    }
+
+    /**
+     * @return the identifier of the span this one is nested in, or {@code -1} if it is a root span.
+     */
+    public int getParentId() {
+      return parentId;
+    }
+
+    /**
+     * @return the kind of phase.
+     */
+    public String getCategory() {
+      return category;
+    }
+
+    /**
+     * @return the name of the phase.
+     */
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * @return the identifier of the thread that executed the phase.
+     */
+    public long getThreadId() {
+      return threadId;
+    }
+
+    /**
+     * @return the name of the thread that executed the phase.
+     */
+    public String getThreadName() {
+      return threadName;
+    }
+
+    /**
+     * @return the start of the phase in nanoseconds, relative to the start of the deployment.
+     */
+    public long getStartNanos() {
+      return startNanos;
+    }
+
+    /**
+     * @return the duration of the phase in nanoseconds, or {@code -1} if it is still in progress.
+     */
+    public long getDurationNanos() {
+      return durationNanos;
+    }
+
+    /**
+     * @return {@code true} if the phase finished, {@code false} if it is still in progress.
+     */
+    public boolean isFinished() {
+      return durationNanos >= 0;
+    }
+
+    @Override
+    public String toString() {
+      return category + ":" + name + "[" + startNanos + "ns +" + durationNanos + "ns]";
+    }
+  }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.retry.breaker;
+
+import static java.lang.Math.min;
+import static org.mule.runtime.core.internal.retry.breaker.CircuitBreaker.State.CLOSED;
+import static org.mule.runtime.core.internal.retry.breaker.CircuitBreaker.State.HALF_OPEN;
+import static org.mule.runtime.core.internal.retry.breaker.CircuitBreaker.State.OPEN;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.slf4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Tracks the health of a target shared by many callers, so that retries against it stop once it is known to be failing.
+ * <p>
+ * The breaker starts {@link State#CLOSED}. After {@code failureThreshold} consecutive failures it becomes {@link State#OPEN},
+ * and every call to {@link #tryAcquirePermission()} is rejected until the open period elapses. Then it becomes
+ * {@link State#HALF_OPEN} and lets up to {@code halfOpenProbes} calls through. A successful probe closes it again. A failed
+ * probe opens it again, doubling the open period up to {@code maxOpenMillis}.
+ * <p>
+ * The state is kept in a single immutable snapshot updated with CAS, so callers never block each other.
+ *
+ * @since 4.2
+ */
+public final class CircuitBreaker {
+
+  private static final Logger LOGGER = getLogger(CircuitBreaker.class);
+
+  /**
+   * The states a {@link CircuitBreaker} may be in.
+   */
+  public enum State {
+    CLOSED, OPEN, HALF_OPEN
+  }
+
+  /**
+   * Receives the state transitions of a {@link CircuitBreaker}.
+   */
+  @FunctionalInterface
+  public interface StateListener {
+
+    /**
+     * Invoked after {@code circuitBreaker} changed its state from {@code from} to {@code to}.
+     */
+    void onStateChange(CircuitBreaker circuitBreaker, State from, State to);
+  }
+
+  private final String key;
+  private final int failureThreshold;
+  private final long openMillis;
+  private final long maxOpenMillis;
+  private final int halfOpenProbes;
+  private final Supplier<Long> timeSupplier;
+
+  private final AtomicReference<Status> status = new AtomicReference<>(new Status(CLOSED, 0, 0, 0, 0));
+  private final List<StateListener> listeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * Creates a new closed breaker.
+   *
+   * @param key the key under which this breaker is shared
+   * @param failureThreshold the number of consecutive failures that open the breaker
+   * @param openMillis how long the breaker stays open the first time it opens
+   * @param maxOpenMillis the upper bound for the open period when probes keep failing
+   * @param halfOpenProbes how many calls are let through while half open
+   * @param timeSupplier provides the current time in milliseconds
+   */
+  public CircuitBreaker(String key, int failureThreshold, long openMillis, long maxOpenMillis, int halfOpenProbes,
+                        Supplier<Long> timeSupplier) {
+    if (failureThreshold < 1) {
+      throw new IllegalArgumentException("failureThreshold must be greater than 0");
+    }
+    if (halfOpenProbes < 1) {
+      throw new IllegalArgumentException("halfOpenProbes must be greater than 0");
+    }
+    this.key = key;
+    this.failureThreshold = failureThreshold;
+    this.openMillis = openMillis;
+    this.maxOpenMillis = Math.max(openMillis, maxOpenMillis);
+    this.halfOpenProbes = halfOpenProbes;
+    this.timeSupplier = timeSupplier;
+  }
+
+  /**
+   * Checks whether a call to the target may be performed now.
+   * <p>
+   * When this returns {@code true}, the caller must report the outcome through {@link #onSuccess()}, {@link #onFailure()} or
+   * {@link #releasePermission()}.
+   *
+   * @return {@code false} if the breaker is open and the call must fail fast
+   */
+  public boolean tryAcquirePermission() {
+    while (true) {
+      Status current = status.get();
+      switch (current.state) {
+        case CLOSED:
+          return true;
+        case OPEN:
+          if (timeSupplier.get() < current.openUntil) {
+            return false;
+          }
+          if (transition(current, new Status(HALF_OPEN, 0, 0, current.openMillis, 1))) {
+            return true;
+          }
+          break;
+        default:
+          if (current.probes >= halfOpenProbes) {
+            return false;
+          }
+          if (status.compareAndSet(current, new Status(HALF_OPEN, 0, 0, current.openMillis, current.probes + 1))) {
+            return true;
+          }
+      }
+    }
+  }
+
+  /**
+   * Reports that a permitted call succeeded.
+   */
+  public void onSuccess() {
+    while (true) {
+      Status current = status.get();
+      if (current.state == OPEN || (current.state == CLOSED && current.failures == 0)) {
+        return;
+      }
+      if (transition(current, new Status(CLOSED, 0, 0, 0, 0))) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Reports that a permitted call failed because of the target.
+   */
+  public void onFailure() {
+    while (true) {
+      Status current = status.get();
+      Status next;
+      if (current.state == OPEN) {
+        return;
+      } else if (current.state == HALF_OPEN) {
+        long nextOpenMillis = min(current.openMillis * 2, maxOpenMillis);
+        next = new Status(OPEN, 0, timeSupplier.get() + nextOpenMillis, nextOpenMillis, 0);
+      } else if (current.failures + 1 >= failureThreshold) {
+        next = new Status(OPEN, 0, timeSupplier.get() + openMillis, openMillis, 0);
+      } else {
+        next = new Status(CLOSED, current.failures + 1, 0, 0, 0);
+      }
+
+      if (transition(current, next)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Gives back a permission whose call finished without telling anything about the health of the target, for instance because
+   * it was cancelled or failed with an error that is not retried.
+   */
+  public void releasePermission() {
+    while (true) {
+      Status current = status.get();
+      if (current.state != HALF_OPEN || current.probes == 0) {
+        return;
+      }
+      if (status.compareAndSet(current, new Status(HALF_OPEN, 0, 0, current.openMillis, current.probes - 1))) {
+        return;
+      }
+    }
+  }
+
+  private boolean transition(Status current, Status next) {
+    if (!status.compareAndSet(current, next)) {
+      return false;
+    }
+
+    if (current.state != next.state) {
+      if (LOGGER.isInfoEnabled()) {
+        LOGGER.info("Circuit breaker '{}' changed from {} to {}", key, current.state, next.state);
+      }
+      for (StateListener listener : listeners) {
+        try {
+          listener.onStateChange(this, current.state, next.state);
+        } catch (Exception e) {
+          LOGGER.warn("Circuit breaker state listener failed", e);
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Registers a listener to be notified of the state transitions of this breaker.
+   */
+  public void addStateListener(StateListener listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * @return the key under which this breaker is shared
+   */
+  public String getKey() {
+    return key;
+  }
+
+  /**
+   * @return the current state of this breaker
+   */
+  public State getState() {
+    return status.get().state;
+  }
+
+  /**
+   * @return how many milliseconds are left until this breaker lets a probe through, or {@code 0} if it is not open
+   */
+  public long getRemainingOpenMillis() {
+    Status current = status.get();
+    return current.state == OPEN ? Math.max(0, current.openUntil - timeSupplier.get()) : 0;
+  }
+
+  @Override
+  public String toString() {
+    return "CircuitBreaker{key=" + key + ", state=" + getState() + "}";
+  }
+
+  private static final class Status {
+
+    private final State state;
+    private final int failures;
+    private final long openUntil;
+    private final long openMillis;
+    private final int probes;
+
+    private Status(State state, int failures, long openUntil, long openMillis, int probes) {
+      this.state = state;
+      this.failures = failures;
+      this.openUntil = openUntil;
+      this.openMillis = openMillis;
+      this.probes = probes;
+    }
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.retry.breaker;
+
+import static java.lang.Integer.getInteger;
+import static java.lang.Long.getLong;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.internal.retry.breaker.CircuitBreakerNotification.CIRCUIT_BREAKER_CLOSED;
+import static org.mule.runtime.core.internal.retry.breaker.CircuitBreakerNotification.CIRCUIT_BREAKER_HALF_OPENED;
+import static org.mule.runtime.core.internal.retry.breaker.CircuitBreakerNotification.CIRCUIT_BREAKER_OPENED;
+
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.notification.NotificationDispatcher;
+import org.mule.runtime.api.time.TimeSupplier;
+import org.mule.runtime.core.internal.retry.breaker.CircuitBreaker.State;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.inject.Inject;
+
+/**
+ * Keeps the {@link CircuitBreaker}s of an artifact, so that every retrying component targeting the same key (usually the name
+ * of a config) shares the view of its health.
+ * <p>
+ * State transitions are fired as {@link CircuitBreakerNotification}s.
+ *
+ * @since 4.2
+ */
+public class CircuitBreakerManager implements Disposable {
+
+  public static final String FAILURE_THRESHOLD_PROPERTY = SYSTEM_PROPERTY_PREFIX + "circuitBreaker.failureThreshold";
+  public static final String OPEN_MILLIS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "circuitBreaker.openMillis";
+  public static final String MAX_OPEN_MILLIS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "circuitBreaker.maxOpenMillis";
+  public static final String HALF_OPEN_PROBES_PROPERTY = SYSTEM_PROPERTY_PREFIX + "circuitBreaker.halfOpenProbes";
+
+  private final int failureThreshold = getInteger(FAILURE_THRESHOLD_PROPERTY, 5);
+  private final long openMillis = getLong(OPEN_MILLIS_PROPERTY, 5000L);
+  private final long maxOpenMillis = getLong(MAX_OPEN_MILLIS_PROPERTY, 5 * 60 * 1000L);
+  private final int halfOpenProbes = getInteger(HALF_OPEN_PROBES_PROPERTY, 1);
+
+  private final ConcurrentMap<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+  @Inject
+  private NotificationDispatcher notificationFirer;
+
+  @Inject
+  private TimeSupplier timeSupplier;
+
+  /**
+   * Provides the breaker for {@code key}, creating it the first time it is requested.
+   *
+   * @param key the key identifying the target guarded by the breaker
+   * @return the breaker shared by every caller of this method with the same {@code key}
+   */
+  public CircuitBreaker getCircuitBreaker(String key) {
+    return circuitBreakers.computeIfAbsent(key, k -> {
+      CircuitBreaker circuitBreaker =
+          new CircuitBreaker(k, failureThreshold, openMillis, maxOpenMillis, halfOpenProbes, timeSupplier);
+      circuitBreaker.addStateListener(this::fireNotification);
+      return circuitBreaker;
+    });
+  }
+
+  private void fireNotification(CircuitBreaker circuitBreaker, State from, State to) {
+    if (notificationFirer == null) {
+      return;
+    }
+
+    int action;
+    switch (to) {
+      case OPEN:
+        action = CIRCUIT_BREAKER_OPENED;
+        break;
+      case HALF_OPEN:
+        action = CIRCUIT_BREAKER_HALF_OPENED;
+        break;
+      default:
+        action = CIRCUIT_BREAKER_CLOSED;
+    }
+    notificationFirer.dispatch(new CircuitBreakerNotification(circuitBreaker.getKey(), action));
+  }
+
+  @Override
+  public void dispose() {
+    circuitBreakers.clear();
+  }
+
+  public void setNotificationFirer(NotificationDispatcher notificationFirer) {
+    this.notificationFirer = notificationFirer;
+  }
+
+  public void setTimeSupplier(TimeSupplier timeSupplier) {
+    this.timeSupplier = timeSupplier;
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.retry.breaker;
+
+import static java.lang.String.format;
+
+import org.mule.runtime.api.notification.CustomNotification;
+
+/**
+ * Custom notification that communicates the change of state of a {@link CircuitBreaker}.
+ *
+ * @since 4.2
+ */
+public class CircuitBreakerNotification extends CustomNotification {
+
+  private static final int CIRCUIT_BREAKER_ACTION_BASE = (CUSTOM_EVENT_ACTION_START_RANGE + 5) * 5;
+  private static int ACTION_INDEX = 0;
+
+  public static final int CIRCUIT_BREAKER_OPENED = ++ACTION_INDEX + CIRCUIT_BREAKER_ACTION_BASE;
+  public static final int CIRCUIT_BREAKER_HALF_OPENED = ++ACTION_INDEX + CIRCUIT_BREAKER_ACTION_BASE;
+  public static final int CIRCUIT_BREAKER_CLOSED = ++ACTION_INDEX + CIRCUIT_BREAKER_ACTION_BASE;
+
+  static {
+    registerAction("Circuit breaker opened", CIRCUIT_BREAKER_OPENED);
+    registerAction("Circuit breaker half opened", CIRCUIT_BREAKER_HALF_OPENED);
+    registerAction("Circuit breaker closed", CIRCUIT_BREAKER_CLOSED);
+  }
+
+  private final String circuitBreakerKey;
+
+  public CircuitBreakerNotification(String circuitBreakerKey, int action) {
+    super(null, action);
+    this.circuitBreakerKey = circuitBreakerKey;
+    this.action = action;
+  }
+
+  @Override
+  public String toString() {
+    return format("%s {action=%s, circuitBreaker=%s, timestamp=%s}", getEventName(), getActionName(action), circuitBreakerKey,
+                  timestamp);
+  }
+
+  public String getCircuitBreakerKey() {
+    return circuitBreakerKey;
+  }
+
+  @Override
+  public String getEventName() {
+    return "CircuitBreakerNotification";
+  }
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.retry.breaker;
+
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+
+/**
+ * Signals that a call was not performed because the {@link CircuitBreaker} guarding its target is open.
+ *
+ * @since 4.2
+ */
+public final class CircuitBreakerOpenException extends MuleRuntimeException {
+
+  private static final long serialVersionUID = -3587218342659117206L;
+
+  public CircuitBreakerOpenException(CircuitBreaker circuitBreaker) {
+    super(createStaticMessage("Circuit breaker '%s' is open, retrying in %d ms", circuitBreaker.getKey(),
+                              circuitBreaker.getRemainingOpenMillis()));
+  }
+}
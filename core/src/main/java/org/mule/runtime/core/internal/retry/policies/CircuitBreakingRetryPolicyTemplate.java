@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.retry.policies;
+
+import org.mule.runtime.core.api.retry.policy.AbstractPolicyTemplate;
+import org.mule.runtime.core.api.retry.policy.RetryPolicy;
+import org.mule.runtime.core.api.retry.policy.SimpleRetryPolicyTemplate;
+import org.mule.runtime.core.internal.retry.breaker.CircuitBreaker;
+
+/**
+ * Retry policy template that retries as configured in a {@link SimpleRetryPolicyTemplate}, guarded by a {@link CircuitBreaker}
+ * shared with other components that retry against the same target. While the breaker is open, retries fail fast instead of
+ * waiting for their turn.
+ *
+ * @since 4.2
+ */
+public final class CircuitBreakingRetryPolicyTemplate extends AbstractPolicyTemplate {
+
+  private final SimpleRetryPolicyTemplate settings;
+  private final CircuitBreaker circuitBreaker;
+
+  /**
+   * Creates a new instance
+   *
+   * @param settings the template holding the frequency, count and backoff of the retries
+   * @param circuitBreaker the breaker that guards the retries
+   */
+  public CircuitBreakingRetryPolicyTemplate(SimpleRetryPolicyTemplate settings, CircuitBreaker circuitBreaker) {
+    this.settings = settings;
+    this.circuitBreaker = circuitBreaker;
+  }
+
+  @Override
+  public RetryPolicy createRetryInstance() {
+    return new SimpleRetryPolicy(settings.getFrequency(), settings.getCount(), settings.getBackoffMultiplier(),
+                                 settings.getMaxFrequency(), settings.getJitter(), circuitBreaker);
+  }
+
+  public CircuitBreaker getCircuitBreaker() {
+    return circuitBreaker;
+  }
+
+  @Override
+  public String toString() {
+    return "CircuitBreakingRetryPolicy{" + settings + ", circuitBreaker=" + circuitBreaker.getKey() + "}";
+  }
+}
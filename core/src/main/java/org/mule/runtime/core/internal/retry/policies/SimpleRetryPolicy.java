@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.core.internal.retry.policies;
 
+import static java.lang.Math.min;
+import static java.lang.Math.pow;
 import static java.lang.Thread.currentThread;
 import static java.lang.Thread.sleep;
 import static java.time.Duration.ofMillis;
@@ -15,6 +17,7 @@ import static org.mule.runtime.core.api.retry.policy.SimpleRetryPolicyTemplate.R
 import static org.mule.runtime.core.api.rx.Exceptions.unwrap;
 import static org.mule.runtime.core.api.transaction.TransactionCoordination.isTransactionActive;
 import static org.slf4j.LoggerFactory.getLogger;
+import static reactor.core.publisher.Mono.defer;
 import static reactor.core.publisher.Mono.delay;
 import static reactor.core.publisher.Mono.error;
 import static reactor.core.publisher.Mono.from;
@@ -26,12 +29,15 @@ import static reactor.retry.Retry.onlyIf;
 import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.core.api.retry.policy.PolicyStatus;
 import org.mule.runtime.core.api.retry.policy.RetryPolicy;
+import org.mule.runtime.core.internal.retry.breaker.CircuitBreaker;
+import org.mule.runtime.core.internal.retry.breaker.CircuitBreakerOpenException;
 import org.mule.runtime.core.internal.util.rx.ConditionalExecutorServiceDecorator;
 
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 
 import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -56,10 +62,41 @@ public class SimpleRetryPolicy implements RetryPolicy {
 
   private volatile int count = DEFAULT_RETRY_COUNT;
   private volatile Duration frequency = ofMillis(DEFAULT_FREQUENCY);
+  private final double backoffMultiplier;
+  private final long maxFrequency;
+  private final double jitter;
+  private final CircuitBreaker circuitBreaker;
 
   public SimpleRetryPolicy(long frequency, int retryCount) {
+    this(frequency, retryCount, 1, Long.MAX_VALUE, 0, null);
+  }
+
+  /**
+   * Creates a policy which waits longer after each failed attempt.
+   *
+   * @param frequency the milliseconds to wait before the first retry
+   * @param retryCount how many times to retry, or {@code RETRY_COUNT_FOREVER}
+   * @param backoffMultiplier the factor applied to the wait after each retry. {@code 1} keeps the wait fixed.
+   * @param maxFrequency the upper bound for the wait between retries
+   * @param jitter the fraction, between {@code 0} and {@code 1}, of each wait that is randomly shaved off so that callers that
+   *        failed together do not retry together
+   * @param circuitBreaker a breaker shared with other policies retrying against the same target, or {@code null}
+   * @since 4.2
+   */
+  public SimpleRetryPolicy(long frequency, int retryCount, double backoffMultiplier, long maxFrequency, double jitter,
+                           CircuitBreaker circuitBreaker) {
+    if (backoffMultiplier < 1) {
+      throw new IllegalArgumentException("backoffMultiplier must not be lower than 1");
+    }
+    if (jitter < 0 || jitter > 1) {
+      throw new IllegalArgumentException("jitter must be between 0 and 1");
+    }
     this.frequency = ofMillis(frequency);
     this.count = retryCount;
+    this.backoffMultiplier = backoffMultiplier;
+    this.maxFrequency = maxFrequency;
+    this.jitter = jitter;
+    this.circuitBreaker = circuitBreaker;
     this.retryCounter = new RetryCounter();
   }
 
@@ -69,10 +106,13 @@ public class SimpleRetryPolicy implements RetryPolicy {
                                       Consumer<Throwable> onExhausted,
                                       Function<Throwable, Throwable> errorFunction,
                                       Scheduler retryScheduler) {
-    return from(publisher).onErrorResume(e -> {
-      if (shouldRetry.test(e)) {
-        Retry<T> retry = (Retry<T>) onlyIf(ctx -> shouldRetry.test(unwrap(ctx.exception())))
-            .backoff(ctx -> new BackoffDelay(frequency));
+    final Predicate<Throwable> retryable = e -> !(e instanceof CircuitBreakerOpenException) && shouldRetry.test(e);
+    final Mono<T> attempt = circuitBreaker == null ? from(publisher) : guarded(publisher, retryable);
+
+    return attempt.onErrorResume(e -> {
+      if (retryable.test(e)) {
+        Retry<T> retry = (Retry<T>) onlyIf(ctx -> retryable.test(unwrap(ctx.exception())))
+            .backoff(ctx -> new BackoffDelay(delayFor(ctx.iteration() + 1)));
 
         if (count != RETRY_COUNT_FOREVER) {
           retry = retry.retryMax(count - 1);
@@ -81,7 +121,7 @@ public class SimpleRetryPolicy implements RetryPolicy {
         reactor.core.scheduler.Scheduler reactorRetryScheduler =
             fromExecutorService(new ConditionalExecutorServiceDecorator(retryScheduler, s -> isTransactionActive()));
 
-        Mono<T> retryMono = from(publisher)
+        Mono<T> retryMono = attempt
             .retryWhen(retry.withBackoffScheduler(reactorRetryScheduler)
                 .doOnRetry(retryContext -> LOGGER.info("Retrying execution of event, attempt {} of {}.", retryContext.iteration(),
                                                        count != RETRY_COUNT_FOREVER ? String.valueOf(count) : "unlimited")))
@@ -89,8 +129,9 @@ public class SimpleRetryPolicy implements RetryPolicy {
               LOGGER.info("Retry attempts exhausted. Failing...");
               onExhausted.accept(unwrap(e2));
             })
-            .onErrorMap(RetryExhaustedException.class, e2 -> errorFunction.apply(unwrap(e2.getCause())));
-        return delay(frequency, reactorRetryScheduler).then(isTransactionActive() ? just(retryMono.block()) : retryMono);
+            .onErrorMap(RetryExhaustedException.class, e2 -> errorFunction.apply(unwrap(e2.getCause())))
+            .onErrorMap(CircuitBreakerOpenException.class, errorFunction);
+        return delay(delayFor(1), reactorRetryScheduler).then(isTransactionActive() ? just(retryMono.block()) : retryMono);
       } else {
         if (LOGGER.isDebugEnabled()) {
           LOGGER.debug("Not retrying execution of event. Failing...");
@@ -102,27 +143,80 @@ public class SimpleRetryPolicy implements RetryPolicy {
     });
   }
 
+  /**
+   * Subscribes to {@code publisher} only if the {@link CircuitBreaker} allows it, reporting back the outcome.
+   */
+  private <T> Mono<T> guarded(Publisher<T> publisher, Predicate<Throwable> retryable) {
+    return defer(() -> {
+      if (!circuitBreaker.tryAcquirePermission()) {
+        return error(new CircuitBreakerOpenException(circuitBreaker));
+      }
+
+      return from(publisher)
+          .doOnSuccess(v -> circuitBreaker.onSuccess())
+          .doOnError(e -> {
+            if (retryable.test(unwrap(e))) {
+              circuitBreaker.onFailure();
+            } else {
+              circuitBreaker.releasePermission();
+            }
+          })
+          .doOnCancel(circuitBreaker::releasePermission);
+    });
+  }
+
   @Override
   public PolicyStatus applyPolicy(Throwable cause) {
     if (isExhausted() || !isApplicableTo(cause)) {
       return PolicyStatus.policyExhausted(cause);
     } else {
+      if (circuitBreaker != null) {
+        circuitBreaker.onFailure();
+      }
+
+      Duration delay = delayFor(retryCounter.current().get() + 1);
       if (LOGGER.isInfoEnabled()) {
         LOGGER.info(
-                    "Waiting for " + frequency.toMillis() + "ms before reconnecting. Failed attempt "
+                    "Waiting for " + delay.toMillis() + "ms before reconnecting. Failed attempt "
                         + (retryCounter.current().get() + 1)
                         + " of " + (count != RETRY_COUNT_FOREVER ? String.valueOf(count) : "unlimited"));
       }
 
       try {
         retryCounter.current().getAndIncrement();
-        Thread.sleep(frequency.toMillis());
-        return PolicyStatus.policyOk();
+        Thread.sleep(delay.toMillis());
       } catch (InterruptedException e) {
         // If we get an interrupt exception, some one is telling us to stop
         return PolicyStatus.policyExhausted(e);
       }
+
+      if (circuitBreaker != null && !circuitBreaker.tryAcquirePermission()) {
+        return PolicyStatus.policyExhausted(new CircuitBreakerOpenException(circuitBreaker));
+      }
+      return PolicyStatus.policyOk();
+    }
+  }
+
+  @Override
+  public void onSuccess() {
+    if (circuitBreaker != null) {
+      circuitBreaker.onSuccess();
+    }
+  }
+
+  /**
+   * Calculates how long to wait before the given retry, growing it exponentially from the configured frequency and applying
+   * the jitter.
+   *
+   * @param attempt the number of the retry about to be performed, starting at {@code 1}
+   * @return the time to wait before performing the retry
+   */
+  protected Duration delayFor(long attempt) {
+    double delay = min(frequency.toMillis() * pow(backoffMultiplier, attempt - 1), maxFrequency);
+    if (jitter > 0) {
+      delay -= delay * jitter * ThreadLocalRandom.current().nextDouble();
     }
+    return ofMillis((long) delay);
   }
 
   /**
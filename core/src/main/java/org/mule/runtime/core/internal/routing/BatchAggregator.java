@@ -0,0 +1,400 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.api.el.BindingContextUtils.NULL_BINDING_CONTEXT;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.metadata.DataType.STRING;
+import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_STORE_MANAGER;
+import static org.mule.runtime.core.api.event.EventContextFactory.create;
+import static org.mule.runtime.core.api.util.StreamingUtils.consumeRepeatablePayload;
+import static org.mule.runtime.core.privileged.processor.MessageProcessors.getProcessingStrategy;
+import static org.mule.runtime.core.privileged.processor.MessageProcessors.newChain;
+import static org.mule.runtime.core.privileged.processor.MessageProcessors.processToApply;
+
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.api.store.ObjectStore;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.api.store.ObjectStoreManager;
+import org.mule.runtime.api.store.ObjectStoreSettings;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.exception.LoggingExceptionHandler;
+import org.mule.runtime.core.api.processor.AbstractMuleObjectOwner;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.privileged.processor.Scope;
+import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+/**
+ * Collects the messages of the events that go through it into in-memory batches, and routes each batch as a single event,
+ * whose payload is the {@link List} of collected {@link Message}s, to the processors it contains. This allows bulk operations
+ * to replace per-event calls.
+ * <p>
+ * Messages are grouped by the value of the {@link #setGroupBy(String) groupBy} expression. A batch is routed as soon as it
+ * reaches {@link #setMaxSize(int) maxSize} messages, {@link #setMaxBytes(long) maxBytes} bytes or, for a batch that is not
+ * full yet, {@link #setMaxWait(long) maxWait} milliseconds after its first message was added.
+ * <p>
+ * Each event going through this scope continues unchanged right away, while the batches are routed asynchronously. Since
+ * the streams of an event are closed once the event completes, repeatable payloads are consumed into memory before being
+ * added to a batch. Unlike {@link AbstractAggregator}, messages are accumulated without locks or object store round-trips.
+ * Batches still pending when this scope is stopped are routed at that moment or, if {@link #setPersistent(boolean)
+ * persistent}, stored and routed when it is started again. Messages that arrive once it is stopped are routed right away,
+ * each on its own.
+ *
+ * @since 4.2
+ */
+public class BatchAggregator extends AbstractMuleObjectOwner implements Scope {
+
+  private static final int DEFAULT_MAX_SIZE = 100;
+  private static final long DEFAULT_MAX_WAIT = 1000;
+  private static final String DEFAULT_GROUP = "";
+
+  /**
+   * The value the claim counter of a {@link Batch} is set to once it is sealed, far enough from any real size so that
+   * concurrent increments by adders that are about to be rejected never wrap it around.
+   */
+  private static final int SEALED = Integer.MAX_VALUE / 2;
+
+  @Inject
+  private SchedulerService schedulerService;
+
+  @Inject
+  @Named(OBJECT_STORE_MANAGER)
+  private ObjectStoreManager objectStoreManager;
+
+  private String groupBy;
+  private int maxSize = DEFAULT_MAX_SIZE;
+  private long maxWait = DEFAULT_MAX_WAIT;
+  private long maxBytes = 0;
+  private boolean persistent = false;
+
+  private List<Processor> processors;
+  private MessageProcessorChain nestedChain;
+
+  private final ConcurrentMap<String, Batch> batches = new ConcurrentHashMap<>();
+  private volatile Scheduler timer;
+  private volatile Scheduler flushScheduler;
+  private volatile boolean stopped = true;
+  private ObjectStore<ArrayList<Message>> spillStore;
+
+  @Override
+  public void initialise() throws InitialisationException {
+    if (processors == null) {
+      throw new InitialisationException(createStaticMessage("One message processor must be configured within 'batch-aggregator'."),
+                                        this);
+    }
+    if (maxSize < 1) {
+      throw new InitialisationException(createStaticMessage("'maxSize' must be greater than 0 in 'batch-aggregator'."), this);
+    }
+    this.nestedChain = newChain(getProcessingStrategy(locator, getRootContainerLocation()), processors);
+    super.initialise();
+  }
+
+  @Override
+  public void start() throws MuleException {
+    super.start();
+    timer = schedulerService.cpuLightScheduler();
+    flushScheduler = schedulerService.ioScheduler(muleContext.getSchedulerBaseConfig().withName(getLocation().getLocation()));
+    stopped = false;
+
+    if (persistent) {
+      spillStore = objectStoreManager.getOrCreateObjectStore(muleContext.getConfiguration().getId() + "."
+          + getLocation().getLocation() + ".batches", ObjectStoreSettings.builder().persistent(true).build());
+      for (Map.Entry<String, ArrayList<Message>> spilled : spillStore.retrieveAll().entrySet()) {
+        spillStore.remove(spilled.getKey());
+        dispatch(spilled.getValue());
+      }
+    }
+  }
+
+  @Override
+  public void stop() throws MuleException {
+    // Set first, so the batches created while stopping are routed by their adders
+    stopped = true;
+    for (Batch batch : batches.values()) {
+      int count = batch.seal();
+      if (count > 0) {
+        batch.drain(count, messages -> {
+          if (!spill(batch.key, messages)) {
+            route(messages);
+          }
+        });
+      }
+    }
+    batches.clear();
+
+    if (timer != null) {
+      timer.stop();
+      timer = null;
+    }
+    if (flushScheduler != null) {
+      flushScheduler.stop();
+      flushScheduler = null;
+    }
+    super.stop();
+  }
+
+  @Override
+  public CoreEvent process(CoreEvent event) throws MuleException {
+    // The cursor providers of the event are closed when its context terminates, which is before the batch is routed
+    Message message = consumeRepeatablePayload(event).getMessage();
+    if (stopped) {
+      route(singletonList(message));
+      return event;
+    }
+
+    String key = groupBy == null ? DEFAULT_GROUP
+        : String.valueOf(muleContext.getExpressionManager().evaluate(groupBy, STRING, NULL_BINDING_CONTEXT, event).getValue());
+    OptionalLong byteLength = event.getMessage().getPayload().getByteLength();
+    long size = byteLength.isPresent() ? byteLength.getAsLong() : 0;
+
+    while (true) {
+      Batch batch = batches.computeIfAbsent(key, Batch::new);
+      int slot = batch.add(message, size);
+      if (slot < 0) {
+        // The batch was sealed since it was looked up, it is just about to be removed
+        batches.remove(key, batch);
+        continue;
+      }
+
+      if (slot == maxSize - 1) {
+        flush(batch, maxSize);
+      } else if (maxBytes > 0 && batch.bytes.get() >= maxBytes) {
+        flush(batch, batch.seal());
+      } else if (stopped) {
+        // Stopped while adding, so the batch may have missed being routed by stop() and has no timer
+        flush(batch, batch.seal());
+      }
+      return event;
+    }
+  }
+
+  private void flush(Batch batch, int count) {
+    batches.remove(batch.key, batch);
+    if (count > 0) {
+      batch.drain(count, this::dispatch);
+    }
+  }
+
+  private void dispatch(List<Message> messages) {
+    Scheduler scheduler = flushScheduler;
+    if (scheduler == null) {
+      route(messages);
+      return;
+    }
+    try {
+      scheduler.submit(() -> route(messages));
+    } catch (RejectedExecutionException e) {
+      route(messages);
+    }
+  }
+
+  private void route(List<Message> messages) {
+    CoreEvent batchEvent = CoreEvent
+        .builder(create(muleContext.getUniqueIdString(), muleContext.getId(), getLocation(),
+                        LoggingExceptionHandler.getInstance()))
+        .message(Message.builder().collectionValue(messages, Message.class).build())
+        .build();
+    try {
+      processToApply(batchEvent, nestedChain, true);
+    } catch (MuleException e) {
+      logger.error("Processing of a batch of {} messages failed at '{}'", messages.size(), getLocation().getLocation(), e);
+    }
+  }
+
+  private boolean spill(String key, List<Message> messages) {
+    if (spillStore == null) {
+      return false;
+    }
+    try {
+      spillStore.store(key + "." + muleContext.getUniqueIdString(), new ArrayList<>(messages));
+      return true;
+    } catch (ObjectStoreException | RuntimeException e) {
+      logger.warn("Could not store pending batch for '{}', routing it now", key, e);
+      return false;
+    }
+  }
+
+  /**
+   * The messages collected for a group until one of the triggers routes them.
+   * <p>
+   * Adders claim a slot by incrementing {@link #claimed}, so there is no contention beyond that single atomic operation. The
+   * adder claiming the last slot is the one routing the batch. The time and byte triggers {@link #seal()} it instead, which
+   * makes every later claim fail.
+   * <p>
+   * Adders that claimed a slot may still be putting their message in it when the batch is routed. Instead of waiting for them,
+   * the messages are handed over by whichever thread puts the last one.
+   */
+  private final class Batch {
+
+    private final String key;
+    private final AtomicReferenceArray<Message> messages = new AtomicReferenceArray<>(maxSize);
+    private final AtomicInteger claimed = new AtomicInteger();
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicBoolean drained = new AtomicBoolean();
+
+    private volatile Consumer<List<Message>> onDrained;
+    private volatile int drainCount = -1;
+
+    private Batch(String key) {
+      this.key = key;
+      Scheduler timer = BatchAggregator.this.timer;
+      if (maxWait > 0 && timer != null) {
+        try {
+          timer.schedule(() -> flush(this, seal()), maxWait, MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+          // Stopping, pending batches are routed by stop()
+        }
+      }
+    }
+
+    /**
+     * @return the slot the message was put in, or {@code -1} if this batch does not take more messages
+     */
+    private int add(Message message, long size) {
+      int slot = claimed.getAndIncrement();
+      if (slot >= maxSize) {
+        return -1;
+      }
+      messages.set(slot, message);
+      bytes.addAndGet(size);
+      written.incrementAndGet();
+      tryDrain();
+      return slot;
+    }
+
+    /**
+     * Prevents any more messages from being added to this batch.
+     *
+     * @return the number of messages in this batch, or {@code -1} if it was already full or sealed
+     */
+    private int seal() {
+      while (true) {
+        int current = claimed.get();
+        if (current >= maxSize) {
+          return -1;
+        }
+        if (claimed.compareAndSet(current, SEALED)) {
+          return current;
+        }
+      }
+    }
+
+    /**
+     * Hands the messages of this batch to {@code onDrained} once every adder that claimed one of the first {@code count} slots
+     * put its message in it. Must be called once no more messages can be added.
+     *
+     * @param count the number of messages in this batch
+     * @param onDrained receives the messages, either in the current thread or in the one of the last adder
+     */
+    private void drain(int count, Consumer<List<Message>> onDrained) {
+      this.onDrained = onDrained;
+      this.drainCount = count;
+      tryDrain();
+    }
+
+    private void tryDrain() {
+      int count = drainCount;
+      if (count >= 0 && written.get() >= count && drained.compareAndSet(false, true)) {
+        List<Message> drainedMessages = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+          drainedMessages.add(messages.get(i));
+        }
+        onDrained.accept(drainedMessages);
+      }
+    }
+  }
+
+  /**
+   * @param groupBy expression whose value for each event determines the batch its message is added to. When not set, all
+   *        messages go to the same batch.
+   */
+  public void setGroupBy(String groupBy) {
+    this.groupBy = groupBy;
+  }
+
+  /**
+   * @return the number of messages that trigger the routing of a batch. Default value is 100.
+   */
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * @param maxSize the number of messages that trigger the routing of a batch. Default value is 100.
+   */
+  public void setMaxSize(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * @return the milliseconds after which a batch is routed even if it is not full. Default value is 1000.
+   */
+  public long getMaxWait() {
+    return maxWait;
+  }
+
+  /**
+   * @param maxWait the milliseconds after which a batch is routed even if it is not full, or 0 to route batches only when they
+   *        are full. Default value is 1000.
+   */
+  public void setMaxWait(long maxWait) {
+    this.maxWait = maxWait;
+  }
+
+  /**
+   * @param maxBytes the accumulated payload size, in bytes, that triggers the routing of a batch, or 0 to not consider it.
+   *        Payloads whose size is not known up-front count as empty.
+   */
+  public void setMaxBytes(long maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * @param persistent whether batches pending when this scope is stopped are stored in a persistent object store to be routed
+   *        on the next start, instead of being routed right away.
+   */
+  public void setPersistent(boolean persistent) {
+    this.persistent = persistent;
+  }
+
+  /**
+   * Configure the nested {@link Processor}'s that each batch is routed to.
+   *
+   * @param processors
+   */
+  public void setMessageProcessors(List<Processor> processors) {
+    this.processors = processors;
+  }
+
+  @Override
+  protected List<Object> getOwnedObjects() {
+    return singletonList(nestedChain);
+  }
+}
@@ -28,6 +28,8 @@ import org.mule.runtime.core.api.retry.policy.RetryPolicyExhaustedException;
 import org.mule.runtime.core.api.retry.policy.RetryPolicyTemplate;
 import org.mule.runtime.core.api.retry.policy.SimpleRetryPolicyTemplate;
 import org.mule.runtime.core.internal.exception.MessagingException;
+import org.mule.runtime.core.internal.retry.breaker.CircuitBreakerManager;
+import org.mule.runtime.core.internal.retry.policies.CircuitBreakingRetryPolicyTemplate;
 import org.mule.runtime.core.privileged.processor.Scope;
 import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
 
@@ -55,8 +57,15 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
   @Inject
   private SchedulerService schedulerService;
 
+  @Inject
+  private CircuitBreakerManager circuitBreakerManager;
+
   private int maxRetries = DEFAULT_RETRIES;
   private Long millisBetweenRetries = DEFAULT_MILLIS_BETWEEN_RETRIES;
+  private double backoffMultiplier = 1;
+  private long maxMillisBetweenRetries = Long.MAX_VALUE;
+  private double jitter = 0;
+  private String circuitBreaker;
   private MessageProcessorChain nestedChain;
   private Predicate<CoreEvent> shouldRetry;
   private RetryPolicyTemplate policyTemplate;
@@ -72,11 +81,21 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
     this.nestedChain = newChain(getProcessingStrategy(locator, getRootContainerLocation()), processors);
     super.initialise();
     timer = schedulerService.cpuLightScheduler();
-    policyTemplate =
-        maxRetries != 0 ? new SimpleRetryPolicyTemplate(millisBetweenRetries, maxRetries) : new NoRetryPolicyTemplate();
+    policyTemplate = maxRetries != 0 ? createRetryPolicyTemplate() : new NoRetryPolicyTemplate();
     shouldRetry = event -> event.getError().isPresent();
   }
 
+  private RetryPolicyTemplate createRetryPolicyTemplate() {
+    SimpleRetryPolicyTemplate retryPolicyTemplate = new SimpleRetryPolicyTemplate(millisBetweenRetries, maxRetries);
+    retryPolicyTemplate.setBackoffMultiplier(backoffMultiplier);
+    retryPolicyTemplate.setMaxFrequency(maxMillisBetweenRetries);
+    retryPolicyTemplate.setJitter(jitter);
+    if (circuitBreaker != null) {
+      return new CircuitBreakingRetryPolicyTemplate(retryPolicyTemplate, circuitBreakerManager.getCircuitBreaker(circuitBreaker));
+    }
+    return retryPolicyTemplate;
+  }
+
   @Override
   public void dispose() {
     super.dispose();
@@ -144,6 +163,44 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
     this.millisBetweenRetries = millisBetweenRetries;
   }
 
+  /**
+   * @return the factor applied to the wait between retries after each retry. Default value is 1.
+   */
+  public double getBackoffMultiplier() {
+    return backoffMultiplier;
+  }
+
+  /**
+   * @param backoffMultiplier the factor applied to the wait between retries after each retry. Default value is 1, which keeps
+   *        the wait fixed at {@link #getMillisBetweenRetries()}.
+   */
+  public void setBackoffMultiplier(double backoffMultiplier) {
+    this.backoffMultiplier = backoffMultiplier;
+  }
+
+  /**
+   * @param maxMillisBetweenRetries the upper bound for the wait between retries when a backoff multiplier is used.
+   */
+  public void setMaxMillisBetweenRetries(long maxMillisBetweenRetries) {
+    this.maxMillisBetweenRetries = maxMillisBetweenRetries;
+  }
+
+  /**
+   * @param jitter the fraction, between 0 and 1, of each wait between retries that is randomly shaved off, so that events that
+   *        failed at the same time do not retry at the same time. Default value is 0.
+   */
+  public void setJitter(double jitter) {
+    this.jitter = jitter;
+  }
+
+  /**
+   * @param circuitBreaker the key of the circuit breaker to share with every other component retrying against the same
+   *        target. While it is open, retries fail fast.
+   */
+  public void setCircuitBreaker(String circuitBreaker) {
+    this.circuitBreaker = circuitBreaker;
+  }
+
   /**
    * Configure the nested {@link Processor}'s that error handling and transactional behaviour should be applied to.
    *
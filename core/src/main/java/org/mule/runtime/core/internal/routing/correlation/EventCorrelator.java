@@ -43,6 +43,7 @@ import org.mule.runtime.core.api.util.StringMessageUtils;
 import org.mule.runtime.core.internal.context.MuleContextWithRegistry;
 import org.mule.runtime.core.internal.exception.MessagingException;
 import org.mule.runtime.core.internal.routing.EventGroup;
+import org.mule.runtime.core.internal.util.timer.HashedTimerWheel;
 import org.mule.runtime.core.privileged.registry.RegistrationException;
 import org.mule.runtime.core.privileged.routing.RoutingException;
 import org.mule.runtime.core.privileged.store.DeserializationPostInitialisable;
@@ -54,7 +55,12 @@ import org.slf4j.LoggerFactory;
 
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class EventCorrelator implements Startable, Stoppable {
 
@@ -66,10 +72,19 @@ public class EventCorrelator implements Startable, Stoppable {
   public static final String NO_CORRELATION_ID = "no-id";
 
   private static final long DELAY_TIME = 10;
+  private static final int WHEEL_SIZE = 512;
+  private static final long RESCAN_INTERVAL = 1000;
+  private static final int LOCK_STRIPES = 64;
 
+  /**
+   * @deprecated groups are now guarded by the lock returned by {@link #lockFor(Object)}.
+   */
+  @Deprecated
   protected final Object groupsLock = new Object();
 
-  // @GuardedBy groupsLock
+  private final Object[] groupLocks = new Object[LOCK_STRIPES];
+
+  // @GuardedBy lockFor(groupId)
   protected ObjectStore<Long> processedGroups = null;
 
   private long timeout = -1; // undefined
@@ -91,6 +106,15 @@ public class EventCorrelator implements Startable, Stoppable {
   private PartitionableObjectStore correlatorStore = null;
   private String storePrefix;
 
+  /**
+   * The groups of this correlator that are still open, so that each arriving event does not have to retrieve and initialise
+   * its group from the {@link #correlatorStore}.
+   */
+  private final Map<String, EventGroup> openGroups = new ConcurrentHashMap<>();
+
+  private final HashedTimerWheel<String> expiryWheel = new HashedTimerWheel<>(DELAY_TIME, WHEEL_SIZE);
+  private final Set<String> scheduledExpiries = ConcurrentHashMap.newKeySet();
+
   private Scheduler scheduler;
   private ExpiringGroupMonitoringRunnable expiringGroupRunnable;
   private final String name;
@@ -120,6 +144,22 @@ public class EventCorrelator implements Startable, Stoppable {
     this.correlatorStore = correlatorStore;
     this.storePrefix = storePrefix;
     this.processedGroups = processedGroups;
+
+    for (int i = 0; i < groupLocks.length; ++i) {
+      groupLocks[i] = new Object();
+    }
+  }
+
+  /**
+   * Provides the lock guarding the state of the group with the given id. Groups are spread over a fixed number of locks, so
+   * events for different groups are seldom serialized with each other.
+   *
+   * @param groupId the id of the group
+   * @return the lock for the group
+   */
+  protected Object lockFor(Object groupId) {
+    int hash = Objects.hashCode(groupId);
+    return groupLocks[(hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1)];
   }
 
   public void forceGroupExpiry(String groupId) throws MuleException {
@@ -127,6 +167,7 @@ public class EventCorrelator implements Startable, Stoppable {
       if (correlatorStore.retrieve(groupId, getEventGroupsPartitionKey()) != null) {
         handleGroupExpiry(getEventGroup(groupId));
       } else {
+        openGroups.remove(groupId);
         addProcessedGroup(groupId);
       }
     } catch (ObjectStoreException e) {
@@ -161,6 +202,8 @@ public class EventCorrelator implements Startable, Stoppable {
           notificationFirer.dispatch(new RoutingNotification(event.getMessage(), event.getContext().getOriginatingLocation()
               .getComponentIdentifier().getIdentifier().getNamespace(),
                                                              MISSED_AGGREGATION_GROUP_EVENT));
+          // the group may have been aggregated or expired by another node of the cluster
+          openGroups.remove(groupId);
           return null;
         }
       } catch (ObjectStoreException e) {
@@ -182,13 +225,16 @@ public class EventCorrelator implements Startable, Stoppable {
           EventGroup eventGroup = callback.createEventGroup(event, groupId);
           eventGroup.initEventsStore(correlatorStore);
           group = this.addEventGroup(eventGroup);
+          if (group == eventGroup) {
+            scheduleExpiry(group);
+          }
         } catch (ObjectStoreException e) {
           throw new RoutingException(timeoutMessageProcessor, e);
         }
       }
 
       // ensure that only one thread at a time evaluates this EventGroup
-      synchronized (groupsLock) {
+      synchronized (lockFor(groupId)) {
         if (logger.isDebugEnabled()) {
           logger.debug("Adding event to aggregator group: " + groupId);
         }
@@ -233,34 +279,59 @@ public class EventCorrelator implements Startable, Stoppable {
   }
 
   protected EventGroup getEventGroup(String groupId) throws ObjectStoreException {
-    try {
-      EventGroup eventGroup = (EventGroup) correlatorStore.retrieve(groupId, getEventGroupsPartitionKey());
-      if (!eventGroup.isInitialised()) {
-        try {
-          DeserializationPostInitialisable.Implementation.init(eventGroup, muleContext);
-        } catch (Exception e) {
-          throw new ObjectStoreException(e);
+    EventGroup openGroup = groupId != null ? openGroups.get(groupId) : null;
+    if (openGroup != null) {
+      return openGroup;
+    }
+
+    // retrieving and caching the group is atomic with removeEventGroup, so a removed group is never cached again
+    synchronized (lockFor(groupId)) {
+      openGroup = groupId != null ? openGroups.get(groupId) : null;
+      if (openGroup != null) {
+        return openGroup;
+      }
+
+      try {
+        EventGroup eventGroup = (EventGroup) correlatorStore.retrieve(groupId, getEventGroupsPartitionKey());
+        if (!eventGroup.isInitialised()) {
+          try {
+            DeserializationPostInitialisable.Implementation.init(eventGroup, muleContext);
+          } catch (Exception e) {
+            throw new ObjectStoreException(e);
+          }
+        }
+        eventGroup.initEventsStore(correlatorStore);
+        if (groupId != null) {
+          openGroups.put(groupId, eventGroup);
         }
+        return eventGroup;
+      } catch (ObjectDoesNotExistException e) {
+        return null;
       }
-      eventGroup.initEventsStore(correlatorStore);
-      return eventGroup;
-    } catch (ObjectDoesNotExistException e) {
-      return null;
     }
   }
 
   protected EventGroup addEventGroup(EventGroup group) throws ObjectStoreException {
-    try {
-      correlatorStore.store((String) group.getGroupId(), group, getEventGroupsPartitionKey());
-      return group;
-    } catch (ObjectAlreadyExistsException e) {
-      return getEventGroup((String) group.getGroupId());
+    final String groupId = (String) group.getGroupId();
+    synchronized (lockFor(groupId)) {
+      try {
+        correlatorStore.store(groupId, group, getEventGroupsPartitionKey());
+        if (groupId != null) {
+          openGroups.put(groupId, group);
+        }
+        return group;
+      } catch (ObjectAlreadyExistsException e) {
+        return getEventGroup(groupId);
+      }
     }
   }
 
   protected void removeEventGroup(EventGroup group) throws ObjectStoreException {
     final Object groupId = group.getGroupId();
-    synchronized (groupsLock) {
+    synchronized (lockFor(groupId)) {
+      if (groupId != null) {
+        openGroups.remove(groupId);
+      }
       if (!isGroupAlreadyProcessed(groupId)) {
         correlatorStore.remove((String) groupId, getEventGroupsPartitionKey());
         addProcessedGroup(groupId);
@@ -269,17 +340,28 @@ public class EventCorrelator implements Startable, Stoppable {
   }
 
   protected void addProcessedGroup(Object id) throws ObjectStoreException {
-    synchronized (groupsLock) {
+    synchronized (lockFor(id)) {
       processedGroups.store((String) id, currentTimeMillis());
     }
   }
 
   protected boolean isGroupAlreadyProcessed(Object id) throws ObjectStoreException {
-    synchronized (groupsLock) {
+    synchronized (lockFor(id)) {
       return processedGroups.contains((String) id);
     }
   }
 
+  /**
+   * Tracks the expiry of the given group. Only the primary node expires groups, so the other nodes of a cluster do not track
+   * them either; the primary picks up groups created elsewhere when rescanning the store.
+   */
+  private void scheduleExpiry(EventGroup group) {
+    String groupId = (String) group.getGroupId();
+    if (scheduler != null && groupId != null && muleContext.isPrimaryPollingInstance() && scheduledExpiries.add(groupId)) {
+      expiryWheel.schedule(groupId, group.getCreated() + getTimeout());
+    }
+  }
+
   public boolean isFailOnTimeout() {
     return failOnTimeout;
   }
@@ -354,6 +436,9 @@ public class EventCorrelator implements Startable, Stoppable {
   public void start() throws MuleException {
     logger.info("Starting event correlator: " + name);
     if (timeout != 0) {
+      // forget the expiries tracked before a previous stop, the rescan will schedule the ones still due
+      expiryWheel.clear();
+      scheduledExpiries.clear();
       scheduler = muleContext.getSchedulerService().customScheduler(muleContext.getSchedulerBaseConfig().withName(name)
           .withMaxConcurrentTasks(1).withShutdownTimeout(0, MILLISECONDS));
       expiringGroupRunnable = new ExpiringGroupMonitoringRunnable();
@@ -371,11 +456,13 @@ public class EventCorrelator implements Startable, Stoppable {
       expiringGroupRunnable.dispose();
       expiringGroupRunnable = null;
     }
+    scheduler = null;
   }
 
   private final class ExpiringGroupMonitoringRunnable implements Runnable, Expirable, Disposable {
 
     private ExpiryMonitor expiryMonitor;
+    private long lastRescan = Long.MIN_VALUE / 2;
 
     public ExpiringGroupMonitoringRunnable() {
       this.expiryMonitor = new ExpiryMonitor(name, MINUTES.toMillis(1), muleContext, true);
@@ -410,18 +497,29 @@ public class EventCorrelator implements Startable, Stoppable {
         return;
       }
 
+      long now = currentTimeMillis();
+      if (now - lastRescan >= RESCAN_INTERVAL) {
+        rescan();
+        lastRescan = now;
+      }
+
       List<EventGroup> expired = new ArrayList<>(1);
-      try {
-        for (String o : (List<String>) correlatorStore.allKeys(getEventGroupsPartitionKey())) {
-          EventGroup group = getEventGroup(o);
-          // group may have been removed by another thread right after eventGroups.allKeys()
-          if (group != null && group.getCreated() + getTimeout() < currentTimeMillis()) {
-            expired.add(group);
+      expiryWheel.expire(now, groupId -> {
+        scheduledExpiries.remove(groupId);
+        try {
+          EventGroup group = getEventGroup(groupId);
+          // group may have been aggregated since it was scheduled
+          if (group != null) {
+            if (group.getCreated() + getTimeout() < now) {
+              expired.add(group);
+            } else {
+              scheduleExpiry(group);
+            }
           }
+        } catch (ObjectStoreException e) {
+          logger.warn("expiry failed dues to ObjectStoreException " + e);
         }
-      } catch (ObjectStoreException e) {
-        logger.warn("expiry failed dues to ObjectStoreException " + e);
-      }
+      });
       for (final EventGroup group : expired) {
         try {
           handleGroupExpiry(group);
@@ -433,6 +531,29 @@ public class EventCorrelator implements Startable, Stoppable {
       }
     }
 
+    /**
+     * Schedules the expiry of the groups in the store that are not tracked yet, such as the ones recovered from a persistent
+     * store or created by other nodes of a cluster, and forgets the open groups that are no longer in the store.
+     */
+    private void rescan() {
+      try {
+        List<String> keys = correlatorStore.allKeys(getEventGroupsPartitionKey());
+        // drop groups removed from the store by someone else, such as another node of a cluster
+        openGroups.keySet().retainAll(new HashSet<>(keys));
+        for (String o : keys) {
+          if (!scheduledExpiries.contains(o)) {
+            EventGroup group = getEventGroup(o);
+            // group may have been removed by another thread right after eventGroups.allKeys()
+            if (group != null) {
+              scheduleExpiry(group);
+            }
+          }
+        }
+      } catch (ObjectStoreException e) {
+        logger.warn("expiry failed dues to ObjectStoreException " + e);
+      }
+    }
+
     @Override
     public void dispose() {
       if (expiryMonitor != null) {
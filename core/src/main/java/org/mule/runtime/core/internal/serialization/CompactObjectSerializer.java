@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.core.internal.serialization;
+
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.serialization.SerializationProtocol;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.context.MuleContextAware;
+
+/**
+ * Serializes objects using a {@link CompactSerializationProtocol} for both internal and external usages.
+ * <p>
+ * It is used as the default {@link ObjectSerializer} of every application when the {@link #COMPACT_SERIALIZATION_PROPERTY}
+ * system property is {@code true}. Since content written by {@link JavaObjectSerializer} is still read, existing persistent
+ * stores don't need to be migrated.
+ *
+ * @since 4.2
+ */
+public class CompactObjectSerializer implements ObjectSerializer, MuleContextAware {
+
+  /**
+   * When {@code true}, a {@link CompactObjectSerializer} is used as the default {@link ObjectSerializer} instead of a
+   * {@link JavaObjectSerializer}.
+   */
+  public static final String COMPACT_SERIALIZATION_PROPERTY = SYSTEM_PROPERTY_PREFIX + "serialization.compact";
+
+  private volatile CompactSerializationProtocol compactSerializationProtocol = new CompactSerializationProtocol();
+
+  @Override
+  public SerializationProtocol getInternalProtocol() {
+    return compactSerializationProtocol;
+  }
+
+  @Override
+  public SerializationProtocol getExternalProtocol() {
+    return compactSerializationProtocol;
+  }
+
+  @Override
+  public void setMuleContext(MuleContext context) {
+    compactSerializationProtocol.setMuleContext(context);
+  }
+}
@@ -0,0 +1,539 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Optional.empty;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.api.util.IOUtils.closeQuietly;
+
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.message.Error;
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.metadata.CollectionDataType;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.DataTypeParamsBuilder;
+import org.mule.runtime.api.metadata.FunctionDataType;
+import org.mule.runtime.api.metadata.MapDataType;
+import org.mule.runtime.api.metadata.MediaType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.serialization.SerializationException;
+import org.mule.runtime.api.serialization.SerializationProtocol;
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.event.DefaultEventContext;
+import org.mule.runtime.core.internal.message.InternalEvent;
+import org.mule.runtime.core.internal.message.InternalMessage;
+import org.mule.runtime.core.internal.util.CaseInsensitivePersistentMap;
+import org.mule.runtime.core.internal.util.SerializationUtils;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Implementation of {@link SerializationProtocol} which writes the core types of the runtime in a compact binary format,
+ * falling back to Java's default serialization mechanism for any other {@link Serializable} object.
+ * <p>
+ * Each value is written as a one byte type id followed by its content. Besides scalars, type ids are registered for
+ * {@link CoreEvent}, {@link Message}, {@link TypedValue}, {@link DataType}, the event variables map and plain lists and maps, so
+ * no class descriptors are written for them. The content of {@link CursorStreamProvider} instances is written in length-prefixed chunks
+ * straight from a cursor, without materializing it first. As with {@link JavaExternalSerializerProtocol}, it is read back as a
+ * {@code byte[]}.
+ * <p>
+ * Events are written as the id, correlation id, server id and originating location of their context, followed by their
+ * message, variables and error. Since only those are kept, this applies to events of a root context without session
+ * properties, security context, reply-to handler, internal parameters or item sequence info. Those, as well as the location
+ * and the error themselves, are still written with Java serialization.
+ * <p>
+ * The serialized form starts with a header holding the format version, and follows one compatibility rule:
+ * <ul>
+ * <li>Composite types are written with the amount of fields they have, and each field is a complete value, starting with its
+ * type id. Readers skip the fields appended by newer versions and use defaults for the ones missing in older versions, so
+ * appending fields doesn't change the version.</li>
+ * <li>Any other change, such as a new type id or a different encoding of an existing field, increases the version. Content
+ * written with a newer version is rejected, since it can't be skipped.</li>
+ * </ul>
+ * Content written with Java serialization, such as the one written by {@link JavaExternalSerializerProtocol}, is recognized
+ * and read as well.
+ *
+ * @since 4.2
+ */
+public class CompactSerializationProtocol extends AbstractSerializationProtocol {
+
+  private static final byte MAGIC = (byte) 0xC5;
+  private static final byte VERSION = 2;
+
+  /**
+   * First byte of the Java serialization stream magic number.
+   */
+  private static final int JAVA_SERIALIZATION_MAGIC = 0xAC;
+
+  private static final byte NULL = 0;
+  private static final byte STRING = 1;
+  private static final byte INTEGER = 2;
+  private static final byte LONG = 3;
+  private static final byte BOOLEAN = 4;
+  private static final byte DOUBLE = 5;
+  private static final byte BYTE_ARRAY = 6;
+  private static final byte CURSOR_STREAM = 7;
+  private static final byte DATA_TYPE = 8;
+  private static final byte TYPED_VALUE = 9;
+  private static final byte MESSAGE = 10;
+  private static final byte STRING_MAP = 11;
+  private static final byte VARIABLES = 12;
+  private static final byte LIST = 13;
+  private static final byte EVENT = 14;
+  private static final byte JAVA = 127;
+
+  private static final int DATA_TYPE_FIELDS = 2;
+  private static final int TYPED_VALUE_FIELDS = 3;
+  private static final int MESSAGE_FIELDS = 2;
+  private static final int EVENT_FIELDS = 9;
+
+  private static final int CURSOR_CHUNK_SIZE = 8 * 1024;
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void serialize(Object object, OutputStream out) throws SerializationException {
+    try {
+      DataOutputStream dataOut = new DataOutputStream(out);
+      writeHeader(dataOut);
+      writeValue(object, dataOut);
+      dataOut.flush();
+    } catch (IOException e) {
+      throw new SerializationException(createStaticMessage("Could not write to output stream"), e);
+    } finally {
+      closeQuietly(out);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected byte[] doSerialize(Object object) throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    writeHeader(out);
+    writeValue(object, out);
+    out.flush();
+    return bytes.toByteArray();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected <T> T doDeserialize(InputStream inputStream, ClassLoader classLoader) throws Exception {
+    InputStream in = inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream);
+    in.mark(1);
+    int first = in.read();
+    if (first == JAVA_SERIALIZATION_MAGIC) {
+      in.reset();
+      return (T) SerializationUtils.deserialize(in, classLoader, muleContext);
+    }
+    if (first != (MAGIC & 0xFF)) {
+      throw new SerializationException(createStaticMessage("Content is not in compact serialization format"));
+    }
+
+    DataInputStream dataIn = new DataInputStream(in);
+    byte version = dataIn.readByte();
+    if (version > VERSION) {
+      throw new SerializationException(createStaticMessage(format("Unsupported compact serialization version %d. "
+          + "Latest supported version is %d", version, VERSION)));
+    }
+
+    return (T) readValue(dataIn, classLoader);
+  }
+
+  @Override
+  protected <T> T postInitialize(T object) {
+    // does nothing since values written with Java serialization are already initialized when read
+    return object;
+  }
+
+  private void writeHeader(DataOutputStream out) throws IOException {
+    out.writeByte(MAGIC);
+    out.writeByte(VERSION);
+  }
+
+  private void writeValue(Object value, DataOutputStream out) throws IOException {
+    if (value == null) {
+      out.writeByte(NULL);
+    } else if (value instanceof String) {
+      out.writeByte(STRING);
+      writeString((String) value, out);
+    } else if (value instanceof Integer) {
+      out.writeByte(INTEGER);
+      out.writeInt((Integer) value);
+    } else if (value instanceof Long) {
+      out.writeByte(LONG);
+      out.writeLong((Long) value);
+    } else if (value instanceof Boolean) {
+      out.writeByte(BOOLEAN);
+      out.writeBoolean((Boolean) value);
+    } else if (value instanceof Double) {
+      out.writeByte(DOUBLE);
+      out.writeDouble((Double) value);
+    } else if (value instanceof byte[]) {
+      out.writeByte(BYTE_ARRAY);
+      writeBytes((byte[]) value, out);
+    } else if (value instanceof CursorStreamProvider) {
+      out.writeByte(CURSOR_STREAM);
+      writeCursorContent((CursorStreamProvider) value, out);
+    } else if (value instanceof DataType && isSimpleDataType((DataType) value)) {
+      out.writeByte(DATA_TYPE);
+      writeDataType((DataType) value, out);
+    } else if (value instanceof TypedValue) {
+      out.writeByte(TYPED_VALUE);
+      writeTypedValue((TypedValue<?>) value, out);
+    } else if (value instanceof InternalEvent && isPlainEvent((InternalEvent) value)) {
+      out.writeByte(EVENT);
+      writeEvent((InternalEvent) value, out);
+    } else if (value instanceof Message && isPlainMessage((Message) value)) {
+      out.writeByte(MESSAGE);
+      writeVarInt(MESSAGE_FIELDS, out);
+      writeValue(((Message) value).getPayload(), out);
+      writeValue(((Message) value).getAttributes(), out);
+    } else if (value instanceof CaseInsensitivePersistentMap) {
+      out.writeByte(VARIABLES);
+      writeEntries((Map<String, ?>) value, out);
+    } else if ((value.getClass() == HashMap.class || value.getClass() == LinkedHashMap.class) && hasStringKeys((Map<?, ?>) value)) {
+      out.writeByte(STRING_MAP);
+      writeEntries((Map<String, ?>) value, out);
+    } else if (value.getClass() == ArrayList.class) {
+      out.writeByte(LIST);
+      List<?> list = (List<?>) value;
+      writeVarInt(list.size(), out);
+      for (Object item : list) {
+        writeValue(item, out);
+      }
+    } else {
+      out.writeByte(JAVA);
+      writeBytes(javaSerialize(value), out);
+    }
+  }
+
+  private Object readValue(DataInputStream in, ClassLoader classLoader) throws IOException {
+    byte type = in.readByte();
+    switch (type) {
+      case NULL:
+        return null;
+      case STRING:
+        return readString(in);
+      case INTEGER:
+        return in.readInt();
+      case LONG:
+        return in.readLong();
+      case BOOLEAN:
+        return in.readBoolean();
+      case DOUBLE:
+        return in.readDouble();
+      case BYTE_ARRAY:
+        return readBytes(in);
+      case CURSOR_STREAM:
+        return readCursorContent(in);
+      case DATA_TYPE:
+        return readDataType(in, classLoader);
+      case TYPED_VALUE:
+        return readTypedValue(in, classLoader);
+      case MESSAGE:
+        return readMessage(in, classLoader);
+      case EVENT:
+        return readEvent(in, classLoader);
+      case STRING_MAP:
+        return readEntries(in, classLoader, new LinkedHashMap<>());
+      case VARIABLES:
+        return readVariables(in, classLoader);
+      case LIST:
+        int size = readVarInt(in);
+        List<Object> list = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+          list.add(readValue(in, classLoader));
+        }
+        return list;
+      case JAVA:
+        return SerializationUtils.deserialize(new ByteArrayInputStream(readBytes(in)), classLoader, muleContext);
+      default:
+        throw new SerializationException(createStaticMessage("Unknown compact serialization type id " + type));
+    }
+  }
+
+  private void writeDataType(DataType dataType, DataOutputStream out) throws IOException {
+    writeVarInt(DATA_TYPE_FIELDS, out);
+    writeValue(dataType.getType().getName(), out);
+    writeValue(dataType.getMediaType().toRfcString(), out);
+  }
+
+  private DataType readDataType(DataInputStream in, ClassLoader classLoader) throws IOException {
+    int fields = readVarInt(in);
+    String className = fields > 0 ? (String) readValue(in, classLoader) : Object.class.getName();
+    String mediaType = fields > 1 ? (String) readValue(in, classLoader) : null;
+    skipFields(fields - DATA_TYPE_FIELDS, in, classLoader);
+
+    Class<?> type;
+    try {
+      type = Class.forName(className, false, classLoader);
+    } catch (ClassNotFoundException e) {
+      throw new SerializationException(createStaticMessage("Could not load class " + className), e);
+    }
+
+    DataTypeParamsBuilder builder = DataType.builder().type(type);
+    return mediaType != null ? builder.mediaType(MediaType.parse(mediaType)).build() : builder.build();
+  }
+
+  private void writeTypedValue(TypedValue<?> typedValue, DataOutputStream out) throws IOException {
+    writeVarInt(TYPED_VALUE_FIELDS, out);
+    writeValue(typedValue.getValue(), out);
+    writeValue(typedValue.getDataType(), out);
+    OptionalLong length = typedValue.getByteLength();
+    writeValue(length.isPresent() ? length.getAsLong() : null, out);
+  }
+
+  private TypedValue<?> readTypedValue(DataInputStream in, ClassLoader classLoader) throws IOException {
+    int fields = readVarInt(in);
+    Object value = fields > 0 ? readValue(in, classLoader) : null;
+    DataType dataType = fields > 1 ? (DataType) readValue(in, classLoader) : null;
+    Long length = fields > 2 ? (Long) readValue(in, classLoader) : null;
+    skipFields(fields - TYPED_VALUE_FIELDS, in, classLoader);
+
+    if (value instanceof byte[] && dataType != null && CursorStreamProvider.class.isAssignableFrom(dataType.getType())) {
+      // The content of the cursor was written, keep the media type but not the streaming type
+      dataType = DataType.builder(DataType.BYTE_ARRAY).mediaType(dataType.getMediaType()).build();
+    }
+    return new TypedValue<>(value, dataType, length != null ? OptionalLong.of(length) : OptionalLong.empty());
+  }
+
+  private Message readMessage(DataInputStream in, ClassLoader classLoader) throws IOException {
+    int fields = readVarInt(in);
+    TypedValue<?> payload = fields > 0 ? (TypedValue<?>) readValue(in, classLoader) : null;
+    TypedValue<?> attributes = fields > 1 ? (TypedValue<?>) readValue(in, classLoader) : null;
+    skipFields(fields - MESSAGE_FIELDS, in, classLoader);
+
+    InternalMessage.Builder builder = InternalMessage.builder();
+    if (payload != null) {
+      builder.payload(payload);
+    } else {
+      builder.nullValue();
+    }
+    if (attributes != null) {
+      builder.attributes(attributes);
+    }
+    return builder.build();
+  }
+
+  private void writeEvent(InternalEvent event, DataOutputStream out) throws IOException {
+    BaseEventContext context = event.getContext();
+    writeVarInt(EVENT_FIELDS, out);
+    writeValue(context.getId(), out);
+    writeValue(context.getCorrelationId(), out);
+    writeValue(context.getServerId(), out);
+    writeValue(context.getOriginatingLocation(), out);
+    writeValue(event.getMessage(), out);
+    writeValue(event.getVariables(), out);
+    writeValue(event.getError().orElse(null), out);
+    writeValue(event.getLegacyCorrelationId(), out);
+    writeValue(event.isNotificationsEnabled(), out);
+  }
+
+  private CoreEvent readEvent(DataInputStream in, ClassLoader classLoader) throws IOException {
+    int fields = readVarInt(in);
+    String id = fields > 0 ? (String) readValue(in, classLoader) : null;
+    String correlationId = fields > 1 ? (String) readValue(in, classLoader) : null;
+    String serverId = fields > 2 ? (String) readValue(in, classLoader) : null;
+    ComponentLocation location = fields > 3 ? (ComponentLocation) readValue(in, classLoader) : null;
+    Message message = fields > 4 ? (Message) readValue(in, classLoader) : null;
+    Map<String, ?> variables = fields > 5 ? (Map<String, ?>) readValue(in, classLoader) : null;
+    Error error = fields > 6 ? (Error) readValue(in, classLoader) : null;
+    String legacyCorrelationId = fields > 7 ? (String) readValue(in, classLoader) : null;
+    Boolean notificationsEnabled = fields > 8 ? (Boolean) readValue(in, classLoader) : null;
+    skipFields(fields - EVENT_FIELDS, in, classLoader);
+
+    // As with Java serialization, the exception handler of the context is not kept
+    InternalEvent.Builder builder =
+        InternalEvent.builder(new DefaultEventContext(id, serverId, location, correlationId, empty(), null))
+            .message(message != null ? message : Message.of(null));
+    if (variables != null) {
+      builder.variables(variables);
+    }
+    if (error != null) {
+      builder.error(error);
+    }
+    if (legacyCorrelationId != null) {
+      builder.correlationId(legacyCorrelationId);
+    }
+    if (Boolean.FALSE.equals(notificationsEnabled)) {
+      builder.disableNotifications();
+    }
+    return builder.build();
+  }
+
+  private void writeEntries(Map<String, ?> map, DataOutputStream out) throws IOException {
+    writeVarInt(map.size(), out);
+    for (Map.Entry<String, ?> entry : map.entrySet()) {
+      writeString(entry.getKey(), out);
+      writeValue(entry.getValue(), out);
+    }
+  }
+
+  private Map<String, Object> readEntries(DataInputStream in, ClassLoader classLoader, Map<String, Object> map)
+      throws IOException {
+    int size = readVarInt(in);
+    for (int i = 0; i < size; ++i) {
+      map.put(readString(in), readValue(in, classLoader));
+    }
+    return map;
+  }
+
+  private CaseInsensitivePersistentMap<Object> readVariables(DataInputStream in, ClassLoader classLoader) throws IOException {
+    CaseInsensitivePersistentMap<Object> variables = CaseInsensitivePersistentMap.empty();
+    int size = readVarInt(in);
+    for (int i = 0; i < size; ++i) {
+      variables = variables.plus(readString(in), readValue(in, classLoader));
+    }
+    return variables;
+  }
+
+  private void skipFields(int count, DataInputStream in, ClassLoader classLoader) throws IOException {
+    for (int i = 0; i < count; ++i) {
+      readValue(in, classLoader);
+    }
+  }
+
+  private void writeCursorContent(CursorStreamProvider provider, DataOutputStream out) throws IOException {
+    byte[] chunk = new byte[CURSOR_CHUNK_SIZE];
+    try (CursorStream cursor = provider.openCursor()) {
+      int read;
+      while ((read = cursor.read(chunk)) != -1) {
+        if (read > 0) {
+          writeVarInt(read, out);
+          out.write(chunk, 0, read);
+        }
+      }
+    }
+    writeVarInt(0, out);
+  }
+
+  private byte[] readCursorContent(DataInputStream in) throws IOException {
+    ByteArrayOutputStream content = new ByteArrayOutputStream();
+    byte[] chunk = new byte[CURSOR_CHUNK_SIZE];
+    int length;
+    while ((length = readVarInt(in)) > 0) {
+      while (length > 0) {
+        int read = in.read(chunk, 0, Math.min(length, chunk.length));
+        if (read < 0) {
+          throw new EOFException();
+        }
+        content.write(chunk, 0, read);
+        length -= read;
+      }
+    }
+    return content.toByteArray();
+  }
+
+  private void writeString(String value, DataOutputStream out) throws IOException {
+    writeBytes(value.getBytes(UTF_8), out);
+  }
+
+  private String readString(DataInputStream in) throws IOException {
+    return new String(readBytes(in), UTF_8);
+  }
+
+  private void writeBytes(byte[] bytes, DataOutputStream out) throws IOException {
+    writeVarInt(bytes.length, out);
+    out.write(bytes);
+  }
+
+  private byte[] readBytes(DataInputStream in) throws IOException {
+    byte[] bytes = new byte[readVarInt(in)];
+    in.readFully(bytes);
+    return bytes;
+  }
+
+  private void writeVarInt(int value, DataOutputStream out) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.writeByte(value);
+  }
+
+  private int readVarInt(DataInputStream in) throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      byte b = in.readByte();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new SerializationException(createStaticMessage("Malformed length in compact serialization content"));
+  }
+
+  private byte[] javaSerialize(Object value) {
+    if (!(value instanceof Serializable)) {
+      throw new SerializationException(format("Was expecting a Serializable type. %s was found instead",
+                                              value.getClass().getName()));
+    }
+    return org.apache.commons.lang3.SerializationUtils.serialize((Serializable) value);
+  }
+
+  private boolean isSimpleDataType(DataType dataType) {
+    return !(dataType instanceof CollectionDataType || dataType instanceof MapDataType || dataType instanceof FunctionDataType)
+        && !dataType.getType().isPrimitive();
+  }
+
+  private boolean isPlainEvent(InternalEvent event) {
+    return event.getContext() instanceof DefaultEventContext
+        && (event.getSession() == null || event.getSession().getPropertyNamesAsSet().isEmpty())
+        && event.getSecurityContext() == null
+        && event.getReplyToHandler() == null
+        && event.getReplyToDestination() == null
+        && event.getInternalParameters().isEmpty()
+        && !event.getItemSequenceInfo().isPresent();
+  }
+
+  private boolean isPlainMessage(Message message) {
+    if (message instanceof InternalMessage) {
+      InternalMessage internalMessage = (InternalMessage) message;
+      return internalMessage.getExceptionPayload() == null
+          && internalMessage.getInboundPropertyNames().isEmpty()
+          && internalMessage.getOutboundPropertyNames().isEmpty()
+          && internalMessage.getInboundAttachmentNames().isEmpty()
+          && internalMessage.getOutboundAttachmentNames().isEmpty();
+    }
+    return false;
+  }
+
+  private boolean hasStringKeys(Map<?, ?> map) {
+    for (Object key : map.keySet()) {
+      if (!(key instanceof String)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
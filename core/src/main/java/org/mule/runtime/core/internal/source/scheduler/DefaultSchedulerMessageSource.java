@@ -12,6 +12,8 @@ import static org.mule.runtime.core.api.config.i18n.CoreMessages.failedToSchedul
 import static org.mule.runtime.core.api.event.EventContextFactory.create;
 import static org.mule.runtime.core.api.util.ClassUtils.withContextClassLoader;
 import static org.mule.runtime.core.internal.component.ComponentUtils.getFromAnnotatedObjectOrFail;
+import static org.mule.runtime.core.internal.source.scheduler.SourceSchedulingEngine.isConsolidatedSchedulingEnabled;
+import static org.mule.runtime.core.internal.source.scheduler.SourceSchedulingEngine.isSupported;
 import static org.mule.runtime.core.internal.util.rx.Operators.requestUnbounded;
 import static org.mule.runtime.core.privileged.event.PrivilegedEvent.setCurrentEvent;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -38,11 +40,13 @@ import org.mule.runtime.core.api.source.MessageSource;
 import org.mule.runtime.core.api.source.scheduler.PeriodicScheduler;
 import org.mule.runtime.core.internal.exception.MessagingException;
 import org.mule.runtime.core.internal.message.InternalEvent;
+import org.mule.runtime.core.internal.source.scheduler.SourceSchedulingEngine.ScheduledJob;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 
 import org.slf4j.Logger;
 
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * <p>
@@ -54,6 +58,10 @@ import java.util.concurrent.ScheduledFuture;
  * {@link org.mule.runtime.core.internal.registry.MuleRegistry} interface, this way users can manipulate poll from outside mule
  * server.
  * </p>
+ * <p>
+ * When {@link SourceSchedulingEngine#CONSOLIDATED_SCHEDULING_PROPERTY consolidated scheduling} is enabled, the polls are
+ * scheduled through the {@link SourceSchedulingEngine} of the artifact instead of registering a periodic task for each source.
+ * </p>
  */
 public class DefaultSchedulerMessageSource extends AbstractComponent
     implements MessageSource, SchedulerMessageSource, MuleContextAware, Initialisable, Disposable {
@@ -64,13 +72,15 @@ public class DefaultSchedulerMessageSource extends AbstractComponent
   private final NotificationHelper notificationHelper;
   private final boolean disallowConcurrentExecution;
 
+  private final SchedulingStatistics statistics = new SchedulingStatistics();
+  private final AtomicBoolean executing = new AtomicBoolean(false);
+
   private Scheduler pollingExecutor;
-  private ScheduledFuture<?> schedulingJob;
+  private ScheduledJob schedulingJob;
   private Processor listener;
   private FlowConstruct flowConstruct;
   private MuleContext muleContext;
   private boolean started;
-  private volatile boolean executing = false;
 
   /**
    * @param muleContext application's context
@@ -91,9 +101,18 @@ public class DefaultSchedulerMessageSource extends AbstractComponent
       return;
     }
     try {
-      // The initialization phase if handled by the scheduler
-      schedulingJob =
-          withContextClassLoader(muleContext.getExecutionClassLoader(), () -> scheduler.schedule(pollingExecutor, () -> run()));
+      if (isConsolidatedSchedulingEnabled() && isSupported(scheduler)) {
+        final ClassLoader executionClassLoader = muleContext.getExecutionClassLoader();
+        schedulingJob = SourceSchedulingEngine.schedule(muleContext, scheduler, pollingExecutor,
+                                                        () -> withContextClassLoader(executionClassLoader, () -> run()),
+                                                        statistics);
+      } else {
+        // The initialization phase if handled by the scheduler
+        ScheduledFuture<?> future =
+            withContextClassLoader(muleContext.getExecutionClassLoader(),
+                                   () -> scheduler.schedule(pollingExecutor, () -> run()));
+        schedulingJob = () -> future.cancel(false);
+      }
       this.started = true;
     } catch (Exception ex) {
       this.stop();
@@ -108,10 +127,13 @@ public class DefaultSchedulerMessageSource extends AbstractComponent
     }
     // Stop the scheduler to address the case when the flow is stop but not the application
     if (schedulingJob != null) {
-      schedulingJob.cancel(false);
+      schedulingJob.cancel();
       schedulingJob = null;
     }
     this.started = false;
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Scheduler of flow '{}' stopped. {}", flowConstruct.getRootContainerLocation().getGlobalName(), statistics);
+    }
   }
 
   @Override
@@ -129,6 +151,13 @@ public class DefaultSchedulerMessageSource extends AbstractComponent
     return scheduler;
   }
 
+  /**
+   * @return the statistics of the executions of this source
+   */
+  public SchedulingStatistics getSchedulingStatistics() {
+    return statistics;
+  }
+
   /**
    * Checks whether polling should take place on this instance.
    */
@@ -145,23 +174,16 @@ public class DefaultSchedulerMessageSource extends AbstractComponent
    * Triggers the forced execution of the polling message processor ignoring the configured scheduler.
    */
   private void poll() {
-    boolean execute = false;
-    synchronized (this) {
-      if (disallowConcurrentExecution && executing) {
-        execute = false;
-      } else {
-        execute = true;
-        executing = true;
-      }
-    }
-
-    if (execute) {
-      Message request = of(null);
-      pollWith(request);
-    } else {
+    if (disallowConcurrentExecution && !executing.compareAndSet(false, true)) {
+      statistics.onSkipped(1);
       LOGGER.info("Flow '{}' is already running and 'disallowConcurrentExecution' is set to 'true'. Execution skipped.",
                   flowConstruct.getRootContainerLocation().getGlobalName());
+      return;
     }
+
+    statistics.onExecution();
+    Message request = of(null);
+    pollWith(request);
   }
 
   private void pollWith(final Message request) {
@@ -176,13 +198,10 @@ public class DefaultSchedulerMessageSource extends AbstractComponent
           .doOnError(MessagingException.class,
                      me -> ((BaseEventContext) me.getEvent().getContext()).error(me))
           .doOnSuccess(result -> ((BaseEventContext) result.getContext()).success())
-          .doFinally(s -> {
-            synchronized (DefaultSchedulerMessageSource.this) {
-              executing = false;
-            }
-          })
+          .doFinally(s -> executing.set(false))
           .subscribe(requestUnbounded());
     } catch (Exception e) {
+      executing.set(false);
       muleContext.getExceptionListener().handleException(e);
     }
   }
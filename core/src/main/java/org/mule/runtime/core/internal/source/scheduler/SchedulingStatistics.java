@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.source.scheduler;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics about the executions of a scheduled source.
+ * <p>
+ * The skew of an execution is measured from the moment it was due until its job actually started running. An execution is
+ * skipped when it was due while the previous one was still running, or when the scheduler fell behind by more than a whole
+ * period.
+ *
+ * @since 4.2
+ */
+public final class SchedulingStatistics {
+
+  private final LongAdder executions = new LongAdder();
+  private final LongAdder skippedExecutions = new LongAdder();
+  private final LongAdder skewedExecutions = new LongAdder();
+  private final LongAdder totalSkewMillis = new LongAdder();
+  private final AtomicLong maxSkewMillis = new AtomicLong();
+
+  /**
+   * Accounts for an execution that ran.
+   */
+  public void onExecution() {
+    executions.increment();
+  }
+
+  /**
+   * Accounts for executions that were due but did not run.
+   *
+   * @param count the amount of skipped executions
+   */
+  public void onSkipped(long count) {
+    skippedExecutions.add(count);
+  }
+
+  /**
+   * Accounts for the delay of an execution.
+   *
+   * @param skewMillis the time, in milliseconds, between the moment the execution was due and the moment it started
+   */
+  public void onSkew(long skewMillis) {
+    skewedExecutions.increment();
+    totalSkewMillis.add(skewMillis);
+    long max = maxSkewMillis.get();
+    while (skewMillis > max && !maxSkewMillis.compareAndSet(max, skewMillis)) {
+      max = maxSkewMillis.get();
+    }
+  }
+
+  /**
+   * @return the amount of executions that actually ran
+   */
+  public long getExecutions() {
+    return executions.sum();
+  }
+
+  /**
+   * @return the amount of executions that were due but did not run
+   */
+  public long getSkippedExecutions() {
+    return skippedExecutions.sum();
+  }
+
+  /**
+   * @return the maximum time, in milliseconds, an execution started after it was due
+   */
+  public long getMaxSkewMillis() {
+    return maxSkewMillis.get();
+  }
+
+  /**
+   * @return the average time, in milliseconds, executions started after they were due
+   */
+  public long getAverageSkewMillis() {
+    long count = skewedExecutions.sum();
+    return count == 0 ? 0 : totalSkewMillis.sum() / count;
+  }
+
+  @Override
+  public String toString() {
+    return "executions: " + getExecutions() + ", skipped: " + getSkippedExecutions() + ", average skew: "
+        + getAverageSkewMillis() + " ms, max skew: " + getMaxSkewMillis() + " ms";
+  }
+}
@@ -0,0 +1,386 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.source.scheduler;
+
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Math.max;
+import static java.lang.System.currentTimeMillis;
+import static java.util.TimeZone.getDefault;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.source.scheduler.CronScheduler;
+import org.mule.runtime.core.api.source.scheduler.FixedFrequencyScheduler;
+import org.mule.runtime.core.internal.util.timer.HashedTimerWheel;
+import org.mule.runtime.core.internal.util.timer.HashedTimerWheel.Timeout;
+
+import org.slf4j.Logger;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Schedules the jobs of the scheduled sources of an artifact from a single timer, instead of registering a periodic task for
+ * each source.
+ * <p>
+ * Fixed-frequency jobs are tracked in a {@link HashedTimerWheel} expired by one timer task per artifact. Instead of running
+ * periodically, that task is scheduled for the earliest deadline in the wheel, so the timer stays idle between the executions
+ * of the jobs, and while there are no fixed-frequency jobs at all. Cron jobs with the
+ * same expression and time zone share a single cron registration, so their simultaneous fires are coalesced into one wake-up.
+ * In both cases the due jobs are only dispatched to the executor of their source, so the timer thread never runs them.
+ * <p>
+ * As with a periodic task, a job is never run concurrently with itself: executions that are due while the previous one is still
+ * running are skipped. The skew and skipped executions of each job are reported to its {@link SchedulingStatistics}.
+ * <p>
+ * Consolidated scheduling is disabled unless the {@link #CONSOLIDATED_SCHEDULING_PROPERTY} system property is set.
+ *
+ * @since 4.2
+ */
+public final class SourceSchedulingEngine {
+
+  /**
+   * Enables scheduling the jobs of the scheduled sources of each artifact from a single timer.
+   */
+  public static final String CONSOLIDATED_SCHEDULING_PROPERTY = SYSTEM_PROPERTY_PREFIX + "scheduler.consolidated";
+
+  static final long TICK_MILLIS = 10;
+  private static final int WHEEL_SIZE = 512;
+
+  private static final Logger LOGGER = getLogger(SourceSchedulingEngine.class);
+
+  private static final Map<MuleContext, SourceSchedulingEngine> ENGINES = new HashMap<>();
+
+  private final MuleContext muleContext;
+  private final HashedTimerWheel<FixedRateJob> wheel = new HashedTimerWheel<>(TICK_MILLIS, WHEEL_SIZE);
+  private final Map<String, CronGroup> cronGroups = new HashMap<>();
+
+  // Guarded by ENGINES
+  private int references;
+
+  private final Object tickLock = new Object();
+  // Created while holding ENGINES, discarded while also holding tickLock so no tick is scheduled on a stopped timer
+  private volatile Scheduler timer;
+  // Guarded by tickLock
+  private ScheduledFuture<?> nextTick;
+  private long nextTickMillis = Long.MAX_VALUE;
+
+  private SourceSchedulingEngine(MuleContext muleContext) {
+    this.muleContext = muleContext;
+  }
+
+  /**
+   * @return {@code true} if the jobs of scheduled sources must be scheduled through this engine, {@code false} otherwise.
+   */
+  public static boolean isConsolidatedSchedulingEnabled() {
+    return getBoolean(CONSOLIDATED_SCHEDULING_PROPERTY);
+  }
+
+  /**
+   * @param scheduler the scheduling strategy of a source
+   * @return {@code true} if jobs with the given strategy can be scheduled through this engine, {@code false} otherwise.
+   */
+  public static boolean isSupported(org.mule.runtime.core.api.source.scheduler.Scheduler scheduler) {
+    if (scheduler instanceof FixedFrequencyScheduler) {
+      FixedFrequencyScheduler fixedFrequency = (FixedFrequencyScheduler) scheduler;
+      // Frequencies finer than the resolution of the timer keep their own periodic task
+      return fixedFrequency.getTimeUnit().toMillis(fixedFrequency.getFrequency()) >= TICK_MILLIS;
+    }
+    return scheduler instanceof CronScheduler;
+  }
+
+  /**
+   * Schedules the job of a source with the timer of its artifact.
+   *
+   * @param muleContext the context of the artifact owning the source. Non null.
+   * @param scheduler the scheduling strategy of the source. Must be {@link #isSupported supported}.
+   * @param executor the executor the job is dispatched to when due. Non null.
+   * @param job the job to run. Non null.
+   * @param statistics the statistics to report the executions of the job to. Non null.
+   * @return a handle to cancel the job.
+   */
+  public static ScheduledJob schedule(MuleContext muleContext, org.mule.runtime.core.api.source.scheduler.Scheduler scheduler,
+                                      Executor executor, Runnable job, SchedulingStatistics statistics) {
+    checkArgument(isSupported(scheduler), "Unsupported scheduler: " + scheduler);
+
+    SourceSchedulingEngine engine = acquire(muleContext);
+    try {
+      if (scheduler instanceof FixedFrequencyScheduler) {
+        return engine.scheduleFixedRate((FixedFrequencyScheduler) scheduler, executor, job, statistics);
+      } else {
+        return engine.scheduleCron((CronScheduler) scheduler, executor, job, statistics);
+      }
+    } catch (RuntimeException e) {
+      release(engine);
+      throw e;
+    }
+  }
+
+  private static SourceSchedulingEngine acquire(MuleContext muleContext) {
+    synchronized (ENGINES) {
+      SourceSchedulingEngine engine = ENGINES.computeIfAbsent(muleContext, SourceSchedulingEngine::new);
+      if (engine.references++ == 0) {
+        engine.startTimer();
+      }
+      return engine;
+    }
+  }
+
+  private static void release(SourceSchedulingEngine engine) {
+    synchronized (ENGINES) {
+      if (--engine.references == 0) {
+        ENGINES.remove(engine.muleContext);
+        engine.stopTimer();
+      }
+    }
+  }
+
+  private void startTimer() {
+    timer = muleContext.getSchedulerService()
+        .customScheduler(muleContext.getSchedulerBaseConfig().withName("source-scheduling-engine")
+            .withMaxConcurrentTasks(1).withShutdownTimeout(0, MILLISECONDS));
+  }
+
+  private void stopTimer() {
+    Scheduler stoppedTimer;
+    synchronized (tickLock) {
+      stoppedTimer = timer;
+      timer = null;
+      nextTick = null;
+      nextTickMillis = Long.MAX_VALUE;
+    }
+    stoppedTimer.stop();
+  }
+
+  /*
+   * Makes sure the wheel is expired by 'deadline', scheduling the tick earlier if needed. A tick already scheduled for a later
+   * time is cancelled, ticks are never run concurrently since the timer has a single thread.
+   */
+  private void requestTick(long deadline) {
+    synchronized (tickLock) {
+      if (timer == null || deadline >= nextTickMillis) {
+        return;
+      }
+      if (nextTick != null) {
+        nextTick.cancel(false);
+      }
+      try {
+        nextTick = timer.schedule(this::tick, max(0, deadline - currentTimeMillis()), MILLISECONDS);
+        nextTickMillis = deadline;
+      } catch (RejectedExecutionException e) {
+        // The timer is being stopped
+        nextTick = null;
+        nextTickMillis = Long.MAX_VALUE;
+      }
+    }
+  }
+
+  private void tick() {
+    synchronized (tickLock) {
+      // This is the scheduled tick running, jobs scheduled from now on request one of their own
+      nextTick = null;
+      nextTickMillis = Long.MAX_VALUE;
+    }
+
+    try {
+      long now = currentTimeMillis();
+      wheel.expire(now, job -> job.onDue(now));
+    } catch (Throwable t) {
+      LOGGER.error("Error dispatching scheduled sources", t);
+    }
+
+    // Reached even if dispatching failed, otherwise every source of the artifact would be left unscheduled
+    long next = wheel.nextDeadline();
+    if (next >= 0) {
+      requestTick(next);
+    }
+  }
+
+  private ScheduledJob scheduleFixedRate(FixedFrequencyScheduler scheduler, Executor executor, Runnable job,
+                                         SchedulingStatistics statistics) {
+    long periodMillis = scheduler.getTimeUnit().toMillis(scheduler.getFrequency());
+    long startDelayMillis = scheduler.getTimeUnit().toMillis(scheduler.getStartDelay());
+
+    FixedRateJob fixedRateJob = new FixedRateJob(executor, job, statistics, periodMillis);
+    fixedRateJob.scheduleAt(currentTimeMillis() + startDelayMillis);
+    return fixedRateJob;
+  }
+
+  private ScheduledJob scheduleCron(CronScheduler scheduler, Executor executor, Runnable job, SchedulingStatistics statistics) {
+    TimeZone timeZone = scheduler.getTimeZone() == null ? getDefault() : TimeZone.getTimeZone(scheduler.getTimeZone());
+    String key = scheduler.getExpression() + "@" + timeZone.getID();
+
+    synchronized (cronGroups) {
+      CronGroup group = cronGroups.get(key);
+      if (group == null) {
+        group = new CronGroup(key);
+        group.future = timer.scheduleWithCronExpression(group::fire, scheduler.getExpression(), timeZone);
+        cronGroups.put(key, group);
+      }
+
+      CronJob cronJob = new CronJob(executor, job, statistics, group);
+      group.jobs.add(cronJob);
+      return cronJob;
+    }
+  }
+
+  /**
+   * The handle to a job scheduled by a {@link SourceSchedulingEngine}.
+   */
+  @FunctionalInterface
+  public interface ScheduledJob {
+
+    /**
+     * Stops scheduling the job. An execution already dispatched is not interrupted.
+     */
+    void cancel();
+  }
+
+  private abstract class AbstractScheduledJob implements ScheduledJob {
+
+    private final Executor executor;
+    private final Runnable job;
+    protected final SchedulingStatistics statistics;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    protected AbstractScheduledJob(Executor executor, Runnable job, SchedulingStatistics statistics) {
+      this.executor = executor;
+      this.job = job;
+      this.statistics = statistics;
+    }
+
+    protected void dispatch(long dueMillis) {
+      if (!running.compareAndSet(false, true)) {
+        statistics.onSkipped(1);
+        return;
+      }
+
+      try {
+        executor.execute(() -> {
+          try {
+            statistics.onSkew(max(0, currentTimeMillis() - dueMillis));
+            job.run();
+          } finally {
+            running.set(false);
+          }
+        });
+      } catch (RejectedExecutionException e) {
+        running.set(false);
+        statistics.onSkipped(1);
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("Scheduled execution rejected by the executor of the source", e);
+        }
+      }
+    }
+
+    protected boolean isCancelled() {
+      return cancelled.get();
+    }
+
+    @Override
+    public void cancel() {
+      if (cancelled.compareAndSet(false, true)) {
+        doCancel();
+        release(SourceSchedulingEngine.this);
+      }
+    }
+
+    protected abstract void doCancel();
+  }
+
+  private final class FixedRateJob extends AbstractScheduledJob {
+
+    private final long periodMillis;
+    private volatile Timeout<FixedRateJob> timeout;
+    // Only accessed from the timer, after being initialized
+    private long deadline;
+
+    private FixedRateJob(Executor executor, Runnable job, SchedulingStatistics statistics, long periodMillis) {
+      super(executor, job, statistics);
+      this.periodMillis = periodMillis;
+    }
+
+    private void scheduleAt(long deadline) {
+      this.deadline = deadline;
+      this.timeout = wheel.schedule(this, deadline);
+      requestTick(deadline);
+    }
+
+    private void onDue(long now) {
+      if (isCancelled()) {
+        return;
+      }
+
+      // Executions missed because the timer fell behind are skipped, as a periodic task does
+      long missed = max(0, (now - deadline) / periodMillis);
+      if (missed > 0) {
+        statistics.onSkipped(missed);
+      }
+      long dueMillis = deadline + missed * periodMillis;
+      scheduleAt(dueMillis + periodMillis);
+      dispatch(dueMillis);
+    }
+
+    @Override
+    protected void doCancel() {
+      timeout.cancel();
+    }
+  }
+
+  private final class CronJob extends AbstractScheduledJob {
+
+    private final CronGroup group;
+
+    private CronJob(Executor executor, Runnable job, SchedulingStatistics statistics, CronGroup group) {
+      super(executor, job, statistics);
+      this.group = group;
+    }
+
+    @Override
+    protected void doCancel() {
+      synchronized (cronGroups) {
+        group.jobs.remove(this);
+        if (group.jobs.isEmpty()) {
+          group.future.cancel(false);
+          cronGroups.remove(group.key);
+        }
+      }
+    }
+  }
+
+  /**
+   * The jobs sharing a cron registration.
+   */
+  private final class CronGroup {
+
+    private final String key;
+    private final List<CronJob> jobs = new CopyOnWriteArrayList<>();
+    private ScheduledFuture<?> future;
+
+    private CronGroup(String key) {
+      this.key = key;
+    }
+
+    private void fire() {
+      long now = currentTimeMillis();
+      for (CronJob job : jobs) {
+        job.dispatch(now);
+      }
+    }
+  }
+}
@@ -6,9 +6,16 @@
  */
 package org.mule.runtime.core.internal.streaming;
 
+import static java.util.concurrent.ConcurrentHashMap.newKeySet;
+import static java.util.concurrent.atomic.AtomicReferenceFieldUpdater.newUpdater;
+
+import org.mule.runtime.api.streaming.Cursor;
 import org.mule.runtime.api.streaming.CursorProvider;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
 /**
  * Groups a {@link CursorProvider} with information about its context
  *
@@ -16,8 +23,14 @@ import org.mule.runtime.core.privileged.event.BaseEventContext;
  */
 public final class CursorContext {
 
+  private static final AtomicReferenceFieldUpdater<CursorContext, Set> OPEN_CURSORS_UPDATER =
+      newUpdater(CursorContext.class, Set.class, "openCursors");
+
   private final CursorProvider cursorProvider;
   private final BaseEventContext ownerContext;
+  private final EventStreamingState streamingState;
+
+  private volatile Set<Cursor> openCursors;
 
   /**
    * Creates a new instance
@@ -26,8 +39,13 @@ public final class CursorContext {
    * @param ownerContext   the {@link BaseEventContext} which owns the {@code cursorProvider}
    */
   public CursorContext(CursorProvider cursorProvider, BaseEventContext ownerContext) {
+    this(cursorProvider, ownerContext, null);
+  }
+
+  CursorContext(CursorProvider cursorProvider, BaseEventContext ownerContext, EventStreamingState streamingState) {
     this.cursorProvider = cursorProvider;
     this.ownerContext = ownerContext;
+    this.streamingState = streamingState;
   }
 
   /**
@@ -43,4 +61,25 @@ public final class CursorContext {
   public BaseEventContext getOwnerContext() {
     return ownerContext;
   }
+
+  /**
+   * @return the {@link EventStreamingState} tracking the {@code cursorProvider}
+   */
+  EventStreamingState getStreamingState() {
+    return streamingState;
+  }
+
+  /**
+   * @return the cursors opened by the {@code cursorProvider} which are still open. Allocated on first use.
+   */
+  Set<Cursor> getOpenCursors() {
+    Set<Cursor> cursors = openCursors;
+    if (cursors == null) {
+      cursors = newKeySet();
+      if (!OPEN_CURSORS_UPDATER.compareAndSet(this, null, cursors)) {
+        cursors = openCursors;
+      }
+    }
+    return cursors;
+  }
 }
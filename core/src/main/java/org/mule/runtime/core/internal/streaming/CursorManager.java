@@ -6,7 +6,6 @@
  */
 package org.mule.runtime.core.internal.streaming;
 
-import static java.util.Collections.newSetFromMap;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 
 import org.mule.runtime.api.exception.MuleRuntimeException;
@@ -15,46 +14,27 @@ import org.mule.runtime.api.streaming.Cursor;
 import org.mule.runtime.api.streaming.CursorProvider;
 import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
 import org.mule.runtime.api.streaming.object.CursorIteratorProvider;
-import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.internal.streaming.bytes.ManagedCursorStreamProvider;
 import org.mule.runtime.core.internal.streaming.object.ManagedCursorIteratorProvider;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
-import com.google.common.cache.RemovalListener;
-import com.google.common.cache.RemovalNotification;
-
-import java.util.Collection;
-import java.util.Set;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Keeps track of active {@link Cursor cursors} and their {@link CursorProvider providers}
+ * <p>
+ * The tracked resources of each event are kept in an {@link EventStreamingState} which is attached to the root event context
+ * itself when it is a {@link StreamingStateHolder}, so tracking them doesn't go through any global structure.
  *
  * @since 4.0
  */
 public class CursorManager {
 
-  private static Logger LOGGER = LoggerFactory.getLogger(CursorManager.class);
-
-  private final LoadingCache<String, EventStreamingState> registry =
-      CacheBuilder.newBuilder()
-          .removalListener((RemovalNotification<String, EventStreamingState> notification) -> notification.getValue().dispose())
-          .build(new CacheLoader<String, EventStreamingState>() {
-
-            @Override
-            public EventStreamingState load(String key) throws Exception {
-              return new EventStreamingState();
-            }
-          });
+  /**
+   * States of the contexts which can't hold their own. Only used for contexts not created by the runtime.
+   */
+  private final Map<BaseEventContext, EventStreamingState> detachedStates = new ConcurrentHashMap<>();
 
   private final MutableStreamingStatistics statistics;
   private final Scheduler disposalScheduler;
@@ -79,10 +59,11 @@ public class CursorManager {
    * @return a {@link CursorContext}
    */
   public CursorProvider manage(CursorProvider provider, BaseEventContext ownerContext) {
-    registerEventContext(ownerContext);
-    registry.getUnchecked(ownerContext.getId()).addProvider(provider);
+    CursorContext context;
+    do {
+      context = new CursorContext(provider, ownerContext, getStreamingState(ownerContext));
+    } while (!context.getStreamingState().addProvider(context));
 
-    final CursorContext context = new CursorContext(provider, ownerContext);
     if (provider instanceof CursorStreamProvider) {
       return new ManagedCursorStreamProvider(context, this);
     } else if (provider instanceof CursorIteratorProvider) {
@@ -99,7 +80,7 @@ public class CursorManager {
    * @param providerHandle the handle for the provider that generated it
    */
   public void onOpen(Cursor cursor, CursorContext providerHandle) {
-    registry.getUnchecked(providerHandle.getOwnerContext().getId()).addCursor(providerHandle.getCursorProvider(), cursor);
+    providerHandle.getStreamingState().addCursor(providerHandle, cursor);
     statistics.incrementOpenCursors();
   }
 
@@ -111,105 +92,52 @@ public class CursorManager {
    * @param handle the handle for the provider that generated it
    */
   public void onClose(Cursor cursor, CursorContext handle) {
-    final String eventId = handle.getOwnerContext().getId();
-    EventStreamingState state = registry.getIfPresent(eventId);
-
-    if (state != null && state.removeCursor(handle.getCursorProvider(), cursor)) {
-      registry.invalidate(eventId);
-    }
-  }
-
-  private void terminated(BaseEventContext rootContext) {
-    EventStreamingState state = registry.getIfPresent(rootContext.getId());
-    if (state != null) {
-      registry.invalidate(rootContext.getId());
-    }
+    handle.getStreamingState().removeCursor(handle, cursor);
   }
 
   /**
-   * Duplicate registration will occur if cursors are opened in multiple child flows or processing branches. This means terminate
-   * will fire multiple times sequentially during completion of the parent EventContext. After the first terminate all other
-   * invocation will literally be no-ops. This is preferred to introducing contention here given multiple thread may be opening
-   * cursors concurrently.
+   * Provides the current {@link EventStreamingState} for the given {@code context}, creating a new one if it has none or the
+   * current one was already disposed.
+   * <p>
+   * Each created state is disposed when the context terminates. If the context is already terminated, the callback is invoked
+   * right away.
    */
-  private void registerEventContext(BaseEventContext eventContext) {
-    eventContext.onTerminated((response, throwable) -> terminated(eventContext));
-  }
-
-  private class EventStreamingState {
-
-    private AtomicBoolean disposed = new AtomicBoolean(false);
-    private AtomicInteger cursorCount = new AtomicInteger(0);
-
-    private final LoadingCache<CursorProvider, Set<Cursor>> cursors = CacheBuilder.newBuilder()
-        .removalListener((RemovalListener<CursorProvider, Set<Cursor>>) notification -> {
-          try {
-            closeProvider(notification.getKey());
-            releaseAll(notification.getValue());
-          } finally {
-            notification.getKey().releaseResources();
-          }
-        })
-        .build(new CacheLoader<CursorProvider, Set<Cursor>>() {
-
-          @Override
-          public Set<Cursor> load(CursorProvider key) throws Exception {
-            statistics.incrementOpenProviders();
-            return newSetFromMap(new ConcurrentHashMap<>());
-          }
-        });
-
-    private synchronized void addProvider(CursorProvider adapter) {
-      cursors.getUnchecked(adapter);
-    }
-
-    private void addCursor(CursorProvider provider, Cursor cursor) {
-      cursors.getUnchecked(provider).add(cursor);
-      cursorCount.incrementAndGet();
-    }
-
-    private boolean removeCursor(CursorProvider provider, Cursor cursor) {
-      Set<Cursor> openCursors = cursors.getUnchecked(provider);
-      if (openCursors.remove(cursor)) {
-        statistics.decrementOpenCursors();
-        if (cursorCount.decrementAndGet() <= 0 && provider.isClosed()) {
-          dispose();
-          return true;
-        }
-      }
-
-      return false;
+  private EventStreamingState getStreamingState(BaseEventContext context) {
+    if (!(context instanceof StreamingStateHolder)) {
+      return getDetachedStreamingState(context);
     }
 
-    private void dispose() {
-      if (disposed.compareAndSet(false, true)) {
-        try {
-          disposalScheduler.execute(() -> {
-            cursors.invalidateAll();
-          });
-        } catch (RejectedExecutionException e) {
-          // If the Scheduler is busy and can't accept the task, we perform it in the current thread.
-          cursors.invalidateAll();
-        }
+    StreamingStateHolder holder = (StreamingStateHolder) context;
+    EventStreamingState state = holder.getStreamingState();
+    while (state == null || state.isDisposed()) {
+      EventStreamingState newState = new EventStreamingState(statistics, disposalScheduler);
+      if (holder.compareAndSetStreamingState(state, newState)) {
+        context.onTerminated((response, throwable) -> newState.dispose());
+        return newState;
       }
+      state = holder.getStreamingState();
     }
 
-    private void releaseAll(Collection<Cursor> cursors) {
-      cursors.forEach(cursor -> {
-        try {
-          cursor.release();
-          statistics.decrementOpenCursors();
-        } catch (Exception e) {
-          LOGGER.warn("Exception was found trying to close cursor. Execution will continue", e);
-        }
-      });
-    }
+    return state;
+  }
 
-    private void closeProvider(CursorProvider provider) {
-      if (!provider.isClosed()) {
-        provider.close();
-        statistics.decrementOpenProviders();
+  private EventStreamingState getDetachedStreamingState(BaseEventContext context) {
+    EventStreamingState state = detachedStates.get(context);
+    while (state == null || state.isDisposed()) {
+      EventStreamingState newState = new EventStreamingState(statistics, disposalScheduler);
+      boolean replaced = state == null
+          ? detachedStates.putIfAbsent(context, newState) == null
+          : detachedStates.replace(context, state, newState);
+      if (replaced) {
+        context.onTerminated((response, throwable) -> {
+          newState.dispose();
+          detachedStates.remove(context, newState);
+        });
+        return newState;
       }
+      state = detachedStates.get(context);
     }
+
+    return state;
   }
 }
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming;
+
+import static java.util.concurrent.atomic.AtomicReferenceFieldUpdater.newUpdater;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.streaming.Cursor;
+import org.mule.runtime.api.streaming.CursorProvider;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Keeps track of the {@link CursorProvider providers} managed for a root event context, and of the {@link Cursor cursors} they
+ * opened, so that all of them can be released once the event is done with them.
+ * <p>
+ * Providers are kept in a lock-free stack. Once disposed, the stack is sealed and no more providers can be added to this state,
+ * so a new one has to be created for the context.
+ *
+ * @since 4.2
+ */
+public final class EventStreamingState {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(EventStreamingState.class);
+
+  private static final AtomicReferenceFieldUpdater<EventStreamingState, ProviderNode> PROVIDERS_UPDATER =
+      newUpdater(EventStreamingState.class, ProviderNode.class, "providers");
+
+  /**
+   * Head of the stack of a disposed state.
+   */
+  private static final ProviderNode DISPOSED = new ProviderNode(null, null);
+
+  private final MutableStreamingStatistics statistics;
+  private final Scheduler disposalScheduler;
+  private final AtomicInteger cursorCount = new AtomicInteger(0);
+
+  private volatile ProviderNode providers;
+
+  EventStreamingState(MutableStreamingStatistics statistics, Scheduler disposalScheduler) {
+    this.statistics = statistics;
+    this.disposalScheduler = disposalScheduler;
+  }
+
+  /**
+   * Starts tracking the provider of the given {@code context}.
+   *
+   * @return {@code false} if this state was already disposed and the provider was not added.
+   */
+  boolean addProvider(CursorContext context) {
+    ProviderNode head;
+    ProviderNode node = new ProviderNode(context, null);
+    do {
+      head = providers;
+      if (head == DISPOSED) {
+        return false;
+      }
+      node.next = head;
+    } while (!PROVIDERS_UPDATER.compareAndSet(this, head, node));
+
+    statistics.incrementOpenProviders();
+    return true;
+  }
+
+  void addCursor(CursorContext context, Cursor cursor) {
+    context.getOpenCursors().add(cursor);
+    cursorCount.incrementAndGet();
+  }
+
+  /**
+   * Stops tracking the given {@code cursor}, disposing this state if it was the last open cursor and its provider is closed.
+   */
+  void removeCursor(CursorContext context, Cursor cursor) {
+    if (context.getOpenCursors().remove(cursor)) {
+      statistics.decrementOpenCursors();
+      if (cursorCount.decrementAndGet() <= 0 && context.getCursorProvider().isClosed()) {
+        dispose();
+      }
+    }
+  }
+
+  /**
+   * @return whether this state was already disposed
+   */
+  boolean isDisposed() {
+    return providers == DISPOSED;
+  }
+
+  /**
+   * Closes and releases all the tracked providers and their open cursors. Only the first invocation has any effect.
+   */
+  void dispose() {
+    ProviderNode head = PROVIDERS_UPDATER.getAndSet(this, DISPOSED);
+    if (head == DISPOSED) {
+      return;
+    }
+
+    try {
+      disposalScheduler.execute(() -> releaseAll(head));
+    } catch (RejectedExecutionException e) {
+      // If the Scheduler is busy and can't accept the task, we perform it in the current thread.
+      releaseAll(head);
+    }
+  }
+
+  private void releaseAll(ProviderNode head) {
+    for (ProviderNode node = head; node != null; node = node.next) {
+      CursorProvider provider = node.context.getCursorProvider();
+      try {
+        closeProvider(provider);
+        releaseCursors(node.context);
+      } finally {
+        provider.releaseResources();
+      }
+    }
+  }
+
+  private void releaseCursors(CursorContext context) {
+    context.getOpenCursors().forEach(cursor -> {
+      try {
+        cursor.release();
+        statistics.decrementOpenCursors();
+      } catch (Exception e) {
+        LOGGER.warn("Exception was found trying to close cursor. Execution will continue", e);
+      }
+    });
+  }
+
+  private void closeProvider(CursorProvider provider) {
+    if (!provider.isClosed()) {
+      provider.close();
+      statistics.decrementOpenProviders();
+    }
+  }
+
+  private static final class ProviderNode {
+
+    private final CursorContext context;
+    private ProviderNode next;
+
+    private ProviderNode(CursorContext context, ProviderNode next) {
+      this.context = context;
+      this.next = next;
+    }
+  }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming;
+
+import org.mule.runtime.core.privileged.event.BaseEventContext;
+
+/**
+ * A {@link BaseEventContext} which can hold the {@link EventStreamingState} of the streaming resources it owns, so that the
+ * {@link CursorManager} doesn't need to keep them in a global registry.
+ *
+ * @since 4.2
+ */
+public interface StreamingStateHolder {
+
+  /**
+   * @return the current {@link EventStreamingState}, or {@code null} if none was set yet.
+   */
+  EventStreamingState getStreamingState();
+
+  /**
+   * Atomically sets the {@link EventStreamingState} to {@code update} if the current one is {@code expected}.
+   *
+   * @param expected the expected current state
+   * @param update the new state
+   * @return {@code true} if the state was updated
+   */
+  boolean compareAndSetStreamingState(EventStreamingState expected, EventStreamingState update);
+}
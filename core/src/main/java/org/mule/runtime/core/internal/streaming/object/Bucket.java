@@ -39,6 +39,18 @@ public class Bucket<T> {
     this.items = new ArrayList<>(capacity);
   }
 
+  /**
+   * Creates a new full instance holding the given {@code items}
+   *
+   * @param index the bucket's index.
+   * @param items the bucket's items.
+   */
+  Bucket(int index, List<T> items) {
+    this.index = index;
+    this.capacity = items.size();
+    this.items = items;
+  }
+
   /**
    * Obtains the value that was added at the given {@code index} through the {@link #add(Object)} method.
    * If no such value was added, it will return an empty value.
@@ -61,6 +73,13 @@ public class Bucket<T> {
     return index == position.getBucketIndex() && position.getItemIndex() < items.size();
   }
 
+  /**
+   * @return the items added to {@code this} bucket
+   */
+  List<T> getItems() {
+    return items;
+  }
+
   /**
    * @return {@code this} bucket's index
    */
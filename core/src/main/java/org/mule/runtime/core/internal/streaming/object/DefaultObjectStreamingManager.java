@@ -6,10 +6,13 @@
  */
 package org.mule.runtime.core.internal.streaming.object;
 
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.core.internal.streaming.object.factory.FileStoreCursorIteratorProviderFactory;
 import org.mule.runtime.core.internal.streaming.object.factory.InMemoryCursorIteratorProviderFactory;
 import org.mule.runtime.core.internal.streaming.object.factory.NullCursorIteratorProviderFactory;
 import org.mule.runtime.core.api.streaming.StreamingManager;
 import org.mule.runtime.core.api.streaming.object.CursorIteratorProviderFactory;
+import org.mule.runtime.core.api.streaming.object.FileStoreCursorIteratorConfig;
 import org.mule.runtime.core.api.streaming.object.InMemoryCursorIteratorConfig;
 import org.mule.runtime.core.api.streaming.object.ObjectStreamingManager;
 
@@ -21,9 +24,22 @@ import org.mule.runtime.core.api.streaming.object.ObjectStreamingManager;
 public class DefaultObjectStreamingManager implements ObjectStreamingManager {
 
   protected final StreamingManager streamingManager;
+  private final ObjectSerializer objectSerializer;
 
   public DefaultObjectStreamingManager(StreamingManager streamingManager) {
+    this(streamingManager, null);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param streamingManager the owning {@link StreamingManager}
+   * @param objectSerializer the {@link ObjectSerializer} used by the file store buffers
+   * @since 4.2
+   */
+  public DefaultObjectStreamingManager(StreamingManager streamingManager, ObjectSerializer objectSerializer) {
     this.streamingManager = streamingManager;
+    this.objectSerializer = objectSerializer;
   }
 
   /**
@@ -34,6 +50,17 @@ public class DefaultObjectStreamingManager implements ObjectStreamingManager {
     return new InMemoryCursorIteratorProviderFactory(config, streamingManager);
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public CursorIteratorProviderFactory getFileStoreCursorProviderFactory(FileStoreCursorIteratorConfig config) {
+    if (objectSerializer == null) {
+      throw new IllegalStateException("File store object streaming requires an ObjectSerializer");
+    }
+    return new FileStoreCursorIteratorProviderFactory(config, objectSerializer, streamingManager);
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.object;
+
+import static java.nio.ByteBuffer.allocate;
+import static java.nio.ByteBuffer.wrap;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Arrays.copyOf;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.apache.commons.io.FileUtils.deleteQuietly;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.internal.streaming.TempBufferFileUtils.createBufferFile;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.serialization.SerializationException;
+import org.mule.runtime.core.api.streaming.object.FileStoreCursorIteratorConfig;
+
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * An {@link AbstractObjectStreamBuffer} implementation which keeps a window with the most recent buckets in memory. When the
+ * window is full, its oldest bucket is serialized through an {@link ObjectSerializer} and appended to a temporal file.
+ * <p>
+ * The offset of each spilled bucket in the file is kept, so that any bucket can be read back when a cursor is repositioned.
+ * Buckets read from the file are not brought back into the window, each cursor holds the bucket it is reading from.
+ * <p>
+ * All buckets have the same size, and the items in the stream must be {@link Serializable}.
+ *
+ * @param <T> The generic type of the items in the stream
+ * @since 4.2
+ */
+public class FileStoreObjectStreamBuffer<T> extends AbstractObjectStreamBuffer<T> {
+
+  private static final Logger LOGGER = getLogger(FileStoreObjectStreamBuffer.class);
+
+  private static final int INITIAL_SPILLED_BUCKETS = 16;
+
+  private final FileStoreCursorIteratorConfig config;
+  private final ObjectSerializer objectSerializer;
+
+  private final List<Bucket<T>> inMemoryBuckets = new ArrayList<>();
+  private int firstInMemoryBucket = 0;
+
+  private File bufferFile;
+  private FileChannel fileChannel;
+  private long[] spilledOffsets = new long[INITIAL_SPILLED_BUCKETS];
+  private int[] spilledLengths = new int[INITIAL_SPILLED_BUCKETS];
+  private long fileSize = 0;
+
+  public FileStoreObjectStreamBuffer(Iterator<T> stream, FileStoreCursorIteratorConfig config,
+                                     ObjectSerializer objectSerializer) {
+    super(stream);
+    this.config = config;
+    this.objectSerializer = objectSerializer;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Position toPosition(long position) {
+    int bucketSize = config.getBucketSize();
+    return new Position((int) (position / bucketSize), (int) (position % bucketSize));
+  }
+
+  @Override
+  protected void initialize(Optional<Position> maxPosition, Bucket<T> initialBucket) {
+    initialBucket = new Bucket<>(0, config.getBucketSize());
+    inMemoryBuckets.add(initialBucket);
+    setCurrentBucket(initialBucket);
+  }
+
+  @Override
+  protected Optional<Bucket<T>> getPresentBucket(Position position) {
+    int index = position.getBucketIndex();
+    if (index >= firstInMemoryBucket) {
+      int windowIndex = index - firstInMemoryBucket;
+      return windowIndex < inMemoryBuckets.size() ? of(inMemoryBuckets.get(windowIndex)) : empty();
+    }
+
+    return of(readSpilledBucket(index));
+  }
+
+  @Override
+  protected Bucket<T> onBucketOverflow(Bucket<T> overflownBucket) {
+    Bucket<T> newBucket = new Bucket<>(overflownBucket.getIndex() + 1, config.getBucketSize());
+    inMemoryBuckets.add(newBucket);
+
+    if (inMemoryBuckets.size() > config.getMaxInMemoryBuckets()) {
+      spill(inMemoryBuckets.remove(0));
+      firstInMemoryBucket++;
+    }
+
+    return newBucket;
+  }
+
+  @Override
+  protected void validateMaxBufferSizeNotExceeded(int instancesCount) {
+    // Only bounded by the available disk space
+  }
+
+  private void spill(Bucket<T> bucket) {
+    byte[] bytes;
+    try {
+      bytes = objectSerializer.getInternalProtocol().serialize(bucket.getItems());
+    } catch (SerializationException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not serialize streamed items into buffer file. "
+          + "Only streams of Serializable items can be buffered into a file"), e);
+    }
+
+    try {
+      if (fileChannel == null) {
+        bufferFile = createBufferFile("object-stream");
+        fileChannel = FileChannel.open(bufferFile.toPath(), READ, WRITE);
+      }
+
+      ByteBuffer buffer = wrap(bytes);
+      long position = fileSize;
+      while (buffer.hasRemaining()) {
+        position += fileChannel.write(buffer, position);
+      }
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not write buffered items into file " + bufferFile), e);
+    }
+
+    int index = bucket.getIndex();
+    if (index >= spilledOffsets.length) {
+      spilledOffsets = copyOf(spilledOffsets, spilledOffsets.length * 2);
+      spilledLengths = copyOf(spilledLengths, spilledLengths.length * 2);
+    }
+    spilledOffsets[index] = fileSize;
+    spilledLengths[index] = bytes.length;
+    fileSize += bytes.length;
+  }
+
+  private Bucket<T> readSpilledBucket(int index) {
+    ByteBuffer buffer = allocate(spilledLengths[index]);
+    long position = spilledOffsets[index];
+    try {
+      while (buffer.hasRemaining()) {
+        int read = fileChannel.read(buffer, position + buffer.position());
+        if (read < 0) {
+          throw new IOException("Unexpected end of buffer file");
+        }
+      }
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not read buffered items from file " + bufferFile), e);
+    }
+
+    List<T> items = objectSerializer.getInternalProtocol().deserialize(buffer.array());
+    return new Bucket<>(index, items);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void doClose() {
+    inMemoryBuckets.clear();
+    if (fileChannel != null) {
+      try {
+        fileChannel.close();
+      } catch (IOException e) {
+        LOGGER.debug("Could not close buffer file " + bufferFile, e);
+      } finally {
+        deleteQuietly(bufferFile);
+      }
+    }
+  }
+}
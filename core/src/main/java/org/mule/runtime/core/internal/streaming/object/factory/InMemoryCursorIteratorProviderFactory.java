@@ -29,6 +29,14 @@ public class InMemoryCursorIteratorProviderFactory extends AbstractCursorIterato
     this.config = config;
   }
 
+  /**
+   * @return the config for the generated providers
+   * @since 4.2
+   */
+  public InMemoryCursorIteratorConfig getConfig() {
+    return config;
+  }
+
   /**
    * {@inheritDoc}
    *
@@ -0,0 +1,326 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util;
+
+import static java.lang.Integer.getInteger;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Runtime.getRuntime;
+import static java.lang.System.currentTimeMillis;
+import static java.nio.ByteBuffer.allocate;
+import static java.nio.channels.Channels.newChannel;
+import static java.nio.file.Files.copy;
+import static java.nio.file.Files.createLink;
+import static java.nio.file.StandardCopyOption.COPY_ATTRIBUTES;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Comparator.comparingLong;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.api.util.FileUtils.verifyZipFilePaths;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Extracts zip archives, writing their entries in parallel.
+ * <p>
+ * The entries are read once from the central directory of the archive, which is also when their paths are verified. Then the
+ * directories are created, and the files are written by several workers, each one reading from its own {@link ZipFile} and
+ * writing through a {@link FileChannel} with a buffer sized for the entries of the archive. Workers take the biggest entries
+ * first, so that a big entry does not delay the end of the extraction.
+ * <p>
+ * When a previous extraction of the same archive is given, the files in it whose size and CRC match their entry are linked (or
+ * copied, where links are not supported) into the target directory instead of being inflated and written again.
+ *
+ * @since 4.2
+ */
+public final class ArchiveExtractor {
+
+  /**
+   * Maximum number of threads writing the entries of an archive.
+   */
+  public static final String EXTRACTION_THREADS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "archive.extraction.threads";
+
+  private static final int EXTRACTION_THREADS =
+      getInteger(EXTRACTION_THREADS_PROPERTY, min(4, getRuntime().availableProcessors()));
+
+  // Below this, the cost of starting the workers is higher than what is saved by writing in parallel
+  private static final long MIN_PARALLEL_EXTRACTION_BYTES = 1024 * 1024;
+  private static final int MIN_BUFFER_SIZE = 8 * 1024;
+  private static final int MAX_BUFFER_SIZE = 256 * 1024;
+
+  private static final AtomicInteger threadCount = new AtomicInteger();
+
+  private ArchiveExtractor() {}
+
+  /**
+   * Extracts {@code archive} into {@code directory}.
+   *
+   * @param archive the archive to extract
+   * @param directory the target directory. It is created if it does not exist.
+   * @param verify whether to verify the paths of the entries before extracting them
+   * @return the statistics of the extraction
+   * @throws IOException if the archive could not be read or an entry could not be written
+   */
+  public static ExtractionResult extract(File archive, File directory, boolean verify) throws IOException {
+    return extract(archive, directory, verify, null);
+  }
+
+  /**
+   * Extracts {@code archive} into {@code directory}, reusing the unchanged files of a previous extraction.
+   *
+   * @param archive the archive to extract
+   * @param directory the target directory. It is created if it does not exist.
+   * @param verify whether to verify the paths of the entries before extracting them
+   * @param previousDirectory a previous extraction of the archive. Files in it are reused when they match their entry, and may
+   *        end up linked to the extracted ones, so it is meant to be discarded afterwards. May be {@code null}.
+   * @return the statistics of the extraction
+   * @throws IOException if the archive could not be read or an entry could not be written
+   */
+  public static ExtractionResult extract(File archive, File directory, boolean verify, File previousDirectory)
+      throws IOException {
+    final long startMillis = currentTimeMillis();
+
+    if (directory.exists()) {
+      if (!directory.isDirectory()) {
+        throw new IOException("Directory is not a directory: " + directory);
+      }
+    } else if (!directory.mkdirs()) {
+      throw new IOException("Could not create directory: " + directory);
+    }
+
+    final List<ZipEntry> fileEntries = new ArrayList<>();
+    long totalBytes = 0;
+    try (ZipFile zip = new ZipFile(archive)) {
+      if (verify) {
+        verifyZipFilePaths(zip);
+      }
+
+      for (Enumeration<? extends ZipEntry> entries = zip.entries(); entries.hasMoreElements();) {
+        ZipEntry entry = entries.nextElement();
+        File target = new File(directory, entry.getName());
+        if (entry.isDirectory()) {
+          if (!target.exists() && !target.mkdirs()) {
+            throw new IOException("Could not create directory: " + target);
+          }
+        } else {
+          File parent = target.getParentFile();
+          if (!parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Unable to create folders for zip entry: " + entry.getName());
+          }
+          fileEntries.add(entry);
+          totalBytes += max(0, entry.getSize());
+        }
+      }
+    }
+
+    fileEntries.sort(comparingLong(ZipEntry::getSize).reversed());
+    final int bufferSize = fileEntries.isEmpty() ? MIN_BUFFER_SIZE
+        : (int) min(MAX_BUFFER_SIZE, max(MIN_BUFFER_SIZE, fileEntries.get(0).getSize()));
+    final Extraction extraction = new Extraction(archive, directory, previousDirectory, fileEntries, bufferSize);
+
+    final int workers = totalBytes < MIN_PARALLEL_EXTRACTION_BYTES ? 1 : min(EXTRACTION_THREADS, fileEntries.size());
+    if (workers <= 1) {
+      extraction.run();
+    } else {
+      runInParallel(extraction, workers);
+    }
+
+    return new ExtractionResult(extraction.written.get(), extraction.reused.get(), extraction.bytesWritten.get(),
+                                currentTimeMillis() - startMillis);
+  }
+
+  private static void runInParallel(Extraction extraction, int workers) throws IOException {
+    final ExecutorService executor = Executors.newFixedThreadPool(workers, r -> {
+      Thread thread = new Thread(r, "archive.extractor." + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    try {
+      final List<Future<?>> futures = new ArrayList<>(workers);
+      for (int i = 0; i < workers; ++i) {
+        futures.add(executor.submit(() -> {
+          extraction.run();
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (ExecutionException e) {
+      // Make the other workers finish early
+      extraction.abort();
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException("Could not extract archive " + extraction.archive, e.getCause());
+    } catch (InterruptedException e) {
+      extraction.abort();
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while extracting archive " + extraction.archive, e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * The file entries of an archive to be written by one or more workers.
+   */
+  private static final class Extraction {
+
+    private final File archive;
+    private final File directory;
+    private final File previousDirectory;
+    private final List<ZipEntry> entries;
+    private final int bufferSize;
+
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicInteger reused = new AtomicInteger();
+    private final AtomicLong bytesWritten = new AtomicLong();
+
+    private Extraction(File archive, File directory, File previousDirectory, List<ZipEntry> entries, int bufferSize) {
+      this.archive = archive;
+      this.directory = directory;
+      this.previousDirectory = previousDirectory;
+      this.entries = entries;
+      this.bufferSize = bufferSize;
+    }
+
+    private void abort() {
+      next.set(entries.size());
+    }
+
+    private void run() throws IOException {
+      final ByteBuffer buffer = allocate(bufferSize);
+      try (ZipFile zip = new ZipFile(archive)) {
+        int index;
+        while ((index = next.getAndIncrement()) < entries.size()) {
+          ZipEntry entry = entries.get(index);
+          File target = new File(directory, entry.getName());
+          File previous = previousDirectory != null ? new File(previousDirectory, entry.getName()) : null;
+          if (previous != null && isUnchanged(previous, entry, buffer)) {
+            reuse(previous, target);
+            reused.incrementAndGet();
+          } else {
+            bytesWritten.addAndGet(write(zip, entry, target, buffer));
+            written.incrementAndGet();
+          }
+        }
+      }
+    }
+
+    private long write(ZipFile zip, ZipEntry entry, File target, ByteBuffer buffer) throws IOException {
+      long bytes = 0;
+      try (ReadableByteChannel in = newChannel(zip.getInputStream(entry));
+          FileChannel out = FileChannel.open(target.toPath(), CREATE, WRITE, TRUNCATE_EXISTING)) {
+        buffer.clear();
+        while (in.read(buffer) >= 0 || buffer.position() > 0) {
+          buffer.flip();
+          bytes += out.write(buffer);
+          buffer.compact();
+        }
+      }
+      return bytes;
+    }
+
+    private boolean isUnchanged(File previous, ZipEntry entry, ByteBuffer buffer) throws IOException {
+      if (entry.getCrc() == -1 || !previous.isFile() || previous.length() != entry.getSize()) {
+        return false;
+      }
+
+      CRC32 crc = new CRC32();
+      try (FileChannel in = FileChannel.open(previous.toPath(), READ)) {
+        buffer.clear();
+        while (in.read(buffer) >= 0) {
+          buffer.flip();
+          crc.update(buffer);
+          buffer.clear();
+        }
+      }
+      return crc.getValue() == entry.getCrc();
+    }
+
+    private void reuse(File previous, File target) throws IOException {
+      try {
+        // A link shares the content of the previous file without writing it again
+        createLink(target.toPath(), previous.toPath());
+      } catch (UnsupportedOperationException | IOException e) {
+        copy(previous.toPath(), target.toPath(), COPY_ATTRIBUTES);
+      }
+    }
+  }
+
+  /**
+   * Statistics of the extraction of an archive.
+   */
+  public static final class ExtractionResult {
+
+    private final int writtenFiles;
+    private final int reusedFiles;
+    private final long writtenBytes;
+    private final long elapsedMillis;
+
+    private ExtractionResult(int writtenFiles, int reusedFiles, long writtenBytes, long elapsedMillis) {
+      this.writtenFiles = writtenFiles;
+      this.reusedFiles = reusedFiles;
+      this.writtenBytes = writtenBytes;
+      this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * @return the number of files written
+     */
+    public int getWrittenFiles() {
+      return writtenFiles;
+    }
+
+    /**
+     * @return the number of files taken unchanged from a previous extraction instead of being written
+     */
+    public int getReusedFiles() {
+      return reusedFiles;
+    }
+
+    /**
+     * @return the number of bytes written
+     */
+    public long getWrittenBytes() {
+      return writtenBytes;
+    }
+
+    /**
+     * @return the time taken by the extraction, in milliseconds
+     */
+    public long getElapsedMillis() {
+      return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+      return "written: " + writtenFiles + " files (" + writtenBytes + " bytes), reused: " + reusedFiles + ", took: "
+          + elapsedMillis + "ms";
+    }
+  }
+}
@@ -0,0 +1,517 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util;
+
+import static java.lang.Character.toLowerCase;
+import static java.lang.Character.toUpperCase;
+import static java.lang.Integer.bitCount;
+import static java.lang.System.arraycopy;
+import static java.util.Objects.requireNonNull;
+
+import org.mule.runtime.core.api.util.CaseInsensitiveHashMap;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable {@link Map} with {@link String} keys whose case is not taken into account when looking for them, as in
+ * {@link CaseInsensitiveHashMap}.
+ * <p>
+ * Modified copies of a map are obtained through {@link #plus(String, Object)} and {@link #minus(String)}. Entries are kept in a
+ * hash array mapped trie whose nodes are shared between a map and its modified copies, so each of those operations only copies
+ * the O(log n) nodes in the path to the modified entry instead of the whole map.
+ * <p>
+ * When a key is replaced, the case of the key originally added is kept. All the {@link Map} mutator methods throw
+ * {@link UnsupportedOperationException}.
+ *
+ * @param <V> the type of the values of the map
+ * @since 4.2
+ */
+public final class CaseInsensitivePersistentMap<V> extends AbstractMap<String, V> implements Serializable {
+
+  private static final long serialVersionUID = -4520213532476843021L;
+
+  private static final int BITS = 5;
+  private static final int MASK = (1 << BITS) - 1;
+  private static final int MAX_SHIFT = 30;
+  private static final int MAX_DEPTH = MAX_SHIFT / BITS + 2;
+
+  private static final CaseInsensitivePersistentMap<?> EMPTY = new CaseInsensitivePersistentMap<>(null, 0);
+
+  private final Node root;
+  private final int size;
+
+  private transient Set<Entry<String, V>> entrySet;
+
+  private CaseInsensitivePersistentMap(Node root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  /**
+   * @param <V> the type of the values of the map
+   * @return an empty map
+   */
+  public static <V> CaseInsensitivePersistentMap<V> empty() {
+    return (CaseInsensitivePersistentMap<V>) EMPTY;
+  }
+
+  /**
+   * Provides a {@link CaseInsensitivePersistentMap} with the entries of the given {@code map}. If it already is a
+   * {@link CaseInsensitivePersistentMap}, it is returned as is.
+   *
+   * @param map the map to copy
+   * @param <V> the type of the values of the map
+   * @return a map with the same entries as {@code map}
+   */
+  public static <V> CaseInsensitivePersistentMap<V> copyOf(Map<String, ? extends V> map) {
+    if (map instanceof CaseInsensitivePersistentMap) {
+      return (CaseInsensitivePersistentMap<V>) map;
+    }
+
+    CaseInsensitivePersistentMap<V> copy = empty();
+    for (Entry<String, ? extends V> entry : map.entrySet()) {
+      copy = copy.plus(entry.getKey(), entry.getValue());
+    }
+    return copy;
+  }
+
+  /**
+   * Provides a copy of this map with the given entry added, or replacing the value of an existing key that matches {@code key}
+   * ignoring its case.
+   *
+   * @param key the key of the entry
+   * @param value the value of the entry
+   * @return a copy of this map with the given entry, or this same instance if it already had it
+   */
+  public CaseInsensitivePersistentMap<V> plus(String key, V value) {
+    requireNonNull(key);
+    int hash = hash(key);
+    if (root == null) {
+      return new CaseInsensitivePersistentMap<>(new BitmapNode(bit(hash, 0), new Object[] {new LeafEntry<>(key, value, hash)}),
+                                                1);
+    }
+
+    boolean[] added = new boolean[1];
+    Node newRoot = root.plus(new LeafEntry<>(key, value, hash), 0, added);
+    if (newRoot == root) {
+      return this;
+    }
+    return new CaseInsensitivePersistentMap<>(newRoot, added[0] ? size + 1 : size);
+  }
+
+  /**
+   * Provides a copy of this map without the entry whose key matches {@code key} ignoring its case.
+   *
+   * @param key the key of the entry to remove
+   * @return a copy of this map without the entry, or this same instance if it didn't have it
+   */
+  public CaseInsensitivePersistentMap<V> minus(String key) {
+    if (root == null || key == null) {
+      return this;
+    }
+
+    Node newRoot = root.minus(key, hash(key), 0);
+    if (newRoot == root) {
+      return this;
+    }
+    return newRoot == null ? empty() : new CaseInsensitivePersistentMap<>(newRoot, size - 1);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return find(key) != null;
+  }
+
+  @Override
+  public V get(Object key) {
+    LeafEntry<V> entry = find(key);
+    return entry != null ? entry.value : null;
+  }
+
+  private LeafEntry<V> find(Object key) {
+    if (root == null || !(key instanceof String)) {
+      return null;
+    }
+    String stringKey = (String) key;
+    return (LeafEntry<V>) root.find(stringKey, hash(stringKey), 0);
+  }
+
+  @Override
+  public Set<Entry<String, V>> entrySet() {
+    if (entrySet == null) {
+      entrySet = new AbstractSet<Entry<String, V>>() {
+
+        @Override
+        public Iterator<Entry<String, V>> iterator() {
+          return new EntryIterator<>(root);
+        }
+
+        @Override
+        public int size() {
+          return size;
+        }
+      };
+    }
+    return entrySet;
+  }
+
+  /**
+   * Calculates a hash of {@code key} consistent with {@link String#equalsIgnoreCase(String)}, without creating a new
+   * {@link String}.
+   */
+  private static int hash(String key) {
+    int hash = 0;
+    for (int i = 0; i < key.length(); ++i) {
+      hash = 31 * hash + toLowerCase(toUpperCase(key.charAt(i)));
+    }
+    return hash ^ (hash >>> 16);
+  }
+
+  private static int bit(int hash, int shift) {
+    return 1 << ((hash >>> shift) & MASK);
+  }
+
+  private static Node merge(LeafEntry<?> existing, LeafEntry<?> added, int shift) {
+    if (shift > MAX_SHIFT) {
+      return new CollisionNode(new LeafEntry[] {existing, added});
+    }
+
+    int existingBit = bit(existing.hash, shift);
+    int addedBit = bit(added.hash, shift);
+    if (existingBit == addedBit) {
+      return new BitmapNode(existingBit, new Object[] {merge(existing, added, shift + BITS)});
+    } else if (Integer.compareUnsigned(existingBit, addedBit) < 0) {
+      return new BitmapNode(existingBit | addedBit, new Object[] {existing, added});
+    } else {
+      return new BitmapNode(existingBit | addedBit, new Object[] {added, existing});
+    }
+  }
+
+  private interface Node extends Serializable {
+
+    LeafEntry<?> find(String key, int hash, int shift);
+
+    Node plus(LeafEntry<?> entry, int shift, boolean[] added);
+
+    Node minus(String key, int hash, int shift);
+
+    Object[] slots();
+  }
+
+  /**
+   * Node whose slots are either a {@link LeafEntry} or a child {@link Node}, indexed by the bits of the hash at its depth.
+   */
+  private static final class BitmapNode implements Node {
+
+    private static final long serialVersionUID = 2190440562637406045L;
+
+    private final int bitmap;
+    private final Object[] slots;
+
+    private BitmapNode(int bitmap, Object[] slots) {
+      this.bitmap = bitmap;
+      this.slots = slots;
+    }
+
+    private int index(int bit) {
+      return bitCount(bitmap & (bit - 1));
+    }
+
+    @Override
+    public LeafEntry<?> find(String key, int hash, int shift) {
+      int bit = bit(hash, shift);
+      if ((bitmap & bit) == 0) {
+        return null;
+      }
+
+      Object slot = slots[index(bit)];
+      if (slot instanceof Node) {
+        return ((Node) slot).find(key, hash, shift + BITS);
+      }
+      LeafEntry<?> entry = (LeafEntry<?>) slot;
+      return entry.matches(key, hash) ? entry : null;
+    }
+
+    @Override
+    public Node plus(LeafEntry<?> entry, int shift, boolean[] added) {
+      int bit = bit(entry.hash, shift);
+      int index = index(bit);
+
+      if ((bitmap & bit) == 0) {
+        Object[] newSlots = new Object[slots.length + 1];
+        arraycopy(slots, 0, newSlots, 0, index);
+        newSlots[index] = entry;
+        arraycopy(slots, index, newSlots, index + 1, slots.length - index);
+        added[0] = true;
+        return new BitmapNode(bitmap | bit, newSlots);
+      }
+
+      Object slot = slots[index];
+      Object newSlot;
+      if (slot instanceof Node) {
+        newSlot = ((Node) slot).plus(entry, shift + BITS, added);
+      } else {
+        LeafEntry<?> existing = (LeafEntry<?>) slot;
+        if (existing.matches(entry.key, entry.hash)) {
+          if (existing.value == entry.value) {
+            return this;
+          }
+          newSlot = existing.withValue(entry.value);
+        } else {
+          newSlot = merge(existing, entry, shift + BITS);
+          added[0] = true;
+        }
+      }
+
+      if (newSlot == slot) {
+        return this;
+      }
+      Object[] newSlots = slots.clone();
+      newSlots[index] = newSlot;
+      return new BitmapNode(bitmap, newSlots);
+    }
+
+    @Override
+    public Node minus(String key, int hash, int shift) {
+      int bit = bit(hash, shift);
+      if ((bitmap & bit) == 0) {
+        return this;
+      }
+
+      int index = index(bit);
+      Object slot = slots[index];
+      Object newSlot;
+      if (slot instanceof Node) {
+        newSlot = ((Node) slot).minus(key, hash, shift + BITS);
+        if (newSlot == slot) {
+          return this;
+        }
+      } else if (((LeafEntry<?>) slot).matches(key, hash)) {
+        newSlot = null;
+      } else {
+        return this;
+      }
+
+      if (newSlot != null) {
+        Object[] newSlots = slots.clone();
+        newSlots[index] = newSlot;
+        return new BitmapNode(bitmap, newSlots);
+      }
+
+      if (slots.length == 1) {
+        return null;
+      }
+      Object[] newSlots = new Object[slots.length - 1];
+      arraycopy(slots, 0, newSlots, 0, index);
+      arraycopy(slots, index + 1, newSlots, index, slots.length - index - 1);
+      return new BitmapNode(bitmap & ~bit, newSlots);
+    }
+
+    @Override
+    public Object[] slots() {
+      return slots;
+    }
+  }
+
+  /**
+   * Node for entries whose keys have the same full hash.
+   */
+  private static final class CollisionNode implements Node {
+
+    private static final long serialVersionUID = -4153128470298064624L;
+
+    private final LeafEntry<?>[] entries;
+
+    private CollisionNode(LeafEntry<?>[] entries) {
+      this.entries = entries;
+    }
+
+    @Override
+    public LeafEntry<?> find(String key, int hash, int shift) {
+      for (LeafEntry<?> entry : entries) {
+        if (entry.matches(key, hash)) {
+          return entry;
+        }
+      }
+      return null;
+    }
+
+    @Override
+    public Node plus(LeafEntry<?> entry, int shift, boolean[] added) {
+      for (int i = 0; i < entries.length; ++i) {
+        if (entries[i].matches(entry.key, entry.hash)) {
+          if (entries[i].value == entry.value) {
+            return this;
+          }
+          LeafEntry<?>[] newEntries = entries.clone();
+          newEntries[i] = entries[i].withValue(entry.value);
+          return new CollisionNode(newEntries);
+        }
+      }
+
+      LeafEntry<?>[] newEntries = new LeafEntry[entries.length + 1];
+      arraycopy(entries, 0, newEntries, 0, entries.length);
+      newEntries[entries.length] = entry;
+      added[0] = true;
+      return new CollisionNode(newEntries);
+    }
+
+    @Override
+    public Node minus(String key, int hash, int shift) {
+      for (int i = 0; i < entries.length; ++i) {
+        if (entries[i].matches(key, hash)) {
+          if (entries.length == 1) {
+            return null;
+          }
+          LeafEntry<?>[] newEntries = new LeafEntry[entries.length - 1];
+          arraycopy(entries, 0, newEntries, 0, i);
+          arraycopy(entries, i + 1, newEntries, i, entries.length - i - 1);
+          return new CollisionNode(newEntries);
+        }
+      }
+      return this;
+    }
+
+    @Override
+    public Object[] slots() {
+      return entries;
+    }
+  }
+
+  private static final class LeafEntry<V> implements Entry<String, V>, Serializable {
+
+    private static final long serialVersionUID = 6425349462395263571L;
+
+    private final String key;
+    private final V value;
+    private final int hash;
+
+    private LeafEntry(String key, V value, int hash) {
+      this.key = key;
+      this.value = value;
+      this.hash = hash;
+    }
+
+    private boolean matches(String otherKey, int otherHash) {
+      return hash == otherHash && (key == otherKey || key.equalsIgnoreCase(otherKey));
+    }
+
+    private LeafEntry<V> withValue(Object newValue) {
+      return new LeafEntry<>(key, (V) newValue, hash);
+    }
+
+    @Override
+    public String getKey() {
+      return key;
+    }
+
+    @Override
+    public V getValue() {
+      return value;
+    }
+
+    @Override
+    public V setValue(V value) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Entry)) {
+        return false;
+      }
+      Entry<?, ?> other = (Entry<?, ?>) o;
+      return key.equals(other.getKey()) && Objects.equals(value, other.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return key.hashCode() ^ Objects.hashCode(value);
+    }
+
+    @Override
+    public String toString() {
+      return key + "=" + value;
+    }
+  }
+
+  /**
+   * Depth-first iterator over the entries of the trie, keeping track of its position in each level.
+   */
+  private static final class EntryIterator<V> implements Iterator<Entry<String, V>> {
+
+    private final Object[][] slotsStack = new Object[MAX_DEPTH + 1][];
+    private final int[] indexStack = new int[MAX_DEPTH + 1];
+    private int depth;
+    private LeafEntry<V> next;
+
+    private EntryIterator(Node root) {
+      if (root != null) {
+        slotsStack[0] = root.slots();
+        depth = 0;
+      } else {
+        depth = -1;
+      }
+      advance();
+    }
+
+    private void advance() {
+      next = null;
+      while (depth >= 0) {
+        Object[] slots = slotsStack[depth];
+        if (indexStack[depth] >= slots.length) {
+          slotsStack[depth] = null;
+          --depth;
+          continue;
+        }
+
+        Object slot = slots[indexStack[depth]++];
+        if (slot instanceof Node) {
+          ++depth;
+          slotsStack[depth] = ((Node) slot).slots();
+          indexStack[depth] = 0;
+        } else {
+          next = (LeafEntry<V>) slot;
+          return;
+        }
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public Entry<String, V> next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      LeafEntry<V> current = next;
+      advance();
+      return current;
+    }
+  }
+
+}
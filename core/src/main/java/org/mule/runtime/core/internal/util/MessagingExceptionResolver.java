@@ -33,6 +33,7 @@ import org.mule.runtime.core.api.exception.SingleErrorTypeMatcher;
 import org.mule.runtime.core.api.execution.ExceptionContextProvider;
 import org.mule.runtime.core.internal.exception.ErrorMapping;
 import org.mule.runtime.core.internal.exception.MessagingException;
+import org.mule.runtime.core.internal.exception.StacklessMessagingException;
 import org.mule.runtime.core.internal.message.ErrorBuilder;
 import org.mule.runtime.core.internal.policy.FlowExecutionException;
 import org.mule.runtime.core.privileged.PrivilegedMuleContext;
@@ -120,7 +121,7 @@ public class MessagingExceptionResolver {
       result = ((MessagingException) root);
     } else {
       result = me instanceof FlowExecutionException ? new FlowExecutionException(event, root, failingComponent)
-          : new MessagingException(event, root, failingComponent);
+          : new StacklessMessagingException(event, root, failingComponent);
     }
     propagateAlreadyLogged(me, result);
     return enrich(result, failingComponent, event, exceptionContextProviders);
@@ -176,7 +177,7 @@ public class MessagingExceptionResolver {
     Component failingProcessor = me.getFailingComponent() != null ? me.getFailingComponent() : processor;
     MessagingException updated =
         me instanceof FlowExecutionException ? new FlowExecutionException(errorEvent, me.getCause(), failingProcessor)
-            : new MessagingException(me.getI18nMessage(), errorEvent, me.getCause(), failingProcessor);
+            : new StacklessMessagingException(me.getI18nMessage(), errorEvent, me.getCause(), failingProcessor);
     return enrich(updated, failingProcessor, errorEvent, exceptionContextProviders);
   }
 
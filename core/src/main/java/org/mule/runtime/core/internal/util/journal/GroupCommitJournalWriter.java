@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.journal;
+
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Long.getLong;
+import static java.nio.ByteBuffer.wrap;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Appends entries to a journal file, grouping the entries logged concurrently by different transactions in a single write.
+ * <p>
+ * Logging an entry just adds it to an in-memory buffer. The thread that then waits for its entry to be written becomes the
+ * leader of a group if no write is in progress: it takes every entry buffered so far, writes them at once (syncing the file to
+ * the device if configured to do so) and wakes up the threads whose entries were part of the group. Entries buffered while a
+ * write is in progress are written by the next leader, so the more concurrent transactions there are, the bigger the groups get.
+ * <p>
+ * The leader may also wait for a fixed interval before taking the buffered entries, trading latency for bigger groups.
+ *
+ * @since 4.2
+ */
+class GroupCommitJournalWriter {
+
+  /**
+   * Time in microseconds the leader of a group waits for more entries before writing them. Defaults to {@code 0}.
+   */
+  static final String GROUP_COMMIT_INTERVAL_PROPERTY = SYSTEM_PROPERTY_PREFIX + "queue.journal.groupCommitInterval";
+
+  /**
+   * Whether each group is synced to the storage device after being written. Defaults to {@code false}.
+   */
+  static final String SYNC_PROPERTY = SYSTEM_PROPERTY_PREFIX + "queue.journal.sync";
+
+  private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+
+  private final File journalFile;
+  private final long groupCommitIntervalNanos;
+  private final boolean sync;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition groupWritten = lock.newCondition();
+  /**
+   * First and last sequences of the groups that could not be written. Later groups may still be written successfully.
+   */
+  private final NavigableMap<Long, Long> failedGroups = new TreeMap<>();
+
+  private FileChannel channel;
+  private ExposedByteArrayOutputStream buffer = new ExposedByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+  private ExposedByteArrayOutputStream spareBuffer = new ExposedByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+  private long appendedSequence;
+  private long groupedSequence;
+  private long writtenSequence;
+  private boolean writing;
+  private long fileLength;
+
+  GroupCommitJournalWriter(File journalFile) {
+    this(journalFile, MICROSECONDS.toNanos(getLong(GROUP_COMMIT_INTERVAL_PROPERTY, 0L)), getBoolean(SYNC_PROPERTY));
+  }
+
+  GroupCommitJournalWriter(File journalFile, long groupCommitIntervalNanos, boolean sync) {
+    this.journalFile = journalFile;
+    this.groupCommitIntervalNanos = groupCommitIntervalNanos;
+    this.sync = sync;
+    open();
+  }
+
+  /**
+   * Buffers an already serialized entry.
+   *
+   * @param entry the serialized entry
+   * @return the sequence to pass to {@link #awaitWritten(long)} in order to wait for the entry to be written
+   */
+  long append(byte[] entry) {
+    lock.lock();
+    try {
+      buffer.write(entry, 0, entry.length);
+      return ++appendedSequence;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Waits until the entry with the given {@code sequence} is written, writing it along with every other buffered entry if no
+   * other thread is already writing.
+   *
+   * @param sequence the value returned by {@link #append(byte[])} for the entry
+   */
+  void awaitWritten(long sequence) {
+    lock.lock();
+    try {
+      while (true) {
+        // Checked first, since the groups following a failed one may have been written
+        if (isFailed(sequence)) {
+          throw new MuleRuntimeException(new IOException("Could not write entries to transaction journal file "
+              + journalFile.getAbsolutePath()));
+        }
+        if (writtenSequence >= sequence) {
+          return;
+        }
+        if (writing) {
+          groupWritten.awaitUninterruptibly();
+        } else {
+          writeGroup();
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private boolean isFailed(long sequence) {
+    Map.Entry<Long, Long> failedGroup = failedGroups.floorEntry(sequence);
+    return failedGroup != null && sequence <= failedGroup.getValue();
+  }
+
+  /**
+   * Must be called holding the {@link #lock}, which is released while the group is being written.
+   */
+  private void writeGroup() {
+    writing = true;
+    if (groupCommitIntervalNanos > 0) {
+      lock.unlock();
+      try {
+        parkNanos(this, groupCommitIntervalNanos);
+      } finally {
+        lock.lock();
+      }
+    }
+
+    ExposedByteArrayOutputStream group = buffer;
+    buffer = spareBuffer;
+    spareBuffer = group;
+    long groupFirstSequence = groupedSequence + 1;
+    long groupSequence = appendedSequence;
+    groupedSequence = groupSequence;
+
+    lock.unlock();
+    IOException failure = null;
+    try {
+      write(group.toByteBuffer());
+    } catch (IOException e) {
+      failure = e;
+    } finally {
+      group.reset();
+      lock.lock();
+      if (failure == null) {
+        writtenSequence = groupSequence;
+        fileLength += group.getLastSize();
+      } else {
+        failedGroups.put(groupFirstSequence, groupSequence);
+      }
+      writing = false;
+      groupWritten.signalAll();
+    }
+
+    if (failure != null) {
+      throw new MuleRuntimeException(failure);
+    }
+  }
+
+  private void write(ByteBuffer content) throws IOException {
+    while (content.hasRemaining()) {
+      channel.write(content);
+    }
+    if (sync) {
+      channel.force(false);
+    }
+  }
+
+  /**
+   * @return the length of the journal file, including the entries not written yet.
+   */
+  long length() {
+    lock.lock();
+    try {
+      return fileLength + buffer.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Writes the entries still in the buffer and closes the file.
+   */
+  void close() throws IOException {
+    lock.lock();
+    try {
+      awaitCurrentGroup();
+      if (buffer.size() > 0) {
+        write(buffer.toByteBuffer());
+        fileLength += buffer.size();
+        buffer.reset();
+      }
+      groupedSequence = appendedSequence;
+      writtenSequence = appendedSequence;
+      channel.close();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Discards the entries still in the buffer and empties the file.
+   *
+   * @param emptyFile the action that empties the file once it is closed
+   */
+  void truncate(Runnable emptyFile) {
+    lock.lock();
+    try {
+      awaitCurrentGroup();
+      buffer.reset();
+      groupedSequence = appendedSequence;
+      writtenSequence = appendedSequence;
+      try {
+        channel.close();
+      } catch (IOException e) {
+        throw new MuleRuntimeException(e);
+      }
+      emptyFile.run();
+      open();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void awaitCurrentGroup() {
+    while (writing) {
+      groupWritten.awaitUninterruptibly();
+    }
+  }
+
+  private void open() {
+    try {
+      channel = FileChannel.open(journalFile.toPath(), CREATE, WRITE, APPEND);
+      fileLength = channel.size();
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    }
+  }
+
+  /**
+   * Gives access to the buffered bytes without copying them.
+   */
+  private static final class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+
+    private int lastSize;
+
+    private ExposedByteArrayOutputStream(int size) {
+      super(size);
+    }
+
+    private ByteBuffer toByteBuffer() {
+      lastSize = count;
+      return wrap(buf, 0, count);
+    }
+
+    private int getLastSize() {
+      return lastSize;
+    }
+  }
+}
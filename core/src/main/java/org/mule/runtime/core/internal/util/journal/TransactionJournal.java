@@ -11,6 +11,8 @@ import org.mule.runtime.api.util.Preconditions;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.util.Collection;
 import java.util.Collections;
@@ -25,6 +27,9 @@ import org.slf4j.LoggerFactory;
  *
  * Keeps a memory cache of the log entries for performance reasons. Once a transaction finishes the client of this class must
  * manually remove the entries related to such transaction to clear the cache.
+ *
+ * Entries are serialized before choosing the file to log them to, and the file is written after that, so concurrent transactions
+ * only serialize on adding the entries to the file and their entries are grouped in the same write.
  */
 public class TransactionJournal<T, K extends JournalEntry<T>> {
 
@@ -37,6 +42,7 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
   private transient Logger logger = LoggerFactory.getLogger(getClass());
 
   private final TransactionCompletePredicate transactionCompletePredicate;
+  private final JournalEntrySerializer journalEntrySerializer;
 
   /**
    * Log file in which we are currently writing new entries.
@@ -77,7 +83,7 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
     this.notCurrentLogFile =
         new TransactionJournalFile(logFile2, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes);
     this.transactionCompletePredicate = transactionCompletePredicate;
-
+    this.journalEntrySerializer = journalEntrySerializer;
   }
 
   private void calculateJournalFileSize(Integer maximumFileSizeInMegabytes) {
@@ -92,9 +98,15 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    *
    * @param journalEntry journal entry with the update operation details
    */
-  public synchronized void logUpdateOperation(JournalEntry<T> journalEntry) {
-    TransactionJournalFile logFile = determineLogFile(journalEntry.getTxId());
-    logFile.logOperation(journalEntry);
+  public void logUpdateOperation(JournalEntry<T> journalEntry) {
+    byte[] serializedJournalEntry = serialize(journalEntry);
+    TransactionJournalFile logFile;
+    long sequence;
+    synchronized (this) {
+      logFile = determineLogFile(journalEntry.getTxId());
+      sequence = logFile.logOperation(journalEntry, serializedJournalEntry);
+    }
+    logFile.awaitWritten(sequence);
   }
 
   /**
@@ -104,12 +116,24 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    *
    * @param journalEntry journal entry with the checkpoint operation details
    */
-  public synchronized void logCheckpointOperation(JournalEntry<T> journalEntry) {
-    TransactionJournalFile logFile = determineLogFile(journalEntry.getTxId());
-    logFile.logOperation(journalEntry);
-    if (transactionCompletePredicate.isTransactionComplete(journalEntry)) {
-      logFile.clearEntriesForTransaction(journalEntry.getTxId());
+  public void logCheckpointOperation(JournalEntry<T> journalEntry) {
+    byte[] serializedJournalEntry = serialize(journalEntry);
+    TransactionJournalFile logFile;
+    long sequence;
+    synchronized (this) {
+      logFile = determineLogFile(journalEntry.getTxId());
+      sequence = logFile.logOperation(journalEntry, serializedJournalEntry);
+      if (transactionCompletePredicate.isTransactionComplete(journalEntry)) {
+        logFile.clearEntriesForTransaction(journalEntry.getTxId());
+      }
     }
+    logFile.awaitWritten(sequence);
+  }
+
+  private byte[] serialize(JournalEntry<T> journalEntry) {
+    ByteArrayOutputStream serializedJournalEntry = new ByteArrayOutputStream();
+    journalEntrySerializer.serialize(journalEntry, new DataOutputStream(serializedJournalEntry));
+    return serializedJournalEntry.toByteArray();
   }
 
   /**
@@ -6,19 +6,15 @@
  */
 package org.mule.runtime.core.internal.util.journal;
 
-import org.mule.runtime.api.exception.MuleRuntimeException;
-
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 
 import java.io.BufferedInputStream;
 import java.io.DataInputStream;
-import java.io.DataOutputStream;
 import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -30,6 +26,9 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Manages a transaction journal file.
+ * <p>
+ * Entries are written through a {@link GroupCommitJournalWriter}, so the ones logged concurrently by different transactions end
+ * up in the same write.
  *
  * @param <T> type of the transaction identifier
  * @param <K> type of the journal entry
@@ -50,7 +49,7 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
 
   private Multimap<T, K> entries = LinkedHashMultimap.create();
 
-  private DataOutputStream logFileOutputStream;
+  private final GroupCommitJournalWriter journalWriter;
   private int journalOperations = 0;
 
   /**
@@ -64,21 +63,34 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
     this.journalFile = journalFile;
     this.journalEntrySerializer = journalEntrySerializer;
     this.clearFileMinimumSizeInBytes = clearFileMinimumSizeInBytes;
-    if (journalFile.exists()) {
+    boolean existingJournal = journalFile.exists();
+    journalWriter = new GroupCommitJournalWriter(journalFile);
+    if (existingJournal) {
       loadAllEntries(transactionCompletePredicate);
     }
-    createLogOutputStream();
   }
 
   /**
-   * Adds a journal entry for an operation done over a transactional resource
-   * 
+   * Adds a journal entry for an operation done over a transactional resource. The entry is not written to the file until
+   * {@link #awaitWritten(long)} is called with the returned sequence.
+   *
    * @param journalEntry operation details
+   * @param serializedJournalEntry the entry as serialized by the {@link JournalEntrySerializer}
+   * @return the sequence of the entry in this file
    */
-  public synchronized void logOperation(K journalEntry) {
+  public synchronized long logOperation(K journalEntry, byte[] serializedJournalEntry) {
     entries.put(journalEntry.getTxId(), journalEntry);
-    journalEntrySerializer.serialize(journalEntry, logFileOutputStream);
     journalOperations++;
+    return journalWriter.append(serializedJournalEntry);
+  }
+
+  /**
+   * Waits until the entry with the given {@code sequence}, along with the ones logged before it, is written to the file.
+   *
+   * @param sequence value returned by {@link #logOperation(JournalEntry, byte[])}
+   */
+  public void awaitWritten(long sequence) {
+    journalWriter.awaitWritten(sequence);
   }
 
   /**
@@ -121,7 +133,7 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    */
   public synchronized void close() {
     try {
-      logFileOutputStream.close();
+      journalWriter.close();
     } catch (IOException e) {
       logger.warn(e.getMessage());
       if (logger.isDebugEnabled()) {
@@ -156,25 +168,8 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    * Remove all the entries from the transaction journal and cleans the transaction journal fle.
    */
   public synchronized void clear() {
-    close();
     entries.clear();
-    FileUtils.deleteQuietly(journalFile);
-    createLogOutputStream();
-  }
-
-  private void createLogOutputStream() {
-    if (!journalFile.exists()) {
-      try {
-        journalFile.createNewFile();
-      } catch (IOException e) {
-        throw new MuleRuntimeException(e);
-      }
-    }
-    try {
-      this.logFileOutputStream = new DataOutputStream(new FileOutputStream(journalFile, true));
-    } catch (FileNotFoundException e) {
-      throw new MuleRuntimeException(e);
-    }
+    journalWriter.truncate(() -> FileUtils.deleteQuietly(journalFile));
   }
 
   /**
@@ -249,7 +244,7 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    * @return the file length in bytes
    */
   public long fileLength() {
-    return journalFile.length();
+    return journalWriter.length();
   }
 }
 
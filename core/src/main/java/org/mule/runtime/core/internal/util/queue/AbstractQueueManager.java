@@ -17,9 +17,9 @@ import org.mule.runtime.core.api.util.queue.DefaultQueueConfiguration;
 import org.mule.runtime.core.api.util.queue.QueueConfiguration;
 import org.mule.runtime.core.api.util.queue.QueueManager;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.slf4j.Logger;
@@ -36,8 +36,8 @@ public abstract class AbstractQueueManager
   protected transient Logger logger = LoggerFactory.getLogger(getClass());
 
   private final ReentrantLock queuesLock = new ReentrantLock();
-  private final Map<String, CacheAwareQueueStore> queues = new HashMap<>();
-  private final Map<String, QueueConfiguration> queueConfigurations = new HashMap<>();
+  private final Map<String, CacheAwareQueueStore> queues = new ConcurrentHashMap<>();
+  private final Map<String, QueueConfiguration> queueConfigurations = new ConcurrentHashMap<>();
   private QueueConfiguration defaultQueueConfiguration = new DefaultQueueConfiguration();
   private MuleContext muleContext;
 
@@ -142,8 +142,15 @@ public abstract class AbstractQueueManager
   }
 
   @Override
-  public synchronized QueueStore getQueue(String queueName) {
-    return getQueue(queueName, defineQueueConfiguration(queueName));
+  public QueueStore getQueue(String queueName) {
+    // Queues already in use are looked up without synchronizing, only the creation of a queue needs to define its configuration
+    QueueStore queueStore = queues.get(queueName);
+    if (queueStore != null) {
+      return queueStore;
+    }
+    synchronized (this) {
+      return getQueue(queueName, defineQueueConfiguration(queueName));
+    }
   }
 
   private QueueConfiguration defineQueueConfiguration(String queueName) {
@@ -0,0 +1,370 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.queue;
+
+import static java.lang.Integer.highestOneBit;
+import static java.lang.Math.max;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.locks.LockSupport.park;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+import static java.util.concurrent.locks.LockSupport.unpark;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BooleanSupplier;
+
+/**
+ * {@link QueueStoreDelegate} for transient queues that doesn't rely on a global monitor.
+ * <p>
+ * Items are kept in a bounded multi-producer/multi-consumer ring, where each slot carries a sequence number that tells producers
+ * and consumers whether it is free or holds an item, so both sides only compete on a CAS of their own index. Since a queue may
+ * hold more items than its capacity (items added through {@link #putNow(Serializable)} when committing or rolling back a
+ * transaction) or be unbounded, items that don't fit in the ring go to an overflow queue, and items are added to it while it
+ * isn't empty to keep their order. Items returned through {@link #untake(Serializable)} are polled before any other.
+ * <p>
+ * Threads waiting for an item or for room in the queue are parked and only one of them is woken up for each item added or
+ * removed, instead of waking every waiting thread.
+ *
+ * @since 4.2
+ */
+public class ArrayQueueStoreDelegate implements QueueStoreDelegate {
+
+  private static final int UNBOUNDED_RING_SIZE = 1024;
+  private static final int MAX_RING_SIZE = 1 << 16;
+
+  private final int capacity;
+  private final int mask;
+  private final Serializable[] items;
+  private final long[] enqueueTimes;
+  private final AtomicLongArray sequences;
+  private final AtomicLong head = new AtomicLong();
+  private final AtomicLong tail = new AtomicLong();
+
+  private final Queue<TimedItem> overflow = new ConcurrentLinkedQueue<>();
+  private final Deque<Serializable> untaken = new ConcurrentLinkedDeque<>();
+  private final AtomicInteger size = new AtomicInteger();
+
+  private final Queue<Thread> waitingConsumers = new ConcurrentLinkedQueue<>();
+  private final Queue<Thread> waitingProducers = new ConcurrentLinkedQueue<>();
+
+  private final QueueStoreStatistics statistics = new QueueStoreStatistics(this::getSize);
+
+  public ArrayQueueStoreDelegate(int capacity) {
+    this.capacity = capacity;
+
+    int ringSize = UNBOUNDED_RING_SIZE;
+    if (capacity > 0) {
+      ringSize = capacity >= MAX_RING_SIZE ? MAX_RING_SIZE : max(highestOneBit(capacity - 1) << 1, 2);
+    }
+    mask = ringSize - 1;
+    items = new Serializable[ringSize];
+    enqueueTimes = new long[ringSize];
+    sequences = new AtomicLongArray(ringSize);
+    for (int i = 0; i < ringSize; ++i) {
+      sequences.set(i, i);
+    }
+  }
+
+  @Override
+  public void putNow(Serializable o) {
+    enqueue(o, size.incrementAndGet());
+  }
+
+  @Override
+  public boolean offer(Serializable o, int room, long timeout) throws InterruptedException {
+    checkInterrupted();
+    if (capacity > 0 && capacity <= room) {
+      throw new IllegalStateException("Can not add more objects than the capacity in one time");
+    }
+
+    final long timeoutNanos = timeout < 0 ? -1 : MILLISECONDS.toNanos(timeout);
+    final long start = timeoutNanos > 0 ? nanoTime() : 0L;
+    final Thread current = currentThread();
+
+    while (true) {
+      int currentSize = size.get();
+      if (capacity <= 0 || currentSize < capacity - room) {
+        if (o == null) {
+          return true;
+        }
+        if (size.compareAndSet(currentSize, currentSize + 1)) {
+          enqueue(o, currentSize + 1);
+          return true;
+        }
+        continue;
+      }
+
+      long remaining = timeoutNanos < 0 ? -1 : timeoutNanos - (nanoTime() - start);
+      if (timeoutNanos >= 0 && remaining <= 0) {
+        statistics.onOfferRejected();
+        return false;
+      }
+
+      waitingProducers.add(current);
+      if (size.get() >= capacity - room) {
+        if (remaining < 0) {
+          park(this);
+        } else {
+          parkNanos(this, remaining);
+        }
+      }
+      stopWaiting(current, waitingProducers, () -> size.get() < capacity);
+      checkInterrupted();
+    }
+  }
+
+  @Override
+  public Serializable poll(long timeout) throws InterruptedException {
+    checkInterrupted();
+
+    Serializable item = take();
+    if (item != null || timeout <= 0) {
+      return item;
+    }
+
+    final long timeoutNanos = MILLISECONDS.toNanos(timeout);
+    final long start = nanoTime();
+    final Thread current = currentThread();
+
+    while (true) {
+      long remaining = timeoutNanos - (nanoTime() - start);
+      if (remaining <= 0) {
+        return null;
+      }
+
+      waitingConsumers.add(current);
+      item = take();
+      if (item == null) {
+        parkNanos(this, remaining);
+        item = take();
+      }
+      stopWaiting(current, waitingConsumers, () -> size.get() > 0);
+
+      if (item != null) {
+        return item;
+      }
+      checkInterrupted();
+    }
+  }
+
+  /**
+   * Polls up to {@code maxItems} items, waiting only for the first one.
+   *
+   * @param target the collection to add the polled items to
+   * @param maxItems the maximum amount of items to poll
+   * @param timeout the maximum time to wait for the first item, in milliseconds
+   * @return the amount of items added to {@code target}
+   */
+  @Override
+  public int drainTo(Collection<? super Serializable> target, int maxItems, long timeout) throws InterruptedException {
+    if (maxItems <= 0) {
+      return 0;
+    }
+
+    Serializable item = poll(timeout);
+    if (item == null) {
+      return 0;
+    }
+
+    int drained = 0;
+    do {
+      target.add(item);
+      ++drained;
+    } while (drained < maxItems && (item = take()) != null);
+    return drained;
+  }
+
+  @Override
+  public Serializable peek() throws InterruptedException {
+    checkInterrupted();
+
+    Serializable item = untaken.peekFirst();
+    if (item != null) {
+      return item;
+    }
+
+    long pos = head.get();
+    int index = (int) pos & mask;
+    if (sequences.get(index) == pos + 1) {
+      item = items[index];
+      if (item != null) {
+        return item;
+      }
+    }
+
+    TimedItem overflowItem = overflow.peek();
+    return overflowItem != null ? overflowItem.item : null;
+  }
+
+  @Override
+  public void untake(Serializable item) throws InterruptedException {
+    checkInterrupted();
+    size.incrementAndGet();
+    untaken.addFirst(item);
+    signal(waitingConsumers);
+  }
+
+  @Override
+  public int getSize() {
+    return size.get();
+  }
+
+  /**
+   * @return the statistics of this queue
+   */
+  public QueueStoreStatistics getStatistics() {
+    return statistics;
+  }
+
+  @Override
+  public void clear() throws InterruptedException {
+    checkInterrupted();
+    while (take() != null) {
+      // Just discard the item
+    }
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends Serializable> items) {
+    for (Serializable item : items) {
+      putNow(item);
+    }
+    return !items.isEmpty();
+  }
+
+  @Override
+  public void dispose() {
+    while (take() != null) {
+      // Just discard the item
+    }
+  }
+
+  /**
+   * Adds the item once the room for it was already accounted for in {@link #size}.
+   */
+  private void enqueue(Serializable item, int newSize) {
+    long now = nanoTime();
+    if (!overflow.isEmpty() || !offerToRing(item, now)) {
+      overflow.add(new TimedItem(item, now));
+    }
+    statistics.onEnqueued(newSize);
+    signal(waitingConsumers);
+  }
+
+  private boolean offerToRing(Serializable item, long now) {
+    long pos = tail.get();
+    while (true) {
+      int index = (int) pos & mask;
+      long diff = sequences.get(index) - pos;
+      if (diff == 0) {
+        if (tail.compareAndSet(pos, pos + 1)) {
+          items[index] = item;
+          enqueueTimes[index] = now;
+          // Publishes the item to the consumers
+          sequences.lazySet(index, pos + 1);
+          return true;
+        }
+      } else if (diff < 0) {
+        // The ring is full
+        return false;
+      }
+      pos = tail.get();
+    }
+  }
+
+  /**
+   * Removes the first item of the queue without waiting, accounting for it in {@link #size}.
+   */
+  private Serializable take() {
+    Serializable item = untaken.pollFirst();
+    if (item == null) {
+      item = pollFromRing();
+    }
+    if (item == null) {
+      TimedItem overflowItem = overflow.poll();
+      if (overflowItem != null) {
+        statistics.onDequeued(nanoTime() - overflowItem.enqueuedAt);
+        item = overflowItem.item;
+      }
+    }
+
+    if (item != null) {
+      size.decrementAndGet();
+      signal(waitingProducers);
+    }
+    return item;
+  }
+
+  private Serializable pollFromRing() {
+    long pos = head.get();
+    while (true) {
+      int index = (int) pos & mask;
+      long diff = sequences.get(index) - (pos + 1);
+      if (diff == 0) {
+        if (head.compareAndSet(pos, pos + 1)) {
+          Serializable item = items[index];
+          long enqueuedAt = enqueueTimes[index];
+          items[index] = null;
+          // Frees the slot for the producers of the next lap
+          sequences.lazySet(index, pos + mask + 1);
+          statistics.onDequeued(nanoTime() - enqueuedAt);
+          return item;
+        }
+      } else if (diff < 0) {
+        // The ring is empty, or the producer of the next item hasn't published it yet, in which case it will signal after
+        // doing so.
+        return null;
+      }
+      pos = head.get();
+    }
+  }
+
+  private void signal(Queue<Thread> waiting) {
+    if (!waiting.isEmpty()) {
+      Thread waiter = waiting.poll();
+      if (waiter != null) {
+        unpark(waiter);
+      }
+    }
+  }
+
+  /**
+   * Deregisters a thread that is done waiting. If another thread already took it out of the waiting ones to wake it up, that
+   * wake up is handed over to another waiting thread so it doesn't get lost.
+   */
+  private void stopWaiting(Thread current, Queue<Thread> waiting, BooleanSupplier canProceed) {
+    if (!waiting.remove(current) && canProceed.getAsBoolean()) {
+      signal(waiting);
+    }
+  }
+
+  private void checkInterrupted() throws InterruptedException {
+    if (Thread.interrupted()) {
+      throw new InterruptedException();
+    }
+  }
+
+  private static final class TimedItem {
+
+    private final Serializable item;
+    private final long enqueuedAt;
+
+    private TimedItem(Serializable item, long enqueuedAt) {
+      this.item = item;
+      this.enqueuedAt = enqueuedAt;
+    }
+  }
+}
@@ -7,6 +7,7 @@
 package org.mule.runtime.core.internal.util.queue;
 
 import java.io.Serializable;
+import java.util.Collection;
 
 /**
  * Wrapper for QueueStore so the cache in {@link AbstractQueueManager} gets cleaned up when a
@@ -42,6 +43,11 @@ public class CacheAwareQueueStore implements QueueStore {
     return queueStore.poll(timeout);
   }
 
+  @Override
+  public int drainTo(Collection<? super Serializable> target, int maxItems, long timeout) throws InterruptedException {
+    return queueStore.drainTo(target, maxItems, timeout);
+  }
+
   @Override
   public Serializable peek() throws InterruptedException {
     return queueStore.peek();
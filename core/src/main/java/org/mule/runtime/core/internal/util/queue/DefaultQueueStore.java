@@ -6,11 +6,18 @@
  */
 package org.mule.runtime.core.internal.util.queue;
 
+import static java.lang.Boolean.getBoolean;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.util.queue.DefaultQueueConfiguration;
 import org.mule.runtime.core.api.util.queue.QueueConfiguration;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.Optional;
 
 import org.apache.commons.lang3.NotImplementedException;
 
@@ -19,6 +26,13 @@ import org.apache.commons.lang3.NotImplementedException;
  */
 public class DefaultQueueStore implements RecoverableQueueStore {
 
+  /**
+   * System property to keep transient queues on the monitor based {@link DefaultQueueStoreDelegate} instead of the
+   * {@link ArrayQueueStoreDelegate}.
+   */
+  public static final String TRANSIENT_QUEUE_MONITOR_DELEGATE_PROPERTY =
+      SYSTEM_PROPERTY_PREFIX + "queue.transient.monitorDelegate";
+
   private QueueConfiguration config;
   private String name;
   private QueueStoreDelegate delegate;
@@ -45,8 +59,10 @@ public class DefaultQueueStore implements RecoverableQueueStore {
     if (this.config.isPersistent()) {
       delegate = new DualRandomAccessFileQueueStoreDelegate(this.name, muleContext.getConfiguration().getWorkingDirectory(),
                                                             muleContext, this.config.getCapacity());
-    } else {
+    } else if (getBoolean(TRANSIENT_QUEUE_MONITOR_DELEGATE_PROPERTY)) {
       delegate = new DefaultQueueStoreDelegate(this.config.getCapacity());
+    } else {
+      delegate = new ArrayQueueStoreDelegate(this.config.getCapacity());
     }
   }
 
@@ -76,6 +92,10 @@ public class DefaultQueueStore implements RecoverableQueueStore {
     return delegate.poll(timeout);
   }
 
+  public int drainTo(Collection<? super Serializable> target, int maxItems, long timeout) throws InterruptedException {
+    return delegate.drainTo(target, maxItems, timeout);
+  }
+
   public Serializable peek() throws InterruptedException {
     return delegate.peek();
   }
@@ -127,6 +147,13 @@ public class DefaultQueueStore implements RecoverableQueueStore {
     }
   }
 
+  /**
+   * @return the statistics of this queue, if its storage keeps them
+   */
+  public Optional<QueueStoreStatistics> getStatistics() {
+    return delegate instanceof ArrayQueueStoreDelegate ? of(((ArrayQueueStoreDelegate) delegate).getStatistics()) : empty();
+  }
+
   @Override
   public boolean isPersistent() {
     return config.isPersistent();
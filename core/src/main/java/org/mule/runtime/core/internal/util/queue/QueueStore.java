@@ -7,6 +7,7 @@
 package org.mule.runtime.core.internal.util.queue;
 
 import java.io.Serializable;
+import java.util.Collection;
 
 /**
  * Internal queue interface that hold queue configuration that will execute operations directly to the queue storage. Stores
@@ -22,6 +23,8 @@ public interface QueueStore {
 
   Serializable poll(long timeout) throws InterruptedException;
 
+  int drainTo(Collection<? super Serializable> target, int maxItems, long timeout) throws InterruptedException;
+
   Serializable peek() throws InterruptedException;
 
   void untake(Serializable item) throws InterruptedException;
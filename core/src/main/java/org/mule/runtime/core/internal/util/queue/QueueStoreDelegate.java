@@ -35,6 +35,25 @@ public interface QueueStoreDelegate {
    */
   Serializable peek() throws InterruptedException;
 
+  /**
+   * Poll the queue for up to {@code maxItems} members, waiting only for the first one, and remove and add them to
+   * {@code target}
+   *
+   * @return the amount of members added to {@code target}
+   */
+  default int drainTo(Collection<? super Serializable> target, int maxItems, long timeout) throws InterruptedException {
+    int drained = 0;
+    Serializable item = maxItems > 0 ? poll(timeout) : null;
+    while (item != null) {
+      target.add(item);
+      if (++drained == maxItems) {
+        break;
+      }
+      item = poll(0);
+    }
+    return drained;
+  }
+
   /**
    * Restore a previously removed member to the front of the queue
    */
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.queue;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Statistics about the items that went through a queue.
+ * <p>
+ * The time in queue is measured from the moment an item is added until it is polled. Items returned to the queue through
+ * {@link QueueStoreDelegate#untake} are not accounted for again.
+ *
+ * @since 4.2
+ */
+public final class QueueStoreStatistics {
+
+  private final IntSupplier depth;
+  private final AtomicInteger peakDepth = new AtomicInteger();
+  private final LongAdder enqueued = new LongAdder();
+  private final LongAdder dequeued = new LongAdder();
+  private final LongAdder rejectedOffers = new LongAdder();
+  private final LongAdder timeInQueueNanos = new LongAdder();
+
+  QueueStoreStatistics(IntSupplier depth) {
+    this.depth = depth;
+  }
+
+  void onEnqueued(int newDepth) {
+    enqueued.increment();
+    int peak = peakDepth.get();
+    while (newDepth > peak && !peakDepth.compareAndSet(peak, newDepth)) {
+      peak = peakDepth.get();
+    }
+  }
+
+  void onDequeued(long nanosInQueue) {
+    dequeued.increment();
+    timeInQueueNanos.add(nanosInQueue);
+  }
+
+  void onOfferRejected() {
+    rejectedOffers.increment();
+  }
+
+  /**
+   * @return the amount of items currently in the queue
+   */
+  public int getDepth() {
+    return depth.getAsInt();
+  }
+
+  /**
+   * @return the maximum amount of items the queue had at the same time
+   */
+  public int getPeakDepth() {
+    return peakDepth.get();
+  }
+
+  /**
+   * @return the amount of items added to the queue
+   */
+  public long getEnqueued() {
+    return enqueued.sum();
+  }
+
+  /**
+   * @return the amount of items polled from the queue
+   */
+  public long getDequeued() {
+    return dequeued.sum();
+  }
+
+  /**
+   * @return the amount of offers that timed out waiting for room in the queue
+   */
+  public long getRejectedOffers() {
+    return rejectedOffers.sum();
+  }
+
+  /**
+   * @param unit the unit of the returned value
+   * @return the average time the polled items spent in the queue
+   */
+  public long getAverageTimeInQueue(TimeUnit unit) {
+    long count = dequeued.sum();
+    return count == 0 ? 0 : unit.convert(timeInQueueNanos.sum() / count, NANOSECONDS);
+  }
+}
@@ -12,6 +12,9 @@ import org.mule.runtime.core.privileged.store.DeserializationPostInitialisable;
 import org.mule.runtime.core.api.util.queue.Queue;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -91,6 +94,38 @@ public class TransactionAwareQueueStore implements Queue {
     }
   }
 
+  @Override
+  public int drainTo(Collection<? super Serializable> target, int maxItems, long timeout) throws InterruptedException {
+    List<Serializable> items = new ArrayList<>();
+    try {
+      if (transactionContextProvider.isTransactional()) {
+        QueueTransactionContext transactionalContext = transactionContextProvider.getTransactionalContext();
+        Serializable item = maxItems > 0 ? transactionalContext.poll(queue, timeout) : null;
+        while (item != null) {
+          items.add(item);
+          item = items.size() < maxItems ? transactionalContext.poll(queue, 0) : null;
+        }
+      } else {
+        queue.drainTo(items, maxItems, timeout);
+      }
+    } catch (InterruptedException iex) {
+      if (!muleContext.isStopping()) {
+        throw iex;
+      }
+      // if stopping, ignore
+    }
+
+    int drained = 0;
+    for (Serializable item : items) {
+      item = postProcessIfNeeded(item);
+      if (item != null) {
+        target.add(item);
+        ++drained;
+      }
+    }
+    return drained;
+  }
+
   @Override
   public Serializable peek() throws InterruptedException {
     if (transactionContextProvider.isTransactional()) {
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.timer;
+
+import static java.lang.Integer.highestOneBit;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Keeps items to be handled once their deadline is reached, so that a single periodic task can expire any number of them at a
+ * cost proportional to the number of expired items rather than to the number of items being tracked.
+ * <p>
+ * Items are hashed into a fixed number of buckets by the tick their deadline falls in. Each call to
+ * {@link #expire(long, Consumer)} only visits the buckets for the ticks elapsed since the previous call. Items whose deadline
+ * is more than a whole revolution away stay in their bucket until a later revolution.
+ * <p>
+ * {@link #schedule(Object, long)} may be called from any thread. {@link #expire(long, Consumer)} must be called from one
+ * thread at a time, either from a periodic task running every {@code tickMillis} or from a task that is scheduled again for the
+ * {@link #nextDeadline() next deadline} every time it runs.
+ *
+ * @param <T> the type of the items
+ * @since 4.2
+ */
+public final class HashedTimerWheel<T> {
+
+  private static final int MAX_WHEEL_SIZE = 1 << 16;
+
+  private final long tickMillis;
+  private final Queue<Timeout<T>>[] buckets;
+  private final int mask;
+  private final Queue<Timeout<T>> pending = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger size = new AtomicInteger();
+
+  // Only accessed from expire
+  private long lastTick = -1;
+
+  /**
+   * Creates a new wheel.
+   *
+   * @param tickMillis the resolution of the deadlines, in milliseconds
+   * @param wheelSize the number of buckets. It is rounded up to a power of two.
+   */
+  public HashedTimerWheel(long tickMillis, int wheelSize) {
+    if (tickMillis < 1) {
+      throw new IllegalArgumentException("tickMillis must be greater than 0");
+    }
+    if (wheelSize < 1) {
+      throw new IllegalArgumentException("wheelSize must be greater than 0");
+    }
+    int normalizedSize = min(MAX_WHEEL_SIZE, wheelSize == 1 ? 1 : highestOneBit(wheelSize - 1) << 1);
+
+    this.tickMillis = tickMillis;
+    this.buckets = new Queue[normalizedSize];
+    for (int i = 0; i < normalizedSize; ++i) {
+      buckets[i] = new ArrayDeque<>();
+    }
+    this.mask = normalizedSize - 1;
+  }
+
+  /**
+   * Tracks {@code item} until {@code deadlineMillis}.
+   *
+   * @param item the item to hand to the consumer of {@link #expire(long, Consumer)} once its deadline is reached
+   * @param deadlineMillis the time, in milliseconds, at or after which the item is expired
+   * @return a handle to cancel the expiration
+   */
+  public Timeout<T> schedule(T item, long deadlineMillis) {
+    Timeout<T> timeout = new Timeout<>(item, deadlineMillis);
+    pending.add(timeout);
+    size.incrementAndGet();
+    return timeout;
+  }
+
+  /**
+   * Hands every item whose deadline is not after {@code nowMillis} to {@code onExpired}, in no particular order.
+   *
+   * @param nowMillis the current time, in milliseconds
+   * @param onExpired the action to perform with each expired item
+   */
+  public void expire(long nowMillis, Consumer<T> onExpired) {
+    long currentTick = nowMillis / tickMillis;
+    if (lastTick < 0) {
+      lastTick = currentTick;
+    }
+
+    transferPending();
+
+    // The bucket of the last visited tick is visited again, since it may hold items due later within that tick
+    for (long tick = max(lastTick, currentTick - buckets.length + 1); tick <= currentTick; ++tick) {
+      Iterator<Timeout<T>> iterator = buckets[(int) (tick & mask)].iterator();
+      while (iterator.hasNext()) {
+        Timeout<T> timeout = iterator.next();
+        if (timeout.cancelled) {
+          iterator.remove();
+          size.decrementAndGet();
+        } else if (timeout.deadline <= nowMillis) {
+          iterator.remove();
+          size.decrementAndGet();
+          onExpired.accept(timeout.item);
+        }
+      }
+    }
+    lastTick = max(lastTick, currentTick);
+  }
+
+  /**
+   * Finds when {@link #expire(long, Consumer)} has to be called next. Like {@link #expire(long, Consumer)}, it must not be called
+   * concurrently with it.
+   * <p>
+   * Only the next revolution of the wheel is looked at, so that the cost does not depend on the number of items tracked further
+   * away. When every item is further away, the end of that revolution is returned, and looked at again then.
+   *
+   * @return the earliest deadline of the items tracked within the next revolution, or the end of the revolution if they are all
+   *         further away, or {@code -1} if no item is being tracked.
+   */
+  public long nextDeadline() {
+    transferPending();
+    if (size.get() == 0) {
+      return -1;
+    }
+
+    if (lastTick < 0) {
+      // Not expired yet, so the items are spread along the wheel by their own tick
+      long earliest = Long.MAX_VALUE;
+      for (Queue<Timeout<T>> bucket : buckets) {
+        earliest = min(earliest, earliestDeadline(bucket, Long.MAX_VALUE));
+      }
+      return earliest == Long.MAX_VALUE ? -1 : earliest;
+    }
+
+    for (long tick = lastTick; tick < lastTick + buckets.length; ++tick) {
+      // Items in the bucket due in later revolutions are left for then
+      long earliest = earliestDeadline(buckets[(int) (tick & mask)], (tick + 1) * tickMillis);
+      if (earliest != Long.MAX_VALUE) {
+        return earliest;
+      }
+    }
+    // Cancelled items purged while looking may have been the only ones left
+    return size.get() == 0 ? -1 : (lastTick + buckets.length) * tickMillis;
+  }
+
+  private long earliestDeadline(Queue<Timeout<T>> bucket, long beforeMillis) {
+    long earliest = Long.MAX_VALUE;
+    Iterator<Timeout<T>> iterator = bucket.iterator();
+    while (iterator.hasNext()) {
+      Timeout<T> timeout = iterator.next();
+      if (timeout.cancelled) {
+        iterator.remove();
+        size.decrementAndGet();
+      } else if (timeout.deadline < beforeMillis) {
+        earliest = min(earliest, timeout.deadline);
+      }
+    }
+    return earliest;
+  }
+
+  private void transferPending() {
+    Timeout<T> timeout;
+    while ((timeout = pending.poll()) != null) {
+      if (timeout.cancelled) {
+        size.decrementAndGet();
+        continue;
+      }
+      // Deadlines in already visited ticks go to the last visited one, so they are not delayed a whole revolution
+      long tick = max(timeout.deadline / tickMillis, lastTick);
+      buckets[(int) (tick & mask)].add(timeout);
+    }
+  }
+
+  /**
+   * Stops tracking every item. Like {@link #expire(long, Consumer)}, it must not be called concurrently with it.
+   */
+  public void clear() {
+    pending.clear();
+    for (Queue<Timeout<T>> bucket : buckets) {
+      bucket.clear();
+    }
+    size.set(0);
+    lastTick = -1;
+  }
+
+  /**
+   * @return the number of items being tracked, including cancelled ones not yet purged
+   */
+  public int size() {
+    return size.get();
+  }
+
+  /**
+   * The handle to an item tracked by a {@link HashedTimerWheel}.
+   *
+   * @param <T> the type of the item
+   */
+  public static final class Timeout<T> {
+
+    private final T item;
+    private final long deadline;
+    private volatile boolean cancelled;
+
+    private Timeout(T item, long deadline) {
+      this.item = item;
+      this.deadline = deadline;
+    }
+
+    /**
+     * Prevents the item from being expired. It is purged from the wheel the next time its bucket is visited.
+     */
+    public void cancel() {
+      cancelled = true;
+    }
+
+    public boolean isCancelled() {
+      return cancelled;
+    }
+
+    public T getItem() {
+      return item;
+    }
+
+    public long getDeadline() {
+      return deadline;
+    }
+  }
+}
@@ -13,6 +13,7 @@ import org.mule.runtime.core.api.context.notification.FlowCallStack;
 import org.mule.runtime.core.api.context.notification.ProcessorsTrace;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.management.stats.ProcessingTime;
+import org.mule.runtime.core.api.transaction.Transaction;
 
 import org.reactivestreams.Publisher;
 
@@ -197,4 +198,28 @@ public interface BaseEventContext extends EventContext {
    */
   int getDepthLevel();
 
+  /**
+   * @return the transaction bound to the processing of the root context of this context, if any.
+   *
+   * @since 4.2
+   */
+  default Optional<Transaction> getBoundTransaction() {
+    return Optional.empty();
+  }
+
+  /**
+   * Binds a transaction to the processing of the root context of this context, so it is available regardless of the thread the
+   * processing happens on.
+   * <p>
+   * Contexts that cannot hold a transaction ignore this call, so callers have to check {@link #getBoundTransaction()} to know
+   * whether the transaction was actually bound.
+   *
+   * @param transaction the transaction to bind, or {@code null} to unbind the current one.
+   *
+   * @since 4.2
+   */
+  default void setBoundTransaction(Transaction transaction) {
+    // Nothing to do by default
+  }
+
 }
@@ -74,6 +74,17 @@ public abstract class AbstractSingleResourceTransaction extends AbstractTransact
     rolledBack.compareAndSet(false, true);
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * A single resource, such as a JMS session or JDBC connection, may be used from different threads as long as it is not used
+   * concurrently.
+   */
+  @Override
+  public boolean requiresThreadAffinity() {
+    return false;
+  }
+
   public int getStatus() throws TransactionStatusException {
     if (rolledBack.get()) {
       return STATUS_ROLLEDBACK;
@@ -34,6 +34,7 @@ public class MuleFoldersUtil {
   public static final String PATCHES_FOLDER = "patches";
   public static final String SERVICES_FOLDER = "services";
   private static final String MODULES_FOLDER = "modules";
+  private static final String PLUGINS_STORE_FOLDER = "plugins-store";
 
 
   private MuleFoldersUtil() {}
@@ -191,6 +192,13 @@ public class MuleFoldersUtil {
     return new File(getExecutionFolder(), SERVICES_FOLDER);
   }
 
+  /**
+   * @return a {@link File} pointing to the container folder where the plugins shared among artifacts are stored.
+   */
+  public static File getPluginsStoreFolder() {
+    return new File(getExecutionFolder(), PLUGINS_STORE_FOLDER);
+  }
+
   /**
    * @return a {@link File} pointing to the container folder used to temporarily store the exported module services for SPI.
    */
@@ -28,6 +28,7 @@ import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Provides policy management and provision for Mule applications
@@ -38,6 +39,7 @@ public class MuleApplicationPolicyProvider implements ApplicationPolicyProvider,
   private final PolicyInstanceProviderFactory policyInstanceProviderFactory;
   private final List<RegisteredPolicyTemplate> registeredPolicyTemplates = new LinkedList<>();
   private final List<RegisteredPolicyInstanceProvider> registeredPolicyInstanceProviders = new LinkedList<>();
+  private final List<Runnable> policiesChangedCallbacks = new CopyOnWriteArrayList<>();
   private Application application;
 
   /**
@@ -84,6 +86,7 @@ public class MuleApplicationPolicyProvider implements ApplicationPolicyProvider,
           .add(new RegisteredPolicyInstanceProvider(applicationPolicyInstance, parametrization.getId()));
       registeredPolicyInstanceProviders.sort(null);
       registeredPolicyTemplate.get().count++;
+      notifyPoliciesChanged();
     } catch (Exception e) {
       throw new PolicyRegistrationException(createPolicyRegistrationError(parametrization.getId()), e);
     }
@@ -97,6 +100,7 @@ public class MuleApplicationPolicyProvider implements ApplicationPolicyProvider,
     registeredPolicyInstanceProvider.ifPresent(provider -> {
       provider.getApplicationPolicyInstance().dispose();
       registeredPolicyInstanceProviders.remove(provider);
+      notifyPoliciesChanged();
 
       Optional<RegisteredPolicyTemplate> registeredPolicyTemplate = registeredPolicyTemplates.stream()
           .filter(p -> p.policyTemplate.equals(provider.getApplicationPolicyInstance().getPolicyTemplate()))
@@ -117,6 +121,23 @@ public class MuleApplicationPolicyProvider implements ApplicationPolicyProvider,
     return registeredPolicyInstanceProvider.isPresent();
   }
 
+  @Override
+  public boolean isPoliciesAvailable() {
+    return !registeredPolicyInstanceProviders.isEmpty();
+  }
+
+  @Override
+  public boolean onPoliciesChanged(Runnable policiesChangedCallback) {
+    policiesChangedCallbacks.add(policiesChangedCallback);
+    return true;
+  }
+
+  private void notifyPoliciesChanged() {
+    for (Runnable policiesChangedCallback : policiesChangedCallbacks) {
+      policiesChangedCallback.run();
+    }
+  }
+
   @Override
   public List<Policy> findSourceParameterizedPolicies(PolicyPointcutParameters policyPointcutParameters) {
     List<Policy> policies = new ArrayList<>();
@@ -158,6 +179,7 @@ public class MuleApplicationPolicyProvider implements ApplicationPolicyProvider,
       registeredPolicyInstanceProvider.getApplicationPolicyInstance().dispose();
     }
     registeredPolicyInstanceProviders.clear();
+    notifyPoliciesChanged();
 
     for (RegisteredPolicyTemplate registeredPolicyTemplate : registeredPolicyTemplates) {
       try {
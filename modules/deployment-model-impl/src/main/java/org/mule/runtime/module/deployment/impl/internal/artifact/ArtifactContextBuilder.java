@@ -23,6 +23,9 @@ import static org.mule.runtime.core.api.config.bootstrap.ArtifactType.POLICY;
 import static org.mule.runtime.core.api.util.ClassUtils.withContextClassLoader;
 import static org.mule.runtime.core.api.util.UUID.getUUID;
 import static org.mule.runtime.core.internal.exception.ErrorTypeRepositoryFactory.createCompositeErrorTypeRepository;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.CONFIG;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.CONTEXT;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.startSpan;
 import static org.mule.runtime.module.deployment.impl.internal.artifact.ArtifactFactoryUtils.getMuleContext;
 import static org.mule.runtime.module.deployment.impl.internal.artifact.ArtifactFactoryUtils.isConfigLess;
 import static org.mule.runtime.module.deployment.impl.internal.artifact.ArtifactFactoryUtils.withArtifactMuleContext;
@@ -55,6 +58,7 @@ import org.mule.runtime.core.api.context.DefaultMuleContextFactory;
 import org.mule.runtime.core.api.context.MuleContextBuilder;
 import org.mule.runtime.core.api.context.notification.MuleContextListener;
 import org.mule.runtime.core.api.policy.PolicyProvider;
+import org.mule.runtime.core.internal.profiling.DeploymentProfiler.Span;
 import org.mule.runtime.deployment.model.api.DeployableArtifact;
 import org.mule.runtime.deployment.model.api.artifact.ArtifactConfigurationProcessor;
 import org.mule.runtime.deployment.model.api.artifact.ArtifactContext;
@@ -448,8 +452,10 @@ public class ArtifactContextBuilder {
                     .setRuntimeComponentBuildingDefinitionProvider(runtimeComponentBuildingDefinitionProvider);
 
             withArtifactMuleContext(parentArtifact, artifactContextConfigurationBuilder::setParentContext);
-            artifactContext
-                .set(artifactConfigurationProcessor.createArtifactContext(artifactContextConfigurationBuilder.build()));
+            try (Span span = startSpan(CONFIG, "artifact context")) {
+              artifactContext
+                  .set(artifactConfigurationProcessor.createArtifactContext(artifactContextConfigurationBuilder.build()));
+            }
             ((DefaultMuleConfiguration) muleContext.getConfiguration()).setDataFolderName(dataFolderName);
           }
 
@@ -483,7 +489,7 @@ public class ArtifactContextBuilder {
           builders.add(new ConnectionManagerConfigurationBuilder());
         }
 
-        try {
+        try (Span span = startSpan(CONTEXT, artifactName)) {
           muleContextFactory.createMuleContext(builders, muleContextBuilder);
           return artifactContext.get();
         } catch (InitialisationException e) {
@@ -10,12 +10,15 @@ package org.mule.runtime.module.deployment.impl.internal.artifact;
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toSet;
 import static org.mule.runtime.api.dsl.DslResolvingContext.getDefault;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.EXTENSION;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.startSpan;
 import org.mule.runtime.api.deployment.meta.MulePluginModel;
 import org.mule.runtime.api.meta.model.ExtensionModel;
 import org.mule.runtime.api.util.Pair;
 import org.mule.runtime.core.api.extension.MuleExtensionModelProvider;
 import org.mule.runtime.core.api.registry.SpiServiceRegistry;
 import org.mule.runtime.core.api.extension.RuntimeExtensionModelProvider;
+import org.mule.runtime.core.internal.profiling.DeploymentProfiler.Span;
 import org.mule.runtime.deployment.model.api.plugin.ArtifactPluginDescriptor;
 import org.mule.runtime.deployment.model.api.plugin.LoaderDescriber;
 import org.mule.runtime.extension.api.loader.ExtensionModelLoader;
@@ -122,6 +125,8 @@ public class ExtensionModelDiscoverer {
     if (!extensions.contains(coreModel)) {
       extensions = ImmutableSet.<ExtensionModel>builder().addAll(extensions).add(coreModel).build();
     }
-    return loader.loadExtensionModel(artifactClassloader, getDefault(extensions), loaderDescriber.getAttributes());
+    try (Span span = startSpan(EXTENSION, artifactName)) {
+      return loader.loadExtensionModel(artifactClassloader, getDefault(extensions), loaderDescriber.getAttributes());
+    }
   }
 }
@@ -18,6 +18,7 @@ import static org.hamcrest.Matchers.is;
 import static org.junit.rules.ExpectedException.none;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.runtime.module.deployment.impl.internal.application.MuleApplicationPolicyProvider.createPolicyRegistrationError;
@@ -134,6 +135,24 @@ public class MuleApplicationPolicyProviderTestCase extends AbstractMuleTestCase
     when(policyTemplate2.getDescriptor()).thenReturn(policyTemplateDescriptor2);
   }
 
+  @Test
+  public void notifiesPolicyChanges() throws Exception {
+    Runnable policiesChangedCallback = mock(Runnable.class);
+    assertThat(policyProvider.onPoliciesChanged(policiesChangedCallback), is(true));
+    assertThat(policyProvider.isPoliciesAvailable(), is(false));
+
+    policyProvider.addPolicy(policyTemplateDescriptor1, parametrization1);
+    verify(policiesChangedCallback).run();
+    assertThat(policyProvider.isPoliciesAvailable(), is(true));
+
+    policyProvider.removePolicy(parametrization1.getId());
+    verify(policiesChangedCallback, times(2)).run();
+    assertThat(policyProvider.isPoliciesAvailable(), is(false));
+
+    policyProvider.removePolicy(parametrization1.getId());
+    verify(policiesChangedCallback, times(2)).run();
+  }
+
   @Test
   public void addsOperationPolicy() throws Exception {
     when(pointcut.matches(policyPointcutParameters)).thenReturn(true);
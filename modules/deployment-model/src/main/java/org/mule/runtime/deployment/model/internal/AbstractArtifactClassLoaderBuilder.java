@@ -10,8 +10,11 @@ import static java.util.Arrays.asList;
 import static java.util.stream.Collectors.toSet;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.mule.runtime.api.util.Preconditions.checkState;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.CLASS_LOADING;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.startSpan;
 import static org.mule.runtime.module.artifact.api.classloader.ParentFirstLookupStrategy.PARENT_FIRST;
 import org.mule.runtime.core.api.util.UUID;
+import org.mule.runtime.core.internal.profiling.DeploymentProfiler.Span;
 import org.mule.runtime.deployment.model.api.plugin.ArtifactPluginDescriptor;
 import org.mule.runtime.module.artifact.api.classloader.ArtifactClassLoader;
 import org.mule.runtime.module.artifact.api.classloader.ArtifactClassLoaderFilter;
@@ -111,6 +114,12 @@ public abstract class AbstractArtifactClassLoaderBuilder<T extends AbstractArtif
     parentClassLoader = getParentClassLoader();
     checkState(parentClassLoader != null, "parent class loader cannot be null");
     final String artifactId = getArtifactId(artifactDescriptor);
+    try (Span span = startSpan(CLASS_LOADING, artifactId)) {
+      return doBuild(artifactId);
+    }
+  }
+
+  private ArtifactClassLoader doBuild(String artifactId) {
     ClassLoaderLookupPolicy parentLookupPolicy = getParentLookupPolicy(parentClassLoader);
     RegionClassLoader regionClassLoader =
         new RegionClassLoader(artifactId, artifactDescriptor, parentClassLoader.getClassLoader(),
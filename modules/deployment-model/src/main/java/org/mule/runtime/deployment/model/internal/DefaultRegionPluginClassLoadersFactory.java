@@ -10,13 +10,18 @@ package org.mule.runtime.deployment.model.internal;
 import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.CLASS_LOADING;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.startSpan;
 import static org.mule.runtime.deployment.model.api.plugin.ArtifactPluginDescriptor.MULE_PLUGIN_CLASSIFIER;
+import static org.mule.runtime.deployment.model.internal.plugin.SharedPluginClassLoaders.isSharingEnabled;
 import static org.mule.runtime.module.artifact.api.classloader.ChildOnlyLookupStrategy.CHILD_ONLY;
 import static org.mule.runtime.module.artifact.api.classloader.ParentFirstLookupStrategy.PARENT_FIRST;
 import org.mule.runtime.container.api.ModuleRepository;
 import org.mule.runtime.container.api.MuleModule;
 import org.mule.runtime.container.internal.ContainerOnlyLookupStrategy;
+import org.mule.runtime.core.internal.profiling.DeploymentProfiler.Span;
 import org.mule.runtime.deployment.model.api.plugin.ArtifactPluginDescriptor;
+import org.mule.runtime.deployment.model.internal.plugin.SharedPluginClassLoaders;
 import org.mule.runtime.module.artifact.api.classloader.ArtifactClassLoader;
 import org.mule.runtime.module.artifact.api.classloader.ArtifactClassLoaderFactory;
 import org.mule.runtime.module.artifact.api.classloader.ClassLoaderLookupPolicy;
@@ -42,6 +47,7 @@ public class DefaultRegionPluginClassLoadersFactory implements RegionPluginClass
 
   private final ArtifactClassLoaderFactory artifactPluginClassLoaderFactory;
   private final ModuleRepository moduleRepository;
+  private final Optional<SharedPluginClassLoaders> sharedPluginClassLoaders;
 
   /**
    * Creates a new factory
@@ -51,11 +57,27 @@ public class DefaultRegionPluginClassLoadersFactory implements RegionPluginClass
    */
   public DefaultRegionPluginClassLoadersFactory(ArtifactClassLoaderFactory artifactPluginClassLoaderFactory,
                                                 ModuleRepository moduleRepository) {
+    this(artifactPluginClassLoaderFactory, moduleRepository, Optional.empty());
+  }
+
+  /**
+   * Creates a new factory
+   *
+   * @param artifactPluginClassLoaderFactory factory to create class loaders for each used plugin. Non be not null.
+   * @param moduleRepository provides access to the modules available on the container. Non null.
+   * @param sharedPluginClassLoaders provides the class loaders for plugins shared among the regions that enable it. Non null.
+   * @since 4.2
+   */
+  public DefaultRegionPluginClassLoadersFactory(ArtifactClassLoaderFactory artifactPluginClassLoaderFactory,
+                                                ModuleRepository moduleRepository,
+                                                Optional<SharedPluginClassLoaders> sharedPluginClassLoaders) {
     checkArgument(artifactPluginClassLoaderFactory != null, "artifactPluginClassLoaderFactory cannot be null");
     checkArgument(moduleRepository != null, "moduleRepository cannot be null");
+    checkArgument(sharedPluginClassLoaders != null, "sharedPluginClassLoaders cannot be null");
 
     this.artifactPluginClassLoaderFactory = artifactPluginClassLoaderFactory;
     this.moduleRepository = moduleRepository;
+    this.sharedPluginClassLoaders = sharedPluginClassLoaders;
   }
 
   @Override
@@ -63,21 +85,54 @@ public class DefaultRegionPluginClassLoadersFactory implements RegionPluginClass
                                                             List<ArtifactPluginDescriptor> artifactPluginDescriptors,
                                                             ClassLoaderLookupPolicy regionOwnerLookupPolicy) {
     List<ArtifactClassLoader> classLoaders = new LinkedList<>();
+    final boolean sharingEnabled =
+        sharedPluginClassLoaders.isPresent() && isSharingEnabled(regionClassLoader.getArtifactDescriptor());
 
     for (ArtifactPluginDescriptor artifactPluginDescriptor : artifactPluginDescriptors) {
-      final String pluginArtifactId = getArtifactPluginId(regionClassLoader.getArtifactId(), artifactPluginDescriptor.getName());
+      try (Span span = startSpan(CLASS_LOADING, artifactPluginDescriptor.getName())) {
+        Optional<ArtifactClassLoader> sharedClassLoader = Optional.empty();
+        if (sharingEnabled && getPluginDescriptors(artifactPluginDescriptor, artifactPluginDescriptors).isEmpty()) {
+          sharedClassLoader = createSharedPluginClassLoader(regionClassLoader, artifactPluginDescriptor);
+        }
 
-      ClassLoaderLookupPolicy pluginLookupPolicy = createPluginLookupPolicy(classLoaders, artifactPluginDescriptor,
-                                                                            regionOwnerLookupPolicy, artifactPluginDescriptors);
-      final ArtifactClassLoader artifactClassLoader =
-          artifactPluginClassLoaderFactory.create(pluginArtifactId, artifactPluginDescriptor, regionClassLoader.getClassLoader(),
-                                                  pluginLookupPolicy);
+        final ArtifactClassLoader artifactClassLoader;
+        if (sharedClassLoader.isPresent()) {
+          artifactClassLoader = sharedClassLoader.get();
+        } else {
+          final String pluginArtifactId =
+              getArtifactPluginId(regionClassLoader.getArtifactId(), artifactPluginDescriptor.getName());
+
+          ClassLoaderLookupPolicy pluginLookupPolicy = createPluginLookupPolicy(classLoaders, artifactPluginDescriptor,
+                                                                                regionOwnerLookupPolicy,
+                                                                                artifactPluginDescriptors);
+          artifactClassLoader =
+              artifactPluginClassLoaderFactory.create(pluginArtifactId, artifactPluginDescriptor,
+                                                      regionClassLoader.getClassLoader(), pluginLookupPolicy);
+        }
 
-      classLoaders.add(artifactClassLoader);
+        classLoaders.add(artifactClassLoader);
+      }
     }
     return classLoaders;
   }
 
+  /**
+   * Plugins without dependencies on other plugins are shared among regions with the same parent. Their lookup policy cannot
+   * depend on the region, so it does not include the packages exported by the region owner.
+   */
+  private Optional<ArtifactClassLoader> createSharedPluginClassLoader(ArtifactClassLoader regionClassLoader,
+                                                                      ArtifactPluginDescriptor descriptor) {
+    final ClassLoader parent = regionClassLoader.getClassLoader().getParent();
+    if (parent == null) {
+      return Optional.empty();
+    }
+
+    Map<String, LookupStrategy> pluginsLookupPolicies = new HashMap<>();
+    addContainerPrivilegedPackages(descriptor, pluginsLookupPolicies);
+    return sharedPluginClassLoaders.get()
+        .acquire(descriptor, parent, regionClassLoader.getClassLoaderLookupPolicy().extend(pluginsLookupPolicies));
+  }
+
   /**
    * @param parentArtifactId identifier of the artifact that owns the plugin. Non empty.
    * @param pluginName name of the plugin. Non empty.
@@ -129,6 +184,13 @@ public class DefaultRegionPluginClassLoadersFactory implements RegionPluginClass
 
     }
 
+    addContainerPrivilegedPackages(descriptor, pluginsLookupPolicies);
+
+    return baseLookupPolicy.extend(pluginsLookupPolicies);
+  }
+
+  private void addContainerPrivilegedPackages(ArtifactPluginDescriptor descriptor,
+                                              Map<String, LookupStrategy> pluginsLookupPolicies) {
     ContainerOnlyLookupStrategy containerOnlyLookupStrategy = new ContainerOnlyLookupStrategy(this.getClass().getClassLoader());
 
     for (MuleModule module : moduleRepository.getModules()) {
@@ -139,8 +201,6 @@ public class DefaultRegionPluginClassLoadersFactory implements RegionPluginClass
         }
       }
     }
-
-    return baseLookupPolicy.extend(pluginsLookupPolicies);
   }
 
   private List<ArtifactPluginDescriptor> getPluginDescriptors(ArtifactPluginDescriptor descriptor,
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.deployment.model.internal.plugin;
+
+import static java.nio.file.Files.copy;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.createTempFile;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.move;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Stores the files of plugin artifacts by their content, so identical files used by several deployed artifacts are kept only
+ * once.
+ * <p>
+ * Each file is stored as {@code <storeFolder>/<sha-256 of the content>/<file name>}. The stored files do not depend on the
+ * artifact they were taken from, so they can be used after that artifact is undeployed. They are {@link #remove(URL) removed}
+ * once no class loader uses them.
+ *
+ * @since 4.2
+ */
+public class PluginArtifactStore {
+
+  private static final String CHECKSUM_ALGORITHM = "SHA-256";
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final File storeFolder;
+
+  /**
+   * Creates a new store.
+   *
+   * @param storeFolder folder where the files are stored. Non null.
+   */
+  public PluginArtifactStore(File storeFolder) {
+    checkArgument(storeFolder != null, "storeFolder cannot be null");
+    this.storeFolder = storeFolder;
+  }
+
+  /**
+   * @param url location of a plugin file
+   * @return {@code true} if the file can be stored, {@code false} otherwise.
+   */
+  public boolean isStorable(URL url) {
+    return "file".equals(url.getProtocol()) && toFile(url).isFile();
+  }
+
+  /**
+   * Computes the checksum identifying the content of a file.
+   *
+   * @param url location of the file. Must be {@link #isStorable(URL) storable}.
+   * @return the hex encoded checksum of the file content.
+   * @throws IOException if the file cannot be read.
+   */
+  public String checksum(URL url) throws IOException {
+    final MessageDigest digest = newDigest();
+    final byte[] buffer = new byte[BUFFER_SIZE];
+    try (InputStream input = Files.newInputStream(toFile(url).toPath())) {
+      int read;
+      while ((read = input.read(buffer)) >= 0) {
+        digest.update(buffer, 0, read);
+      }
+    }
+    return toHex(digest.digest());
+  }
+
+  /**
+   * Stores a file, unless a file with the same name and content is already stored.
+   *
+   * @param url location of the file. Must be {@link #isStorable(URL) storable}.
+   * @param checksum checksum of the file as returned by {@link #checksum(URL)}.
+   * @return the location of the stored file.
+   * @throws IOException if the file cannot be stored.
+   */
+  public URL store(URL url, String checksum) throws IOException {
+    final File source = toFile(url);
+    final Path entryFolder = createDirectories(new File(storeFolder, checksum).toPath());
+    final Path target = entryFolder.resolve(source.getName());
+
+    if (!target.toFile().exists()) {
+      // Copy to a temporary file first, so a partially copied file is never used by another artifact
+      final Path tempFile = createTempFile(entryFolder, source.getName(), ".tmp");
+      try {
+        copy(source.toPath(), tempFile, REPLACE_EXISTING);
+        move(tempFile, target, ATOMIC_MOVE);
+      } catch (FileAlreadyExistsException e) {
+        // Stored concurrently by another artifact
+      } finally {
+        deleteIfExists(tempFile);
+      }
+    }
+
+    return target.toUri().toURL();
+  }
+
+  /**
+   * Removes a stored file, along with its folder if nothing else is stored in it.
+   *
+   * @param storedUrl location of the file as returned by {@link #store(URL, String)}.
+   * @throws IOException if the file cannot be removed.
+   */
+  public void remove(URL storedUrl) throws IOException {
+    final Path stored = toFile(storedUrl).toPath();
+    deleteIfExists(stored);
+    try {
+      deleteIfExists(stored.getParent());
+    } catch (DirectoryNotEmptyException e) {
+      // Other files with the same content are still stored
+    }
+  }
+
+  /**
+   * @return the folder where the files are stored.
+   */
+  public File getStoreFolder() {
+    return storeFolder;
+  }
+
+  private static File toFile(URL url) {
+    try {
+      return new File(url.toURI());
+    } catch (URISyntaxException e) {
+      return new File(url.getPath());
+    }
+  }
+
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance(CHECKSUM_ALGORITHM);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(CHECKSUM_ALGORITHM + " not available", e);
+    }
+  }
+
+  private static String toHex(byte[] bytes) {
+    final StringBuilder builder = new StringBuilder(bytes.length * 2);
+    for (byte b : bytes) {
+      builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return builder.toString();
+  }
+}
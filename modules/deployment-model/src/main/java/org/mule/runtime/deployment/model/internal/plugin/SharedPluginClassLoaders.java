@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.deployment.model.internal.plugin;
+
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Boolean.parseBoolean;
+import static java.lang.System.identityHashCode;
+import static java.util.Arrays.asList;
+import static java.util.Objects.hash;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.deployment.model.internal.DefaultRegionPluginClassLoadersFactory.getArtifactPluginId;
+import org.mule.runtime.deployment.model.api.plugin.ArtifactPluginDescriptor;
+import org.mule.runtime.module.artifact.api.classloader.ArtifactClassLoader;
+import org.mule.runtime.module.artifact.api.classloader.ArtifactClassLoaderManager;
+import org.mule.runtime.module.artifact.api.classloader.ClassLoaderLookupPolicy;
+import org.mule.runtime.module.artifact.api.classloader.MuleArtifactClassLoader;
+import org.mule.runtime.module.artifact.api.descriptor.ArtifactDescriptor;
+import org.mule.runtime.module.artifact.api.descriptor.ClassLoaderModel;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the class loaders of plugins shared among the deployed artifacts that opt in.
+ * <p>
+ * A class loader is shared by the artifacts using a plugin with the same coordinates, content and exported API, that have the
+ * same parent class loader (that is, that belong to the same domain). The files of shared plugins are taken from a
+ * {@link PluginArtifactStore}, so the class loader does not depend on the artifact that created it.
+ * <p>
+ * Shared class loaders are reference counted: each region disposing one releases its reference, and the class loader is
+ * actually disposed when the last region using it is disposed. Then its files are removed from the store, unless another shared
+ * class loader still uses them.
+ *
+ * @since 4.2
+ */
+public class SharedPluginClassLoaders {
+
+  /**
+   * Enables sharing plugin class loaders. It may be set as a system property, to enable it for every artifact, or as a
+   * deployment property of an artifact.
+   */
+  public static final String SHARED_PLUGIN_CLASS_LOADERS_PROPERTY = "mule.plugins.sharedClassLoaders";
+
+  private static final String SHARED_ARTIFACT_ID_PREFIX = "shared/";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SharedPluginClassLoaders.class);
+
+  private final PluginArtifactStore pluginArtifactStore;
+  private final ArtifactClassLoaderManager artifactClassLoaderManager;
+  private final Map<SharedPluginKey, SharedPluginClassLoader> classLoaders = new HashMap<>();
+
+  /**
+   * Creates a new instance.
+   *
+   * @param pluginArtifactStore store for the files of the shared plugins. Non null.
+   * @param artifactClassLoaderManager tracks the created class loaders. Non null.
+   */
+  public SharedPluginClassLoaders(PluginArtifactStore pluginArtifactStore,
+                                  ArtifactClassLoaderManager artifactClassLoaderManager) {
+    checkArgument(pluginArtifactStore != null, "pluginArtifactStore cannot be null");
+    checkArgument(artifactClassLoaderManager != null, "artifactClassLoaderManager cannot be null");
+    this.pluginArtifactStore = pluginArtifactStore;
+    this.artifactClassLoaderManager = artifactClassLoaderManager;
+  }
+
+  /**
+   * @param artifactDescriptor descriptor of the artifact owning a region
+   * @return {@code true} if the plugins of the artifact may use shared class loaders, {@code false} otherwise.
+   */
+  public static boolean isSharingEnabled(ArtifactDescriptor artifactDescriptor) {
+    if (getBoolean(SHARED_PLUGIN_CLASS_LOADERS_PROPERTY)) {
+      return true;
+    }
+    return artifactDescriptor != null && artifactDescriptor.getDeploymentProperties()
+        .map(p -> parseBoolean(p.getProperty(SHARED_PLUGIN_CLASS_LOADERS_PROPERTY))).orElse(false);
+  }
+
+  /**
+   * Returns the shared class loader for a plugin, creating it if no other artifact is using it.
+   * <p>
+   * Each returned class loader must be disposed once it is no longer used by the caller.
+   *
+   * @param descriptor descriptor of the plugin. Non null.
+   * @param parent parent class loader for the plugin. Non null.
+   * @param lookupPolicy lookup policy for the plugin. It must not depend on the artifact using the plugin. Non null.
+   * @return the shared class loader, or {@link Optional#empty()} if the plugin cannot be shared.
+   */
+  public Optional<ArtifactClassLoader> acquire(ArtifactPluginDescriptor descriptor, ClassLoader parent,
+                                               ClassLoaderLookupPolicy lookupPolicy) {
+    final URL[] urls = descriptor.getClassLoaderModel().getUrls();
+    if (urls.length == 0) {
+      return empty();
+    }
+    for (URL url : urls) {
+      if (!pluginArtifactStore.isStorable(url)) {
+        return empty();
+      }
+    }
+
+    final List<String> checksums = new ArrayList<>(urls.length);
+    try {
+      for (URL url : urls) {
+        checksums.add(pluginArtifactStore.checksum(url));
+      }
+    } catch (IOException e) {
+      LOGGER.warn("Unable to compute the checksum of plugin '{}', it will not be shared", descriptor.getName(), e);
+      return empty();
+    }
+
+    final SharedPluginKey key = new SharedPluginKey(descriptor, checksums, parent);
+    synchronized (classLoaders) {
+      SharedPluginClassLoader classLoader = classLoaders.get(key);
+      if (classLoader == null) {
+        final URL[] storedUrls = new URL[urls.length];
+        try {
+          for (int i = 0; i < urls.length; ++i) {
+            storedUrls[i] = pluginArtifactStore.store(urls[i], checksums.get(i));
+          }
+        } catch (IOException e) {
+          LOGGER.warn("Unable to store plugin '{}', it will not be shared", descriptor.getName(), e);
+          return empty();
+        }
+
+        final String artifactId =
+            getArtifactPluginId(SHARED_ARTIFACT_ID_PREFIX + checksums.get(0).substring(0, 12), descriptor.getName());
+        classLoader = new SharedPluginClassLoader(artifactId, descriptor, storedUrls, parent, lookupPolicy, key);
+        artifactClassLoaderManager.register(classLoader);
+        classLoaders.put(key, classLoader);
+
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("Created shared class loader for plugin '{}': {}", descriptor.getName(), artifactId);
+        }
+      }
+      classLoader.references++;
+      return of(classLoader);
+    }
+  }
+
+  /**
+   * @return the number of shared class loaders currently in use.
+   */
+  public int size() {
+    synchronized (classLoaders) {
+      return classLoaders.size();
+    }
+  }
+
+  private boolean release(SharedPluginClassLoader classLoader) {
+    synchronized (classLoaders) {
+      if (--classLoader.references > 0) {
+        return false;
+      }
+      classLoaders.remove(classLoader.key);
+    }
+    artifactClassLoaderManager.unregister(classLoader.getArtifactId());
+    return true;
+  }
+
+  private void removeStoredFiles(SharedPluginClassLoader classLoader) {
+    // Holding the lock keeps the files from being taken by a class loader being created meanwhile
+    synchronized (classLoaders) {
+      for (URL storedUrl : classLoader.getURLs()) {
+        if (classLoaders.values().stream().anyMatch(other -> asList(other.getURLs()).contains(storedUrl))) {
+          // Plugins with the same content in other domains use the same stored file
+          continue;
+        }
+        try {
+          pluginArtifactStore.remove(storedUrl);
+        } catch (IOException e) {
+          LOGGER.warn("Unable to remove stored file {} of plugin '{}'", storedUrl, classLoader.getArtifactId(), e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Class loader of a plugin that is only disposed once every region using it has disposed it.
+   */
+  private final class SharedPluginClassLoader extends MuleArtifactClassLoader {
+
+    private final SharedPluginKey key;
+    // Guarded by 'classLoaders'
+    private int references;
+
+    private SharedPluginClassLoader(String artifactId, ArtifactDescriptor artifactDescriptor, URL[] urls, ClassLoader parent,
+                                    ClassLoaderLookupPolicy lookupPolicy, SharedPluginKey key) {
+      super(artifactId, artifactDescriptor, urls, parent, lookupPolicy);
+      this.key = key;
+    }
+
+    @Override
+    public void dispose() {
+      if (release(this)) {
+        super.dispose();
+        // Only once the class loader is closed, so the files are not in use anymore
+        removeStoredFiles(this);
+      }
+    }
+  }
+
+  /**
+   * Identifies the plugins that can use the same class loader.
+   */
+  private static final class SharedPluginKey {
+
+    private final String groupId;
+    private final String artifactId;
+    private final String version;
+    private final String classifier;
+    private final List<String> checksums;
+    private final Set<String> exportedPackages;
+    private final Set<String> exportedResources;
+    private final Set<String> privilegedExportedPackages;
+    private final Set<String> privilegedArtifacts;
+    private final ClassLoader parent;
+
+    private SharedPluginKey(ArtifactPluginDescriptor descriptor, List<String> checksums, ClassLoader parent) {
+      final ClassLoaderModel classLoaderModel = descriptor.getClassLoaderModel();
+      this.groupId = descriptor.getBundleDescriptor().getGroupId();
+      this.artifactId = descriptor.getBundleDescriptor().getArtifactId();
+      this.version = descriptor.getBundleDescriptor().getVersion();
+      this.classifier = descriptor.getBundleDescriptor().getClassifier().orElse(null);
+      this.checksums = checksums;
+      this.exportedPackages = classLoaderModel.getExportedPackages();
+      this.exportedResources = classLoaderModel.getExportedResources();
+      this.privilegedExportedPackages = classLoaderModel.getPrivilegedExportedPackages();
+      this.privilegedArtifacts = classLoaderModel.getPrivilegedArtifacts();
+      this.parent = parent;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof SharedPluginKey)) {
+        return false;
+      }
+      SharedPluginKey that = (SharedPluginKey) o;
+      // The parent is compared by identity, class loaders of different artifacts must not be mixed up
+      return parent == that.parent
+          && groupId.equals(that.groupId)
+          && artifactId.equals(that.artifactId)
+          && version.equals(that.version)
+          && (classifier == null ? that.classifier == null : classifier.equals(that.classifier))
+          && checksums.equals(that.checksums)
+          && exportedPackages.equals(that.exportedPackages)
+          && exportedResources.equals(that.exportedResources)
+          && privilegedExportedPackages.equals(that.privilegedExportedPackages)
+          && privilegedArtifacts.equals(that.privilegedArtifacts);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash(groupId, artifactId, version, checksums, identityHashCode(parent));
+    }
+  }
+}
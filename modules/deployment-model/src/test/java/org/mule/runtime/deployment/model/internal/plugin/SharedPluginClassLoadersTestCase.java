@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.deployment.model.internal.plugin;
+
+import static java.lang.management.ManagementFactory.getClassLoadingMXBean;
+import static java.lang.management.ManagementFactory.getMemoryPoolMXBeans;
+import static org.apache.commons.io.FileUtils.copyFile;
+import static org.apache.commons.io.FileUtils.writeStringToFile;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assume.assumeThat;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.module.artifact.api.classloader.ChildOnlyLookupStrategy.CHILD_ONLY;
+import static org.mule.runtime.module.artifact.api.classloader.ParentOnlyLookupStrategy.PARENT_ONLY;
+import org.mule.runtime.deployment.model.api.plugin.ArtifactPluginDescriptor;
+import org.mule.runtime.module.artifact.api.classloader.ArtifactClassLoader;
+import org.mule.runtime.module.artifact.api.classloader.ArtifactClassLoaderManager;
+import org.mule.runtime.module.artifact.api.classloader.ClassLoaderLookupPolicy;
+import org.mule.runtime.module.artifact.api.classloader.MuleArtifactClassLoader;
+import org.mule.runtime.module.artifact.api.descriptor.BundleDescriptor;
+import org.mule.runtime.module.artifact.api.descriptor.ClassLoaderModel.ClassLoaderModelBuilder;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.File;
+import java.lang.management.MemoryPoolMXBean;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SharedPluginClassLoadersTestCase extends AbstractMuleTestCase {
+
+  private static final String PLUGIN_NAME = "test-plugin";
+  private static final int APPLICATIONS = 5;
+  private static final int LOADED_CLASSES = 100;
+  // Shared class loaders are expected to take a fraction of the Metaspace of dedicated ones, this leaves room for noise
+  private static final double METASPACE_TOLERANCE = 0.5;
+  private static final String PLUGIN_PACKAGE = StringUtils.class.getPackage().getName() + ".";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final ArtifactClassLoaderManager artifactClassLoaderManager = mock(ArtifactClassLoaderManager.class);
+  private final ClassLoaderLookupPolicy lookupPolicy = mock(ClassLoaderLookupPolicy.class);
+  private PluginArtifactStore pluginArtifactStore;
+  private SharedPluginClassLoaders sharedPluginClassLoaders;
+
+  @Before
+  public void setUp() throws Exception {
+    pluginArtifactStore = new PluginArtifactStore(temporaryFolder.newFolder("store"));
+    sharedPluginClassLoaders = new SharedPluginClassLoaders(pluginArtifactStore, artifactClassLoaderManager);
+    // Classes from the plugin must be loaded by the plugin class loader even though they are also available in the parent
+    when(lookupPolicy.getClassLookupStrategy(anyString()))
+        .thenAnswer(invocation -> ((String) invocation.getArguments()[0]).startsWith(PLUGIN_PACKAGE) ? CHILD_ONLY : PARENT_ONLY);
+  }
+
+  @Test
+  public void sharesClassLoaderForIdenticalPlugins() throws Exception {
+    ArtifactClassLoader app1PluginClassLoader = acquire(createPluginDescriptor("app1", "content"), getParentClassLoader());
+    ArtifactClassLoader app2PluginClassLoader = acquire(createPluginDescriptor("app2", "content"), getParentClassLoader());
+
+    assertThat(app1PluginClassLoader, sameInstance(app2PluginClassLoader));
+    assertThat(sharedPluginClassLoaders.size(), is(1));
+    URL storedUrl = ((URLClassLoader) app1PluginClassLoader.getClassLoader()).getURLs()[0];
+    assertThat(new File(storedUrl.toURI()).getAbsolutePath(),
+               startsWith(pluginArtifactStore.getStoreFolder().getAbsolutePath()));
+    verify(artifactClassLoaderManager).register(app1PluginClassLoader);
+  }
+
+  @Test
+  public void doesNotSharePluginsWithDifferentContent() throws Exception {
+    ArtifactClassLoader app1PluginClassLoader = acquire(createPluginDescriptor("app1", "content"), getParentClassLoader());
+    ArtifactClassLoader app2PluginClassLoader = acquire(createPluginDescriptor("app2", "modified"), getParentClassLoader());
+
+    assertThat(app1PluginClassLoader, not(sameInstance(app2PluginClassLoader)));
+    assertThat(sharedPluginClassLoaders.size(), is(2));
+  }
+
+  @Test
+  public void doesNotSharePluginsWithDifferentParent() throws Exception {
+    ClassLoader otherParent = new URLClassLoader(new URL[0], getParentClassLoader());
+    ArtifactClassLoader app1PluginClassLoader = acquire(createPluginDescriptor("app1", "content"), getParentClassLoader());
+    ArtifactClassLoader app2PluginClassLoader = acquire(createPluginDescriptor("app2", "content"), otherParent);
+
+    assertThat(app1PluginClassLoader, not(sameInstance(app2PluginClassLoader)));
+  }
+
+  @Test
+  public void disposesClassLoaderWhenLastUserDisposesIt() throws Exception {
+    ArtifactClassLoader pluginClassLoader = acquire(createPluginDescriptor("app1", "content"), getParentClassLoader());
+    acquire(createPluginDescriptor("app2", "content"), getParentClassLoader());
+
+    pluginClassLoader.dispose();
+    assertThat(sharedPluginClassLoaders.size(), is(1));
+
+    pluginClassLoader.dispose();
+    assertThat(sharedPluginClassLoaders.size(), is(0));
+    verify(artifactClassLoaderManager).unregister(pluginClassLoader.getArtifactId());
+  }
+
+  @Test
+  public void removesStoredFilesWhenLastUserDisposesIt() throws Exception {
+    ArtifactClassLoader pluginClassLoader = acquire(createPluginDescriptor("app1", "content"), getParentClassLoader());
+    acquire(createPluginDescriptor("app2", "content"), getParentClassLoader());
+    File storedFile = getStoredFile(pluginClassLoader);
+
+    pluginClassLoader.dispose();
+    assertThat(storedFile.exists(), is(true));
+
+    pluginClassLoader.dispose();
+    assertThat(storedFile.exists(), is(false));
+    assertThat(pluginArtifactStore.getStoreFolder().list(), is(emptyArray()));
+  }
+
+  @Test
+  public void keepsStoredFilesUsedByOtherClassLoaders() throws Exception {
+    ClassLoader otherParent = new URLClassLoader(new URL[0], getParentClassLoader());
+    ArtifactClassLoader app1PluginClassLoader = acquire(createPluginDescriptor("app1", "content"), getParentClassLoader());
+    ArtifactClassLoader app2PluginClassLoader = acquire(createPluginDescriptor("app2", "content"), otherParent);
+    assertThat(getStoredFile(app2PluginClassLoader), is(getStoredFile(app1PluginClassLoader)));
+
+    app1PluginClassLoader.dispose();
+
+    assertThat(getStoredFile(app2PluginClassLoader).exists(), is(true));
+  }
+
+  @Test
+  public void sharedClassLoaderUsesLessMetaspaceThanDedicatedOnes() throws Exception {
+    MemoryPoolMXBean metaspace = getMemoryPoolMXBeans().stream().filter(p -> "Metaspace".equals(p.getName())).findFirst()
+        .orElse(null);
+    assumeThat(metaspace, is(notNullValue()));
+
+    File pluginJar = new File(StringUtils.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+    List<String> classNames = getClassNames(pluginJar);
+
+    List<ArtifactClassLoader> dedicatedClassLoaders = new ArrayList<>();
+    Usage dedicatedUsage = measure(metaspace, () -> {
+      for (int i = 0; i < APPLICATIONS; ++i) {
+        ArtifactPluginDescriptor descriptor = createPluginDescriptor("dedicated" + i, pluginJar);
+        ArtifactClassLoader classLoader =
+            new MuleArtifactClassLoader("dedicated" + i, descriptor, descriptor.getClassLoaderModel().getUrls(),
+                                        getParentClassLoader(), lookupPolicy);
+        dedicatedClassLoaders.add(classLoader);
+        loadClasses(classLoader, classNames);
+      }
+    });
+
+    List<ArtifactClassLoader> sharedClassLoaders = new ArrayList<>();
+    Usage sharedUsage = measure(metaspace, () -> {
+      for (int i = 0; i < APPLICATIONS; ++i) {
+        ArtifactClassLoader classLoader = acquire(createPluginDescriptor("shared" + i, pluginJar), getParentClassLoader());
+        sharedClassLoaders.add(classLoader);
+        loadClasses(classLoader, classNames);
+      }
+    });
+
+    assertThat(sharedUsage.loadedClasses, greaterThan(0L));
+    assertThat((double) sharedUsage.metaspaceBytes, lessThan(dedicatedUsage.metaspaceBytes * METASPACE_TOLERANCE));
+
+    dedicatedClassLoaders.forEach(ArtifactClassLoader::dispose);
+    sharedClassLoaders.forEach(ArtifactClassLoader::dispose);
+  }
+
+  private ArtifactClassLoader acquire(ArtifactPluginDescriptor descriptor, ClassLoader parent) {
+    return sharedPluginClassLoaders.acquire(descriptor, parent, lookupPolicy).get();
+  }
+
+  private static File getStoredFile(ArtifactClassLoader classLoader) throws Exception {
+    return new File(((URLClassLoader) classLoader.getClassLoader()).getURLs()[0].toURI());
+  }
+
+  private ClassLoader getParentClassLoader() {
+    return getClass().getClassLoader();
+  }
+
+  private ArtifactPluginDescriptor createPluginDescriptor(String applicationName, String content) throws Exception {
+    File pluginJar = new File(temporaryFolder.getRoot(), applicationName + "/repository/" + PLUGIN_NAME + "-1.0-mule-plugin.jar");
+    writeStringToFile(pluginJar, content);
+    return createPluginDescriptor(pluginJar);
+  }
+
+  private ArtifactPluginDescriptor createPluginDescriptor(String applicationName, File sourceJar) throws Exception {
+    File pluginJar = new File(temporaryFolder.getRoot(), applicationName + "/repository/" + sourceJar.getName());
+    copyFile(sourceJar, pluginJar);
+    return createPluginDescriptor(pluginJar);
+  }
+
+  private ArtifactPluginDescriptor createPluginDescriptor(File pluginJar) throws Exception {
+    ArtifactPluginDescriptor descriptor = new ArtifactPluginDescriptor(PLUGIN_NAME);
+    descriptor.setBundleDescriptor(new BundleDescriptor.Builder().setGroupId("org.mule.test").setArtifactId(PLUGIN_NAME)
+        .setVersion("1.0").setClassifier("mule-plugin").build());
+    descriptor.setClassLoaderModel(new ClassLoaderModelBuilder().containing(pluginJar.toURI().toURL()).build());
+    return descriptor;
+  }
+
+  private static List<String> getClassNames(File jar) throws Exception {
+    List<String> classNames = new ArrayList<>();
+    try (JarFile jarFile = new JarFile(jar)) {
+      Enumeration<JarEntry> entries = jarFile.entries();
+      while (entries.hasMoreElements() && classNames.size() < LOADED_CLASSES) {
+        String name = entries.nextElement().getName();
+        if (name.endsWith(".class") && !name.contains("-") && name.replace('/', '.').startsWith(PLUGIN_PACKAGE)) {
+          classNames.add(name.substring(0, name.length() - ".class".length()).replace('/', '.'));
+        }
+      }
+    }
+    return classNames;
+  }
+
+  private static void loadClasses(ArtifactClassLoader classLoader, List<String> classNames) {
+    for (String className : classNames) {
+      try {
+        classLoader.getClassLoader().loadClass(className);
+      } catch (ClassNotFoundException | LinkageError e) {
+        // Not every class can be loaded in isolation, it is enough that the same ones are loaded in both scenarios
+      }
+    }
+  }
+
+  private static Usage measure(MemoryPoolMXBean metaspace, CheckedRunnable task) throws Exception {
+    // Leaves out what earlier tests left behind, the class loaders created by the task are still referenced when measuring
+    System.gc();
+    long classesBefore = getClassLoadingMXBean().getTotalLoadedClassCount();
+    long metaspaceBefore = metaspace.getUsage().getUsed();
+
+    task.run();
+
+    System.gc();
+    long loadedClasses = getClassLoadingMXBean().getTotalLoadedClassCount() - classesBefore;
+    long metaspaceBytes = metaspace.getUsage().getUsed() - metaspaceBefore;
+    return new Usage(loadedClasses, metaspaceBytes);
+  }
+
+  @FunctionalInterface
+  private interface CheckedRunnable {
+
+    void run() throws Exception;
+  }
+
+  private static final class Usage {
+
+    private final long loadedClasses;
+    private final long metaspaceBytes;
+
+    private Usage(long loadedClasses, long metaspaceBytes) {
+      this.loadedClasses = loadedClasses;
+      this.metaspaceBytes = metaspaceBytes;
+    }
+  }
+}
@@ -7,6 +7,8 @@
 package org.mule.runtime.module.deployment.api;
 
 import org.mule.api.annotation.NoImplement;
+import org.mule.runtime.core.internal.profiling.DeploymentProfiler;
+import org.mule.runtime.core.internal.profiling.DeploymentTimeline;
 import org.mule.runtime.deployment.model.api.application.Application;
 import org.mule.runtime.deployment.model.api.domain.Domain;
 
@@ -14,6 +16,7 @@ import java.io.IOException;
 import java.net.URI;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.Properties;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -154,6 +157,23 @@ public interface DeploymentService extends DeploymentListenerManager, DomainDepl
    */
   void deployDomainBundle(URI domainArchiveUri) throws IOException;
 
+  /**
+   * @param artifactName name of an application or domain
+   * @return the timeline of the last deployment of the artifact, or {@link Optional#empty()} if it was not recorded.
+   * @see DeploymentProfiler
+   * @since 4.2
+   */
+  Optional<DeploymentTimeline> getDeploymentTimeline(String artifactName);
+
+  /**
+   * Exports the timelines of the deployed domains and applications together, in the Chrome trace event format.
+   *
+   * @return the JSON representation of the timelines in the trace event format.
+   * @see DeploymentProfiler
+   * @since 4.2
+   */
+  String getDeploymentTimelinesAsChromeTrace();
+
   void start();
 
   void stop();
@@ -15,7 +15,8 @@ import static org.mule.runtime.core.api.util.FileUtils.deleteTree;
 import static org.mule.runtime.module.deployment.internal.DefaultArchiveDeployer.JAR_FILE_SUFFIX;
 import org.mule.runtime.api.i18n.I18nMessageFactory;
 import org.mule.runtime.container.api.MuleFoldersUtil;
-import org.mule.runtime.core.api.util.FileUtils;
+import org.mule.runtime.core.internal.util.ArchiveExtractor;
+import org.mule.runtime.core.internal.util.ArchiveExtractor.ExtractionResult;
 import org.mule.runtime.deployment.model.api.DeploymentException;
 import org.mule.runtime.deployment.model.api.DeploymentInitException;
 
@@ -35,6 +36,8 @@ public class ArtifactArchiveInstaller {
   protected static final String ANCHOR_FILE_BLURB =
       "Delete this file while Mule is running to remove the artifact in a clean way.";
 
+  private static final String INSTALLATION_FOLDER_SUFFIX = ".installing";
+
   private static final Logger logger = LoggerFactory.getLogger(ArtifactArchiveInstaller.class);
 
   private final File artifactParentDir;
@@ -53,6 +56,23 @@ public class ArtifactArchiveInstaller {
    * @throws IOException in case there was an error reading from the artifact or writing to the artifact folder.
    */
   public File installArtifact(final URI artifactUri) throws IOException {
+    return installArtifact(artifactUri, (artifactName, result) -> {
+    });
+  }
+
+  /**
+   * Installs an artifact in the mule container.
+   * <p>
+   * The archive is extracted into a temporary folder next to the artifact directory, which replaces the artifact directory only
+   * once the extraction succeeds, so it never holds a partial or mixed extraction. Files of the installed artifact that did not
+   * change are taken from it instead of being extracted again.
+   *
+   * @param artifactUri URI of the artifact to install. It must be present in the artifact directory as a zip file.
+   * @param extractionListener notified once the archive has been extracted.
+   * @return the location of the installed artifact.
+   * @throws IOException in case there was an error reading from the artifact or writing to the artifact folder.
+   */
+  public File installArtifact(final URI artifactUri, ArtifactExtractionListener extractionListener) throws IOException {
     if (!artifactUri.toString().toLowerCase().endsWith(JAR_FILE_SUFFIX)) {
       throw new IllegalArgumentException("Invalid Mule artifact archive: " + artifactUri);
     }
@@ -65,7 +85,9 @@ public class ArtifactArchiveInstaller {
     }
 
     File artifactDir = null;
+    File installationDir = null;
     boolean errorEncountered = false;
+    boolean replacingArtifactDir = false;
     String artifactName;
     try {
       final String fullPath = artifactFile.getAbsolutePath();
@@ -76,16 +98,32 @@ public class ArtifactArchiveInstaller {
 
       artifactName = getBaseName(fullPath);
       artifactDir = new File(artifactParentDir, artifactName);
+      installationDir = new File(artifactParentDir, "." + artifactName + INSTALLATION_FOLDER_SUFFIX);
 
-      // Removes previous deployed artifact
-      if (artifactDir.exists() && !deleteTree(artifactDir)) {
-        throw new IOException("Cannot delete existing folder " + artifactDir);
+      // Removes what is left of a previous installation that did not finish
+      if (installationDir.exists() && !deleteTree(installationDir)) {
+        throw new IOException("Cannot delete existing folder " + installationDir);
       }
 
       // normalize the full path + protocol to make unzip happy
       final File source = artifactFile;
 
-      FileUtils.unzip(source, artifactDir);
+      ExtractionResult result =
+          ArchiveExtractor.extract(source, installationDir, true, artifactDir.isDirectory() ? artifactDir : null);
+
+      // Removes previous deployed artifact, once the new one is completely extracted
+      replacingArtifactDir = true;
+      if (artifactDir.exists() && !deleteTree(artifactDir)) {
+        throw new IOException("Cannot delete existing folder " + artifactDir);
+      }
+      if (!installationDir.renameTo(artifactDir)) {
+        throw new IOException("Cannot move folder " + installationDir + " to " + artifactDir);
+      }
+
+      if (logger.isInfoEnabled()) {
+        logger.info("Exploded Mule artifact archive '{}' ({})", artifactName, result);
+      }
+      extractionListener.onArtifactExtracted(artifactName, result);
       if ("file".equals(artifactUri.getScheme())
           && toFile(artifactUri.toURL()).getAbsolutePath().startsWith(artifactParentDir.getAbsolutePath())) {
         deleteQuietly(source);
@@ -98,9 +136,15 @@ public class ArtifactArchiveInstaller {
       final String msg = "Failed to install artifact from URI: " + artifactUri;
       throw new DeploymentInitException(I18nMessageFactory.createStaticMessage(msg), t);
     } finally {
-      // delete an artifact dir, as it's broken
-      if (errorEncountered && artifactDir != null && artifactDir.exists()) {
-        deleteTree(artifactDir);
+      if (errorEncountered) {
+        // delete the partial extraction
+        if (installationDir != null && installationDir.exists()) {
+          deleteTree(installationDir);
+        }
+        // delete an artifact dir, as it's broken
+        if (replacingArtifactDir && artifactDir.exists()) {
+          deleteTree(artifactDir);
+        }
       }
     }
     return artifactDir;
@@ -131,6 +175,16 @@ public class ArtifactArchiveInstaller {
     }
   }
 
+  /**
+   * Removes the anchor file of an artifact, keeping its folder so the unchanged files can be reused when it is installed again.
+   *
+   * @param artifactName name of the artifact being redeployed.
+   */
+  void uninstallArtifactKeepingFiles(final String artifactName) {
+    getArtifactAnchorFile(artifactName).delete();
+    Introspector.flushCaches();
+  }
+
   private File getArtifactAnchorFile(String artifactName) {
     return new File(artifactParentDir, String.format("%s%s", artifactName, MuleDeploymentService.ARTIFACT_ANCHOR_SUFFIX));
   }
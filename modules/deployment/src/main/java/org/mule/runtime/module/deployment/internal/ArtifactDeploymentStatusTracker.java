@@ -6,6 +6,9 @@
  */
 package org.mule.runtime.module.deployment.internal;
 
+import static java.lang.System.currentTimeMillis;
+
+import org.mule.runtime.core.internal.util.ArchiveExtractor.ExtractionResult;
 import org.mule.runtime.module.deployment.api.DeploymentListener;
 
 import java.util.Collections;
@@ -15,7 +18,7 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * Keeps track of the deployment status of the artifact listening to the deployment notifications
  */
-public class ArtifactDeploymentStatusTracker implements DeploymentListener {
+public class ArtifactDeploymentStatusTracker implements DeploymentListener, ArtifactExtractionListener {
 
   public enum DeploymentState {
     // The deployment is in progress
@@ -27,21 +30,55 @@ public class ArtifactDeploymentStatusTracker implements DeploymentListener {
   }
 
   protected Map<String, DeploymentState> deploymentStates = new ConcurrentHashMap<String, DeploymentState>();
+  private final Map<String, Long> deploymentStartTimes = new ConcurrentHashMap<>();
+  private final Map<String, Long> deploymentTimes = new ConcurrentHashMap<>();
+  private final Map<String, Long> extractionTimes = new ConcurrentHashMap<>();
 
   public Map<String, DeploymentState> getDeploymentStates() {
     return Collections.unmodifiableMap(deploymentStates);
   }
 
+  /**
+   * @return the time taken by the last finished deployment of each artifact, in milliseconds. It does not include the
+   *         extraction of the artifact archive.
+   */
+  public Map<String, Long> getDeploymentTimes() {
+    return Collections.unmodifiableMap(deploymentTimes);
+  }
+
+  /**
+   * @return the time taken by the last extraction of the archive of each artifact, in milliseconds. Artifacts deployed from an
+   *         exploded folder are not included.
+   */
+  public Map<String, Long> getExtractionTimes() {
+    return Collections.unmodifiableMap(extractionTimes);
+  }
+
   public void onDeploymentStart(String artifactName) {
     deploymentStates.put(artifactName, DeploymentState.DEPLOYING);
+    deploymentStartTimes.put(artifactName, currentTimeMillis());
   }
 
   public void onDeploymentSuccess(String artifactName) {
     deploymentStates.put(artifactName, DeploymentState.DEPLOYED);
+    trackDeploymentTime(artifactName);
   }
 
   public void onDeploymentFailure(String artifactName, Throwable failureCause) {
     deploymentStates.put(artifactName, DeploymentState.FAILED);
+    trackDeploymentTime(artifactName);
+  }
+
+  @Override
+  public void onArtifactExtracted(String artifactName, ExtractionResult result) {
+    extractionTimes.put(artifactName, result.getElapsedMillis());
+  }
+
+  private void trackDeploymentTime(String artifactName) {
+    Long startTime = deploymentStartTimes.remove(artifactName);
+    if (startTime != null) {
+      deploymentTimes.put(artifactName, currentTimeMillis() - startTime);
+    }
   }
 
 }
@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.internal;
+
+import org.mule.runtime.core.internal.util.ArchiveExtractor.ExtractionResult;
+
+/**
+ * Notified when the archive of an artifact is extracted while installing it.
+ *
+ * @since 4.2
+ */
+@FunctionalInterface
+public interface ArtifactExtractionListener {
+
+  /**
+   * Notifies that the archive of an artifact was extracted.
+   *
+   * @param artifactName name of the artifact
+   * @param result statistics of the extraction
+   */
+  void onArtifactExtracted(String artifactName, ExtractionResult result);
+
+}
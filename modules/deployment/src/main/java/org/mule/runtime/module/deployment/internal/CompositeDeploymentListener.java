@@ -8,6 +8,7 @@ package org.mule.runtime.module.deployment.internal;
 
 import org.mule.runtime.api.artifact.Registry;
 import org.mule.runtime.api.config.custom.CustomizationService;
+import org.mule.runtime.core.internal.util.ArchiveExtractor.ExtractionResult;
 import org.mule.runtime.module.deployment.api.DeploymentListener;
 import org.mule.runtime.module.deployment.api.DeploymentListenerManager;
 
@@ -17,7 +18,8 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class CompositeDeploymentListener implements DeploymentListener, DeploymentListenerManager {
+public class CompositeDeploymentListener
+    implements DeploymentListener, DeploymentListenerManager, ArtifactExtractionListener {
 
   private transient final Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -176,6 +178,19 @@ public class CompositeDeploymentListener implements DeploymentListener, Deployme
     }
   }
 
+  @Override
+  public void onArtifactExtracted(String artifactName, ExtractionResult result) {
+    for (DeploymentListener listener : deploymentListeners) {
+      if (listener instanceof ArtifactExtractionListener) {
+        try {
+          ((ArtifactExtractionListener) listener).onArtifactExtracted(artifactName, result);
+        } catch (Throwable t) {
+          logNotificationProcessingError(artifactName, listener, "onArtifactExtracted", t);
+        }
+      }
+    }
+  }
+
   private void logNotificationProcessingError(String appName, DeploymentListener listener, String notification, Throwable error) {
     logger.error(String.format("Listener '%s' failed to process notification '%s' for application '%s'", listener, notification,
                                appName),
@@ -20,6 +20,10 @@ import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.container.api.MuleFoldersUtil.getAppDataFolder;
 import static org.mule.runtime.core.api.util.ExceptionUtils.containsType;
 import static org.mule.runtime.core.internal.logging.LogUtil.log;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.DEPLOYMENT;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.removeTimeline;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.startDeployment;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.startSpan;
 import static org.mule.runtime.core.internal.util.splash.SplashScreen.miniSplash;
 import static org.mule.runtime.module.deployment.impl.internal.util.DeploymentPropertiesUtils.resolveDeploymentProperties;
 
@@ -38,6 +42,7 @@ import org.apache.commons.beanutils.BeanPropertyValueEqualsPredicate;
 import org.apache.commons.beanutils.BeanToPropertyValueTransformer;
 
 import org.mule.runtime.api.exception.ExceptionHelper;
+import org.mule.runtime.core.internal.profiling.DeploymentProfiler.Span;
 import org.mule.runtime.deployment.model.api.DeployableArtifact;
 import org.mule.runtime.deployment.model.api.DeploymentException;
 import org.mule.runtime.deployment.model.api.DeploymentStartException;
@@ -107,6 +112,10 @@ public class DefaultArchiveDeployer<T extends DeployableArtifact> implements Arc
 
   @Override
   public void undeployArtifact(String artifactId) {
+    undeployArtifact(artifactId, true);
+  }
+
+  private void undeployArtifact(String artifactId, boolean removeFiles) {
     ZombieArtifact zombieArtifact = artifactZombieMap.get(artifactId);
     if ((zombieArtifact != null)) {
       if (zombieArtifact.exists()) {
@@ -118,7 +127,7 @@ public class DefaultArchiveDeployer<T extends DeployableArtifact> implements Arc
     }
 
     T artifact = (T) find(artifacts, new BeanPropertyValueEqualsPredicate(ARTIFACT_NAME_PROPERTY, artifactId));
-    undeploy(artifact);
+    undeployArtifact(artifact, true, removeFiles);
   }
 
   @Override
@@ -217,7 +226,8 @@ public class DefaultArchiveDeployer<T extends DeployableArtifact> implements Arc
       if (isRedeploy) {
         deploymentListener.onRedeploymentStart(artifactName);
         deploymentTemplate.preRedeploy(artifact);
-        undeployArtifact(artifactName);
+        // Keeps the installed files, so only the ones that changed are extracted again
+        undeployArtifact(artifactName, false);
       }
 
       T deployedArtifact = deployPackagedArtifact(artifactUri, deploymentProperties);
@@ -233,6 +243,12 @@ public class DefaultArchiveDeployer<T extends DeployableArtifact> implements Arc
   }
 
   private T deployExplodedApp(String addedApp, Optional<Properties> deploymentProperties) throws DeploymentException {
+    try (Span span = startDeployment(addedApp)) {
+      return doDeployExplodedApp(addedApp, deploymentProperties);
+    }
+  }
+
+  private T doDeployExplodedApp(String addedApp, Optional<Properties> deploymentProperties) throws DeploymentException {
     if (logger.isDebugEnabled()) {
       logger.debug("================== New Exploded Artifact: " + addedApp);
     }
@@ -319,21 +335,23 @@ public class DefaultArchiveDeployer<T extends DeployableArtifact> implements Arc
   }
 
   private void undeployArtifactWithoutRemovingData(T artifact) {
-    undeployArtifact(artifact, false);
-  }
-
-  private void undeploy(T artifact) {
-    this.undeployArtifact(artifact, true);
+    undeployArtifact(artifact, false, true);
   }
 
-  private void undeployArtifact(T artifact, boolean removeData) {
+  private void undeployArtifact(T artifact, boolean removeData, boolean removeFiles) {
     logRequestToUndeployArtifact(artifact);
     try {
       deploymentListener.onUndeploymentStart(artifact.getArtifactName());
 
       artifacts.remove(artifact);
       deployer.undeploy(artifact);
-      artifactArchiveInstaller.uninstallArtifact(artifact.getArtifactName());
+      // The timeline is only meaningful while the artifact is deployed
+      removeTimeline(artifact.getArtifactName());
+      if (removeFiles) {
+        artifactArchiveInstaller.uninstallArtifact(artifact.getArtifactName());
+      } else {
+        artifactArchiveInstaller.uninstallArtifactKeepingFiles(artifact.getArtifactName());
+      }
       if (removeData) {
         final File dataFolder = getAppDataFolder(artifact.getDescriptor().getDataFolderName());
         try {
@@ -365,13 +383,21 @@ public class DefaultArchiveDeployer<T extends DeployableArtifact> implements Arc
   }
 
   private File installFrom(URI uri) throws IOException {
-    return artifactArchiveInstaller.installArtifact(uri);
+    try (Span span = startSpan(DEPLOYMENT, "extract")) {
+      return artifactArchiveInstaller.installArtifact(uri, (artifactName, result) -> {
+        if (deploymentListener instanceof ArtifactExtractionListener) {
+          ((ArtifactExtractionListener) deploymentListener).onArtifactExtracted(artifactName, result);
+        }
+      });
+    }
   }
 
   private T createArtifact(File artifactLocation, Optional<Properties> appProperties) throws IOException {
-    T artifact = artifactFactory.createArtifact(artifactLocation, appProperties);
-    artifact.setMuleContextListener(muleContextListenerFactory.create(artifact.getArtifactName()));
-    return artifact;
+    try (Span span = startSpan(DEPLOYMENT, "create")) {
+      T artifact = artifactFactory.createArtifact(artifactLocation, appProperties);
+      artifact.setMuleContextListener(muleContextListenerFactory.create(artifact.getArtifactName()));
+      return artifact;
+    }
   }
 
   private static boolean allResourcesExist(File[] resourceFiles) {
@@ -423,6 +449,12 @@ public class DefaultArchiveDeployer<T extends DeployableArtifact> implements Arc
 
   @Override
   public void redeploy(T artifact, Optional<Properties> deploymentProperties) throws DeploymentException {
+    try (Span span = startDeployment(artifact.getArtifactName())) {
+      doRedeploy(artifact, deploymentProperties);
+    }
+  }
+
+  private void doRedeploy(T artifact, Optional<Properties> deploymentProperties) throws DeploymentException {
     log(miniSplash(format("Redeploying artifact '%s'", artifact.getArtifactName())));
 
     deploymentListener.onRedeploymentStart(artifact.getArtifactName());
@@ -447,7 +479,9 @@ public class DefaultArchiveDeployer<T extends DeployableArtifact> implements Arc
                                                                        deploymentProperties)));
       trackArtifact(artifact);
 
-      deployer.deploy(artifact);
+      try (Span span = startSpan(DEPLOYMENT, "deploy")) {
+        deployer.deploy(artifact);
+      }
       artifactArchiveInstaller.createAnchorFile(artifact.getArtifactName());
       deploymentListener.onDeploymentSuccess(artifact.getArtifactName());
       deploymentTemplate.postRedeploy(artifact);
@@ -472,12 +506,20 @@ public class DefaultArchiveDeployer<T extends DeployableArtifact> implements Arc
 
   @Override
   public void deployArtifact(T artifact, Optional<Properties> deploymentProperties) throws DeploymentException {
+    try (Span deployment = startDeployment(artifact.getArtifactName())) {
+      doDeployArtifact(artifact);
+    }
+  }
+
+  private void doDeployArtifact(T artifact) throws DeploymentException {
     try {
       // add to the list of known artifacts first to avoid deployment loop on failure
       trackArtifact(artifact);
 
       deploymentListener.onDeploymentStart(artifact.getArtifactName());
-      deployer.deploy(artifact);
+      try (Span span = startSpan(DEPLOYMENT, "deploy")) {
+        deployer.deploy(artifact);
+      }
 
       artifactArchiveInstaller.createAnchorFile(artifact.getArtifactName());
       deploymentListener.onDeploymentSuccess(artifact.getArtifactName());
@@ -506,6 +548,13 @@ public class DefaultArchiveDeployer<T extends DeployableArtifact> implements Arc
 
   @Override
   public T deployPackagedArtifact(URI artifactAchivedUri, Optional<Properties> appProperties) throws DeploymentException {
+    String artifactName = removeEndIgnoreCase(new File(artifactAchivedUri).getName(), JAR_FILE_SUFFIX);
+    try (Span span = startDeployment(artifactName)) {
+      return doDeployPackagedArtifact(artifactAchivedUri, appProperties);
+    }
+  }
+
+  private T doDeployPackagedArtifact(URI artifactAchivedUri, Optional<Properties> appProperties) throws DeploymentException {
     Optional<T> foundMatchingArtifact = empty();
     try {
       File artifactLocation = installArtifact(artifactAchivedUri);
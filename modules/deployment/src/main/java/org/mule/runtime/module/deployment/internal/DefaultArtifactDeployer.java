@@ -9,7 +9,10 @@ package org.mule.runtime.module.deployment.internal;
 import static java.lang.Boolean.valueOf;
 import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_LAZY_INIT_DEPLOYMENT_PROPERTY;
 import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_LAZY_INIT_ENABLE_XML_VALIDATIONS_DEPLOYMENT_PROPERTY;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.DEPLOYMENT;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.startSpan;
 import org.mule.runtime.api.i18n.I18nMessageFactory;
+import org.mule.runtime.core.internal.profiling.DeploymentProfiler.Span;
 import org.mule.runtime.deployment.model.api.DeployableArtifact;
 import org.mule.runtime.deployment.model.api.DeploymentException;
 
@@ -24,9 +27,15 @@ public class DefaultArtifactDeployer<T extends DeployableArtifact> implements Ar
 
   public void deploy(T artifact) {
     try {
-      artifact.install();
-      doInit(artifact);
-      artifact.start();
+      try (Span span = startSpan(DEPLOYMENT, "install")) {
+        artifact.install();
+      }
+      try (Span span = startSpan(DEPLOYMENT, "init")) {
+        doInit(artifact);
+      }
+      try (Span span = startSpan(DEPLOYMENT, "start")) {
+        artifact.start();
+      }
     } catch (Throwable t) {
       artifact.dispose();
 
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.internal;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Watches directories for entries being created, modified or deleted using the {@link WatchService} of the file system, and
+ * runs a task once no more changes have been notified for a debounce interval.
+ * <p/>
+ * Debouncing avoids reacting to partial copies: while an artifact is being copied into a watched directory, its entry keeps
+ * being modified and the task is postponed until the copy is complete.
+ * <p/>
+ * The directories where changes were notified since the task was last run are available through
+ * {@link #drainChangedDirectories()}.
+ *
+ * @since 4.2
+ */
+public class DeploymentDirectoryEventWatcher implements Runnable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DeploymentDirectoryEventWatcher.class);
+
+  private static final String POLLING_WATCH_SERVICE_CLASS_NAME = "sun.nio.fs.PollingWatchService";
+
+  private final WatchService watchService;
+  private final ScheduledExecutorService scheduler;
+  private final Runnable onChanges;
+  private final long debounceIntervalMs;
+
+  private final Map<Path, WatchKey> watchKeys = new ConcurrentHashMap<>();
+  private final Set<Path> changedDirectories = new HashSet<>();
+  private boolean overflowed;
+  private ScheduledFuture<?> scheduledTask;
+  private Thread watcherThread;
+
+  /**
+   * Creates a watcher if the default file system provides a {@link WatchService} backed by native file events.
+   * <p/>
+   * When the file system implementation only provides a {@link WatchService} that polls the watched directories, it is no
+   * better than scanning them, so no watcher is created.
+   *
+   * @param scheduler executor where {@code onChanges} is run
+   * @param onChanges the task to run when changes are notified
+   * @param debounceIntervalMs time without changes being notified after which {@code onChanges} is run
+   * @return the new watcher, or {@link Optional#empty()} if changes have to be detected by polling.
+   */
+  public static Optional<DeploymentDirectoryEventWatcher> create(ScheduledExecutorService scheduler, Runnable onChanges,
+                                                                 long debounceIntervalMs) {
+    WatchService watchService;
+    try {
+      watchService = FileSystems.getDefault().newWatchService();
+    } catch (IOException | UnsupportedOperationException e) {
+      LOGGER.debug("File system does not support watching directories, falling back to polling", e);
+      return empty();
+    }
+
+    if (POLLING_WATCH_SERVICE_CLASS_NAME.equals(watchService.getClass().getName())) {
+      LOGGER.debug("File system only supports watching directories by polling, falling back to polling");
+      closeQuietly(watchService);
+      return empty();
+    }
+
+    return of(new DeploymentDirectoryEventWatcher(watchService, scheduler, onChanges, debounceIntervalMs));
+  }
+
+  DeploymentDirectoryEventWatcher(WatchService watchService, ScheduledExecutorService scheduler, Runnable onChanges,
+                                  long debounceIntervalMs) {
+    this.watchService = watchService;
+    this.scheduler = scheduler;
+    this.onChanges = onChanges;
+    this.debounceIntervalMs = debounceIntervalMs;
+  }
+
+  /**
+   * Starts watching for changes on a directory. Does nothing if the directory is already watched or does not exist.
+   *
+   * @param directory the directory to watch
+   */
+  public void watch(File directory) {
+    final Path path = directory.toPath().toAbsolutePath();
+    if (watchKeys.containsKey(path) || !directory.isDirectory()) {
+      return;
+    }
+
+    try {
+      watchKeys.put(path, path.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE));
+    } catch (IOException | ClosedWatchServiceException e) {
+      LOGGER.warn("Unable to watch directory '{}' for changes, they will only be detected on the next full check", directory,
+                  e);
+    }
+  }
+
+  /**
+   * Stops watching for changes on a directory.
+   *
+   * @param directory the directory to stop watching
+   */
+  public void unwatch(File directory) {
+    final WatchKey watchKey = watchKeys.remove(directory.toPath().toAbsolutePath());
+    if (watchKey != null) {
+      watchKey.cancel();
+    }
+  }
+
+  /**
+   * Starts dispatching the notified changes in a new thread.
+   */
+  public void start() {
+    watcherThread = new ArtifactDeployerMonitorThreadFactory().newThread(this);
+    watcherThread.setName(watcherThread.getName() + ".watcher");
+    watcherThread.setDaemon(true);
+    watcherThread.start();
+  }
+
+  /**
+   * Stops watching all directories.
+   */
+  public void stop() {
+    closeQuietly(watchService);
+    if (watcherThread != null) {
+      watcherThread.interrupt();
+    }
+    synchronized (changedDirectories) {
+      if (scheduledTask != null) {
+        scheduledTask.cancel(false);
+      }
+    }
+  }
+
+  @Override
+  public void run() {
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        WatchKey watchKey = watchService.take();
+        onEvents((Path) watchKey.watchable(), watchKey.pollEvents());
+
+        if (!watchKey.reset()) {
+          // The directory is no longer accessible, it will be watched again if recreated
+          watchKeys.remove(watchKey.watchable(), watchKey);
+        }
+      }
+    } catch (InterruptedException | ClosedWatchServiceException e) {
+      // Stopped
+    }
+  }
+
+  private void onEvents(Path directory, Iterable<WatchEvent<?>> events) {
+    synchronized (changedDirectories) {
+      for (WatchEvent<?> event : events) {
+        if (event.kind() == OVERFLOW) {
+          overflowed = true;
+        } else if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("Change notified on '{}' ({})", directory.resolve((Path) event.context()), event.kind().name());
+        }
+      }
+      changedDirectories.add(directory);
+
+      // Postpone the task while changes keep coming, so partially copied files are not processed
+      if (scheduledTask != null) {
+        scheduledTask.cancel(false);
+      }
+      scheduledTask = scheduler.schedule(onChanges, debounceIntervalMs, MILLISECONDS);
+    }
+  }
+
+  /**
+   * Returns the directories where changes were notified since the last call, and forgets them.
+   *
+   * @return the absolute paths of the changed directories, or {@link Optional#empty()} if events were lost and all directories
+   *         have to be checked.
+   */
+  public Optional<Set<Path>> drainChangedDirectories() {
+    synchronized (changedDirectories) {
+      Optional<Set<Path>> changed = overflowed ? empty() : of(new HashSet<>(changedDirectories));
+      changedDirectories.clear();
+      overflowed = false;
+      return changed;
+    }
+  }
+
+  private static void closeQuietly(WatchService watchService) {
+    try {
+      watchService.close();
+    } catch (IOException e) {
+      // Nothing to do
+    }
+  }
+}
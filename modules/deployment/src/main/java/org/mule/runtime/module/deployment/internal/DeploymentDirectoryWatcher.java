@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.module.deployment.internal;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.String.format;
 import static java.util.Arrays.sort;
 import static java.util.Optional.empty;
@@ -39,6 +40,8 @@ import org.mule.runtime.module.deployment.internal.util.ObservableList;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -46,6 +49,7 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
@@ -65,6 +69,11 @@ import org.slf4j.LoggerFactory;
  * It will deploy the applications at the container startup process. It will periodically scan the artifact directories in order
  * to process new deployments, remove artifacts that were previously deployed but the anchor file was removed and redeploy those
  * applications which configuration has changed.
+ * <p/>
+ * When {@link #WATCH_DEPLOYMENT_DIRECTORIES_PROPERTY} is set and the file system supports it, the directories are not scanned
+ * periodically. Instead, a scan is done once changes are notified on the deployment directories or the directories of the
+ * resources of the deployed artifacts, checking for modified resources only on the artifacts where changes were notified. A full
+ * scan is still done every {@link #FULL_CHECK_INTERVAL_FACTOR} check intervals, in case any change notification is lost.
  */
 public class DeploymentDirectoryWatcher implements Runnable {
 
@@ -83,7 +92,21 @@ public class DeploymentDirectoryWatcher implements Runnable {
    */
   public static final String DEPLOYMENT_APPLICATION_PROPERTY = "mule.deploy.applications";
 
+  /**
+   * Property used to detect changes in the artifact directories through file system notifications instead of scanning them
+   * periodically. Scanning is still used if the file system does not support it.
+   */
+  public static final String WATCH_DEPLOYMENT_DIRECTORIES_PROPERTY = "mule.launcher.watchDeploymentDirectories";
+
+  /**
+   * Property used to change the time without changes being notified after which they are processed, so that partially copied
+   * artifacts are not deployed.
+   */
+  public static final String CHANGE_DEBOUNCE_INTERVAL_PROPERTY = "mule.launcher.changeDebounceInterval";
+
   protected static final int DEFAULT_CHANGES_CHECK_INTERVAL_MS = 5000;
+  protected static final int DEFAULT_CHANGES_DEBOUNCE_INTERVAL_MS = 500;
+  protected static final int FULL_CHECK_INTERVAL_FACTOR = 12;
 
   protected transient final Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -99,6 +122,9 @@ public class DeploymentDirectoryWatcher implements Runnable {
   private final File appsDir;
   private final File domainsDir;
   private ScheduledExecutorService artifactDirMonitorTimer;
+  private DeploymentDirectoryEventWatcher eventWatcher;
+  // Directories where changes were notified, or null if all artifacts have to be checked for changes
+  private volatile Set<Path> changedDirectories;
 
   protected volatile boolean dirty;
 
@@ -192,6 +218,9 @@ public class DeploymentDirectoryWatcher implements Runnable {
    * Stops the deployment scan service.
    */
   public void stop() {
+    if (eventWatcher != null) {
+      eventWatcher.stop();
+    }
     stopAppDirMonitorTimer();
 
     deploymentLock.lock();
@@ -225,14 +254,78 @@ public class DeploymentDirectoryWatcher implements Runnable {
     }
   }
 
+  private static int getChangesDebounceIntervalMs() {
+    try {
+      String value = System.getProperty(CHANGE_DEBOUNCE_INTERVAL_PROPERTY);
+      return Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      return DEFAULT_CHANGES_DEBOUNCE_INTERVAL_MS;
+    }
+  }
+
   private void scheduleChangeMonitor() {
     final int reloadIntervalMs = getChangesCheckIntervalMs();
     // TODO MULE-12337 migrate this to an scheduler
     artifactDirMonitorTimer = newSingleThreadScheduledExecutor(new ArtifactDeployerMonitorThreadFactory());
 
-    artifactDirMonitorTimer.scheduleWithFixedDelay(this, reloadIntervalMs, reloadIntervalMs, MILLISECONDS);
+    if (getBoolean(WATCH_DEPLOYMENT_DIRECTORIES_PROPERTY)) {
+      eventWatcher = DeploymentDirectoryEventWatcher
+          .create(artifactDirMonitorTimer, this::checkChangedDirectories, getChangesDebounceIntervalMs()).orElse(null);
+    }
+
+    if (eventWatcher != null) {
+      startWatchingDirectories();
+      final int fullCheckIntervalMs = reloadIntervalMs * FULL_CHECK_INTERVAL_FACTOR;
+      artifactDirMonitorTimer.scheduleWithFixedDelay(this, fullCheckIntervalMs, fullCheckIntervalMs, MILLISECONDS);
+
+      log(miniSplash(format("Mule is up and kicking (on changes, full check every %dms)", fullCheckIntervalMs)));
+    } else {
+      artifactDirMonitorTimer.scheduleWithFixedDelay(this, reloadIntervalMs, reloadIntervalMs, MILLISECONDS);
 
-    log(miniSplash(format("Mule is up and kicking (every %dms)", reloadIntervalMs)));
+      log(miniSplash(format("Mule is up and kicking (every %dms)", reloadIntervalMs)));
+    }
+  }
+
+  private void startWatchingDirectories() {
+    eventWatcher.watch(domainsDir);
+    eventWatcher.watch(appsDir);
+    watchArtifactDirectories(domains);
+    watchArtifactDirectories(applications);
+
+    eventWatcher.start();
+  }
+
+  private void watchArtifactDirectories(ObservableList<? extends Artifact> artifacts) {
+    artifacts.forEach(artifact -> getArtifactResourceDirectories(artifact).forEach(eventWatcher::watch));
+    artifacts.addPropertyChangeListener(e -> {
+      if (e instanceof ElementAddedEvent) {
+        getArtifactResourceDirectories((Artifact) e.getNewValue()).forEach(eventWatcher::watch);
+      } else if (e instanceof ElementRemovedEvent) {
+        getArtifactResourceDirectories((Artifact) e.getNewValue()).stream()
+            .filter(directory -> !directory.equals(appsDir) && !directory.equals(domainsDir))
+            .forEach(eventWatcher::unwatch);
+      }
+    });
+  }
+
+  /**
+   * Does a deployment cycle after changes were notified on the watched directories, only checking for modified resources on the
+   * artifacts where changes were notified.
+   */
+  private void checkChangedDirectories() {
+    // Do not miss the changes if another deployment operation is in progress, try again later
+    if (!deploymentLock.tryLock()) {
+      artifactDirMonitorTimer.schedule(this::checkChangedDirectories, getChangesDebounceIntervalMs(), MILLISECONDS);
+      return;
+    }
+
+    try {
+      changedDirectories = eventWatcher.drainChangedDirectories().orElse(null);
+      run();
+    } finally {
+      changedDirectories = null;
+      deploymentLock.unlock();
+    }
   }
 
   protected void deployPackedApps(String[] zips) {
@@ -474,7 +567,7 @@ public class DeploymentDirectoryWatcher implements Runnable {
                                                               ArtifactTimestampListener<T> artifactTimestampListener,
                                                               ArchiveDeployer<T> artifactArchiveDeployer) {
     for (T artifact : artifacts) {
-      if (artifactTimestampListener.isArtifactResourceUpdated(artifact)) {
+      if (isChangeNotified(artifact) && artifactTimestampListener.isArtifactResourceUpdated(artifact)) {
         try {
           artifactArchiveDeployer.redeploy(artifact, empty());
         } catch (DeploymentException e) {
@@ -486,6 +579,34 @@ public class DeploymentDirectoryWatcher implements Runnable {
     }
   }
 
+  private boolean isChangeNotified(Artifact artifact) {
+    final Set<Path> changed = changedDirectories;
+    return changed == null || getArtifactResourceDirectories(artifact).stream()
+        .anyMatch(directory -> changed.contains(directory.toPath().toAbsolutePath()));
+  }
+
+  private static List<File> getArtifactResourceDirectories(Artifact artifact) {
+    List<File> directories = new ArrayList<>();
+    for (File resourceFile : getArtifactResourceFiles(artifact)) {
+      File directory = resourceFile.getAbsoluteFile().getParentFile();
+      if (directory != null && !directories.contains(directory)) {
+        directories.add(directory);
+      }
+    }
+    return directories;
+  }
+
+  private static List<File> getArtifactResourceFiles(Artifact artifact) {
+    List<File> resourceFiles = new ArrayList<>(Arrays.asList(artifact.getResourceFiles()));
+    File descriptorFile =
+        new File(((DeployableArtifactDescriptor) artifact.getDescriptor()).getArtifactLocation(),
+                 ArtifactDescriptor.MULE_ARTIFACT_JSON_DESCRIPTOR_LOCATION);
+    if (descriptorFile.exists()) {
+      resourceFiles.add(descriptorFile);
+    }
+    return resourceFiles;
+  }
+
   private void stopAppDirMonitorTimer() {
     if (artifactDirMonitorTimer != null) {
       artifactDirMonitorTimer.shutdown();
@@ -528,14 +649,8 @@ public class DeploymentDirectoryWatcher implements Runnable {
     private final Map<String, Long> timestampsPerResource = new HashMap<>();
 
     public ArtifactResourcesTimestamp(final Artifact artifact) {
-      for (File configResourceFile : artifact.getResourceFiles()) {
-        timestampsPerResource.put(configResourceFile.getAbsolutePath(), configResourceFile.lastModified());
-      }
-      File descriptorFile =
-          new File(((DeployableArtifactDescriptor) artifact.getDescriptor()).getArtifactLocation(),
-                   ArtifactDescriptor.MULE_ARTIFACT_JSON_DESCRIPTOR_LOCATION);
-      if (descriptorFile.exists()) {
-        timestampsPerResource.put(descriptorFile.getAbsolutePath(), descriptorFile.lastModified());
+      for (File resourceFile : getArtifactResourceFiles(artifact)) {
+        timestampsPerResource.put(resourceFile.getAbsolutePath(), resourceFile.lastModified());
       }
     }
 
@@ -17,6 +17,7 @@ import static org.apache.commons.lang3.StringUtils.isEmpty;
 import static org.mule.runtime.container.api.MuleFoldersUtil.getAppsFolder;
 import static org.mule.runtime.container.api.MuleFoldersUtil.getDomainsFolder;
 import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.getTimeline;
 import static org.mule.runtime.module.deployment.internal.ArtifactDeploymentTemplate.NOP_ARTIFACT_DEPLOYMENT_TEMPLATE;
 import static org.mule.runtime.module.deployment.internal.DefaultArchiveDeployer.JAR_FILE_SUFFIX;
 import static org.mule.runtime.module.deployment.internal.DeploymentDirectoryWatcher.DEPLOYMENT_APPLICATION_PROPERTY;
@@ -25,6 +26,7 @@ import org.mule.runtime.api.scheduler.SchedulerService;
 import org.mule.runtime.api.service.Service;
 import org.mule.runtime.api.service.ServiceRepository;
 import org.mule.runtime.api.util.Preconditions;
+import org.mule.runtime.core.internal.profiling.DeploymentTimeline;
 import org.mule.runtime.deployment.model.api.DeploymentException;
 import org.mule.runtime.deployment.model.api.application.Application;
 import org.mule.runtime.deployment.model.api.domain.Domain;
@@ -184,6 +186,30 @@ public class MuleDeploymentService implements DeploymentService {
     return Collections.unmodifiableList(domains);
   }
 
+  @Override
+  public Optional<DeploymentTimeline> getDeploymentTimeline(String artifactName) {
+    return getTimeline(artifactName);
+  }
+
+  @Override
+  public String getDeploymentTimelinesAsChromeTrace() {
+    StringBuilder json = new StringBuilder("{\"traceEvents\":[");
+    boolean first = true;
+    for (Domain domain : getDomains()) {
+      Optional<DeploymentTimeline> timeline = getTimeline(domain.getArtifactName());
+      if (timeline.isPresent()) {
+        first = timeline.get().appendTraceEvents(json, first);
+      }
+    }
+    for (Application application : getApplications()) {
+      Optional<DeploymentTimeline> timeline = getTimeline(application.getArtifactName());
+      if (timeline.isPresent()) {
+        first = timeline.get().appendTraceEvents(json, first);
+      }
+    }
+    return json.append("],\"displayTimeUnit\":\"ms\"}").toString();
+  }
+
   /**
    * @return URL/lastModified of apps which previously failed to deploy
    */
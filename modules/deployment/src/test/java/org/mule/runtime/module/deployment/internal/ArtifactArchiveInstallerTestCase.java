@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.deployment.internal;
+
+import static org.apache.commons.io.FileUtils.readFileToString;
+import static org.apache.commons.io.FileUtils.writeByteArrayToFile;
+import static org.apache.commons.io.FileUtils.writeStringToFile;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import org.mule.runtime.core.internal.util.ArchiveExtractor.ExtractionResult;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class ArtifactArchiveInstallerTestCase extends AbstractMuleTestCase {
+
+  private static final String ARTIFACT_NAME = "app";
+  private static final long PREVIOUS_MODIFICATION = 1000000000000L;
+
+  @Rule
+  public TemporaryFolder artifactParentDir = new TemporaryFolder();
+
+  @Rule
+  public TemporaryFolder archivesDir = new TemporaryFolder();
+
+  private ArtifactArchiveInstaller installer;
+  private File artifactDir;
+
+  @Before
+  public void before() {
+    installer = new ArtifactArchiveInstaller(artifactParentDir.getRoot());
+    artifactDir = new File(artifactParentDir.getRoot(), ARTIFACT_NAME);
+  }
+
+  @Test
+  public void installReplacesPreviousFiles() throws Exception {
+    writeStringToFile(new File(artifactDir, "classes/config.xml"), "<old/>");
+    writeStringToFile(new File(artifactDir, "classes/removed.xml"), "<removed/>");
+
+    File installed = installer.installArtifact(writeArchive("mule-artifact.json", "classes/config.xml").toURI());
+
+    assertThat(installed, is(artifactDir));
+    assertThat(readFileToString(new File(artifactDir, "classes/config.xml")), is("classes/config.xml"));
+    assertThat(new File(artifactDir, "classes/removed.xml").exists(), is(false));
+    assertThat(artifactParentDir.getRoot().list(), arrayContaining(ARTIFACT_NAME));
+  }
+
+  @Test
+  public void installReusesUnchangedFiles() throws Exception {
+    File archive = writeArchive("mule-artifact.json", "classes/config.xml");
+    installer.installArtifact(archive.toURI());
+    File unchanged = new File(artifactDir, "mule-artifact.json");
+    File changed = new File(artifactDir, "classes/config.xml");
+    writeStringToFile(changed, "<modified/>");
+    unchanged.setLastModified(PREVIOUS_MODIFICATION);
+    changed.setLastModified(PREVIOUS_MODIFICATION);
+
+    AtomicReference<ExtractionResult> result = new AtomicReference<>();
+    installer.installArtifact(archive.toURI(), (artifactName, extractionResult) -> result.set(extractionResult));
+
+    assertThat(result.get().getReusedFiles(), is(1));
+    assertThat(result.get().getWrittenFiles(), is(1));
+    // The unchanged file was not written again
+    assertThat(unchanged.lastModified(), is(PREVIOUS_MODIFICATION));
+    assertThat(readFileToString(unchanged), is("mule-artifact.json"));
+    assertThat(readFileToString(changed), is("classes/config.xml"));
+    assertThat(artifactParentDir.getRoot().list(), arrayContaining(ARTIFACT_NAME));
+  }
+
+  @Test
+  public void failedInstallationLeavesNoPartialExtraction() throws Exception {
+    File archive = new File(artifactParentDir.getRoot(), ARTIFACT_NAME + ".jar");
+    writeByteArrayToFile(archive, "not an archive".getBytes());
+
+    try {
+      installer.installArtifact(archive.toURI());
+      fail("Installation of an invalid archive is expected to fail");
+    } catch (IOException e) {
+      // Expected
+    }
+
+    assertThat(artifactParentDir.getRoot().list(), arrayContaining(archive.getName()));
+  }
+
+  private File writeArchive(String... entries) throws IOException {
+    File archive = new File(archivesDir.getRoot(), ARTIFACT_NAME + ".jar");
+    try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(archive))) {
+      for (String entry : entries) {
+        out.putNextEntry(new ZipEntry(entry));
+        out.write(entry.getBytes());
+        out.closeEntry();
+      }
+    }
+    return archive;
+  }
+}
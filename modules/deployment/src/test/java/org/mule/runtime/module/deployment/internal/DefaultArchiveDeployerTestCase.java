@@ -9,9 +9,15 @@ package org.mule.runtime.module.deployment.internal;
 
 import static java.util.Optional.empty;
 import static org.apache.commons.io.FileUtils.deleteDirectory;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.mule.runtime.container.api.MuleFoldersUtil.getAppDataFolder;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.getTimeline;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.isEnabled;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.removeTimeline;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.setEnabled;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
 import org.mule.runtime.deployment.model.api.application.Application;
 import org.mule.runtime.deployment.model.api.application.ApplicationDescriptor;
@@ -40,13 +46,7 @@ public class DefaultArchiveDeployerTestCase extends AbstractMuleTestCase {
 
   @Test
   public void ignoresErrorsWhileRemovingArtifactDataFolder() throws Exception {
-    AbstractDeployableArtifactFactory artifactFactory = mock(AbstractDeployableArtifactFactory.class);
-
-    ArtifactDeployer artifactDeployer = mock(ArtifactDeployer.class);
-
-    DefaultArchiveDeployer<Application> deployer =
-        new DefaultArchiveDeployer(artifactDeployer, artifactFactory, new ObservableList(), null, null);
-    deployer.setDeploymentListener(mock(DeploymentListener.class));
+    DefaultArchiveDeployer<Application> deployer = createDeployer();
 
     deployer.deployArtifact(createMockApplication(), empty());
 
@@ -57,6 +57,35 @@ public class DefaultArchiveDeployerTestCase extends AbstractMuleTestCase {
     deployer.undeployArtifact(ARTIFACT_ID);
   }
 
+  @Test
+  public void removesDeploymentTimelineOnUndeploy() throws Exception {
+    boolean wasEnabled = isEnabled();
+    setEnabled(true);
+    try {
+      DefaultArchiveDeployer<Application> deployer = createDeployer();
+      deployer.deployArtifact(createMockApplication(), empty());
+      assertThat(getTimeline(ARTIFACT_ID).isPresent(), is(true));
+
+      deployer.undeployArtifact(ARTIFACT_ID);
+
+      assertThat(getTimeline(ARTIFACT_ID).isPresent(), is(false));
+    } finally {
+      setEnabled(wasEnabled);
+      removeTimeline(ARTIFACT_ID);
+    }
+  }
+
+  private DefaultArchiveDeployer<Application> createDeployer() {
+    AbstractDeployableArtifactFactory artifactFactory = mock(AbstractDeployableArtifactFactory.class);
+
+    ArtifactDeployer artifactDeployer = mock(ArtifactDeployer.class);
+
+    DefaultArchiveDeployer<Application> deployer =
+        new DefaultArchiveDeployer(artifactDeployer, artifactFactory, new ObservableList(), null, null);
+    deployer.setDeploymentListener(mock(DeploymentListener.class));
+    return deployer;
+  }
+
   private Application createMockApplication() {
     Application artifact = mock(Application.class);
     ApplicationDescriptor descriptor = mock(ApplicationDescriptor.class);
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.internal;
+
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static org.apache.commons.io.FileUtils.writeStringToFile;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DeploymentDirectoryEventWatcherTestCase extends AbstractMuleTestCase {
+
+  private static final long DEBOUNCE_INTERVAL_MS = 200;
+  private static final long PROBER_TIMEOUT_MS = 10000;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final AtomicInteger changesChecks = new AtomicInteger();
+  private ScheduledExecutorService scheduler;
+  private DeploymentDirectoryEventWatcher eventWatcher;
+
+  @Before
+  public void before() {
+    scheduler = newSingleThreadScheduledExecutor();
+    Optional<DeploymentDirectoryEventWatcher> watcher =
+        DeploymentDirectoryEventWatcher.create(scheduler, changesChecks::incrementAndGet, DEBOUNCE_INTERVAL_MS);
+    assumeThat("File system events not supported", watcher.isPresent(), is(true));
+    eventWatcher = watcher.get();
+    eventWatcher.start();
+  }
+
+  @After
+  public void after() {
+    if (eventWatcher != null) {
+      eventWatcher.stop();
+    }
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  public void notifiesChangedDirectory() throws Exception {
+    File watchedDir = temporaryFolder.newFolder("apps");
+    File notWatchedDir = temporaryFolder.newFolder("other");
+    eventWatcher.watch(watchedDir);
+
+    writeStringToFile(new File(notWatchedDir, "app.jar"), "content");
+    writeStringToFile(new File(watchedDir, "app.jar"), "content");
+
+    new PollingProber(PROBER_TIMEOUT_MS, 50).check(new JUnitLambdaProbe(() -> changesChecks.get() == 1));
+    Set<Path> changedDirectories = eventWatcher.drainChangedDirectories().get();
+    assertThat(changedDirectories, contains(watchedDir.toPath().toAbsolutePath()));
+    assertThat(eventWatcher.drainChangedDirectories().get().isEmpty(), is(true));
+  }
+
+  @Test
+  public void debouncesPartialCopies() throws Exception {
+    File watchedDir = temporaryFolder.newFolder("apps");
+    eventWatcher.watch(watchedDir);
+
+    File artifact = new File(watchedDir, "app.jar");
+    for (int i = 0; i < 5; ++i) {
+      writeStringToFile(artifact, "chunk" + i, true);
+      Thread.sleep(DEBOUNCE_INTERVAL_MS / 4);
+    }
+
+    new PollingProber(PROBER_TIMEOUT_MS, 50).check(new JUnitLambdaProbe(() -> changesChecks.get() == 1));
+    Thread.sleep(DEBOUNCE_INTERVAL_MS * 2);
+    assertThat(changesChecks.get(), is(1));
+  }
+
+  @Test
+  public void unwatchedDirectoryNotNotified() throws Exception {
+    File watchedDir = temporaryFolder.newFolder("apps");
+    eventWatcher.watch(watchedDir);
+    eventWatcher.unwatch(watchedDir);
+
+    writeStringToFile(new File(watchedDir, "app.jar"), "content");
+
+    Thread.sleep(DEBOUNCE_INTERVAL_MS * 3);
+    assertThat(changesChecks.get(), is(0));
+  }
+}
@@ -6,8 +6,15 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.operation;
 
+import static java.lang.Integer.MAX_VALUE;
+import static java.lang.Integer.getInteger;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+
+import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.meta.model.ExtensionModel;
 import org.mule.runtime.api.meta.model.operation.OperationModel;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerService;
 import org.mule.runtime.core.api.extension.ExtensionManager;
 import org.mule.runtime.core.api.retry.policy.RetryPolicyTemplate;
 import org.mule.runtime.core.api.streaming.CursorProviderFactory;
@@ -15,25 +22,47 @@ import org.mule.runtime.core.api.streaming.iterator.ConsumerStreamingIterator;
 import org.mule.runtime.core.api.streaming.iterator.ListConsumer;
 import org.mule.runtime.core.api.streaming.iterator.Producer;
 import org.mule.runtime.core.internal.policy.PolicyManager;
+import org.mule.runtime.core.internal.streaming.object.factory.InMemoryCursorIteratorProviderFactory;
 import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
 import org.mule.runtime.extension.api.runtime.config.ConfigurationProvider;
 import org.mule.runtime.extension.api.runtime.streaming.PagingProvider;
 import org.mule.runtime.module.extension.internal.runtime.connectivity.ExtensionConnectionSupplier;
 import org.mule.runtime.module.extension.internal.runtime.resolver.ResolverSet;
+import org.mule.runtime.module.extension.internal.runtime.streaming.PagePrefetchStatistics;
 import org.mule.runtime.module.extension.internal.runtime.streaming.PagingProviderProducer;
+import org.mule.runtime.module.extension.internal.runtime.streaming.PrefetchingPagingProviderProducer;
 import org.mule.runtime.module.extension.internal.util.ReflectionCache;
 
 import java.util.Optional;
 
+import javax.inject.Inject;
+
 /**
  * A specialization of {@link OperationMessageProcessor} which supports auto paging by the means of a
  * {@link ConsumerStreamingIterator}
+ * <p>
+ * If the {@link #PAGING_PREFETCH_PAGES_PROPERTY} system property is set to a positive value, that amount of pages are fetched
+ * ahead of the consumer in the background through a {@link PrefetchingPagingProviderProducer}.
  *
  * @since 4.0
  */
 public class PagedOperationMessageProcessor extends OperationMessageProcessor {
 
+  /**
+   * System property to set the amount of pages to fetch ahead of the consumer. Prefetching is disabled by default.
+   *
+   * @since 4.2
+   */
+  public static final String PAGING_PREFETCH_PAGES_PROPERTY = SYSTEM_PROPERTY_PREFIX + "extensions.paging.prefetchPages";
+
   private final ExtensionConnectionSupplier connectionSupplier;
+  private final int prefetchPages = getInteger(PAGING_PREFETCH_PAGES_PROPERTY, 0);
+  private final PagePrefetchStatistics prefetchStatistics = new PagePrefetchStatistics();
+
+  @Inject
+  private SchedulerService schedulerService;
+
+  private Scheduler prefetchScheduler;
 
   public PagedOperationMessageProcessor(ExtensionModel extensionModel,
                                         OperationModel operationModel,
@@ -58,9 +87,14 @@ public class PagedOperationMessageProcessor extends OperationMessageProcessor {
         throw new IllegalStateException("Obtained paging delegate cannot be null");
       }
       Optional<ConfigurationInstance> config = operationContext.getConfiguration();
-      Producer<?> producer =
+      PagingProviderProducer<?> pagingProducer =
           new PagingProviderProducer((PagingProvider) value, config.get(),
                                      operationContext, connectionSupplier);
+      Producer<?> producer = pagingProducer;
+      if (prefetchScheduler != null && !pagingProducer.isTransactional()) {
+        producer = new PrefetchingPagingProviderProducer(pagingProducer, prefetchScheduler, prefetchPages,
+                                                         getMaxPrefetchedElements(), prefetchStatistics);
+      }
 
       ListConsumer<?> consumer = new ListConsumer(producer);
       consumer.loadNextPage();
@@ -68,6 +102,39 @@ public class PagedOperationMessageProcessor extends OperationMessageProcessor {
     };
   }
 
+  private int getMaxPrefetchedElements() {
+    if (cursorProviderFactory instanceof InMemoryCursorIteratorProviderFactory) {
+      return ((InMemoryCursorIteratorProviderFactory) cursorProviderFactory).getConfig().getMaxBufferSize();
+    }
+    return MAX_VALUE;
+  }
+
+  @Override
+  public void doStart() throws MuleException {
+    super.doStart();
+    if (prefetchPages > 0) {
+      prefetchScheduler = schedulerService.ioScheduler(muleContext.getSchedulerBaseConfig()
+          .withName(getLocation() != null ? getLocation().getLocation() + ".pagingPrefetch" : "pagingPrefetch"));
+    }
+  }
+
+  @Override
+  public void doStop() throws MuleException {
+    if (prefetchScheduler != null) {
+      prefetchScheduler.stop();
+      prefetchScheduler = null;
+    }
+    super.doStop();
+  }
+
+  /**
+   * @return the {@link PagePrefetchStatistics} of the pages fetched ahead by this processor
+   * @since 4.2
+   */
+  public PagePrefetchStatistics getPrefetchStatistics() {
+    return prefetchStatistics;
+  }
+
   @Override
   protected ExecutionMediator createExecutionMediator() {
     return new DefaultExecutionMediator(extensionModel,
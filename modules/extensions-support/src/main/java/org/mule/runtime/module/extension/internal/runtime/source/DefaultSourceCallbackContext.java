@@ -19,6 +19,7 @@ import org.mule.runtime.api.i18n.I18nMessage;
 import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.api.notification.Notification;
 import org.mule.runtime.api.tx.TransactionException;
+import org.mule.runtime.core.api.transaction.TransactionCoordination;
 import org.mule.runtime.core.internal.execution.NotificationFunction;
 import org.mule.runtime.module.extension.internal.runtime.notification.DefaultExtensionNotification;
 import org.mule.runtime.extension.api.connectivity.TransactionalConnection;
@@ -43,7 +44,6 @@ import java.util.Optional;
 class DefaultSourceCallbackContext implements SourceCallbackContextAdapter {
 
   private static final TransactionHandle NULL_TRANSACTION_HANDLE = new NullTransactionHandle();
-  private static final TransactionHandle DEFAULT_TRANSACTION_HANDLE = new DefaultTransactionHandle();
 
   private final SourceCallbackAdapter sourceCallback;
   private final Map<String, Object> variables = new HashMap<>();
@@ -81,7 +81,8 @@ class DefaultSourceCallbackContext implements SourceCallbackContextAdapter {
       sourceCallback.getTransactionSourceBinder().bindToTransaction(sourceCallback.getTransactionConfig(),
                                                                     sourceCallback.getConfigurationInstance(),
                                                                     connectionHandler);
-      transactionHandle = DEFAULT_TRANSACTION_HANDLE;
+      // Keep the transaction, since the source may resolve it from a thread other than this one
+      transactionHandle = new DefaultTransactionHandle(TransactionCoordination.getInstance().getTransaction());
     }
 
     return transactionHandle;
@@ -13,6 +13,8 @@ import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.store.ObjectStoreSettings.unmanagedPersistent;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_STORE_MANAGER;
+import static org.mule.runtime.core.internal.source.scheduler.SourceSchedulingEngine.isConsolidatedSchedulingEnabled;
+import static org.mule.runtime.core.internal.source.scheduler.SourceSchedulingEngine.isSupported;
 import static org.mule.runtime.extension.api.runtime.source.PollContext.PollItemStatus.ACCEPTED;
 import static org.mule.runtime.extension.api.runtime.source.PollContext.PollItemStatus.ALREADY_IN_PROCESS;
 import static org.mule.runtime.extension.api.runtime.source.PollContext.PollItemStatus.FILTERED_BY_WATERMARK;
@@ -31,9 +33,13 @@ import org.mule.runtime.api.store.ObjectStore;
 import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.api.store.ObjectStoreManager;
 import org.mule.runtime.api.store.ObjectStoreSettings;
+import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.source.scheduler.Scheduler;
 import org.mule.runtime.core.api.util.func.CheckedRunnable;
+import org.mule.runtime.core.internal.source.scheduler.SchedulingStatistics;
+import org.mule.runtime.core.internal.source.scheduler.SourceSchedulingEngine;
+import org.mule.runtime.core.internal.source.scheduler.SourceSchedulingEngine.ScheduledJob;
 import org.mule.runtime.extension.api.runtime.operation.Result;
 import org.mule.runtime.extension.api.runtime.source.PollContext;
 import org.mule.runtime.extension.api.runtime.source.PollContext.PollItem;
@@ -89,6 +95,9 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> {
   @Inject
   private SchedulerService schedulerService;
 
+  @Inject
+  private MuleContext muleContext;
+
   private ObjectStore<Serializable> watermarkObjectStore;
   private ObjectStore<Serializable> inflightIdsObjectStore;
   private ObjectStore<Serializable> recentlyProcessedIds;
@@ -99,6 +108,8 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> {
   private String keyPrefix;
   private final AtomicBoolean stopRequested = new AtomicBoolean(false);
   private org.mule.runtime.api.scheduler.Scheduler executor;
+  private ScheduledJob schedulingJob;
+  private final SchedulingStatistics statistics = new SchedulingStatistics();
 
   public PollingSourceWrapper(PollingSource<T, A> delegate, Scheduler scheduler) {
     super(delegate);
@@ -130,7 +141,18 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> {
         .withName(formatKey("executor")));
 
     stopRequested.set(false);
-    scheduler.schedule(executor, () -> poll(sourceCallback));
+    if (isConsolidatedSchedulingEnabled() && isSupported(scheduler)) {
+      schedulingJob = SourceSchedulingEngine.schedule(muleContext, scheduler, executor, () -> poll(sourceCallback), statistics);
+    } else {
+      scheduler.schedule(executor, () -> poll(sourceCallback));
+    }
+  }
+
+  /**
+   * @return the statistics of the polls of this source
+   */
+  public SchedulingStatistics getSchedulingStatistics() {
+    return statistics;
   }
 
   private String formatKey(String key) {
@@ -167,6 +189,7 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> {
       return;
     }
 
+    statistics.onExecution();
     withWatermarkLock(() -> {
       DefaultPollContext pollContext = new DefaultPollContext(sourceCallback, getCurrentWatermark(), getUpdatedWatermark());
       try {
@@ -584,6 +607,10 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> {
   }
 
   private void shutdownScheduler() {
+    if (schedulingJob != null) {
+      schedulingJob.cancel();
+      schedulingJob = null;
+    }
     if (executor != null) {
       executor.stop();
     }
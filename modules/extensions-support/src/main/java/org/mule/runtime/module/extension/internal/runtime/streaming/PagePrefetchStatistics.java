@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.streaming;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics about the pages fetched ahead of time by {@link PrefetchingPagingProviderProducer} instances.
+ * <p>
+ * The consumer of the pages stalls each time it asks for a page that wasn't fetched yet. The amount of stalls and the time the
+ * consumer spent waiting tell how much of the paging latency is still being paid.
+ *
+ * @since 4.2
+ */
+public final class PagePrefetchStatistics {
+
+  private final LongAdder prefetchedPages = new LongAdder();
+  private final LongAdder consumedPages = new LongAdder();
+  private final LongAdder consumerStalls = new LongAdder();
+  private final LongAdder consumerStallNanos = new LongAdder();
+
+  void onPagePrefetched() {
+    prefetchedPages.increment();
+  }
+
+  void onPageConsumed(long stallNanos) {
+    consumedPages.increment();
+    if (stallNanos > 0) {
+      consumerStalls.increment();
+      consumerStallNanos.add(stallNanos);
+    }
+  }
+
+  /**
+   * @return the amount of pages fetched in the background
+   */
+  public long getPrefetchedPages() {
+    return prefetchedPages.sum();
+  }
+
+  /**
+   * @return the amount of pages handed to the consumers
+   */
+  public long getConsumedPages() {
+    return consumedPages.sum();
+  }
+
+  /**
+   * @return the amount of times a consumer had to wait for a page to be fetched
+   */
+  public long getConsumerStalls() {
+    return consumerStalls.sum();
+  }
+
+  /**
+   * @param unit the unit of the returned value
+   * @return the total time consumers spent waiting for pages to be fetched
+   */
+  public long getConsumerStallTime(TimeUnit unit) {
+    return unit.convert(consumerStallNanos.sum(), NANOSECONDS);
+  }
+}
@@ -40,6 +40,7 @@ public final class PagingProviderProducer<T> implements Producer<List<T>> {
   private final ExtensionConnectionSupplier connectionSupplier;
   private final ExecutionContextAdapter executionContext;
   private final ConnectionSupplierFactory connectionSupplierFactory;
+  private final boolean transactional;
 
   public PagingProviderProducer(PagingProvider<Object, T> delegate,
                                 ConfigurationInstance config,
@@ -49,10 +50,22 @@ public final class PagingProviderProducer<T> implements Producer<List<T>> {
     this.config = config;
     this.executionContext = executionContext;
     this.connectionSupplier = connectionSupplier;
+    this.transactional = isTransactionActive();
 
     this.connectionSupplierFactory = createConnectionSupplierFactory();
   }
 
+  /**
+   * Whether the pages are fetched within the transaction bound to the thread that created this producer, in which case pages
+   * cannot be fetched from any other thread.
+   *
+   * @return {@code true} if this producer takes part in a transaction
+   * @since 4.2
+   */
+  public boolean isTransactional() {
+    return transactional;
+  }
+
   /**
    * Asks the delegate for the next page
    */
@@ -110,14 +123,14 @@ public final class PagingProviderProducer<T> implements Producer<List<T>> {
   }
 
   private ConnectionSupplierFactory createConnectionSupplierFactory() {
-    if (delegate.useStickyConnections() || isTransactional()) {
+    if (delegate.useStickyConnections() || transactional) {
       return new StickyConnectionSupplierFactory();
     }
 
     return new DefaultConnectionSupplierFactory();
   }
 
-  private boolean isTransactional() {
+  private boolean isTransactionActive() {
     Transaction tx = TransactionCoordination.getInstance().getTransaction();
     return tx != null && tx.hasResource(new ExtensionTransactionKey(config));
   }
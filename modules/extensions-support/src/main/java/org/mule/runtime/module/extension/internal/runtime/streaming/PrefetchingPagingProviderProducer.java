@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.streaming;
+
+import static java.lang.System.nanoTime;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.streaming.iterator.Producer;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Decorates a {@link PagingProviderProducer} so that the pages following the one being consumed are fetched in the background,
+ * keeping up to a given amount of pages and elements buffered.
+ * <p>
+ * Pages are fetched one at a time, in order, so the delegate
+ * {@link org.mule.runtime.extension.api.runtime.streaming.PagingProvider} and its sticky connection, if it uses one, are never
+ * used concurrently. The delegate is not used for prefetching if it takes part in a transaction, since those are bound to the
+ * thread that started them.
+ *
+ * @param <T> the type of the elements in the returned pages.
+ * @since 4.2
+ */
+public final class PrefetchingPagingProviderProducer<T> implements Producer<List<T>> {
+
+  private static final FetchedPage CLOSED = new FetchedPage<>(null, null);
+
+  private final Producer<List<T>> delegate;
+  private final Scheduler scheduler;
+  private final int maxBufferedElements;
+  private final PagePrefetchStatistics statistics;
+
+  private final BlockingQueue<FetchedPage<T>> pages;
+  private final Lock delegateLock = new ReentrantLock();
+  private final AtomicBoolean fetching = new AtomicBoolean(false);
+  private final AtomicInteger bufferedElements = new AtomicInteger(0);
+
+  /**
+   * The last page, once the pages are exhausted, fetching them failed or this producer was closed.
+   */
+  private volatile FetchedPage<T> terminalPage;
+
+  /**
+   * Creates a new instance
+   *
+   * @param delegate the {@link Producer} which actually fetches the pages
+   * @param scheduler the IO {@link Scheduler} on which pages are fetched
+   * @param maxBufferedPages the maximum amount of pages to fetch ahead of the consumer
+   * @param maxBufferedElements the maximum amount of elements to hold in the fetched pages. No more pages are fetched ahead
+   *        once this limit is reached.
+   * @param statistics the {@link PagePrefetchStatistics} to update
+   */
+  public PrefetchingPagingProviderProducer(Producer<List<T>> delegate, Scheduler scheduler, int maxBufferedPages,
+                                           int maxBufferedElements, PagePrefetchStatistics statistics) {
+    this.delegate = delegate;
+    this.scheduler = scheduler;
+    this.maxBufferedElements = maxBufferedElements;
+    this.statistics = statistics;
+    // One more slot for the marker of the end of the pages or of a failure
+    this.pages = new ArrayBlockingQueue<>(maxBufferedPages + 1);
+  }
+
+  /**
+   * Returns the next prefetched page, waiting for it to be fetched if it isn't yet, and triggers the fetching of the following
+   * ones.
+   * <p>
+   * Once the pages are exhausted, fetching them failed or this producer is closed, every following call returns the last empty
+   * page, throws the failure or returns {@code null}, respectively, without waiting.
+   */
+  @Override
+  public List<T> produce() {
+    FetchedPage<T> page = pages.poll();
+    long stallNanos = 0;
+    if (page == null) {
+      page = terminalPage;
+      if (page == null) {
+        long waitStart = nanoTime();
+        fetchAhead();
+        try {
+          // The terminal page is also queued, so this can't wait once there are no more pages to fetch
+          page = pages.take();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new MuleRuntimeException(createStaticMessage("Interrupted while waiting for the next page"), e);
+        }
+        stallNanos = nanoTime() - waitStart;
+      }
+    }
+
+    if (page == CLOSED) {
+      return null;
+    }
+
+    if (page.failure != null) {
+      throw page.failure;
+    }
+
+    statistics.onPageConsumed(stallNanos);
+    if (page.elements == null || page.elements.isEmpty()) {
+      return page.elements;
+    }
+
+    bufferedElements.addAndGet(-page.elements.size());
+    fetchAhead();
+    return page.elements;
+  }
+
+  private void fetchAhead() {
+    if (terminalPage != null || !fetching.compareAndSet(false, true)) {
+      return;
+    }
+
+    try {
+      scheduler.execute(this::fetchPages);
+    } catch (RejectedExecutionException e) {
+      // If the Scheduler is busy and can't accept the task, we fetch the page in the current thread.
+      fetchPages();
+    }
+  }
+
+  private void fetchPages() {
+    try {
+      while (shouldFetch()) {
+        fetchPage();
+      }
+    } finally {
+      fetching.set(false);
+    }
+
+    // A page may have been consumed after the last check, with the fetch flag still set
+    if (shouldFetch()) {
+      fetchAhead();
+    }
+  }
+
+  private boolean shouldFetch() {
+    return terminalPage == null && pages.remainingCapacity() > 1 && bufferedElements.get() < maxBufferedElements;
+  }
+
+  private void fetchPage() {
+    delegateLock.lock();
+    try {
+      if (terminalPage != null) {
+        return;
+      }
+
+      List<T> elements = delegate.produce();
+      if (elements == null || elements.isEmpty()) {
+        terminate(new FetchedPage<>(elements, null));
+      } else {
+        bufferedElements.addAndGet(elements.size());
+        statistics.onPagePrefetched();
+        pages.add(new FetchedPage<>(elements, null));
+      }
+    } catch (RuntimeException e) {
+      terminate(new FetchedPage<>(null, e));
+    } finally {
+      delegateLock.unlock();
+    }
+  }
+
+  /**
+   * Sets the page to return once there are no more pages to consume, and queues it to wake up a waiting consumer. Must be
+   * called while holding the {@link #delegateLock}.
+   */
+  private void terminate(FetchedPage<T> page) {
+    terminalPage = page;
+    pages.add(page);
+  }
+
+  /**
+   * Returns the total amount of available results informed by the delegate
+   */
+  @Override
+  public int getSize() {
+    delegateLock.lock();
+    try {
+      return delegate.getSize();
+    } finally {
+      delegateLock.unlock();
+    }
+  }
+
+  /**
+   * Discards the prefetched pages and closes the delegate
+   */
+  @Override
+  public void close() throws IOException {
+    terminalPage = CLOSED;
+    delegateLock.lock();
+    try {
+      pages.clear();
+      bufferedElements.set(0);
+      terminate(CLOSED);
+      delegate.close();
+    } finally {
+      delegateLock.unlock();
+    }
+  }
+
+  private static final class FetchedPage<T> {
+
+    private final List<T> elements;
+    private final RuntimeException failure;
+
+    private FetchedPage(List<T> elements, RuntimeException failure) {
+      this.elements = elements;
+      this.failure = failure;
+    }
+  }
+}
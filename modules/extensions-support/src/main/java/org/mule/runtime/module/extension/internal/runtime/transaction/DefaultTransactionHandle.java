@@ -20,6 +20,26 @@ import org.mule.runtime.extension.api.tx.TransactionHandle;
  */
 public class DefaultTransactionHandle implements TransactionHandle {
 
+  private final Transaction transaction;
+
+  /**
+   * Creates a handle for the transaction active at the time an action is executed.
+   */
+  public DefaultTransactionHandle() {
+    this(null);
+  }
+
+  /**
+   * Creates a handle for the given {@code transaction}.
+   *
+   * @param transaction the transaction to execute the actions on, or {@code null} to use the one active at the time an action
+   *        is executed.
+   * @since 4.2
+   */
+  public DefaultTransactionHandle(Transaction transaction) {
+    this.transaction = transaction;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -33,7 +53,7 @@ public class DefaultTransactionHandle implements TransactionHandle {
    */
   @Override
   public void commit() throws TransactionException {
-    Transaction transaction = TransactionCoordination.getInstance().getTransaction();
+    Transaction transaction = getTransaction();
     if (transaction != null) {
       transaction.commit();
     }
@@ -44,9 +64,18 @@ public class DefaultTransactionHandle implements TransactionHandle {
    */
   @Override
   public void rollback() throws TransactionException {
-    Transaction transaction = TransactionCoordination.getInstance().getTransaction();
+    Transaction transaction = getTransaction();
     if (transaction != null) {
       transaction.rollback();
     }
   }
+
+  private Transaction getTransaction() throws TransactionException {
+    if (transaction == null) {
+      return TransactionCoordination.getInstance().getTransaction();
+    }
+    // The handle may be used from a thread other than the one that started the transaction, so the transaction is checked
+    // directly instead of looking it up
+    return transaction.isCommitted() || transaction.isRolledBack() ? null : transaction;
+  }
 }
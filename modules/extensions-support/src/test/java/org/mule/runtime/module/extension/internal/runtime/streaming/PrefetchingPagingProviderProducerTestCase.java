@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.streaming;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.streaming.iterator.Producer;
+import org.mule.tck.size.SmallTest;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class PrefetchingPagingProviderProducerTestCase {
+
+  private Producer<List<String>> delegate = mock(Producer.class);
+  private Scheduler scheduler = mock(Scheduler.class);
+  private ExecutorService executor = newSingleThreadExecutor();
+  private PagePrefetchStatistics statistics = new PagePrefetchStatistics();
+
+  @Before
+  public void setUp() {
+    doAnswer(invocation -> executor.submit((Runnable) invocation.getArguments()[0])).when(scheduler).execute(any());
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  private void awaitFetches() throws Exception {
+    executor.submit(() -> {
+    }).get();
+  }
+
+  private PrefetchingPagingProviderProducer<String> createProducer(int maxPages, int maxElements) {
+    return new PrefetchingPagingProviderProducer<>(delegate, scheduler, maxPages, maxElements, statistics);
+  }
+
+  @Test
+  public void pagesInOrder() {
+    when(delegate.produce()).thenReturn(asList("a", "b"), asList("c"), asList("d", "e"), emptyList());
+    PrefetchingPagingProviderProducer<String> producer = createProducer(2, 100);
+
+    assertThat(producer.produce(), is(asList("a", "b")));
+    assertThat(producer.produce(), is(asList("c")));
+    assertThat(producer.produce(), is(asList("d", "e")));
+    assertThat(producer.produce().isEmpty(), is(true));
+    assertThat(producer.produce().isEmpty(), is(true));
+
+    verify(delegate, times(4)).produce();
+    assertThat(statistics.getConsumedPages(), is(5L));
+  }
+
+  @Test
+  public void failureIsPropagated() {
+    IllegalStateException failure = new IllegalStateException();
+    when(delegate.produce()).thenReturn(asList("a")).thenThrow(failure);
+    PrefetchingPagingProviderProducer<String> producer = createProducer(2, 100);
+
+    assertThat(producer.produce(), is(asList("a")));
+    try {
+      producer.produce();
+    } catch (IllegalStateException e) {
+      assertThat(e == failure, is(true));
+      return;
+    }
+    throw new AssertionError("Expected failure was not thrown");
+  }
+
+  @Test
+  public void failureIsPropagatedOnFurtherCalls() {
+    IllegalStateException failure = new IllegalStateException();
+    when(delegate.produce()).thenThrow(failure);
+    PrefetchingPagingProviderProducer<String> producer = createProducer(2, 100);
+
+    for (int i = 0; i < 2; ++i) {
+      try {
+        producer.produce();
+        throw new AssertionError("Expected failure was not thrown");
+      } catch (IllegalStateException e) {
+        assertThat(e == failure, is(true));
+      }
+    }
+    verify(delegate, times(1)).produce();
+  }
+
+  @Test
+  public void fetchAheadBoundedByElements() throws Exception {
+    when(delegate.produce()).thenReturn(asList("a", "b"), asList("c", "d"), asList("e", "f"), emptyList());
+    PrefetchingPagingProviderProducer<String> producer = createProducer(10, 2);
+
+    assertThat(producer.produce(), is(asList("a", "b")));
+    // Let the background fetches that were triggered, and the ones those triggered in turn, finish
+    awaitFetches();
+    awaitFetches();
+
+    verify(delegate, times(2)).produce();
+  }
+
+  @Test
+  public void closedProducerReturnsNoPages() throws Exception {
+    PrefetchingPagingProviderProducer<String> producer = createProducer(2, 100);
+    producer.close();
+
+    assertThat(producer.produce(), is(nullValue()));
+    verify(delegate).close();
+  }
+
+  @Test
+  public void closeReleasesWaitingConsumer() throws Exception {
+    // Pages are never fetched, so the consumer waits until the producer is closed
+    doNothing().when(scheduler).execute(any());
+    PrefetchingPagingProviderProducer<String> producer = createProducer(2, 100);
+
+    ExecutorService consumer = newSingleThreadExecutor();
+    try {
+      Future<List<String>> page = consumer.submit(producer::produce);
+      producer.close();
+
+      assertThat(page.get(5, SECONDS), is(nullValue()));
+      assertThat(producer.produce(), is(nullValue()));
+    } finally {
+      consumer.shutdownNow();
+    }
+  }
+
+  @Test
+  public void rejectedFetchRunsInCurrentThread() {
+    doAnswer(invocation -> {
+      throw new RejectedExecutionException();
+    }).when(scheduler).execute(any());
+    when(delegate.produce()).thenReturn(asList("a"), emptyList());
+    PrefetchingPagingProviderProducer<String> producer = createProducer(2, 100);
+
+    assertThat(producer.produce(), is(asList("a")));
+    assertThat(producer.produce().isEmpty(), is(true));
+  }
+
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.test.functional;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.mule.runtime.api.component.ComponentIdentifier.builder;
+import static org.mule.runtime.api.component.location.Location.builderFromStringRepresentation;
+import static org.mule.runtime.config.internal.dsl.model.extension.xml.MacroExpansionModuleModel.SHARED_OPERATION_CHAINS_PROPERTY;
+import static org.mule.runtime.config.internal.model.ApplicationModel.MODULE_OPERATION_BODY;
+
+import org.mule.runtime.api.component.Component;
+import org.mule.runtime.api.component.ComponentIdentifier;
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.component.location.ConfigurationComponentLocator;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.test.runner.RunnerDelegateTo;
+
+import java.util.Collection;
+import java.util.List;
+
+import javax.inject.Inject;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runners.Parameterized;
+
+/**
+ * Runs operations called from several places, with different parameters and configurations, both with the body of each
+ * operation copied into every call site and with it shared among them, checking that invocations do not see the parameters and
+ * variables of each other.
+ */
+@RunnerDelegateTo(Parameterized.class)
+public class ModuleSharedOperationChainsTestCase extends AbstractXmlExtensionMuleArtifactFunctionalTestCase {
+
+  private static final ComponentIdentifier SET_PAYLOAD = builder().namespace("mule").name("set-payload").build();
+
+  @Parameterized.Parameters(name = "{0}")
+  public static Collection<Object[]> data() {
+    return asList(new Object[][] {
+        {"Expanded operation bodies", false},
+        {"Shared operation bodies", true}
+    });
+  }
+
+  @Rule
+  public SystemProperty sharedOperationChainsProperty;
+
+  private final boolean sharedOperationChains;
+
+  @Inject
+  private ConfigurationComponentLocator locator;
+
+  public ModuleSharedOperationChainsTestCase(String name, boolean sharedOperationChains) {
+    this.sharedOperationChains = sharedOperationChains;
+    this.sharedOperationChainsProperty =
+        new SystemProperty(SHARED_OPERATION_CHAINS_PROPERTY, Boolean.toString(sharedOperationChains));
+  }
+
+  @Override
+  protected String[] getModulePaths() {
+    return new String[] {"modules/module-simple.xml", "modules/module-properties.xml"};
+  }
+
+  @Override
+  protected String getConfigFile() {
+    return "flows/flows-using-module-shared-operation-chains.xml";
+  }
+
+  @Test
+  public void sameOperationDifferentParams() throws Exception {
+    CoreEvent event = flowRunner("testSameOperationDifferentParams").run();
+    assertThat(event.getVariables().get("first").getValue(), is("first value"));
+    assertThat(event.getVariables().get("second").getValue(), is("second value"));
+    assertThat(event.getMessage().getPayload().getValue(), is("third value"));
+  }
+
+  @Test
+  public void paramNotLeakedToNextCall() throws Exception {
+    CoreEvent event = flowRunner("testParamNotLeakedToNextCall").run();
+    assertThat(event.getVariables().get("concat").getValue(), is("105"));
+    assertThat(event.getMessage().getPayload().getValue(), is(nullValue()));
+  }
+
+  @Test
+  public void optionalParamNotLeakedToNextCall() throws Exception {
+    CoreEvent event = flowRunner("testOptionalParamNotLeakedToNextCall").run();
+    assertThat(event.getVariables().get("withParam").getValue(), is("a parameter value"));
+    assertThat(event.getMessage().getPayload().getValue(), is(nullValue()));
+  }
+
+  @Test
+  public void operationVariablesNotLeaked() throws Exception {
+    CoreEvent event = flowRunner("testOperationVariablesNotLeaked").run();
+    assertThat(event.getMessage().getPayload().getValue(), is("10"));
+    assertThat(event.getVariables().get("testVar").getValue(), is("unchanged value"));
+    assertThat(event.getVariables().containsKey("variableBeforeCalling"), is(false));
+  }
+
+  @Test
+  public void concurrentCalls() throws Exception {
+    CoreEvent event = flowRunner("testConcurrentCalls").run();
+    assertThat(event.getMessage().getPayload().getValue(), is("first route, second route"));
+  }
+
+  @Test
+  public void sameOperationDifferentConfigs() throws Exception {
+    CoreEvent event = flowRunner("testSameOperationDifferentConfigs").run();
+    assertThat(event.getVariables().get("first").getValue(), is("first first config value"));
+    assertThat(event.getMessage().getPayload().getValue(), is("second second config value"));
+  }
+
+  @Test
+  public void oneBodyPerOperationAndConfig() {
+    List<String> bodies = rootContainersOf(MODULE_OPERATION_BODY);
+    if (sharedOperationChains) {
+      assertThat(bodies, containsInAnyOrder("simple-prefix:set-payload-param-value",
+                                            "simple-prefix:set-payload-concat-params-values",
+                                            "simple-prefix:set-payload-using-undefined-param",
+                                            "simple-prefix:set-payload-using-optional-param",
+                                            "simple-prefix:set-payload-no-side-effect",
+                                            "simple-prefix:do-nothing",
+                                            "module-properties:set-payload-add-param-and-property-values-firstConfig",
+                                            "module-properties:set-payload-add-param-and-property-values-secondConfig"));
+    } else {
+      assertThat(bodies, is(empty()));
+    }
+  }
+
+  @Test
+  public void callSitesResolveToSharedBody() {
+    for (int i = 0; i < 3; ++i) {
+      assertThat(locator.find(builderFromStringRepresentation("testSameOperationDifferentParams/processors/" + i).build())
+          .isPresent(), is(true));
+    }
+
+    List<String> setPayloads = rootContainersOf(SET_PAYLOAD);
+    List<String> inFlow = setPayloads.stream().filter("testSameOperationDifferentParams"::equals).collect(toList());
+    List<String> inBody = setPayloads.stream().filter("simple-prefix:set-payload-param-value"::equals).collect(toList());
+    if (sharedOperationChains) {
+      // the three call sites run the single copy of the body, instead of one of their own
+      assertThat(inFlow, is(empty()));
+      assertThat(inBody, hasSize(1));
+    } else {
+      assertThat(inFlow, hasSize(3));
+      assertThat(inBody, is(empty()));
+    }
+  }
+
+  private List<String> rootContainersOf(ComponentIdentifier identifier) {
+    return locator.find(identifier).stream()
+        .map(Component::getLocation)
+        .map(ComponentLocation::getRootContainerName)
+        .collect(toList());
+  }
+
+}
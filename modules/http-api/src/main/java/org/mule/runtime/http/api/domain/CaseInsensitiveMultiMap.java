@@ -20,6 +20,9 @@ import java.util.LinkedHashMap;
 
 /**
  * {@link MultiMap} where the key's case is not taken into account when looking for it, adding or aggregating it.
+ * <p>
+ * When {@code optimized}, keys are stored lowercase in a compact structure tuned for the amount of entries HTTP headers usually
+ * have.
  *
  * @since 4.0
  */
@@ -45,7 +48,7 @@ public class CaseInsensitiveMultiMap extends MultiMap<String, String> implements
   public CaseInsensitiveMultiMap(MultiMap<String, String> paramsMap, boolean optimized) {
     this.optimized = optimized;
     this.paramsMap = optimized
-        ? new OptimizedCaseInsensitiveMapWrapper<>(new LinkedHashMap<>())
+        ? new CompactCaseInsensitiveMap<>()
         : new CaseInsensitiveMapWrapper<>(new LinkedHashMap<>());
     putAll(paramsMap);
   }
@@ -0,0 +1,474 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.http.api.domain;
+
+import static java.lang.Character.toLowerCase;
+import static java.lang.reflect.Modifier.isStatic;
+import static java.util.Arrays.copyOf;
+import static java.util.Arrays.fill;
+
+import org.mule.runtime.http.api.HttpHeaders;
+
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Case insensitive {@link java.util.Map} optimized for the small amount of entries HTTP headers usually have.
+ * <p>
+ * Entries are kept in flat parallel arrays in insertion order, along with the case insensitive hash of each key, so lookups
+ * compare hashes first and never allocate a key wrapper. Up to {@value #HASH_THRESHOLD} entries, lookups just scan the arrays;
+ * beyond that, an open addressing index over the arrays keeps them constant time. As with
+ * {@link OptimizedCaseInsensitiveMapWrapper}, keys are stored lowercase. The well-known header names from
+ * {@link HttpHeaders.Names} are pre-interned, so putting any of them (in any case) does not allocate a new lowercase
+ * {@link String} either.
+ *
+ * @param <T> The class of the values referenced in the map.
+ *
+ * @since 4.2
+ */
+final class CompactCaseInsensitiveMap<T> extends AbstractMap<String, T> implements Serializable {
+
+  private static final long serialVersionUID = 2480372735567123640L;
+
+  private static final int INITIAL_CAPACITY = 8;
+  private static final int HASH_THRESHOLD = 16;
+
+  private static final String[] KNOWN_NAMES;
+  private static final int[] KNOWN_HASHES;
+  private static final int KNOWN_MASK;
+
+  static {
+    Set<String> names = new LinkedHashSet<>();
+    for (Field field : HttpHeaders.Names.class.getFields()) {
+      if (isStatic(field.getModifiers()) && field.getType() == String.class) {
+        try {
+          names.add(lowerCase((String) field.get(null)).intern());
+        } catch (IllegalAccessException e) {
+          // Public constants, cannot happen
+        }
+      }
+    }
+
+    int tableSize = Integer.highestOneBit(names.size() * 4);
+    KNOWN_NAMES = new String[tableSize];
+    KNOWN_HASHES = new int[tableSize];
+    KNOWN_MASK = tableSize - 1;
+    for (String name : names) {
+      int hash = hash(name);
+      int index = hash & KNOWN_MASK;
+      while (KNOWN_NAMES[index] != null) {
+        index = (index + 1) & KNOWN_MASK;
+      }
+      KNOWN_NAMES[index] = name;
+      KNOWN_HASHES[index] = hash;
+    }
+  }
+
+  private String[] keys;
+  private int[] hashes;
+  private Object[] values;
+  private int size;
+  private transient int modCount;
+  // Position of each entry plus one, or zero for empty slots. Only kept while there are more than HASH_THRESHOLD entries.
+  private transient int[] table;
+
+  CompactCaseInsensitiveMap() {
+    keys = new String[INITIAL_CAPACITY];
+    hashes = new int[INITIAL_CAPACITY];
+    values = new Object[INITIAL_CAPACITY];
+  }
+
+  /**
+   * Calculates the hash of the lowercase version of {@code key} without actually creating it.
+   */
+  private static int hash(String key) {
+    int hash = 0;
+    for (int i = 0; i < key.length(); ++i) {
+      hash = 31 * hash + lowerCase(key.charAt(i));
+    }
+    return hash;
+  }
+
+  private static char lowerCase(char c) {
+    if (c < 128) {
+      return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+    return toLowerCase(c);
+  }
+
+  private static boolean sameKey(String stored, String key) {
+    if (stored == key) {
+      return true;
+    }
+    if (stored.length() != key.length()) {
+      return false;
+    }
+    for (int i = 0; i < stored.length(); ++i) {
+      if (stored.charAt(i) != lowerCase(key.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Provides the lowercase version of {@code key} to store, avoiding the allocation when it is a well-known header name or it
+   * already is lowercase.
+   */
+  private static String storedKey(String key, int hash) {
+    int index = hash & KNOWN_MASK;
+    String known;
+    while ((known = KNOWN_NAMES[index]) != null) {
+      if (KNOWN_HASHES[index] == hash && sameKey(known, key)) {
+        return known;
+      }
+      index = (index + 1) & KNOWN_MASK;
+    }
+
+    return lowerCase(key);
+  }
+
+  private static String lowerCase(String key) {
+    for (int i = 0; i < key.length(); ++i) {
+      char c = key.charAt(i);
+      if (lowerCase(c) != c) {
+        char[] chars = key.toCharArray();
+        for (int j = i; j < chars.length; ++j) {
+          chars[j] = lowerCase(chars[j]);
+        }
+        return new String(chars);
+      }
+    }
+    return key;
+  }
+
+  private int indexOf(Object key) {
+    if (!(key instanceof String)) {
+      return -1;
+    }
+    String stringKey = (String) key;
+    return find(stringKey, hash(stringKey));
+  }
+
+  private int find(String key, int hash) {
+    if (size <= HASH_THRESHOLD) {
+      for (int i = 0; i < size; ++i) {
+        if (hashes[i] == hash && sameKey(keys[i], key)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    int[] table = table();
+    int mask = table.length - 1;
+    for (int slot = spread(hash) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+      int i = table[slot] - 1;
+      if (hashes[i] == hash && sameKey(keys[i], key)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+
+  private int[] table() {
+    if (table == null) {
+      // Keeps the load factor between 1/4 and 1/2
+      int[] newTable = new int[Integer.highestOneBit(size * 4)];
+      for (int i = 0; i < size; ++i) {
+        addToTable(newTable, i);
+      }
+      table = newTable;
+    }
+    return table;
+  }
+
+  private void addToTable(int[] table, int index) {
+    int mask = table.length - 1;
+    int slot = spread(hashes[index]) & mask;
+    while (table[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    table[slot] = index + 1;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return indexOf(key) >= 0;
+  }
+
+  @Override
+  public T get(Object key) {
+    int index = indexOf(key);
+    return index < 0 ? null : valueAt(index);
+  }
+
+  @Override
+  public T put(String key, T value) {
+    if (key == null) {
+      throw new NullPointerException("Header name cannot be null");
+    }
+
+    int hash = hash(key);
+    int existing = find(key, hash);
+    if (existing >= 0) {
+      T previous = valueAt(existing);
+      values[existing] = value;
+      return previous;
+    }
+
+    if (size == keys.length) {
+      int newCapacity = keys.length * 2;
+      keys = copyOf(keys, newCapacity);
+      hashes = copyOf(hashes, newCapacity);
+      values = copyOf(values, newCapacity);
+    }
+    keys[size] = storedKey(key, hash);
+    hashes[size] = hash;
+    values[size] = value;
+    ++size;
+    ++modCount;
+    if (table != null) {
+      if (size * 2 > table.length) {
+        table = null;
+      } else {
+        addToTable(table, size - 1);
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public T remove(Object key) {
+    int index = indexOf(key);
+    if (index < 0) {
+      return null;
+    }
+    T previous = valueAt(index);
+    removeAt(index);
+    return previous;
+  }
+
+  private void removeAt(int index) {
+    int moved = size - index - 1;
+    if (moved > 0) {
+      System.arraycopy(keys, index + 1, keys, index, moved);
+      System.arraycopy(hashes, index + 1, hashes, index, moved);
+      System.arraycopy(values, index + 1, values, index, moved);
+    }
+    --size;
+    keys[size] = null;
+    values[size] = null;
+    ++modCount;
+    // Entries after the removed one were shifted, so the index is rebuilt when needed
+    table = null;
+  }
+
+  @Override
+  public void clear() {
+    fill(keys, 0, size, null);
+    fill(values, 0, size, null);
+    size = 0;
+    ++modCount;
+    table = null;
+  }
+
+  private T valueAt(int index) {
+    return (T) values[index];
+  }
+
+  @Override
+  public Set<String> keySet() {
+    return new AbstractSet<String>() {
+
+      @Override
+      public Iterator<String> iterator() {
+        return new CompactIterator<String>() {
+
+          @Override
+          protected String get(int index) {
+            return keys[index];
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+
+      @Override
+      public boolean contains(Object o) {
+        return containsKey(o);
+      }
+
+      @Override
+      public boolean remove(Object o) {
+        int index = indexOf(o);
+        if (index < 0) {
+          return false;
+        }
+        removeAt(index);
+        return true;
+      }
+
+      @Override
+      public void clear() {
+        CompactCaseInsensitiveMap.this.clear();
+      }
+    };
+  }
+
+  @Override
+  public Set<Entry<String, T>> entrySet() {
+    return new AbstractSet<Entry<String, T>>() {
+
+      @Override
+      public Iterator<Entry<String, T>> iterator() {
+        return new CompactIterator<Entry<String, T>>() {
+
+          @Override
+          protected Entry<String, T> get(int index) {
+            return new CompactEntry(index);
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+
+      @Override
+      public void clear() {
+        CompactCaseInsensitiveMap.this.clear();
+      }
+    };
+  }
+
+  private abstract class CompactIterator<E> implements Iterator<E> {
+
+    private int next = 0;
+    private int last = -1;
+    private int expectedModCount = modCount;
+
+    @Override
+    public boolean hasNext() {
+      return next < size;
+    }
+
+    @Override
+    public E next() {
+      if (modCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      if (next >= size) {
+        throw new NoSuchElementException();
+      }
+      last = next++;
+      return get(last);
+    }
+
+    @Override
+    public void remove() {
+      if (last < 0) {
+        throw new IllegalStateException();
+      }
+      if (modCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      removeAt(last);
+      next = last;
+      last = -1;
+      expectedModCount = modCount;
+    }
+
+    protected abstract E get(int index);
+  }
+
+  private class CompactEntry implements Entry<String, T> {
+
+    private final String key;
+    private int index;
+
+    private CompactEntry(int index) {
+      this.key = keys[index];
+      this.index = index;
+    }
+
+    @Override
+    public String getKey() {
+      return key;
+    }
+
+    @Override
+    public T getValue() {
+      return valueAt(currentIndex());
+    }
+
+    @Override
+    public T setValue(T value) {
+      int current = currentIndex();
+      T previous = valueAt(current);
+      values[current] = value;
+      return previous;
+    }
+
+    private int currentIndex() {
+      if (index >= size || keys[index] != key) {
+        index = indexOf(key);
+        if (index < 0) {
+          throw new IllegalStateException("Entry for key '" + key + "' was removed from the map");
+        }
+      }
+      return index;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Entry)) {
+        return false;
+      }
+      Entry<?, ?> other = (Entry<?, ?>) o;
+      T value = getValue();
+      return key.equals(other.getKey()) && (value == null ? other.getValue() == null : value.equals(other.getValue()));
+    }
+
+    @Override
+    public int hashCode() {
+      T value = getValue();
+      return key.hashCode() ^ (value == null ? 0 : value.hashCode());
+    }
+
+    @Override
+    public String toString() {
+      return key + "=" + getValue();
+    }
+  }
+
+}
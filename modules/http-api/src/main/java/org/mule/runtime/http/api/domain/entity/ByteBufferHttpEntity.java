@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.http.api.domain.entity;
+
+import static java.util.Collections.emptyList;
+import static java.util.Optional.of;
+import static org.mule.runtime.api.util.Preconditions.checkNotNull;
+
+import org.mule.runtime.http.api.domain.entity.multipart.HttpPart;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Represents an HTTP body backed by a {@link ByteBuffer}, which may be a direct one.
+ * <p>
+ * The content is the region between the buffer's position and limit at construction time. The given buffer is never modified,
+ * every access works on a duplicate of it.
+ *
+ * @since 4.2
+ */
+public final class ByteBufferHttpEntity implements TransferableHttpEntity {
+
+  private final ByteBuffer content;
+
+  public ByteBufferHttpEntity(ByteBuffer content) {
+    checkNotNull(content, "HTTP entity content cannot be null.");
+    this.content = content.slice().asReadOnlyBuffer();
+  }
+
+  @Override
+  public boolean isStreaming() {
+    return false;
+  }
+
+  @Override
+  public boolean isComposed() {
+    return false;
+  }
+
+  @Override
+  public InputStream getContent() {
+    return new ByteBufferInputStream(content.duplicate());
+  }
+
+  @Override
+  public byte[] getBytes() {
+    byte[] bytes = new byte[content.remaining()];
+    content.duplicate().get(bytes);
+    return bytes;
+  }
+
+  @Override
+  public Collection<HttpPart> getParts() {
+    return emptyList();
+  }
+
+  @Override
+  public Optional<Long> getLength() {
+    return of((long) content.remaining());
+  }
+
+  @Override
+  public long transferTo(WritableByteChannel target) throws IOException {
+    ByteBuffer buffer = content.duplicate();
+    long transferred = 0;
+    while (buffer.hasRemaining()) {
+      transferred += target.write(buffer);
+    }
+    return transferred;
+  }
+
+  /**
+   * Provides the content of this entity as a read only {@link ByteBuffer}, without copying it.
+   *
+   * @return a read only view of this entity's content
+   */
+  public ByteBuffer getByteBuffer() {
+    return content.duplicate();
+  }
+
+  private static class ByteBufferInputStream extends InputStream {
+
+    private final ByteBuffer buffer;
+
+    private ByteBufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (len == 0) {
+        return 0;
+      }
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      int read = Math.min(len, buffer.remaining());
+      buffer.get(b, off, read);
+      return read;
+    }
+
+    @Override
+    public long skip(long n) {
+      int skipped = (int) Math.min(Math.max(n, 0), buffer.remaining());
+      buffer.position(buffer.position() + skipped);
+      return skipped;
+    }
+
+    @Override
+    public int available() {
+      return buffer.remaining();
+    }
+  }
+
+}
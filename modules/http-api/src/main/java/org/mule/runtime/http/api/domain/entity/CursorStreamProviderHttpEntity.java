@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.http.api.domain.entity;
+
+import static java.util.Collections.emptyList;
+import static java.util.Optional.ofNullable;
+import static org.mule.runtime.api.util.Preconditions.checkNotNull;
+
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.api.util.IOUtils;
+import org.mule.runtime.http.api.domain.entity.multipart.HttpPart;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Represents an HTTP body backed by a {@link CursorStreamProvider}.
+ * <p>
+ * Since the provider's content is repeatable, each access opens a new {@link CursorStream} over it, so the content is never
+ * consumed and there is no need to materialize it in order to send it more than once (for example, on a retried request).
+ * {@link #transferTo(WritableByteChannel)} moves the content through a single reusable buffer straight into the target channel.
+ * <p>
+ * Closing the provider is responsibility of the caller.
+ *
+ * @since 4.2
+ */
+public final class CursorStreamProviderHttpEntity implements TransferableHttpEntity {
+
+  private static final int TRANSFER_BUFFER_SIZE = 8 * 1024;
+
+  private final CursorStreamProvider cursorStreamProvider;
+  private final Long contentLength;
+
+  public CursorStreamProviderHttpEntity(CursorStreamProvider cursorStreamProvider) {
+    this(cursorStreamProvider, null);
+  }
+
+  public CursorStreamProviderHttpEntity(CursorStreamProvider cursorStreamProvider, Long contentLength) {
+    checkNotNull(cursorStreamProvider, "HTTP entity cursor provider cannot be null.");
+    this.cursorStreamProvider = cursorStreamProvider;
+    this.contentLength = contentLength;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The content is not held in memory, so this entity is reported as streamed. Otherwise, clients unaware of
+   * {@link TransferableHttpEntity} would load the whole content through {@link #getBytes()}. Its content is still repeatable,
+   * since each access opens a new {@link CursorStream}.
+   */
+  @Override
+  public boolean isStreaming() {
+    return true;
+  }
+
+  @Override
+  public boolean isComposed() {
+    return false;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Each invocation opens a new {@link CursorStream}, which should be closed once consumed.
+   */
+  @Override
+  public InputStream getContent() {
+    return cursorStreamProvider.openCursor();
+  }
+
+  @Override
+  public byte[] getBytes() throws IOException {
+    try (CursorStream cursor = cursorStreamProvider.openCursor()) {
+      return IOUtils.toByteArray(cursor);
+    }
+  }
+
+  @Override
+  public Collection<HttpPart> getParts() {
+    return emptyList();
+  }
+
+  @Override
+  public Optional<Long> getLength() {
+    return ofNullable(contentLength);
+  }
+
+  @Override
+  public long transferTo(WritableByteChannel target) throws IOException {
+    byte[] bytes = new byte[TRANSFER_BUFFER_SIZE];
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    long transferred = 0;
+    try (CursorStream cursor = cursorStreamProvider.openCursor()) {
+      int read;
+      while ((read = cursor.read(bytes)) != -1) {
+        buffer.clear().limit(read);
+        while (buffer.hasRemaining()) {
+          if (target.write(buffer) == 0) {
+            // A non-blocking target with a full buffer, which would otherwise be retried forever
+            throw new IOException("Target channel accepted no bytes after " + (transferred + buffer.position())
+                + " were transferred, non-blocking channels are not supported");
+          }
+        }
+        transferred += read;
+      }
+    }
+    return transferred;
+  }
+
+  /**
+   * @return the {@link CursorStreamProvider} backing this entity
+   */
+  public CursorStreamProvider getCursorStreamProvider() {
+    return cursorStreamProvider;
+  }
+
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.http.api.domain.entity;
+
+import static java.lang.Math.min;
+import static java.util.Collections.emptyList;
+import static java.util.Optional.of;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.api.util.Preconditions.checkNotNull;
+
+import org.mule.runtime.http.api.domain.entity.multipart.HttpPart;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Represents an HTTP body backed by a region of a {@link FileChannel}.
+ * <p>
+ * The content is transferred with {@link FileChannel#transferTo(long, long, WritableByteChannel)}, which allows the operating
+ * system to send it to the target without copying it into user space. Reads are positional, so the channel's own position is
+ * never modified and the content may be accessed several times. Closing the channel is responsibility of the caller.
+ *
+ * @since 4.2
+ */
+public final class FileRegionHttpEntity implements TransferableHttpEntity {
+
+  private final FileChannel channel;
+  private final long position;
+  private final long count;
+
+  /**
+   * Creates an entity with the whole content of the given {@code channel}.
+   *
+   * @param channel the channel providing the content
+   * @throws IOException if the size of the channel cannot be obtained
+   */
+  public FileRegionHttpEntity(FileChannel channel) throws IOException {
+    this(channel, 0, sizeOf(channel));
+  }
+
+  /**
+   * Creates an entity with the {@code count} bytes of the given {@code channel} starting at {@code position}.
+   *
+   * @param channel  the channel providing the content
+   * @param position the position in the channel where the content starts
+   * @param count    the amount of bytes of the content
+   */
+  public FileRegionHttpEntity(FileChannel channel, long position, long count) {
+    checkNotNull(channel, "HTTP entity channel cannot be null.");
+    checkArgument(position >= 0, "position cannot be negative");
+    checkArgument(count >= 0, "count cannot be negative");
+    this.channel = channel;
+    this.position = position;
+    this.count = count;
+  }
+
+  private static long sizeOf(FileChannel channel) throws IOException {
+    checkNotNull(channel, "HTTP entity channel cannot be null.");
+    return channel.size();
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The region is not held in memory, so this entity is reported as streamed. Otherwise, clients unaware of
+   * {@link TransferableHttpEntity} would load the whole region through {@link #getBytes()}. Its content is still repeatable,
+   * since the region is read at absolute positions each time.
+   */
+  @Override
+  public boolean isStreaming() {
+    return true;
+  }
+
+  @Override
+  public boolean isComposed() {
+    return false;
+  }
+
+  @Override
+  public InputStream getContent() {
+    return new FileRegionInputStream();
+  }
+
+  @Override
+  public byte[] getBytes() throws IOException {
+    checkArgument(count <= Integer.MAX_VALUE, "File region is too big to be represented as a byte array");
+    ByteBuffer buffer = ByteBuffer.allocate((int) count);
+    long offset = position;
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, offset);
+      if (read < 0) {
+        throw new IOException("Unexpected end of file at position " + offset);
+      }
+      offset += read;
+    }
+    return buffer.array();
+  }
+
+  @Override
+  public Collection<HttpPart> getParts() {
+    return emptyList();
+  }
+
+  @Override
+  public Optional<Long> getLength() {
+    return of(count);
+  }
+
+  @Override
+  public long transferTo(WritableByteChannel target) throws IOException {
+    long transferred = 0;
+    while (transferred < count) {
+      long written = channel.transferTo(position + transferred, count - transferred, target);
+      if (written <= 0) {
+        if (position + transferred >= channel.size()) {
+          throw new IOException("Unexpected end of file at position " + (position + transferred));
+        }
+        // A non-blocking target with a full buffer, which would otherwise be retried forever
+        throw new IOException("Target channel accepted no bytes after " + transferred + " of " + count
+            + " were transferred, non-blocking channels are not supported");
+      }
+      transferred += written;
+    }
+    return transferred;
+  }
+
+  /**
+   * @return the channel backing this entity
+   */
+  public FileChannel getChannel() {
+    return channel;
+  }
+
+  /**
+   * @return the position in the channel where this entity's content starts
+   */
+  public long getPosition() {
+    return position;
+  }
+
+  private class FileRegionInputStream extends InputStream {
+
+    private final ByteBuffer single = ByteBuffer.allocate(1);
+    private long offset = 0;
+
+    @Override
+    public int read() throws IOException {
+      single.clear();
+      return read(single) < 0 ? -1 : single.get(0) & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (len == 0) {
+        return 0;
+      }
+      return read(ByteBuffer.wrap(b, off, len));
+    }
+
+    private int read(ByteBuffer buffer) throws IOException {
+      long remaining = count - offset;
+      if (remaining <= 0) {
+        return -1;
+      }
+      if (buffer.remaining() > remaining) {
+        buffer.limit(buffer.position() + (int) remaining);
+      }
+      int read = channel.read(buffer, position + offset);
+      if (read > 0) {
+        offset += read;
+      }
+      return read;
+    }
+
+    @Override
+    public long skip(long n) {
+      long skipped = min(Math.max(n, 0), count - offset);
+      offset += skipped;
+      return skipped;
+    }
+
+    @Override
+    public int available() {
+      return (int) min(count - offset, Integer.MAX_VALUE);
+    }
+  }
+
+}
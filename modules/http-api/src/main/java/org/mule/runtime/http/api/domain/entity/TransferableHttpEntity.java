@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.http.api.domain.entity;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * An {@link HttpEntity} which is able to write its content straight into a {@link WritableByteChannel}, allowing HTTP service
+ * implementations to avoid copying it through an intermediate {@link java.io.InputStream} or byte array.
+ *
+ * @since 4.2
+ */
+public interface TransferableHttpEntity extends HttpEntity {
+
+  /**
+   * Writes the whole content of this entity into the given {@code target}. Implementations will use the most efficient mechanism
+   * available for their backing storage (for instance, {@link java.nio.channels.FileChannel#transferTo(long, long,
+   * WritableByteChannel)} for file regions).
+   * <p>
+   * Entities backed by repeatable content, such as file regions or cursor providers, may be transferred several times, each one
+   * transferring the whole content again, even if they report themselves as {@link #isStreaming() streaming}.
+   * <p>
+   * The {@code target} has to be in blocking mode: a target that accepts no bytes causes the transfer to fail.
+   *
+   * @param target the channel to write the content into
+   * @return the amount of bytes transferred
+   * @throws IOException if an error occurs reading the content or writing it into the {@code target}, or if the {@code target}
+   *         accepts no bytes
+   */
+  long transferTo(WritableByteChannel target) throws IOException;
+
+}
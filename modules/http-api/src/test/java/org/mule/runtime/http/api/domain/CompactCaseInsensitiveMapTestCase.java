@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.http.api.domain;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.http.api.HttpHeaders.Names.CONTENT_TYPE;
+import static org.mule.test.allure.AllureConstants.HttpFeature.HTTP_SERVICE;
+import static org.mule.test.allure.AllureConstants.HttpFeature.HttpStory.MULTI_MAP;
+
+import java.util.Iterator;
+import java.util.Map.Entry;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.Test;
+
+@Feature(HTTP_SERVICE)
+@Story(MULTI_MAP)
+public class CompactCaseInsensitiveMapTestCase {
+
+  private CompactCaseInsensitiveMap<String> map = new CompactCaseInsensitiveMap<>();
+
+  @Test
+  public void wellKnownNamesAreInterned() {
+    map.put("CONTENT-TYPE", "text/plain");
+    CompactCaseInsensitiveMap<String> other = new CompactCaseInsensitiveMap<>();
+    other.put(CONTENT_TYPE, "text/plain");
+
+    assertThat(map.keySet().iterator().next(), sameInstance(other.keySet().iterator().next()));
+    assertThat(map.keySet(), contains("content-type"));
+  }
+
+  @Test
+  public void customNamesAreLowercase() {
+    map.put("X-Custom-Header", "value");
+
+    assertThat(map.keySet(), contains("x-custom-header"));
+    assertThat(map.get("x-CUSTOM-header"), is("value"));
+  }
+
+  @Test
+  public void replacesExistingKey() {
+    assertThat(map.put("Host", "a"), nullValue());
+    assertThat(map.put("HOST", "b"), is("a"));
+
+    assertThat(map.size(), is(1));
+    assertThat(map.get("host"), is("b"));
+  }
+
+  @Test
+  public void keepsInsertionOrderOnRemoval() {
+    map.put("a", "1");
+    map.put("b", "2");
+    map.put("c", "3");
+
+    assertThat(map.remove("B"), is("2"));
+    assertThat(map.keySet(), contains("a", "c"));
+  }
+
+  @Test
+  public void growsBeyondInitialCapacity() {
+    for (int i = 0; i < 50; ++i) {
+      map.put("Header-" + i, "" + i);
+    }
+
+    assertThat(map.size(), is(50));
+    for (int i = 0; i < 50; ++i) {
+      assertThat(map.get("HEADER-" + i), is("" + i));
+    }
+  }
+
+  @Test
+  public void lookupsAfterRemovalBeyondHashThreshold() {
+    for (int i = 0; i < 50; ++i) {
+      map.put("Header-" + i, "" + i);
+    }
+    for (int i = 0; i < 50; i += 2) {
+      assertThat(map.remove("HEADER-" + i), is("" + i));
+    }
+    map.put("Header-0", "new");
+
+    assertThat(map.size(), is(26));
+    assertThat(map.get("header-0"), is("new"));
+    for (int i = 1; i < 50; ++i) {
+      assertThat(map.get("HEADER-" + i), i % 2 == 0 ? nullValue() : is("" + i));
+    }
+  }
+
+  @Test
+  public void iteratorRemove() {
+    map.put("a", "1");
+    map.put("b", "2");
+    map.put("c", "3");
+
+    Iterator<Entry<String, String>> iterator = map.entrySet().iterator();
+    while (iterator.hasNext()) {
+      if (iterator.next().getKey().equals("b")) {
+        iterator.remove();
+      }
+    }
+
+    assertThat(map.keySet(), contains("a", "c"));
+  }
+
+  @Test
+  public void entrySetValue() {
+    map.put("a", "1");
+    map.put("b", "2");
+
+    Entry<String, String> entry = map.entrySet().iterator().next();
+    map.remove("a");
+    map.put("A", "3");
+
+    assertThat(entry.getValue(), is("3"));
+    assertThat(entry.setValue("4"), is("3"));
+    assertThat(map.get("a"), is("4"));
+  }
+
+}
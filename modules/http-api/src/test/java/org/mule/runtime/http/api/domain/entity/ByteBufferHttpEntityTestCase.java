@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.http.api.domain.entity;
+
+import static java.nio.channels.Channels.newChannel;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.test.allure.AllureConstants.HttpFeature.HTTP_SERVICE;
+
+import org.mule.runtime.api.util.IOUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.Test;
+
+@Feature(HTTP_SERVICE)
+@Story("Entities")
+public class ByteBufferHttpEntityTestCase {
+
+  private ByteBuffer buffer = ByteBuffer.allocateDirect(4).put("TEST".getBytes());
+  private TransferableHttpEntity entity;
+
+  {
+    buffer.flip();
+    entity = new ByteBufferHttpEntity(buffer);
+  }
+
+  @Test
+  public void nonComposed() {
+    assertThat(entity.isComposed(), is(false));
+  }
+
+  @Test
+  public void nonStreaming() {
+    assertThat(entity.isStreaming(), is(false));
+  }
+
+  @Test
+  public void providesArrayMultipleTimes() throws IOException {
+    assertThat(entity.getBytes(), equalTo("TEST".getBytes()));
+    assertThat(entity.getBytes(), equalTo("TEST".getBytes()));
+  }
+
+  @Test
+  public void providesStreamMultipleTimes() {
+    assertThat(IOUtils.toByteArray(entity.getContent()), equalTo("TEST".getBytes()));
+    assertThat(IOUtils.toByteArray(entity.getContent()), equalTo("TEST".getBytes()));
+  }
+
+  @Test
+  public void transfersMultipleTimes() throws IOException {
+    for (int i = 0; i < 2; i++) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      assertThat(entity.transferTo(newChannel(out)), is(4L));
+      assertThat(out.toByteArray(), equalTo("TEST".getBytes()));
+    }
+  }
+
+  @Test
+  public void doesNotModifyBuffer() throws IOException {
+    entity.getBytes();
+    entity.transferTo(newChannel(new ByteArrayOutputStream()));
+    assertThat(buffer.remaining(), is(4));
+  }
+
+  @Test
+  public void hasNoParts() throws IOException {
+    assertThat(entity.getParts(), is(empty()));
+  }
+
+  @Test
+  public void hasSize() {
+    assertThat(entity.getLength().get(), is(4L));
+  }
+
+}
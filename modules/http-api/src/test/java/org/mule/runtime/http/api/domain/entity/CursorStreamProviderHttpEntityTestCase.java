@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.http.api.domain.entity;
+
+import static java.nio.channels.Channels.newChannel;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.test.allure.AllureConstants.HttpFeature.HTTP_SERVICE;
+
+import org.mule.runtime.api.streaming.CursorProvider;
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.api.util.IOUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.Before;
+import org.junit.Test;
+
+@Feature(HTTP_SERVICE)
+@Story("Entities")
+public class CursorStreamProviderHttpEntityTestCase {
+
+  private CursorStreamProvider provider = mock(CursorStreamProvider.class);
+  private TransferableHttpEntity entity = new CursorStreamProviderHttpEntity(provider);
+
+  @Before
+  public void before() {
+    when(provider.openCursor()).thenAnswer(invocation -> new TestCursorStream("TEST".getBytes()));
+  }
+
+  @Test
+  public void nonComposed() {
+    assertThat(entity.isComposed(), is(false));
+  }
+
+  @Test
+  public void streaming() {
+    assertThat(entity.isStreaming(), is(true));
+  }
+
+  @Test
+  public void providesContentMultipleTimes() throws IOException {
+    assertThat(entity.getBytes(), equalTo("TEST".getBytes()));
+    assertThat(IOUtils.toByteArray(entity.getContent()), equalTo("TEST".getBytes()));
+    verify(provider, times(2)).openCursor();
+  }
+
+  @Test
+  public void transfersMultipleTimes() throws IOException {
+    for (int i = 0; i < 2; i++) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      assertThat(entity.transferTo(newChannel(out)), is(4L));
+      assertThat(out.toByteArray(), equalTo("TEST".getBytes()));
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void failsWhenTargetAcceptsNoBytes() throws IOException {
+    entity.transferTo(new FullChannel());
+  }
+
+  @Test
+  public void hasNoParts() throws IOException {
+    assertThat(entity.getParts(), is(empty()));
+  }
+
+  @Test
+  public void hasNoSizeUnlessSpecified() {
+    assertThat(entity.getLength().isPresent(), is(false));
+    HttpEntity specifiedEntity = new CursorStreamProviderHttpEntity(provider, 4L);
+    assertThat(specifiedEntity.getLength().get(), is(4L));
+  }
+
+  private static class TestCursorStream extends CursorStream {
+
+    private final ByteArrayInputStream delegate;
+    private boolean released = false;
+
+    private TestCursorStream(byte[] content) {
+      delegate = new ByteArrayInputStream(content);
+    }
+
+    @Override
+    public int read() {
+      return delegate.read();
+    }
+
+    @Override
+    public long getPosition() {
+      return 0;
+    }
+
+    @Override
+    public void seek(long position) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void release() {
+      released = true;
+    }
+
+    @Override
+    public boolean isReleased() {
+      return released;
+    }
+
+    @Override
+    public CursorProvider getProvider() {
+      return null;
+    }
+  }
+
+  private static final class FullChannel implements WritableByteChannel {
+
+    @Override
+    public int write(ByteBuffer src) {
+      return 0;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void close() {}
+  }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.http.api.domain.entity;
+
+import static java.nio.channels.Channels.newChannel;
+import static java.nio.file.Files.write;
+import static java.nio.file.StandardOpenOption.READ;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.test.allure.AllureConstants.HttpFeature.HTTP_SERVICE;
+
+import org.mule.runtime.api.util.IOUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@Feature(HTTP_SERVICE)
+@Story("Entities")
+public class FileRegionHttpEntityTestCase {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private FileChannel channel;
+  private TransferableHttpEntity entity;
+
+  @Before
+  public void before() throws IOException {
+    File file = temporaryFolder.newFile();
+    write(file.toPath(), "--TEST--".getBytes());
+    channel = FileChannel.open(file.toPath(), READ);
+    entity = new FileRegionHttpEntity(channel, 2, 4);
+  }
+
+  @After
+  public void after() throws IOException {
+    channel.close();
+  }
+
+  @Test
+  public void nonComposed() {
+    assertThat(entity.isComposed(), is(false));
+  }
+
+  @Test
+  public void streaming() {
+    assertThat(entity.isStreaming(), is(true));
+  }
+
+  @Test
+  public void providesRegionArray() throws IOException {
+    assertThat(entity.getBytes(), equalTo("TEST".getBytes()));
+  }
+
+  @Test
+  public void providesRegionStreamMultipleTimes() {
+    assertThat(IOUtils.toByteArray(entity.getContent()), equalTo("TEST".getBytes()));
+    assertThat(IOUtils.toByteArray(entity.getContent()), equalTo("TEST".getBytes()));
+  }
+
+  @Test
+  public void transfersRegion() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertThat(entity.transferTo(newChannel(out)), is(4L));
+    assertThat(out.toByteArray(), equalTo("TEST".getBytes()));
+    assertThat(channel.position(), is(0L));
+  }
+
+  @Test(expected = IOException.class)
+  public void failsWhenTargetAcceptsNoBytes() throws IOException {
+    entity.transferTo(new FullChannel());
+  }
+
+  @Test
+  public void wholeFile() throws IOException {
+    HttpEntity wholeEntity = new FileRegionHttpEntity(channel);
+    assertThat(wholeEntity.getLength().get(), is(8L));
+    assertThat(wholeEntity.getBytes(), equalTo("--TEST--".getBytes()));
+  }
+
+  @Test
+  public void hasNoParts() throws IOException {
+    assertThat(entity.getParts(), is(empty()));
+  }
+
+  @Test
+  public void hasSize() {
+    assertThat(entity.getLength().get(), is(4L));
+  }
+
+  private static final class FullChannel implements WritableByteChannel {
+
+    @Override
+    public int write(ByteBuffer src) {
+      return 0;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void close() {}
+  }
+
+}
@@ -29,6 +29,8 @@ import static org.mule.runtime.core.api.config.bootstrap.ArtifactType.APP;
 import static org.mule.runtime.core.api.config.bootstrap.ArtifactType.DOMAIN;
 import static org.mule.runtime.core.api.config.bootstrap.ArtifactType.POLICY;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.CONFIG;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.startSpan;
 import static org.mule.runtime.dsl.api.xml.parser.XmlConfigurationDocumentLoader.noValidationDocumentLoader;
 import static org.mule.runtime.dsl.api.xml.parser.XmlConfigurationDocumentLoader.schemaValidatingDocumentLoader;
 import static org.springframework.beans.factory.support.BeanDefinitionBuilder.genericBeanDefinition;
@@ -74,6 +76,7 @@ import org.mule.runtime.core.api.transformer.Converter;
 import org.mule.runtime.core.api.util.IOUtils;
 import org.mule.runtime.core.api.util.xmlsecurity.XMLSecureFactories;
 import org.mule.runtime.core.internal.context.MuleContextWithRegistry;
+import org.mule.runtime.core.internal.profiling.DeploymentProfiler.Span;
 import org.mule.runtime.core.internal.registry.DefaultRegistry;
 import org.mule.runtime.core.internal.registry.MuleRegistryHelper;
 import org.mule.runtime.core.internal.registry.TransformerResolver;
@@ -227,8 +230,10 @@ public class MuleArtifactContext extends AbstractRefreshableConfigApplicationCon
     this.beanDefinitionFactory =
         new BeanDefinitionFactory(componentBuildingDefinitionRegistry, muleContext.getErrorTypeRepository());
 
-    createApplicationModel();
-    validateAllConfigElementHaveParsers();
+    try (Span span = startSpan(CONFIG, "parse")) {
+      createApplicationModel();
+      validateAllConfigElementHaveParsers();
+    }
 
     this.dependencyResolver = new ConfigurationDependencyResolver(applicationModel, componentBuildingDefinitionRegistry);
   }
@@ -405,7 +410,9 @@ public class MuleArtifactContext extends AbstractRefreshableConfigApplicationCon
 
   @Override
   protected void loadBeanDefinitions(DefaultListableBeanFactory beanFactory) throws IOException {
-    createApplicationComponents(beanFactory, applicationModel, true);
+    try (Span span = startSpan(CONFIG, "bean definitions")) {
+      createApplicationComponents(beanFactory, applicationModel, true);
+    }
   }
 
   @Override
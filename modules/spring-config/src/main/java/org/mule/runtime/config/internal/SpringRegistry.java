@@ -9,6 +9,8 @@ package org.mule.runtime.config.internal;
 import static java.lang.String.format;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.CONTEXT;
+import static org.mule.runtime.core.internal.profiling.DeploymentProfiler.startSpan;
 import static org.springframework.beans.factory.support.BeanDefinitionBuilder.genericBeanDefinition;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.exception.MuleRuntimeException;
@@ -23,6 +25,7 @@ import org.mule.runtime.core.api.util.StringUtils;
 import org.mule.runtime.core.api.util.func.CheckedRunnable;
 import org.mule.runtime.core.internal.lifecycle.LifecycleInterceptor;
 import org.mule.runtime.core.internal.lifecycle.phases.NotInLifecyclePhase;
+import org.mule.runtime.core.internal.profiling.DeploymentProfiler.Span;
 import org.mule.runtime.core.internal.registry.AbstractRegistry;
 import org.mule.runtime.core.privileged.registry.RegistrationException;
 
@@ -97,7 +100,9 @@ public class SpringRegistry extends AbstractRegistry implements Injector {
     springContextInitialised.set(true);
 
     if (!readOnly) {
-      ((ConfigurableApplicationContext) applicationContext).refresh();
+      try (Span span = startSpan(CONTEXT, "refresh")) {
+        ((ConfigurableApplicationContext) applicationContext).refresh();
+      }
     }
 
   }
@@ -147,6 +147,7 @@ import org.mule.runtime.core.internal.processor.simple.ParseTemplateProcessor;
 import org.mule.runtime.core.internal.processor.simple.RemoveFlowVariableProcessor;
 import org.mule.runtime.core.internal.processor.simple.SetPayloadMessageProcessor;
 import org.mule.runtime.core.internal.retry.ReconnectionConfig;
+import org.mule.runtime.core.internal.routing.BatchAggregator;
 import org.mule.runtime.core.internal.routing.ChoiceRouter;
 import org.mule.runtime.core.internal.routing.FirstSuccessful;
 import org.mule.runtime.core.internal.routing.Foreach;
@@ -247,6 +248,7 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
   private static final String ASYNC = "async";
   private static final String TRY = "try";
   private static final String UNTIL_SUCCESSFUL = "until-successful";
+  private static final String BATCH_AGGREGATOR = "batch-aggregator";
   private static final String FOREACH = "foreach";
   private static final String FIRST_SUCCESSFUL = "first-successful";
   private static final String ROUND_ROBIN = "round-robin";
@@ -456,6 +458,19 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
             .withSetterParameterDefinition("maxRetries", fromSimpleParameter("maxRetries").withDefaultValue(5).build())
             .withSetterParameterDefinition("millisBetweenRetries",
                                            fromSimpleParameter("millisBetweenRetries").withDefaultValue(60000).build())
+            .withSetterParameterDefinition("backoffMultiplier", fromSimpleParameter("backoffMultiplier").build())
+            .withSetterParameterDefinition("maxMillisBetweenRetries", fromSimpleParameter("maxMillisBetweenRetries").build())
+            .withSetterParameterDefinition("jitter", fromSimpleParameter("jitter").build())
+            .withSetterParameterDefinition("circuitBreaker", fromSimpleParameter("circuitBreaker").build())
+            .withSetterParameterDefinition(MESSAGE_PROCESSORS, fromChildCollectionConfiguration(Processor.class).build())
+            .build());
+    componentBuildingDefinitions
+        .add(baseDefinition.withIdentifier(BATCH_AGGREGATOR).withTypeDefinition(fromType(BatchAggregator.class))
+            .withSetterParameterDefinition("groupBy", fromSimpleParameter("groupBy").build())
+            .withSetterParameterDefinition("maxSize", fromSimpleParameter("maxSize").withDefaultValue(100).build())
+            .withSetterParameterDefinition("maxWait", fromSimpleParameter("maxWait").withDefaultValue(1000).build())
+            .withSetterParameterDefinition("maxBytes", fromSimpleParameter("maxBytes").build())
+            .withSetterParameterDefinition("persistent", fromSimpleParameter("persistent").build())
             .withSetterParameterDefinition(MESSAGE_PROCESSORS, fromChildCollectionConfiguration(Processor.class).build())
             .build());
     componentBuildingDefinitions.add(baseDefinition.withIdentifier(FOREACH).withTypeDefinition(fromType(Foreach.class))
@@ -1204,7 +1219,8 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
   }
 
   /**
-   * Parser for the expanded operations, generated dynamically by the {@link ApplicationModel} by reading the extensions
+   * Parser for the expanded operations, generated dynamically by the {@link ApplicationModel} by reading the extensions. The
+   * operation bodies shared by several call sites are global, so they are built only once.
    *
    * @param componentBuildingDefinitions
    */
@@ -1218,8 +1234,15 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
             .withWrapperIdentifier("module-operation-parameters").build())
         .withSetterParameterDefinition("moduleName", fromSimpleParameter("moduleName").build())
         .withSetterParameterDefinition("moduleOperation", fromSimpleParameter("moduleOperation").build())
+        .withSetterParameterDefinition("sharedBody", fromSimpleParameter("sharedBody").build())
         .withSetterParameterDefinition(MESSAGE_PROCESSORS, fromChildCollectionConfiguration(Processor.class).build())
         .asPrototype().build());
+    componentBuildingDefinitions.add(baseDefinition.withIdentifier("module-operation-body")
+        .withTypeDefinition(fromType(MessageProcessorChain.class))
+        .withObjectFactoryType(MessageProcessorChainObjectFactory.class)
+        .withSetterParameterDefinition(NAME, fromSimpleParameter(NAME).build())
+        .withSetterParameterDefinition(MESSAGE_PROCESSORS, fromChildCollectionConfiguration(Processor.class).build())
+        .build());
 
     componentBuildingDefinitions.add(baseDefinition.withIdentifier("module-operation-properties")
         .withTypeDefinition(fromType(TreeMap.class)).build());
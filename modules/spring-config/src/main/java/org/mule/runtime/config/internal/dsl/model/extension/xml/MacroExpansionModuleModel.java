@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.config.internal.dsl.model.extension.xml;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.String.format;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.emptySet;
@@ -15,8 +16,10 @@ import static java.util.stream.Collectors.toSet;
 import static org.mule.runtime.api.component.ComponentIdentifier.builder;
 import static org.mule.runtime.api.el.BindingContextUtils.VARS;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.config.internal.model.ApplicationModel.MODULE_OPERATION_BODY;
 import static org.mule.runtime.config.internal.model.ApplicationModel.MODULE_OPERATION_CHAIN;
 import static org.mule.runtime.config.internal.model.ApplicationModel.NAME_ATTRIBUTE;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.internal.processor.chain.ModuleOperationMessageProcessorChainBuilder.MODULE_CONFIG_GLOBAL_ELEMENT_NAME;
 import static org.mule.runtime.core.internal.processor.chain.ModuleOperationMessageProcessorChainBuilder.MODULE_CONNECTION_GLOBAL_ELEMENT_NAME;
 import static org.mule.runtime.internal.dsl.DslConstants.CORE_PREFIX;
@@ -47,6 +50,7 @@ import org.mule.runtime.extension.api.property.XmlExtensionModelProperty;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -63,6 +67,10 @@ import java.util.stream.IntStream;
  * This object works by handling {@link ComponentModel}s directly, consuming the {@link GlobalElementComponentModelModelProperty}
  * for the "config" elements while the {@link OperationComponentModelModelProperty} for the operations (aka: {@link Processor}s in
  * the XML file).
+ * <p/>
+ * When {@link #SHARED_OPERATION_CHAINS_PROPERTY} is set, the <body/> of every <operation/> is not copied into each call site.
+ * Instead, it is expanded once per configuration as a global <module-operation-body/> element, which the
+ * <module-operation-chain/> of every call site references through its {@link #SHARED_BODY_ATTRIBUTE} attribute.
  *
  * @since 4.0
  */
@@ -96,8 +104,34 @@ public class MacroExpansionModuleModel {
    */
   private static final String DEFAULT_CONFIG_GLOBAL_ELEMENT_SUFFIX = "%s-default-config-global-element-suffix";
 
+  /**
+   * When set, the <body/> of each <operation/> is expanded once per configuration and shared by all of its call sites, instead
+   * of being copied into every one of them.
+   * <p/>
+   * Since the <body/> is shared, the <property/>ies and <parameter/>s it uses are always resolved as variables when the
+   * operation is executed, even when the call site feeds them with literal values.
+   *
+   * @since 4.2
+   */
+  public static final String SHARED_OPERATION_CHAINS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "xmlSdk.sharedOperationChains";
+
+  /**
+   * Attribute of the <module-operation-chain/> with the name of the <module-operation-body/> it executes, when the <body/> of the
+   * operation is shared.
+   *
+   * @since 4.2
+   */
+  public static final String SHARED_BODY_ATTRIBUTE = "sharedBody";
+
   private final ApplicationModel applicationModel;
   private final ExtensionModel extensionModel;
+  private final boolean sharedOperationChains;
+
+  /**
+   * Names of the <module-operation-body/> elements already expanded, so each of them is generated only once.
+   */
+  private final Set<String> sharedBodiesNames = new HashSet<>();
+  private final List<ComponentModel> sharedBodies = new ArrayList<>();
 
   /**
    * From a mutable {@code applicationModel}, it will store it to apply changes when the {@link #expand()} method is executed.
@@ -109,6 +143,7 @@ public class MacroExpansionModuleModel {
   MacroExpansionModuleModel(ApplicationModel applicationModel, ExtensionModel extensionModel) {
     this.applicationModel = applicationModel;
     this.extensionModel = extensionModel;
+    this.sharedOperationChains = getBoolean(SHARED_OPERATION_CHAINS_PROPERTY);
   }
 
   public void expand() {
@@ -116,9 +151,23 @@ public class MacroExpansionModuleModel {
     final Set<String> moduleGlobalElementsNames =
         moduleGlobalElements.stream().map(ComponentModel::getNameAttribute).collect(toSet());
     expandOperations(moduleGlobalElementsNames);
+    addSharedBodies();
     expandGlobalElements(moduleGlobalElements, moduleGlobalElementsNames);
   }
 
+  /**
+   * Adds the <module-operation-body/>s generated while expanding the operations as global elements of the application. It cannot
+   * be done while expanding, as the root elements are being iterated.
+   */
+  private void addSharedBodies() {
+    ComponentModel rootComponentModel = applicationModel.getRootComponentModel();
+    sharedBodies.forEach(sharedBody -> {
+      sharedBody.setParent(rootComponentModel);
+      rootComponentModel.getInnerComponents().add(sharedBody);
+    });
+    sharedBodies.clear();
+  }
+
   private void expandOperations(Set<String> moduleGlobalElementsNames) {
     applicationModel.executeOnEveryMuleComponentTree(containerComponentModel -> {
       HashMap<Integer, ComponentModel> componentModelsToReplaceByIndex = new HashMap<>();
@@ -300,15 +349,22 @@ public class MacroExpansionModuleModel {
     processorChainBuilder.addChildComponentModel(parametersComponentModel);
     processorChainBuilder.setSourceCode(operationRefModel.getSourceCode());
 
-    for (ComponentModel bodyProcessor : bodyProcessors) {
-      ComponentModel childMPcomponentModel =
-          lookForTNSOperation(bodyProcessor)
-              .map(tnsOperation -> createModuleOperationChain(bodyProcessor, tnsOperation, moduleGlobalElementsNames,
-                                                              configRefName, containerName))
-              .orElseGet(() -> copyOperationComponentModel(bodyProcessor, configRefName, moduleGlobalElementsNames,
-                                                           getLiteralParameters(propertiesMap, parametersMap),
-                                                           containerName));
-      processorChainBuilder.addChildComponentModel(childMPcomponentModel);
+    if (sharedOperationChains) {
+      processorChainBuilder.addParameter(SHARED_BODY_ATTRIBUTE,
+                                         getSharedBodyName(operationModuleComponentModel, operationModel,
+                                                           moduleGlobalElementsNames, configRefName),
+                                         false);
+    } else {
+      for (ComponentModel bodyProcessor : bodyProcessors) {
+        ComponentModel childMPcomponentModel =
+            lookForTNSOperation(bodyProcessor)
+                .map(tnsOperation -> createModuleOperationChain(bodyProcessor, tnsOperation, moduleGlobalElementsNames,
+                                                                configRefName, containerName))
+                .orElseGet(() -> copyOperationComponentModel(bodyProcessor, configRefName, moduleGlobalElementsNames,
+                                                             getLiteralParameters(propertiesMap, parametersMap),
+                                                             containerName));
+        processorChainBuilder.addChildComponentModel(childMPcomponentModel);
+      }
     }
     copyErrorMappings(operationRefModel, processorChainBuilder);
 
@@ -328,6 +384,44 @@ public class MacroExpansionModuleModel {
     return processorChainModel;
   }
 
+  /**
+   * Returns the name of the <module-operation-body/> with the processors of the <body/> of the {@code operationModel} for the
+   * given configuration, expanding it the first time it is required.
+   * <p/>
+   * The processors are copied without replacing the <property/>ies and <parameter/>s by literal values, as they are shared by
+   * call sites that may feed different values. The <module-operation-body/> is its own root container, so {@link #TNS_PREFIX}
+   * operations within it are expanded as references to their own shared bodies.
+   *
+   * @param operationModuleComponentModel the <body/> of the operation
+   * @param operationModel operation to expand
+   * @param moduleGlobalElementsNames names of the <module/>s global components
+   * @param configRefName name of the configuration being used by the operation, if any.
+   * @return the name of the global <module-operation-body/>
+   */
+  private String getSharedBodyName(ComponentModel operationModuleComponentModel, OperationModel operationModel,
+                                   Set<String> moduleGlobalElementsNames, Optional<String> configRefName) {
+    final String sharedBodyName = extensionModel.getXmlDslModel().getPrefix() + ":" + operationModel.getName()
+        + configRefName.map(configRef -> "-" + configRef).orElse("");
+    if (sharedBodiesNames.add(sharedBodyName)) {
+      ComponentModel.Builder sharedBodyBuilder = new ComponentModel.Builder();
+      sharedBodyBuilder.setIdentifier(MODULE_OPERATION_BODY);
+      sharedBodyBuilder.addParameter(NAME_ATTRIBUTE, sharedBodyName, false);
+      for (ComponentModel bodyProcessor : operationModuleComponentModel.getInnerComponents()) {
+        ComponentModel childMPcomponentModel =
+            lookForTNSOperation(bodyProcessor)
+                .map(tnsOperation -> createModuleOperationChain(bodyProcessor, tnsOperation, moduleGlobalElementsNames,
+                                                                configRefName, sharedBodyName))
+                .orElseGet(() -> copyOperationComponentModel(bodyProcessor, configRefName, moduleGlobalElementsNames,
+                                                             emptyMap(), sharedBodyName));
+        sharedBodyBuilder.addChildComponentModel(childMPcomponentModel);
+      }
+      ComponentModel sharedBody = buildFrom(operationModuleComponentModel, sharedBodyBuilder);
+      sharedBody.setRoot(true);
+      sharedBodies.add(sharedBody);
+    }
+    return sharedBodyName;
+  }
+
   /**
    * Looks for the value of the {@link #MODULE_OPERATION_CONFIG_REF} in the current <operation/>, if not found then tries to
    * fallback to the default global element name. See {@link #defaultGlobalElementName()} method.
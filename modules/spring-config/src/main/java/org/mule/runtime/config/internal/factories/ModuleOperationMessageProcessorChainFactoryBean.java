@@ -8,12 +8,19 @@ package org.mule.runtime.config.internal.factories;
 
 import static java.lang.String.format;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.getProcessingStrategy;
+import static org.mule.runtime.core.privileged.processor.MessageProcessors.processToApply;
 import static org.mule.runtime.core.privileged.processor.chain.DefaultMessageProcessorChainBuilder.newLazyProcessorChainBuilder;
+import static reactor.core.publisher.Flux.from;
+import org.mule.runtime.api.artifact.Registry;
+import org.mule.runtime.api.component.AbstractComponent;
 import org.mule.runtime.api.component.location.ConfigurationComponentLocator;
+import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.meta.model.ExtensionModel;
 import org.mule.runtime.api.meta.model.operation.OperationModel;
 import org.mule.runtime.api.meta.model.util.IdempotentExtensionWalker;
+import org.mule.runtime.api.util.LazyValue;
 import org.mule.runtime.config.internal.dsl.model.extension.xml.property.PrivateOperationsModelProperty;
+import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.extension.ExtensionManager;
 import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.internal.processor.chain.ModuleOperationMessageProcessorChainBuilder;
@@ -26,27 +33,40 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
+import org.reactivestreams.Publisher;
+
 public class ModuleOperationMessageProcessorChainFactoryBean extends MessageProcessorChainObjectFactory {
 
   private Map<String, String> properties = new HashMap<>();
   private Map<String, String> parameters = new HashMap<>();
   private String moduleName;
   private String moduleOperation;
+  private String sharedBody;
   @Inject
   private ExtensionManager extensionManager;
 
+  @Inject
+  private Registry registry;
+
   @Inject
   protected ConfigurationComponentLocator locator;
 
   @Override
   public MessageProcessorChain doGetObject() throws Exception {
     MessageProcessorChainBuilder builder = getBuilderInstance();
-    for (Object processor : processors) {
-      if (processor instanceof Processor) {
-        builder.chain((Processor) processor);
-      } else {
-        throw new IllegalArgumentException(format("MessageProcessorBuilder should only have MessageProcessor's or MessageProcessorBuilder's configured. Found a %s",
-                                                  processor.getClass().getName()));
+    if (sharedBody != null) {
+      // the processors of the operation are not copied into each call site
+      SharedBodyProcessor sharedBodyProcessor = new SharedBodyProcessor();
+      sharedBodyProcessor.setAnnotations(getAnnotations());
+      builder.chain(sharedBodyProcessor);
+    } else {
+      for (Object processor : processors) {
+        if (processor instanceof Processor) {
+          builder.chain((Processor) processor);
+        } else {
+          throw new IllegalArgumentException(format("MessageProcessorBuilder should only have MessageProcessor's or "
+              + "MessageProcessorBuilder's configured. Found a %s", processor.getClass().getName()));
+        }
       }
     }
     final MessageProcessorChain messageProcessorChain =
@@ -103,6 +123,34 @@ public class ModuleOperationMessageProcessorChainFactoryBean extends MessageProc
     this.moduleOperation = moduleOperation;
   }
 
+  /**
+   * @param sharedBody name of the global <module-operation-body/> to execute instead of a copy of the operation's processors
+   */
+  public void setSharedBody(String sharedBody) {
+    this.sharedBody = sharedBody;
+  }
+
+  /**
+   * Executes the processors of the <operation/> from the global <module-operation-body/> shared by all of its call sites. It
+   * takes the location of the call site, so expressions for the parameters of the operation are evaluated against it.
+   */
+  private class SharedBodyProcessor extends AbstractComponent implements Processor {
+
+    private final LazyValue<Processor> body = new LazyValue<>(() -> registry.<Processor>lookupByName(sharedBody)
+        .orElseThrow(() -> new IllegalStateException(format("Could not find the body [%s] of the operation [%s] for the "
+            + "extension [%s]", sharedBody, moduleOperation, moduleName))));
+
+    @Override
+    public CoreEvent process(CoreEvent event) throws MuleException {
+      return processToApply(event, this);
+    }
+
+    @Override
+    public Publisher<CoreEvent> apply(Publisher<CoreEvent> publisher) {
+      return from(publisher).transform(body.get());
+    }
+  }
+
   /**
    * Internal class used only as a helper to find the only occurrence of an operation under the same name.
    */
@@ -139,6 +139,7 @@ public class ApplicationModel {
   public static final String DESCRIPTION_ELEMENT = "description";
   public static final String PROPERTIES_ELEMENT = "properties";
   private static final String MODULE_OPERATION_CHAIN_ELEMENT = "module-operation-chain";
+  private static final String MODULE_OPERATION_BODY_ELEMENT = "module-operation-body";
 
   public static final String REDELIVERY_POLICY_ELEMENT = "redelivery-policy";
   // TODO MULE-9638 Remove once all bean definitions parsers where migrated
@@ -191,6 +192,8 @@ public class ApplicationModel {
       builder().namespace(CORE_PREFIX).name(SECURITY_MANAGER).build();
   public static final ComponentIdentifier MODULE_OPERATION_CHAIN =
       builder().namespace(CORE_PREFIX).name(MODULE_OPERATION_CHAIN_ELEMENT).build();
+  public static final ComponentIdentifier MODULE_OPERATION_BODY =
+      builder().namespace(CORE_PREFIX).name(MODULE_OPERATION_BODY_ELEMENT).build();
 
 
   // TODO MULE-13042 - remove this constants and their usages one this code gets migrated to use extension models.
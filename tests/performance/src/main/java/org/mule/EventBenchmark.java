@@ -125,6 +125,19 @@ public class EventBenchmark extends AbstractBenchmark {
     return CoreEvent.builder(eventWith100VariablesProperties).addVariable(KEY, VALUE).build();
   }
 
+  @Benchmark
+  public CoreEvent removeEventVariableEventWith50VariablesProperties() {
+    return CoreEvent.builder(eventWith50VariablesProperties).removeVariable("flowvariablekey25").build();
+  }
+
+  @Benchmark
+  public CoreEvent setVariableChainEventWith50VariablesProperties() {
+    CoreEvent current = eventWith50VariablesProperties;
+    for (int i = 0; i < 30; ++i) {
+      current = CoreEvent.builder(current).addVariable(KEY, i).build();
+    }
+    return current;
+  }
 
   @Benchmark
   public CoreEvent copyWith10FlowVarsAnd10PropertiesWrite1OfEach() throws Exception {
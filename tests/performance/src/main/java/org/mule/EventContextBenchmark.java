@@ -33,6 +33,7 @@ import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.annotations.Warmup;
 
 import java.util.ArrayList;
@@ -51,7 +52,7 @@ public class EventContextBenchmark extends AbstractBenchmark {
   private String id = UUID.getUUID();
   private String severId = UUID.getUUID();
   private CoreEvent event;
-
+  private BaseEventContext sharedParentContext;
 
   @Setup
   public void setup() throws Exception {
@@ -63,6 +64,7 @@ public class EventContextBenchmark extends AbstractBenchmark {
     CoreEvent.Builder eventBuilder =
         CoreEvent.builder(create(flow, CONNECTOR_LOCATION)).message(messageBuilder.build());
     event = eventBuilder.build();
+    sharedParentContext = (BaseEventContext) create(flow, CONNECTOR_LOCATION);
   }
 
   @TearDown
@@ -162,4 +164,41 @@ public class EventContextBenchmark extends AbstractBenchmark {
     return new Object[] {result, complete};
   }
 
+  @Benchmark
+  public Object[] createEventContextWith10NestedChildren() {
+    AtomicReference<CoreEvent> result = new AtomicReference<>();
+    AtomicBoolean complete = new AtomicBoolean();
+    BaseEventContext eventContext = (BaseEventContext) create(flow, CONNECTOR_LOCATION);
+
+    List<BaseEventContext> children = new ArrayList<>(10);
+    BaseEventContext current = eventContext;
+    for (int i = 0; i < 10; ++i) {
+      current = child(current, empty());
+      current.onResponse((response, throwable) -> result.set(response));
+      current.onComplete((response, throwable) -> complete.set(false));
+      children.add(current);
+    }
+
+    eventContext.onTerminated((response, throwable) -> complete.set(true));
+    eventContext.success(event);
+
+    for (int i = children.size() - 1; i >= 0; --i) {
+      children.get(i).success(event);
+    }
+
+    return new Object[] {result, complete};
+  }
+
+  @Benchmark
+  @Threads(8)
+  public BaseEventContext createChildOfSharedParentContended() {
+    BaseEventContext child = child(sharedParentContext, empty());
+    child.onResponse((response, throwable) -> {
+    });
+    child.onTerminated((response, throwable) -> {
+    });
+    child.success(event);
+    return child;
+  }
+
 }
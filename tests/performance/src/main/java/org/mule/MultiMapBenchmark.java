@@ -7,19 +7,45 @@
 package org.mule;
 
 import static java.util.Arrays.asList;
+import static org.mule.runtime.http.api.HttpHeaders.Names.ACCEPT;
+import static org.mule.runtime.http.api.HttpHeaders.Names.ACCEPT_ENCODING;
+import static org.mule.runtime.http.api.HttpHeaders.Names.ACCEPT_LANGUAGE;
+import static org.mule.runtime.http.api.HttpHeaders.Names.AUTHORIZATION;
+import static org.mule.runtime.http.api.HttpHeaders.Names.CACHE_CONTROL;
+import static org.mule.runtime.http.api.HttpHeaders.Names.CONNECTION;
+import static org.mule.runtime.http.api.HttpHeaders.Names.CONTENT_LENGTH;
+import static org.mule.runtime.http.api.HttpHeaders.Names.CONTENT_TYPE;
+import static org.mule.runtime.http.api.HttpHeaders.Names.COOKIE;
+import static org.mule.runtime.http.api.HttpHeaders.Names.DATE;
+import static org.mule.runtime.http.api.HttpHeaders.Names.HOST;
+import static org.mule.runtime.http.api.HttpHeaders.Names.IF_NONE_MATCH;
+import static org.mule.runtime.http.api.HttpHeaders.Names.ORIGIN;
+import static org.mule.runtime.http.api.HttpHeaders.Names.REFERER;
+import static org.mule.runtime.http.api.HttpHeaders.Names.USER_AGENT;
+import static org.mule.runtime.http.api.HttpHeaders.Names.X_CORRELATION_ID;
+import static org.mule.runtime.http.api.HttpHeaders.Names.X_FORWARDED_FOR;
 
 import org.mule.runtime.api.util.MultiMap;
 import org.mule.runtime.http.api.domain.CaseInsensitiveMultiMap;
+import org.mule.runtime.http.api.domain.OptimizedCaseInsensitiveMapWrapper;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Setup;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map.Entry;
 
 public class MultiMapBenchmark extends AbstractBenchmark {
 
+  private static final String[] HEADER_NAMES = {ACCEPT, ACCEPT_ENCODING, ACCEPT_LANGUAGE, AUTHORIZATION, CACHE_CONTROL,
+      CONNECTION, CONTENT_LENGTH, CONTENT_TYPE, COOKIE, DATE, HOST, IF_NONE_MATCH, ORIGIN, REFERER, USER_AGENT,
+      X_CORRELATION_ID, X_FORWARDED_FOR, "X-Request-Id", "X-Custom-Header", "X-Another-Custom-Header"};
+
   private MultiMap<String, String> multiMap;
+  private MultiMap<String, String> headers;
+  private CaseInsensitiveMultiMap compactHeaders;
+  private MultiMap<String, String> wrapperHeaders;
 
   @Setup
   public void setup() throws Exception {
@@ -27,6 +53,14 @@ public class MultiMapBenchmark extends AbstractBenchmark {
     multiMap.put("key1", "value");
     multiMap.put("key10",
                  asList("value1", "value2", "value3", "value4", "value5", "value6", "value7", "value8", "value9", "value10"));
+
+    headers = new MultiMap<>();
+    for (String headerName : HEADER_NAMES) {
+      headers.put(headerName, "value");
+    }
+    compactHeaders = new CaseInsensitiveMultiMap(headers);
+    wrapperHeaders = new WrapperCaseInsensitiveMultiMap();
+    wrapperHeaders.putAll(headers);
   }
 
   @Benchmark
@@ -77,4 +111,71 @@ public class MultiMapBenchmark extends AbstractBenchmark {
     return mm;
   }
 
+  @Benchmark
+  public CaseInsensitiveMultiMap compactHeadersPut() {
+    CaseInsensitiveMultiMap mm = new CaseInsensitiveMultiMap();
+    for (String headerName : HEADER_NAMES) {
+      mm.put(headerName, "value");
+    }
+    return mm;
+  }
+
+  @Benchmark
+  public MultiMap<String, String> wrapperHeadersPut() {
+    MultiMap<String, String> mm = new WrapperCaseInsensitiveMultiMap();
+    for (String headerName : HEADER_NAMES) {
+      mm.put(headerName, "value");
+    }
+    return mm;
+  }
+
+  @Benchmark
+  public String compactHeadersGet() {
+    return getAllHeaders(compactHeaders);
+  }
+
+  @Benchmark
+  public String wrapperHeadersGet() {
+    return getAllHeaders(wrapperHeaders);
+  }
+
+  @Benchmark
+  public int compactHeadersIteration() {
+    return iterateHeaders(compactHeaders);
+  }
+
+  @Benchmark
+  public int wrapperHeadersIteration() {
+    return iterateHeaders(wrapperHeaders);
+  }
+
+  private String getAllHeaders(MultiMap<String, String> mm) {
+    String value = null;
+    for (String headerName : HEADER_NAMES) {
+      value = mm.get(headerName.toUpperCase());
+    }
+    return value;
+  }
+
+  private int iterateHeaders(MultiMap<String, String> mm) {
+    int length = 0;
+    for (Entry<String, String> entry : mm.entryList()) {
+      length += entry.getKey().length();
+    }
+    return length;
+  }
+
+  /**
+   * The optimized {@link CaseInsensitiveMultiMap} as it was before being backed by a {@code CompactCaseInsensitiveMap}, as the
+   * baseline for the compact one.
+   */
+  private static class WrapperCaseInsensitiveMultiMap extends MultiMap<String, String> {
+
+    private static final long serialVersionUID = 1L;
+
+    private WrapperCaseInsensitiveMultiMap() {
+      paramsMap = new OptimizedCaseInsensitiveMapWrapper<>(new LinkedHashMap<>());
+    }
+  }
+
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule;
+
+import static java.util.Collections.emptyList;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.api.exception.Errors.ComponentIdentifiers.Handleable.ROUTING;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.privileged.registry.LegacyRegistryUtils.lookupObject;
+import static org.mule.runtime.core.privileged.registry.LegacyRegistryUtils.registerObject;
+
+import org.mule.runtime.api.exception.DefaultMuleException;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.message.ErrorType;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.construct.Flow;
+import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.exception.MessagingException;
+import org.mule.runtime.core.internal.exception.OnErrorContinueHandler;
+import org.mule.runtime.core.internal.message.ErrorBuilder;
+import org.mule.runtime.core.internal.util.MessagingExceptionResolver;
+import org.mule.runtime.core.privileged.PrivilegedMuleContext;
+import org.mule.runtime.core.privileged.exception.ErrorTypeLocator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+public class OnErrorContinueBenchmark extends AbstractBenchmark {
+
+  private static final String HANDLED_ERROR_TYPES = "TRANSFORMATION, EXPRESSION, ROUTING";
+
+  private MuleContext muleContext;
+  private Flow flow;
+  private OnErrorContinueHandler handler;
+  private MessagingExceptionResolver resolver;
+  private ErrorTypeLocator errorTypeLocator;
+  private Exception cause;
+  private CoreEvent errorEvent;
+
+  @Setup
+  public void setup() throws Exception {
+    muleContext = createMuleContextWithServices();
+    muleContext.start();
+    flow = createFlow(muleContext);
+    registerObject(muleContext, FLOW_NAME, flow, FlowConstruct.class);
+
+    handler = new OnErrorContinueHandler();
+    handler.setErrorType(HANDLED_ERROR_TYPES);
+    handler.setMuleContext(muleContext);
+    muleContext.getInjector().inject(handler);
+    initialiseIfNeeded(handler, muleContext);
+
+    resolver = new MessagingExceptionResolver(flow);
+    errorTypeLocator = ((PrivilegedMuleContext) muleContext).getErrorTypeLocator();
+
+    ErrorType routingErrorType = muleContext.getErrorTypeRepository().lookupErrorType(ROUTING).get();
+    cause = new DefaultMuleException("Routing failed");
+    errorEvent = CoreEvent.builder(createEvent(flow))
+        .error(ErrorBuilder.builder(cause).errorType(routingErrorType).build())
+        .build();
+  }
+
+  @TearDown
+  public void teardown() throws MuleException {
+    stopIfNeeded(lookupObject(muleContext, SchedulerService.class));
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public boolean matchErrorType() {
+    return handler.accept(errorEvent);
+  }
+
+  @Benchmark
+  public MessagingException resolveException() {
+    return resolver.resolve(new MessagingException(createStaticMessage("Routing failed"), errorEvent, cause, flow),
+                            errorTypeLocator, emptyList());
+  }
+
+  @Benchmark
+  public CoreEvent onErrorContinue() {
+    MessagingException exception = resolver.resolve(new MessagingException(errorEvent, cause, flow), errorTypeLocator,
+                                                     emptyList());
+    return handler.handleException(exception, exception.getEvent());
+  }
+
+}
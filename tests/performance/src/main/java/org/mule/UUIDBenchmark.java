@@ -8,14 +8,18 @@ package org.mule;
 
 import static org.mule.runtime.core.api.util.UUID.getClusterUUID;
 import static org.mule.runtime.core.api.util.UUID.getUUID;
+import static org.mule.runtime.core.internal.event.EventIdGenerators.getEventIdGenerator;
 
 import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.api.event.EventIdGenerator;
 import org.mule.runtime.core.api.util.UUID;
 
 import org.openjdk.jmh.annotations.Benchmark;
 
 public class UUIDBenchmark extends AbstractBenchmark {
 
+  private final EventIdGenerator eventIdGenerator = getEventIdGenerator();
+
   @Benchmark
   public String UUID() throws MuleException {
     return getUUID();
@@ -26,6 +30,16 @@ public class UUIDBenchmark extends AbstractBenchmark {
     return getClusterUUID(getClusterId());
   }
 
+  @Benchmark
+  public CharSequence eventId() {
+    return eventIdGenerator.generateId(getClusterId());
+  }
+
+  @Benchmark
+  public String eventIdString() {
+    return eventIdGenerator.generateId(getClusterId()).toString();
+  }
+
   private int getClusterId() {
     return 1;
   }
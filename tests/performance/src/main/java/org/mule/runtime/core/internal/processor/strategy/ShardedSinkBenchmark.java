@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.lang.Integer.MAX_VALUE;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.internal.processor.strategy.AbstractStreamProcessingStrategyFactory.CORES;
+import static org.mule.runtime.core.internal.processor.strategy.AbstractStreamProcessingStrategyFactory.DEFAULT_BUFFER_SIZE;
+import static org.mule.runtime.core.internal.processor.strategy.AbstractStreamProcessingStrategyFactory.DEFAULT_WAIT_STRATEGY;
+import static org.mule.runtime.core.privileged.registry.LegacyRegistryUtils.lookupObject;
+import static org.mule.runtime.core.privileged.registry.LegacyRegistryUtils.registerObject;
+import static org.slf4j.helpers.NOPLogger.NOP_LOGGER;
+import static reactor.core.publisher.Flux.from;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.construct.Flow;
+import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.core.api.processor.Sink;
+import org.mule.runtime.core.internal.processor.strategy.ReactorStreamProcessingStrategyFactory.ReactorStreamProcessingStrategy;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures how the emission of events into a flow scales with the number of source threads, with a single ring-buffer and
+ * with the sink sharded per core.
+ */
+@OutputTimeUnit(NANOSECONDS)
+public class ShardedSinkBenchmark extends AbstractBenchmark {
+
+  @Param({"1", "4", "0"})
+  public int shards;
+
+  private MuleContext muleContext;
+  private Flow flow;
+  private ReactorStreamProcessingStrategy processingStrategy;
+  private Sink sink;
+
+  @Setup
+  public void setup() throws Exception {
+    muleContext = createMuleContextWithServices();
+    muleContext.start();
+    flow = createFlow(muleContext);
+    registerObject(muleContext, FLOW_NAME, flow, FlowConstruct.class);
+
+    SchedulerService schedulerService = muleContext.getSchedulerService();
+    // Enough subscribers so that every shard gets at least one
+    int subscribers = Integer.max(CORES, 4);
+    processingStrategy =
+        new ReactorStreamProcessingStrategy(() -> schedulerService
+            .customScheduler(muleContext.getSchedulerBaseConfig().withName("benchmark.ring-buffer")
+                .withMaxConcurrentTasks(subscribers).withWaitAllowed(true)),
+                                            DEFAULT_BUFFER_SIZE, subscribers, DEFAULT_WAIT_STRATEGY,
+                                            () -> schedulerService.cpuLightScheduler(), 1, MAX_VALUE);
+    // 0 means one shard per core
+    processingStrategy.setSinkShards(shards == 0 ? CORES : shards);
+    startIfNeeded(processingStrategy);
+    sink = processingStrategy.createSink(flow, publisher -> from(publisher));
+  }
+
+  @TearDown
+  public void teardown() throws MuleException {
+    disposeIfNeeded(sink, NOP_LOGGER);
+    stopIfNeeded(processingStrategy);
+    stopIfNeeded(lookupObject(muleContext, SchedulerService.class));
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void singleSourceThread() {
+    sink.accept(createEvent(flow));
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void fourSourceThreads() {
+    sink.accept(createEvent(flow));
+  }
+
+  @Benchmark
+  @Threads(16)
+  public void sixteenSourceThreads() {
+    sink.accept(createEvent(flow));
+  }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mule.runtime.core.api.event.EventContextFactory.create;
+import static org.mule.runtime.core.api.exception.NullExceptionHandler.getInstance;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.privileged.registry.LegacyRegistryUtils.lookupObject;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.util.UUID;
+import org.mule.runtime.core.internal.streaming.bytes.ByteArrayCursorStreamProvider;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+@OutputTimeUnit(NANOSECONDS)
+public class CursorManagerBenchmark extends AbstractBenchmark {
+
+  private MuleContext muleContext;
+  private Scheduler disposalScheduler;
+  private CursorManager cursorManager;
+  private MutableStreamingStatistics statistics;
+  private String serverId = UUID.getUUID();
+  private CursorStreamProvider provider = new ByteArrayCursorStreamProvider(PAYLOAD.getBytes());
+  private CursorStreamProvider sharedManagedProvider;
+
+  @Setup
+  public void setup() throws Exception {
+    muleContext = createMuleContextWithServices();
+    muleContext.start();
+    disposalScheduler = lookupObject(muleContext, SchedulerService.class).cpuLightScheduler();
+    statistics = new MutableStreamingStatistics();
+    cursorManager = new CursorManager(statistics, disposalScheduler);
+    sharedManagedProvider = (CursorStreamProvider) cursorManager.manage(provider, newContext());
+  }
+
+  @TearDown
+  public void teardown() throws MuleException {
+    disposalScheduler.stop();
+    stopIfNeeded(lookupObject(muleContext, SchedulerService.class));
+    muleContext.dispose();
+  }
+
+  private BaseEventContext newContext() {
+    return (BaseEventContext) create(UUID.getUUID(), serverId, CONNECTOR_LOCATION, getInstance());
+  }
+
+  @Benchmark
+  public CursorStream openAndCloseCursor() throws IOException {
+    CursorStream cursor = sharedManagedProvider.openCursor();
+    cursor.close();
+    return cursor;
+  }
+
+  @Benchmark
+  @Threads(8)
+  public CursorStream openAndCloseCursorContended() throws IOException {
+    CursorStream cursor = sharedManagedProvider.openCursor();
+    cursor.close();
+    return cursor;
+  }
+
+  @Benchmark
+  public BaseEventContext manageOpenCloseAndTerminate() throws IOException {
+    BaseEventContext context = newContext();
+    CursorStreamProvider managedProvider = (CursorStreamProvider) cursorManager.manage(provider, context);
+    managedProvider.openCursor().close();
+    context.success();
+    return context;
+  }
+
+  @Benchmark
+  @Threads(8)
+  public BaseEventContext manageOpenCloseAndTerminateContended() throws IOException {
+    return manageOpenCloseAndTerminate();
+  }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.journal;
+
+import static java.io.File.createTempFile;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.openjdk.jmh.annotations.Level.Iteration;
+
+import org.mule.AbstractBenchmark;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Compares writing the entries of concurrent transactions to the transaction journal through a
+ * {@link GroupCommitJournalWriter} with writing each entry on its own while holding the journal monitor, as the journal did
+ * before.
+ */
+@OutputTimeUnit(MICROSECONDS)
+public class GroupCommitJournalWriterBenchmark extends AbstractBenchmark {
+
+  @Param({"false", "true"})
+  public boolean sync;
+
+  @Param({"256"})
+  public int entrySize;
+
+  private File groupCommitFile;
+  private File perEntryFile;
+  private GroupCommitJournalWriter groupCommitWriter;
+  private FileOutputStream perEntryStream;
+  private byte[] entry;
+
+  @Setup
+  public void setup() throws IOException {
+    entry = new byte[entrySize];
+    new Random().nextBytes(entry);
+
+    groupCommitFile = createTempFile("group-commit", ".journal");
+    perEntryFile = createTempFile("per-entry", ".journal");
+    groupCommitWriter = new GroupCommitJournalWriter(groupCommitFile, 0, sync);
+    perEntryStream = new FileOutputStream(perEntryFile, true);
+  }
+
+  @TearDown(Iteration)
+  public void truncate() throws IOException {
+    // Keeps the files from growing along the whole run
+    groupCommitWriter.truncate(() -> groupCommitFile.delete());
+    perEntryStream.getChannel().truncate(0);
+  }
+
+  @TearDown
+  public void teardown() throws IOException {
+    groupCommitWriter.close();
+    perEntryStream.close();
+    groupCommitFile.delete();
+    perEntryFile.delete();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void groupCommitSingleThread() {
+    groupCommit();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void perEntryWriteSingleThread() throws IOException {
+    perEntryWrite();
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void groupCommitEightThreads() {
+    groupCommit();
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void perEntryWriteEightThreads() throws IOException {
+    perEntryWrite();
+  }
+
+  @Benchmark
+  @Threads(32)
+  public void groupCommitThirtyTwoThreads() {
+    groupCommit();
+  }
+
+  @Benchmark
+  @Threads(32)
+  public void perEntryWriteThirtyTwoThreads() throws IOException {
+    perEntryWrite();
+  }
+
+  private void groupCommit() {
+    groupCommitWriter.awaitWritten(groupCommitWriter.append(entry));
+  }
+
+  private void perEntryWrite() throws IOException {
+    synchronized (this) {
+      perEntryStream.write(entry);
+      if (sync) {
+        perEntryStream.getChannel().force(false);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.queue;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.AbstractBenchmark;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares the monitor based {@link DefaultQueueStoreDelegate} with the {@link ArrayQueueStoreDelegate} used for transient
+ * queues.
+ */
+@OutputTimeUnit(NANOSECONDS)
+public class QueueStoreDelegateBenchmark extends AbstractBenchmark {
+
+  private static final long TIMEOUT = 1;
+  private static final int BATCH_SIZE = 32;
+
+  @Param({"monitor", "array"})
+  public String delegateType;
+
+  @Param({"128", "4096"})
+  public int capacity;
+
+  private QueueStoreDelegate delegate;
+
+  @Setup
+  public void setup() {
+    delegate = "monitor".equals(delegateType) ? new DefaultQueueStoreDelegate(capacity) : new ArrayQueueStoreDelegate(capacity);
+  }
+
+  @TearDown
+  public void teardown() {
+    delegate.dispose();
+  }
+
+  @Benchmark
+  public Serializable offerAndPoll() throws InterruptedException {
+    delegate.offer(PAYLOAD, 0, TIMEOUT);
+    return delegate.poll(TIMEOUT);
+  }
+
+  @Benchmark
+  @Group("contended")
+  @GroupThreads(4)
+  public boolean contendedOffer() throws InterruptedException {
+    return delegate.offer(PAYLOAD, 0, TIMEOUT);
+  }
+
+  @Benchmark
+  @Group("contended")
+  @GroupThreads(4)
+  public Serializable contendedPoll() throws InterruptedException {
+    return delegate.poll(TIMEOUT);
+  }
+
+  @Benchmark
+  @Group("batch")
+  @GroupThreads(4)
+  public boolean batchOffer() throws InterruptedException {
+    return delegate.offer(PAYLOAD, 0, TIMEOUT);
+  }
+
+  @Benchmark
+  @Group("batch")
+  @GroupThreads(1)
+  public int batchDrain() throws InterruptedException {
+    List<Serializable> items = new ArrayList<>(BATCH_SIZE);
+    return delegate.drainTo(items, BATCH_SIZE, TIMEOUT);
+  }
+
+}